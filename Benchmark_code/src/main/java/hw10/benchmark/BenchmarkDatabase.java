@@ -0,0 +1,168 @@
+package hw10.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import hw10.db.SchemaMigrator;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크 DB 준비 및 커넥션 풀 생성.
+ * 접속 정보: 시스템 속성(bench.db.*) 또는 환경변수(BENCH_DB_*), 미설정 시 localhost:5432/scm_bench.
+ * 배율(bench.scale / BENCH_SCALE)이 기존 적재분과 다를 때만 스키마 재생성 후 적재
+ * (schema.sql -> seed-scaled.sql 순). 이후 매번 웹 앱과 같은 마이그레이션 실행기로 미적용 V*.sql 적용.
+ * 기존 테이블이 있으나 벤치마크 적재 기록(BenchmarkSeed)이 없는 DB는 사용 거부 (운영 DB 보호).
+ */
+public final class BenchmarkDatabase {
+
+    private static final String MIGRATIONS = "classpath*:" + SchemaMigrator.LOCATION + "/V*.sql";
+
+    // 배율 1 기준 행 수 (seed-scaled.sql과 동일).
+    static final int PROJECTS_PER_SCALE = 200;
+    static final int SUPPLIERS_PER_SCALE = 100;
+    static final int PARTS_PER_SCALE = 500;
+    static final int WAREHOUSES_PER_SCALE = 20;
+
+    private static final Object LOCK = new Object();
+
+    private BenchmarkDatabase() {
+    }
+
+    public static String url() {
+        return setting("bench.db.url", "BENCH_DB_URL", "jdbc:postgresql://localhost:5432/scm_bench");
+    }
+
+    public static String user() {
+        return setting("bench.db.user", "BENCH_DB_USER", "postgres");
+    }
+
+    public static String password() {
+        return setting("bench.db.password", "BENCH_DB_PASSWORD", "");
+    }
+
+    public static int scale() {
+        return Math.max(1, Integer.parseInt(setting("bench.scale", "BENCH_SCALE", "1")));
+    }
+
+    public static int poolSize() {
+        return Math.max(1, Integer.parseInt(setting("bench.pool-size", "BENCH_POOL_SIZE", "10")));
+    }
+
+    /**
+     * 데이터 준비 (배율 동일 적재분 존재 시 생략).
+     * 포크된 벤치마크 JVM마다 호출되므로 같은 JVM 내 중복 호출은 잠금으로 1회 처리.
+     */
+    public static void prepare() throws SQLException, IOException {
+        synchronized (LOCK) {
+            int scale = scale();
+            try (Connection conn = DriverManager.getConnection(url(), user(), password())) {
+                Integer seeded = seededScale(conn);
+                if (seeded == null && hasTables(conn)) {
+                    throw new IllegalStateException("벤치마크 전용 DB가 아님 (기존 테이블 존재): " + url());
+                }
+                if (seeded == null || seeded != scale) {
+                    long start = System.currentTimeMillis();
+                    System.out.println("[benchmark] 데이터 적재 시작 - scale=" + scale + ", url=" + url());
+                    execute(conn, "DROP SCHEMA public CASCADE; CREATE SCHEMA public;");
+                    execute(conn, resource("benchmark/schema.sql"));
+                    execute(conn, resource("benchmark/seed-scaled.sql").replace("${scale}", String.valueOf(scale)));
+                    execute(conn, "CREATE TABLE BenchmarkSeed (Scale INT NOT NULL); INSERT INTO BenchmarkSeed VALUES ("
+                            + scale + ");");
+                    System.out.println("[benchmark] 데이터 적재 완료 (" + (System.currentTimeMillis() - start) + "ms)");
+                }
+                SchemaMigrator.Result result = migrator().migrate(conn);
+                if (result.applied() > 0) {
+                    execute(conn, "ANALYZE;");
+                    System.out.println("[benchmark] 마이그레이션 " + result.applied() + "건 적용 (V" + result.version() + ")");
+                }
+            }
+        }
+    }
+
+    /**
+     * 벤치마크용 커넥션 풀. 웹 앱 설정(application.example.properties)과 동일 옵션.
+     */
+    public static HikariDataSource createDataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url());
+        config.setUsername(user());
+        config.setPassword(password());
+        config.setMaximumPoolSize(poolSize());
+        config.setMinimumIdle(poolSize());
+        config.setConnectionTimeout(20000);
+        config.setPoolName("benchmark");
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
+        return new HikariDataSource(config);
+    }
+
+    // 적재 배율. 기록 테이블 미존재 시 null.
+    private static Integer seededScale(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT to_regclass('public.benchmarkseed') IS NOT NULL");
+                ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            if (!rs.getBoolean(1)) {
+                return null;
+            }
+        }
+        try (Statement st = conn.createStatement();
+                ResultSet rs = st.executeQuery("SELECT Scale FROM BenchmarkSeed")) {
+            return rs.next() ? rs.getInt(1) : null;
+        }
+    }
+
+    private static boolean hasTables(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement();
+                ResultSet rs = st.executeQuery(
+                        "SELECT EXISTS (SELECT 1 FROM pg_tables WHERE schemaname = 'public')")) {
+            rs.next();
+            return rs.getBoolean(1);
+        }
+    }
+
+    private static SchemaMigrator migrator() throws IOException {
+        List<SchemaMigrator.Script> scripts = new ArrayList<>();
+        for (Resource r : new PathMatchingResourcePatternResolver().getResources(MIGRATIONS)) {
+            try (InputStream in = r.getInputStream()) {
+                scripts.add(SchemaMigrator.Script.of(r.getFilename(), new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+            }
+        }
+        return new SchemaMigrator(scripts);
+    }
+
+    // 여러 문장 일괄 실행 (단순 질의 프로토콜).
+    private static void execute(Connection conn, String sql) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute(sql);
+        }
+    }
+
+    private static String resource(String path) throws IOException {
+        try (InputStream in = BenchmarkDatabase.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IOException("리소스 없음: " + path);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    static String setting(String property, String env, String defaultValue) {
+        String value = System.getProperty(property);
+        if (value == null || value.isBlank()) {
+            value = System.getenv(env);
+        }
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
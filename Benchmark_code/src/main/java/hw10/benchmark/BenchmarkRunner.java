@@ -0,0 +1,94 @@
+package hw10.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 벤치마크 실행기.
+ * 스레드 수(bench.threads / BENCH_THREADS, 기본 1,8,64)별로 JMH 실행 후 처리량(ops/s), p99(ms) 요약 출력.
+ * 인자는 JMH 명령행 옵션 그대로 전달 (예: "Project.*" -wi 1 -i 2). -t 지정 시 해당 스레드 수만 실행.
+ */
+public final class BenchmarkRunner {
+
+    // 요약 행. 벤치마크/파라미터/스레드 단위로 처리량, p99 병합.
+    private static final class Row {
+        double opsPerSec = Double.NaN;
+        double p50Ms = Double.NaN;
+        double p99Ms = Double.NaN;
+    }
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+
+        // 측정 전 데이터 준비 (포크 JVM에서는 적재 생략).
+        BenchmarkDatabase.prepare();
+
+        List<Integer> threadCounts = new ArrayList<>();
+        if (cmd.getThreads().hasValue()) {
+            threadCounts.add(cmd.getThreads().get());
+        } else {
+            for (String t : System.getProperty("bench.threads",
+                    System.getenv().getOrDefault("BENCH_THREADS", "1,8,64")).split(",")) {
+                threadCounts.add(Integer.parseInt(t.trim()));
+            }
+        }
+
+        Map<String, Row> summary = new LinkedHashMap<>();
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder().parent(cmd).threads(threads).build();
+            Collection<RunResult> results = new Runner(options).run();
+            for (RunResult result : results) {
+                collect(summary, result);
+            }
+        }
+        print(summary);
+    }
+
+    private static void collect(Map<String, Row> summary, RunResult result) {
+        BenchmarkParams params = result.getParams();
+        String name = params.getBenchmark().substring(params.getBenchmark().lastIndexOf('.',
+                params.getBenchmark().lastIndexOf('.') - 1) + 1);
+        StringBuilder key = new StringBuilder(name);
+        for (String k : params.getParamsKeys()) {
+            key.append(' ').append(k).append('=').append(params.getParam(k));
+        }
+        key.append('\t').append(params.getThreads());
+
+        Row row = summary.computeIfAbsent(key.toString(), k -> new Row());
+        switch (params.getMode()) {
+            // 출력 단위 ms 기준 (ops/ms -> ops/s).
+            case Throughput -> row.opsPerSec = result.getPrimaryResult().getScore() * 1000;
+            case SampleTime -> {
+                row.p50Ms = result.getPrimaryResult().getStatistics().getPercentile(50);
+                row.p99Ms = result.getPrimaryResult().getStatistics().getPercentile(99);
+            }
+            default -> {
+            }
+        }
+    }
+
+    private static void print(Map<String, Row> summary) {
+        System.out.println();
+        System.out.println("=== 요약 (scale=" + BenchmarkDatabase.scale() + ", pool=" + BenchmarkDatabase.poolSize()
+                + ") ===");
+        System.out.printf("%-70s %7s %12s %10s %10s%n", "Benchmark", "Threads", "ops/s", "p50(ms)", "p99(ms)");
+        summary.forEach((key, row) -> {
+            String[] parts = key.split("\t");
+            System.out.printf("%-70s %7s %12.1f %10.3f %10.3f%n", parts[0], parts[1], row.opsPerSec, row.p50Ms,
+                    row.p99Ms);
+        });
+    }
+}
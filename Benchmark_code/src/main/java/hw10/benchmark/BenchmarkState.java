@@ -0,0 +1,62 @@
+package hw10.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hw10.util.Logger;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 벤치마크 공용 상태 (JVM당 1개, 모든 측정 스레드 공유).
+ * DB 준비, 커넥션 풀 생성, 배율 기준 ID 범위 제공.
+ * 로그는 웹 앱과 동일하게 비동기 파일 기록 (logs/app.log).
+ */
+@State(Scope.Benchmark)
+public class BenchmarkState {
+
+    public HikariDataSource dataSource;
+
+    private int projects;
+    private int suppliers;
+    private int warehouses;
+    private int parts;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Logger.init();
+        BenchmarkDatabase.prepare();
+        int scale = BenchmarkDatabase.scale();
+        projects = BenchmarkDatabase.PROJECTS_PER_SCALE * scale;
+        suppliers = BenchmarkDatabase.SUPPLIERS_PER_SCALE * scale;
+        warehouses = BenchmarkDatabase.WAREHOUSES_PER_SCALE * scale;
+        parts = BenchmarkDatabase.PARTS_PER_SCALE * scale;
+        dataSource = BenchmarkDatabase.createDataSource();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    public int randomProjectId() {
+        return 1 + ThreadLocalRandom.current().nextInt(projects);
+    }
+
+    public int randomSupplierId() {
+        return 1 + ThreadLocalRandom.current().nextInt(suppliers);
+    }
+
+    public int randomWarehouseId() {
+        return 1 + ThreadLocalRandom.current().nextInt(warehouses);
+    }
+
+    public int randomPartId() {
+        return 1 + ThreadLocalRandom.current().nextInt(parts);
+    }
+}
@@ -0,0 +1,111 @@
+package hw10.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hw10.config.InstrumentedDataSource;
+import hw10.config.ThreadingMode;
+import hw10.service.ChangeNotificationService;
+import hw10.service.ProjectService;
+import hw10.service.QueryFanOut;
+import hw10.service.SearchIndexService;
+import hw10.util.Logger;
+import hw10.util.TimerRegistry;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 대시보드 통계 요청당 SQL 실행 횟수 비교 (ProjectService.getDashboardStats).
+ * 경로별로 InstrumentedDataSource(웹 앱 SQL 계측)를 거쳐 같은 프로젝트 목록을 조회한 뒤
+ * 요청당 SQL 실행 수, 커넥션 획득 수, 평균 소요 시간과 실행 메서드별 횟수 출력.
+ * legacy: 단일 집계 쿼리 도입 전 경로 (LegacyDashboardStats), serial: 기본 경로, fanout: 병렬 조회 경로.
+ * 단일 스레드 순차 호출 (횟수 비교용, 처리량은 ProjectServiceBenchmark).
+ */
+public final class DashboardQueryCount {
+
+    private static final List<String> PATHS = List.of("legacy", "serial", "fanout");
+
+    // 경로별 측정 결과.
+    private record Run(String path, int calls, double elapsedMs, List<TimerRegistry.Stats> queries,
+            List<TimerRegistry.Stats> acquires) {
+
+        double perCall(List<TimerRegistry.Stats> stats) {
+            return stats.stream().mapToLong(TimerRegistry.Stats::count).sum() / (double) calls;
+        }
+    }
+
+    private DashboardQueryCount() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Logger.init();
+        BenchmarkDatabase.prepare();
+
+        int calls = Integer.parseInt(BenchmarkDatabase.setting("count.calls", "COUNT_CALLS", "200"));
+        int projects = BenchmarkDatabase.PROJECTS_PER_SCALE * BenchmarkDatabase.scale();
+        int[] projectIds = new int[calls];
+        for (int i = 0; i < calls; i++) {
+            projectIds[i] = 1 + ThreadLocalRandom.current().nextInt(projects);
+        }
+
+        List<Run> runs = new ArrayList<>();
+        try (HikariDataSource pool = BenchmarkDatabase.createDataSource()) {
+            for (String path : PATHS) {
+                // 워밍업 (집계 제외).
+                measure(pool, path, projectIds);
+                runs.add(measure(pool, path, projectIds));
+            }
+        }
+        print(runs);
+    }
+
+    // 경로별 계측 DataSource를 새로 만들어 projectIds 순서대로 조회.
+    private static Run measure(HikariDataSource pool, String path, int[] projectIds) throws Exception {
+        TimerRegistry queries = new TimerRegistry();
+        TimerRegistry acquires = new TimerRegistry();
+        InstrumentedDataSource dataSource = new InstrumentedDataSource(pool, queries, acquires);
+
+        ProjectService projectService = null;
+        if (!path.equals("legacy")) {
+            ChangeNotificationService notifications = new ChangeNotificationService(dataSource, false);
+            SearchIndexService searchIndexService = new SearchIndexService(dataSource, notifications);
+            // 실행 스레드는 데몬 스레드라 종료 처리 생략.
+            QueryFanOut queryFanOut = new QueryFanOut(dataSource, new ThreadingMode(false), 4, 3000, 16);
+            projectService = new ProjectService(dataSource, searchIndexService, queryFanOut,
+                    path.equals("fanout"));
+        }
+
+        long start = System.nanoTime();
+        for (int projectId : projectIds) {
+            if (projectService != null) {
+                projectService.getDashboardStats(projectId);
+            } else {
+                try (Connection conn = dataSource.getConnection()) {
+                    LegacyDashboardStats.load(conn, projectId);
+                }
+            }
+        }
+        double elapsedMs = (System.nanoTime() - start) / 1e6;
+        return new Run(path, projectIds.length, elapsedMs, queries.snapshot(), acquires.snapshot());
+    }
+
+    private static void print(List<Run> runs) {
+        System.out.println();
+        System.out.println("=== 대시보드 통계 요청당 SQL 실행 수 (scale=" + BenchmarkDatabase.scale() + ", 요청 "
+                + runs.get(0).calls() + "건) ===");
+        System.out.printf("%-8s %12s %14s %12s%n", "Path", "SQL/요청", "커넥션/요청", "평균(ms)");
+        for (Run run : runs) {
+            System.out.printf("%-8s %12.1f %14.1f %12.3f%n", run.path(), run.perCall(run.queries()),
+                    run.perCall(run.acquires()), run.elapsedMs() / run.calls());
+        }
+        for (Run run : runs) {
+            System.out.println();
+            System.out.println("[" + run.path() + "] 실행 메서드별 요청당 횟수");
+            for (TimerRegistry.Stats s : run.queries()) {
+                System.out.printf("  %-50s %6.1f %10.3f ms%n", s.name(), s.count() / (double) run.calls(),
+                        s.meanMs());
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package hw10.benchmark;
+
+import hw10.dto.ProjectDto;
+import hw10.repository.ProjectRepository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 단일 집계 쿼리 도입 전 대시보드 통계 조회 경로 (비교 기준).
+ * 기본 정보, 총 발주액, 총 배출량, 유형별 배출량(운송/보관/가공/생산 각 1회), 상위 공급사,
+ * 탄소 집약도(총 배출량/총 발주액 재조회)를 커넥션 1개에서 순서대로 조회 (요청당 10회).
+ * 배출량 조회는 웹 앱에서 제거되어 당시 SQL 그대로 보관.
+ */
+final class LegacyDashboardStats {
+
+    private static final ProjectRepository PROJECTS = new ProjectRepository();
+
+    private LegacyDashboardStats() {
+    }
+
+    static ProjectDto.DashboardStats load(Connection conn, int projectId) throws SQLException {
+        var projectBasic = PROJECTS.findProjectById(conn, projectId);
+        if (projectBasic == null) {
+            throw new IllegalArgumentException("프로젝트를 찾을 수 없습니다: " + projectId);
+        }
+
+        double totalAmount = PROJECTS.totalOrderAmount(conn, projectId);
+        double totalEmission = emissionSumTotal(conn, projectId);
+        double transportEmission = emissionSumByType(conn, projectId, "운송");
+        double storageEmission = emissionSumByType(conn, projectId, "보관");
+        double processingEmission = emissionSumByType(conn, projectId, "가공")
+                + emissionSumByType(conn, projectId, "생산");
+        var topSuppliers = PROJECTS.topSuppliersByAmount(conn, projectId, 3);
+
+        // 탄소 집약도: 총 배출량, 총 발주액 재조회.
+        double intensityEmission = emissionSumTotal(conn, projectId);
+        double intensityAmount = PROJECTS.totalOrderAmount(conn, projectId);
+        Double carbonIntensity = ProjectRepository.carbonIntensity(intensityEmission, intensityAmount);
+
+        ProjectDto.ProjectBasic project = new ProjectDto.ProjectBasic(
+                projectBasic.projectId(),
+                projectBasic.shipName(),
+                projectBasic.shipType(),
+                projectBasic.contractDate(),
+                projectBasic.deliveryDueDate(),
+                projectBasic.status());
+        List<ProjectDto.SupplierAmount> suppliers = topSuppliers.stream()
+                .map(s -> new ProjectDto.SupplierAmount(s.supplierId(), s.name(), s.amount()))
+                .toList();
+
+        return new ProjectDto.DashboardStats(project, totalAmount, totalEmission, transportEmission,
+                storageEmission, processingEmission, suppliers, carbonIntensity, null, null);
+    }
+
+    // 유형별 배출량 합계 (프로젝트 배출 + 납품 배출).
+    private static double emissionSumByType(Connection conn, int projectId, String emissionType)
+            throws SQLException {
+        String sql = """
+                SELECT COALESCE(SUM(c.CO2eAmount), 0) AS s
+                FROM CarbonEmissionRecord c
+                WHERE c.EmissionType = ?
+                  AND (
+                        c.ProjectID = ?
+                        OR c.DeliveryID IN (
+                            SELECT d.DeliveryID
+                            FROM Delivery d
+                            JOIN PurchaseOrder po ON po.POID = d.POID
+                            WHERE po.ProjectID = ?
+                        )
+                  )
+                """;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, emissionType);
+            ps.setInt(2, projectId);
+            ps.setInt(3, projectId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getDouble("s");
+            }
+        }
+    }
+
+    // 전체 배출량 합계.
+    private static double emissionSumTotal(Connection conn, int projectId) throws SQLException {
+        String sql = """
+                SELECT COALESCE(SUM(c.CO2eAmount), 0) AS s
+                FROM CarbonEmissionRecord c
+                WHERE (
+                        c.ProjectID = ?
+                        OR c.DeliveryID IN (
+                            SELECT d.DeliveryID
+                            FROM Delivery d
+                            JOIN PurchaseOrder po ON po.POID = d.POID
+                            WHERE po.ProjectID = ?
+                        )
+                  )
+                """;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, projectId);
+            ps.setInt(2, projectId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getDouble("s");
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package hw10.benchmark;
+
+import hw10.Application;
+import hw10.config.AdmissionControlledDataSource;
+import hw10.config.DataSourceMetrics;
+import hw10.config.ThreadingMode;
+import hw10.util.LatencyHistogram;
+import hw10.util.Logger;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 처리 스레드 모드별 부하 테스트 (플랫폼 스레드 풀 vs 가상 스레드).
+ * 모드마다 웹 앱을 같은 JVM에서 기동(임의 포트)하고, 동시 사용자 수별로 대시보드 통계 API를 반복 호출.
+ * 사용자는 응답 수신 즉시 다음 요청 (대기 시간 없음, 프로젝트 ID 임의 선택).
+ * 처리량, 응답 시간 백분위, 503(커넥션 대기 초과)/오류 건수와 서버 측 커넥션 획득/입장 대기 p99 출력.
+ * 가상 스레드 모드는 JDK 21 이상에서만 실행 (미만이면 생략 안내).
+ * 커넥션 입장 제한은 웹 앱 기본값(가상 스레드 모드에서만 사용)을 따르며 load.admission=true/false로 고정 가능.
+ */
+public final class LoadTest {
+
+    private static final String PATH = "/api/projects/%d/stats";
+
+    // 측정 결과 1건. admissionWait: 입장 제한 미사용 시 null.
+    private record Run(String mode, int users, double seconds, long busy, long failed,
+            LatencyHistogram.Snapshot latency, LatencyHistogram.Snapshot acquire,
+            LatencyHistogram.Snapshot admissionWait) {
+    }
+
+    // 구간 집계. 응답 시간은 2xx만 기록.
+    private static final class Stats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder busy = new LongAdder();
+        final LongAdder failed = new LongAdder();
+    }
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Logger.init();
+        BenchmarkDatabase.prepare();
+
+        List<String> modes = list(BenchmarkDatabase.setting("load.modes", "LOAD_MODES", "platform,virtual"));
+        List<String> users = list(BenchmarkDatabase.setting("load.users", "LOAD_USERS", "50,500,2000"));
+        long seconds = Long.parseLong(BenchmarkDatabase.setting("load.seconds", "LOAD_SECONDS", "20"));
+        long warmup = Long.parseLong(BenchmarkDatabase.setting("load.warmup-seconds", "LOAD_WARMUP_SECONDS", "5"));
+        String admission = BenchmarkDatabase.setting("load.admission", "LOAD_ADMISSION", "");
+        int projects = BenchmarkDatabase.PROJECTS_PER_SCALE * BenchmarkDatabase.scale();
+
+        List<Run> runs = new ArrayList<>();
+        for (String mode : modes) {
+            boolean virtual = mode.equals("virtual");
+            if (virtual && !ThreadingMode.supported()) {
+                System.out.println("[load] 가상 스레드 모드 생략: JDK 21 이상 필요 (현재 JDK "
+                        + Runtime.version().feature() + ")");
+                continue;
+            }
+            try (ConfigurableApplicationContext ctx = start(virtual, admission)) {
+                int port = ctx.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                DataSourceMetrics metrics = ctx.getBean(DataSourceMetrics.class);
+                for (String u : users) {
+                    int n = Integer.parseInt(u);
+                    System.out.println("[load] " + mode + " - 동시 사용자 " + n + "명, 워밍업 " + warmup + "초, 측정 "
+                            + seconds + "초");
+                    drive(port, n, projects, warmup * 1000, null);
+                    runs.add(measure(mode, port, n, projects, seconds * 1000, metrics));
+                }
+            }
+        }
+        print(runs, seconds);
+    }
+
+    // 웹 앱 기동. 데이터/마이그레이션은 prepare()에서 처리하므로 기동 시 적용/점검 생략.
+    // admission: 입장 제한 사용 여부 (빈 값이면 웹 앱 기본값).
+    private static ConfigurableApplicationContext start(boolean virtual, String admission) {
+        int pool = BenchmarkDatabase.poolSize();
+        SpringApplication app = new SpringApplication(Application.class);
+        app.setBannerMode(Banner.Mode.OFF);
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + BenchmarkDatabase.url(),
+                "--spring.datasource.username=" + BenchmarkDatabase.user(),
+                "--spring.datasource.password=" + BenchmarkDatabase.password(),
+                "--spring.datasource.hikari.maximum-pool-size=" + pool,
+                "--spring.datasource.hikari.minimum-idle=" + pool,
+                "--spring.datasource.hikari.connection-timeout=20000",
+                "--spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=true",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--scm.migration.enabled=false",
+                "--scm.query-plan-check.on-startup=false",
+                "--logging.level.root=WARN"));
+        if (!admission.isEmpty()) {
+            args.add("--scm.db-admission.enabled=" + admission);
+        }
+        return app.run(args.toArray(String[]::new));
+    }
+
+    private static Run measure(String mode, int port, int users, int projects, long durationMs,
+            DataSourceMetrics metrics) throws InterruptedException {
+        AdmissionControlledDataSource admission = metrics.admission();
+        LatencyHistogram.Snapshot acquireStart = metrics.acquireTime().snapshot();
+        LatencyHistogram.Snapshot waitStart = admission != null ? admission.waitTime().snapshot() : null;
+
+        Stats stats = new Stats();
+        long start = System.nanoTime();
+        drive(port, users, projects, durationMs, stats);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        return new Run(mode, users, seconds, stats.busy.sum(), stats.failed.sum(), stats.latency.snapshot(),
+                metrics.acquireTime().snapshot().since(acquireStart),
+                admission != null ? admission.waitTime().snapshot().since(waitStart) : null);
+    }
+
+    // 동시 사용자 users명이 durationMs 동안 요청 반복. stats가 null이면 집계 없음 (워밍업).
+    private static void drive(int port, int users, int projects, long durationMs, Stats stats)
+            throws InterruptedException {
+        ExecutorService callbacks = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+                .executor(callbacks)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long deadline = System.nanoTime() + durationMs * 1_000_000;
+        CountDownLatch done = new CountDownLatch(users);
+        for (int i = 0; i < users; i++) {
+            next(client, port, projects, deadline, stats, done);
+        }
+        done.await();
+        callbacks.shutdown();
+    }
+
+    // 사용자 1명의 다음 요청. 마감 시각 이후면 종료 처리.
+    private static void next(HttpClient client, int port, int projects, long deadline, Stats stats,
+            CountDownLatch done) {
+        long start = System.nanoTime();
+        if (start >= deadline) {
+            done.countDown();
+            return;
+        }
+        int id = 1 + ThreadLocalRandom.current().nextInt(projects);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PATH.formatted(id)))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            if (stats != null) {
+                if (error == null && response.statusCode() / 100 == 2) {
+                    stats.latency.record(System.nanoTime() - start);
+                } else if (error == null && response.statusCode() == 503) {
+                    stats.busy.increment();
+                } else {
+                    stats.failed.increment();
+                }
+            }
+            next(client, port, projects, deadline, stats, done);
+        });
+    }
+
+    private static void print(List<Run> runs, long seconds) {
+        System.out.println();
+        System.out.println("=== 부하 테스트 (GET " + PATH.formatted(0).replace("/0/", "/{id}/") + ", scale="
+                + BenchmarkDatabase.scale() + ", pool=" + BenchmarkDatabase.poolSize() + ", 측정 " + seconds + "초) ===");
+        System.out.printf("%-9s %6s %10s %9s %9s %9s %7s %7s %13s %13s%n", "Mode", "Users", "req/s", "p50(ms)",
+                "p99(ms)", "max(ms)", "503", "errors", "acquire p99", "admission p99");
+        for (Run r : runs) {
+            System.out.printf("%-9s %6d %10.1f %9.2f %9.2f %9.2f %7d %7d %13.2f %13s%n", r.mode(), r.users(),
+                    r.latency().count() / r.seconds(), r.latency().percentileMillis(0.50),
+                    r.latency().percentileMillis(0.99), r.latency().maxMillis(), r.busy(), r.failed(),
+                    r.acquire().percentileMillis(0.99),
+                    r.admissionWait() != null ? "%.2f".formatted(r.admissionWait().percentileMillis(0.99)) : "-");
+        }
+    }
+
+    private static List<String> list(String csv) {
+        List<String> out = new ArrayList<>();
+        for (String s : csv.split(",")) {
+            if (!s.isBlank()) {
+                out.add(s.trim());
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,76 @@
+package hw10.benchmark;
+
+import hw10.dto.OrderDto;
+import hw10.service.ChangeNotificationService;
+import hw10.service.OrderService;
+import hw10.service.ReferenceDataService;
+import hw10.service.SearchIndexService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부품 검색 (OrderService.searchParts).
+ * path=index: 검색 색인 구축 후 (운영 기본 경로), path=cache: 색인 미구축 시 기준 정보 캐시/SQL 경로.
+ * 변경 알림 수신은 비활성화 (캐시 무효화 없음).
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    // 부품명 검색어 (seed-scaled.sql 부품명 기준, 빈 값은 전체 조회).
+    private static final String[] KEYWORDS = { "엔진", "밸브", "펌프", "케이블", "탱크", "프로펠러", "M12", "" };
+
+    @State(Scope.Benchmark)
+    public static class Services {
+
+        @Param({ "index", "cache" })
+        public String path;
+
+        OrderService orderService;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchmarkState db) throws Exception {
+            ChangeNotificationService notifications = new ChangeNotificationService(db.dataSource, false);
+            ReferenceDataService referenceDataService = new ReferenceDataService(db.dataSource, notifications, 600,
+                    512);
+            SearchIndexService searchIndexService = new SearchIndexService(db.dataSource, notifications);
+            orderService = new OrderService(db.dataSource, referenceDataService, searchIndexService);
+
+            if (path.equals("index")) {
+                // 전체 재구축 요청 후 완료 대기.
+                notifications.publishLocal(ChangeNotificationService.ALL);
+                long deadline = System.currentTimeMillis() + 60_000;
+                while (searchIndexService.searchParts("", 1) == null) {
+                    if (System.currentTimeMillis() > deadline) {
+                        throw new IllegalStateException("검색 색인 구축 시간 초과");
+                    }
+                    Thread.sleep(50);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public List<OrderDto.PartOption> searchParts(Services services) throws SQLException {
+        String keyword = KEYWORDS[ThreadLocalRandom.current().nextInt(KEYWORDS.length)];
+        return services.orderService.searchParts(keyword);
+    }
+}
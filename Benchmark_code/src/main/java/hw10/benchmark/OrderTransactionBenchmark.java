@@ -0,0 +1,71 @@
+package hw10.benchmark;
+
+import hw10.service.OrderTransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 발주 등록 트랜잭션 (OrderTransactionService.createOrderWithInitialDelivery).
+ * 발주서/품목/초기 납품/재고/KPI 반영 후 커밋. 측정 중 등록된 발주는 DB에 누적.
+ * lines=3: 건별 저장, lines=10: 일괄(batch) 저장 경로.
+ * 임의 창고/부품 조합이므로 스레드 수 증가 시 재고 행 잠금 경합 포함.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class OrderTransactionBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Services {
+
+        @Param({ "3", "10" })
+        public int lines;
+
+        OrderTransactionService orderTransactionService;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchmarkState db) {
+            orderTransactionService = new OrderTransactionService(db.dataSource);
+        }
+    }
+
+    @Benchmark
+    public OrderTransactionService.TransactionResult createOrderWithInitialDelivery(BenchmarkState db,
+            Services services) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        // 발주서 내 부품 중복 없음 (발주 화면과 동일).
+        Set<Integer> partIds = new LinkedHashSet<>();
+        while (partIds.size() < services.lines) {
+            partIds.add(db.randomPartId());
+        }
+        List<OrderTransactionService.OrderLineInput> lines = new ArrayList<>(partIds.size());
+        for (int partId : partIds) {
+            lines.add(new OrderTransactionService.OrderLineInput(partId, 1 + random.nextInt(20),
+                    1000.0 + random.nextInt(100000)));
+        }
+
+        return services.orderTransactionService.createOrderWithInitialDelivery(
+                db.randomProjectId(), db.randomSupplierId(), "벤치마크", "요청", lines,
+                db.randomWarehouseId(), "트럭", 120.0);
+    }
+}
@@ -0,0 +1,48 @@
+package hw10.benchmark;
+
+import hw10.repository.ProjectRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대시보드 조회 (ProjectService.getDashboardStats 경로).
+ * 호출마다 임의 프로젝트, 풀에서 커넥션 획득 포함.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectRepositoryBenchmark {
+
+    private final ProjectRepository projectRepository = new ProjectRepository();
+
+    // 프로젝트 기본 정보 + 총 발주 금액 + 유형별 배출량 (단일 쿼리).
+    @Benchmark
+    public ProjectRepository.ProjectStats dashboardStats(BenchmarkState state) throws SQLException {
+        try (Connection conn = state.dataSource.getConnection()) {
+            return projectRepository.dashboardStats(conn, state.randomProjectId());
+        }
+    }
+
+    // 발주 금액 상위 공급업체 3곳 (대시보드와 동일 개수).
+    @Benchmark
+    public List<ProjectRepository.SupplierAmount> topSuppliersByAmount(BenchmarkState state) throws SQLException {
+        try (Connection conn = state.dataSource.getConnection()) {
+            return projectRepository.topSuppliersByAmount(conn, state.randomProjectId(), 3);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package hw10.benchmark;
+
+import hw10.config.ThreadingMode;
+import hw10.dto.ProjectDto;
+import hw10.service.ChangeNotificationService;
+import hw10.service.ProjectService;
+import hw10.service.QueryFanOut;
+import hw10.service.SearchIndexService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대시보드 통계 (ProjectService.getDashboardStats).
+ * path=legacy: 단일 집계 쿼리 도입 전 경로 (LegacyDashboardStats, 요청당 SQL 10회),
+ * path=serial: 단일 커넥션 순차 조회, path=fanout: 조회별 커넥션 병렬 조회 (QueryFanOut, 요청당 4개).
+ * 요청당 SQL 실행 수는 DashboardQueryCount로 확인.
+ * 병렬 조회 이득은 DB 서버 코어 수에 따라 달라짐 (코어 1개면 조회가 CPU를 나눠 써 이득 없음).
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ProjectServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Services {
+
+        @Param({ "legacy", "serial", "fanout" })
+        public String path;
+
+        ProjectService projectService;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchmarkState db) {
+            if (path.equals("legacy")) {
+                return;
+            }
+            ChangeNotificationService notifications = new ChangeNotificationService(db.dataSource, false);
+            SearchIndexService searchIndexService = new SearchIndexService(db.dataSource, notifications);
+            // 실행 스레드는 데몬 스레드라 종료 처리 생략.
+            QueryFanOut queryFanOut = new QueryFanOut(db.dataSource, new ThreadingMode(false), 4, 3000, 16);
+            projectService = new ProjectService(db.dataSource, searchIndexService, queryFanOut,
+                    path.equals("fanout"));
+        }
+    }
+
+    @Benchmark
+    public ProjectDto.DashboardStats dashboardStats(Services services, BenchmarkState db) throws SQLException {
+        if (services.projectService == null) {
+            try (Connection conn = db.dataSource.getConnection()) {
+                return LegacyDashboardStats.load(conn, db.randomProjectId());
+            }
+        }
+        return services.projectService.getDashboardStats(db.randomProjectId());
+    }
+}
@@ -0,0 +1,47 @@
+package hw10.benchmark;
+
+import hw10.repository.SupplierRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 공급업체 목록 조회 (SupplierService.listSuppliers 경로).
+ * 전체 목록 및 ESG 등급/지연율 필터 조건.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SupplierRepositoryBenchmark {
+
+    private final SupplierRepository supplierRepository = new SupplierRepository();
+
+    @Benchmark
+    public List<SupplierRepository.SupplierRow> listAll(BenchmarkState state) throws SQLException {
+        try (Connection conn = state.dataSource.getConnection()) {
+            return supplierRepository.listSuppliers(conn, null, null, null);
+        }
+    }
+
+    // 공급업체 화면 필터 (ESG A/B, 지연율 10% 이상).
+    @Benchmark
+    public List<SupplierRepository.SupplierRow> listFiltered(BenchmarkState state) throws SQLException {
+        try (Connection conn = state.dataSource.getConnection()) {
+            return supplierRepository.listSuppliers(conn, List.of("A", "B"), 0.1, null);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+-- ============================================================
+-- 벤치마크용 대량 샘플 데이터 (seed.sql 확장판)
+-- ${scale}: 배율 (BenchmarkDatabase가 치환). 배율 1 기준 행 수:
+--   공급업체 100, 부품 500, 프로젝트 200, 창고 20, 재고 2,000
+--   발주서 20,000 (품목 평균 2.5개), 납품 20,000, 배출 기록 약 24,800
+-- 값은 ID 기반 고정 공식으로 생성 (실행마다 동일 데이터).
+-- schema.sql 적용 직후, db/migration 실행 전에 적용.
+-- ============================================================
+
+-- 조선소 (seed.sql과 동일)
+INSERT INTO Shipyard (ShipyardID, Name, Region, HName, EstablishedDate) VALUES
+(1, '현대중공업 울산', '울산광역시', '선박해양사업본부', '1972-03-23'),
+(2, '삼성중공업 거제', '경상남도 거제시', '조선해양부문', '1974-08-01'),
+(3, '대우조선해양', '경상남도 거제시', '상선사업본부', '1973-10-28');
+
+-- 공급업체. ESG 등급 A:B:C:D = 4:3:2:1
+INSERT INTO Supplier (SupplierID, Name, Country, ContactName, ContactPhone, ESGGrade)
+SELECT i,
+       '공급업체-' || i,
+       (ARRAY['한국', '독일', '중국', '핀란드', '스위스', '일본'])[1 + i % 6],
+       '담당자-' || i,
+       '02-000-' || lpad((i % 10000)::text, 4, '0'),
+       (ARRAY['A', 'A', 'A', 'A', 'B', 'B', 'B', 'C', 'C', 'D'])[1 + i % 10]
+FROM generate_series(1, 100 * ${scale}) AS i;
+
+-- 부품. 이름은 seed.sql 부품명 + 모델 번호 (부품명 검색 대상)
+INSERT INTO Part (PartID, Name, Spec, Unit, BaseEmissionFactor)
+SELECT i,
+       (ARRAY['저속 디젤엔진', '프로펠러', 'LNG 연료탱크', '발전기 세트', '선박용 케이블',
+              '철강판재', '도료', '밸브', '펌프', '배터리팩'])[1 + i % 10] || ' M' || i,
+       '규격-' || i,
+       (ARRAY['대', '개', '기', '세트', 'km', '톤', '드럼', '개', '대', '세트'])[1 + i % 10],
+       (ARRAY[45000.0, 8500.0, 32000.0, 12000.0, 350.0, 2100.0, 85.0, 120.0, 2800.0, 18000.0])[1 + i % 10]
+FROM generate_series(1, 500 * ${scale}) AS i;
+
+-- 선박 프로젝트
+INSERT INTO ShipProject (ProjectID, ShipName, ShipType, ContractDate, DeliveryDueDate, Status, ShipyardID)
+SELECT i,
+       'BENCH SHIP-' || i,
+       (ARRAY['Bulk carrier', 'Containership', 'Tanker', 'Gas carrier', 'General cargo ship',
+              'Refrigerated cargo carrier', 'Ro-ro', 'Passenger ship', 'Offshore supply vessel'])[1 + i % 9],
+       DATE '2022-01-01' + (i % 730),
+       DATE '2024-06-30' + (i % 730),
+       (ARRAY['설계', '건조중', '건조중', '인도완료'])[1 + i % 4],
+       1 + i % 3
+FROM generate_series(1, 200 * ${scale}) AS i;
+
+-- 부품-공급업체 단가. 부품당 공급업체 3곳
+INSERT INTO SupplierPart (SupplierID, PartID, UnitPrice, LeadTimeDays, MinOrderQty)
+SELECT 1 + (p * 7 + k * 31) % (100 * ${scale}), p,
+       1000.0 + (p * 37 + k * 11) % 100000,
+       14 + (p + k) % 200,
+       1 + k
+FROM generate_series(1, 500 * ${scale}) AS p
+CROSS JOIN generate_series(0, 2) AS k;
+
+-- 창고
+INSERT INTO Warehouse (WarehouseID, ShipyardID, Name, Location, IsTempControlled)
+SELECT i, 1 + i % 3, '창고-' || i, '구역-' || (i % 10), i % 4 = 0
+FROM generate_series(1, 20 * ${scale}) AS i;
+
+-- 재고. 창고당 부품 100종
+INSERT INTO Inventory (WarehouseID, PartID, Quantity)
+SELECT w, 1 + (w * 13 + k * 5 * ${scale}) % (500 * ${scale}), 10 + (w * k) % 5000
+FROM generate_series(1, 20 * ${scale}) AS w
+CROSS JOIN generate_series(0, 99) AS k;
+
+-- 발주서
+INSERT INTO PurchaseOrder (POID, OrderDate, Status, EngineerName, ProjectID, SupplierID)
+SELECT i,
+       DATE '2022-01-01' + (i % 1000),
+       (ARRAY['발주완료', '발주완료', '검수중', '요청', '취소'])[1 + i % 5],
+       '엔지니어-' || (i % 50),
+       1 + (i * 7) % (200 * ${scale}),
+       1 + (i * 13) % (100 * ${scale})
+FROM generate_series(1, 20000 * ${scale}) AS i;
+
+-- 발주 품목. 발주서당 1~4개
+INSERT INTO PurchaseOrderLine (POID, LineNo, PartID, Quantity, UnitPriceAtOrder, RequestedDueDate)
+SELECT po.i, l,
+       1 + (po.i * 17 + l * 101) % (500 * ${scale}),
+       1 + (po.i + l) % 50,
+       1000.0 + (po.i * 37 + l * 11) % 100000,
+       DATE '2022-01-01' + (po.i % 1000) + 60
+FROM generate_series(1, 20000 * ${scale}) AS po(i)
+CROSS JOIN generate_series(1, 4) AS l
+WHERE l <= 1 + po.i % 4;
+
+-- 납품. 발주서당 1건, 정상입고:부분입고:지연 = 80:8:12
+INSERT INTO Delivery (DeliveryID, POID, ActualArrivalDate, TransportMode, DistanceKm, Status)
+SELECT i, i,
+       DATE '2022-01-01' + (i % 1000) + 30,
+       (ARRAY['트럭', '선박', '철도', '항공'])[1 + i % 4],
+       10 + (i * 7) % 2000,
+       CASE WHEN (i::bigint * 2654435761) % 100 < 80 THEN '정상입고'
+            WHEN (i::bigint * 2654435761) % 100 < 88 THEN '부분입고'
+            ELSE '지연' END
+FROM generate_series(1, 20000 * ${scale}) AS i;
+
+-- 납품 상세. 발주 품목 전량 입고
+INSERT INTO DeliveryLine (DeliveryID, POID, LineNo, ReceivedQty, InspectionResult)
+SELECT POID, POID, LineNo, Quantity, '합격'
+FROM PurchaseOrderLine;
+
+-- 탄소배출 기록. 납품별 운송 1건 + 프로젝트별 생산/보관 월별 12건씩
+INSERT INTO CarbonEmissionRecord (RecordID, DeliveryID, ProjectID, EmissionType, CO2eAmount, Basis, RecordDate)
+SELECT i, i, NULL, '운송', 10 + (i * 7) % 2000 * 0.5, '운송 거리 기준', DATE '2022-01-01' + (i % 1000) + 30
+FROM generate_series(1, 20000 * ${scale}) AS i;
+
+INSERT INTO CarbonEmissionRecord (RecordID, DeliveryID, ProjectID, EmissionType, CO2eAmount, Basis, RecordDate)
+SELECT 20000 * ${scale} + (p - 1) * 24 + t * 12 + m + 1,
+       NULL, p,
+       (ARRAY['생산', '보관'])[1 + t],
+       100 + (p * 31 + m * 7) % 5000,
+       '표준 배출계수',
+       (DATE '2023-01-01' + make_interval(months => m))::date
+FROM generate_series(1, 200 * ${scale}) AS p
+CROSS JOIN generate_series(0, 1) AS t
+CROSS JOIN generate_series(0, 11) AS m;
+
+ANALYZE;
@@ -0,0 +1,270 @@
+package hw10.db;
+
+import hw10.util.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 버전 마이그레이션 실행기 (Web/Console 공용 소스, 각 모듈 빌드에 소스 디렉토리로 추가).
+ * 스크립트는 Common_code/src/main/resources/db/migration 한 곳에서 관리, 각 모듈 클래스패스 db/migration으로 포함.
+ * V{번호}__{설명}.sql 스크립트를 번호 순으로 적용하고 SchemaMigration 테이블에 기록.
+ * 스크립트 1개 = 트랜잭션 1개. 실패 시 해당 스크립트 롤백 후 SQLException.
+ * 헤더 주석에 "-- migrate:no-transaction" 표시한 스크립트는 트랜잭션 없이 문장 단위 실행
+ * (CREATE INDEX CONCURRENTLY 등 트랜잭션/파이프라인 내 실행 불가 문장용). 실패 시 앞선 문장은 유지.
+ * 동시 기동 대비 advisory lock으로 직렬화.
+ * 이력 테이블 도입 전 수동 적용된 DB는 전체 재적용 (기존 스크립트 모두 재실행 가능).
+ */
+public final class SchemaMigrator {
+
+    // 클래스패스 내 스크립트 위치.
+    public static final String LOCATION = "db/migration";
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    // 비트랜잭션 스크립트 헤더 표시.
+    public static final String NO_TRANSACTION = "-- migrate:no-transaction";
+
+    // 문장 구분: 줄 끝 세미콜론. 비트랜잭션 스크립트는 $$ 함수 본문, 문자열 내 줄 끝 세미콜론 사용 불가.
+    private static final Pattern STATEMENT_END = Pattern.compile(";[ \\t]*(\\R|$)");
+
+    // pg_advisory_lock 키 (임의 고정값).
+    private static final long LOCK_KEY = 0x5c3d_0001L;
+
+    // 마이그레이션 스크립트. checksum: 본문 CRC32.
+    public record Script(int version, String description, String sql, long checksum) {
+
+        /**
+         * 파일명(V8__hot_query_indexes.sql)과 본문으로 생성.
+         * 형식 불일치 시 IllegalArgumentException.
+         */
+        public static Script of(String fileName, String sql) {
+            Matcher m = FILE_NAME.matcher(fileName);
+            if (!m.matches()) {
+                throw new IllegalArgumentException("마이그레이션 파일명 형식 오류: " + fileName);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(sql.getBytes(StandardCharsets.UTF_8));
+            return new Script(Integer.parseInt(m.group(1)), m.group(2).replace('_', ' '), sql, crc.getValue());
+        }
+
+        /**
+         * 트랜잭션 실행 여부. 선두 주석 줄(헤더)에 NO_TRANSACTION 표시가 있으면 false.
+         */
+        public boolean transactional() {
+            for (String line : sql.lines().toList()) {
+                String t = line.strip();
+                if (t.isEmpty()) {
+                    continue;
+                }
+                if (!t.startsWith("--")) {
+                    break;
+                }
+                if (t.equals(NO_TRANSACTION)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 본문을 문장 단위로 분리 (주석만 있는 조각 제외). 비트랜잭션 실행용.
+         */
+        public List<String> statements() {
+            List<String> out = new ArrayList<>();
+            for (String part : STATEMENT_END.split(sql)) {
+                boolean code = part.lines().map(String::strip)
+                        .anyMatch(t -> !t.isEmpty() && !t.startsWith("--"));
+                if (code) {
+                    out.add(part.strip());
+                }
+            }
+            return out;
+        }
+    }
+
+    // 실행 결과. version: 적용 후 최신 버전.
+    public record Result(int applied, int version) {
+    }
+
+    private final List<Script> scripts;
+
+    public SchemaMigrator(List<Script> scripts) {
+        List<Script> sorted = new ArrayList<>(scripts);
+        sorted.sort(Comparator.comparingInt(Script::version));
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).version() == sorted.get(i - 1).version()) {
+                throw new IllegalArgumentException("마이그레이션 버전 중복: V" + sorted.get(i).version());
+            }
+        }
+        this.scripts = List.copyOf(sorted);
+    }
+
+    /**
+     * 클래스패스(LOCATION)의 V*.sql 전체로 생성. 형식 불일치 파일은 무시.
+     * 디렉토리(file:), jar 내부(jar:) 모두 지원.
+     */
+    public static SchemaMigrator fromClasspath() throws IOException {
+        URL url = SchemaMigrator.class.getClassLoader().getResource(LOCATION);
+        if (url == null) {
+            return new SchemaMigrator(List.of());
+        }
+        try {
+            URI uri = url.toURI();
+            if (uri.getScheme().equals("jar")) {
+                try (FileSystem fs = FileSystems.newFileSystem(uri, Map.of())) {
+                    return new SchemaMigrator(readScripts(fs.getPath(LOCATION)));
+                }
+            }
+            return new SchemaMigrator(readScripts(Path.of(uri)));
+        } catch (URISyntaxException e) {
+            throw new IOException("마이그레이션 경로 오류: " + url, e);
+        }
+    }
+
+    private static List<Script> readScripts(Path dir) throws IOException {
+        List<Script> out = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                String fileName = file.getFileName().toString();
+                if (!FILE_NAME.matcher(fileName).matches()) {
+                    continue;
+                }
+                try (InputStream in = Files.newInputStream(file)) {
+                    out.add(Script.of(fileName, new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 미적용 스크립트 적용.
+     * 적용된 스크립트의 본문이 바뀐 경우 경고만 기록 (재실행 안 함).
+     * 커넥션 자동 커밋 상태는 종료 시 복원.
+     */
+    public Result migrate(Connection conn) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(true);
+        try (Statement st = conn.createStatement()) {
+            st.execute("SELECT pg_advisory_lock(" + LOCK_KEY + ")");
+            try {
+                st.execute("""
+                        CREATE TABLE IF NOT EXISTS SchemaMigration (
+                            Version INT PRIMARY KEY,
+                            Description VARCHAR(200) NOT NULL,
+                            Checksum BIGINT NOT NULL,
+                            AppliedAt TIMESTAMP NOT NULL DEFAULT now(),
+                            ExecutionMs BIGINT NOT NULL
+                        )
+                        """);
+                return applyPending(conn);
+            } finally {
+                st.execute("SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private Result applyPending(Connection conn) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement st = conn.createStatement();
+                ResultSet rs = st.executeQuery("SELECT Version, Checksum FROM SchemaMigration")) {
+            while (rs.next()) {
+                applied.put(rs.getInt("Version"), rs.getLong("Checksum"));
+            }
+        }
+
+        int count = 0;
+        int version = applied.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+        for (Script script : scripts) {
+            Long checksum = applied.get(script.version());
+            if (checksum != null) {
+                if (checksum != script.checksum()) {
+                    Logger.warn("적용 후 변경된 마이그레이션: V" + script.version() + " " + script.description());
+                }
+                continue;
+            }
+            apply(conn, script);
+            count++;
+            version = Math.max(version, script.version());
+        }
+        return new Result(count, version);
+    }
+
+    private void apply(Connection conn, Script script) throws SQLException {
+        if (!script.transactional()) {
+            applyWithoutTransaction(conn, script);
+            return;
+        }
+        long start = System.nanoTime();
+        conn.setAutoCommit(false);
+        try {
+            try (Statement st = conn.createStatement()) {
+                st.execute(script.sql());
+            }
+            long ms = (System.nanoTime() - start) / 1_000_000;
+            record(conn, script, ms);
+            conn.commit();
+            Logger.info("마이그레이션 적용: V" + script.version() + " " + script.description() + " (" + ms + "ms)");
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("마이그레이션 실패: V" + script.version() + " " + script.description()
+                    + " - " + e.getMessage(), e.getSQLState(), e);
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    // 자동 커밋 상태에서 문장별 실행 후 이력 기록. 실패 시 이력 미기록 (다음 기동 시 재실행).
+    private void applyWithoutTransaction(Connection conn, Script script) throws SQLException {
+        long start = System.nanoTime();
+        try (Statement st = conn.createStatement()) {
+            for (String statement : script.statements()) {
+                st.execute(statement);
+            }
+        } catch (SQLException e) {
+            // CREATE INDEX CONCURRENTLY 실패 시 INVALID 인덱스 잔존 가능 (IF NOT EXISTS 재실행 시 건너뜀).
+            throw new SQLException("마이그레이션 실패 (트랜잭션 없음, 앞선 문장 적용 유지, INVALID 인덱스 확인 필요): V"
+                    + script.version() + " " + script.description() + " - " + e.getMessage(), e.getSQLState(), e);
+        }
+        long ms = (System.nanoTime() - start) / 1_000_000;
+        record(conn, script, ms);
+        Logger.info("마이그레이션 적용 (트랜잭션 없음): V" + script.version() + " " + script.description()
+                + " (" + ms + "ms)");
+    }
+
+    private static void record(Connection conn, Script script, long ms) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO SchemaMigration (Version, Description, Checksum, ExecutionMs) VALUES (?, ?, ?, ?)")) {
+            ps.setInt(1, script.version());
+            ps.setString(2, script.description());
+            ps.setLong(3, script.checksum());
+            ps.setLong(4, ms);
+            ps.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package hw10.util;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 비동기 로그 기록기 (Web/Console 공용 소스, 각 모듈 빌드에 소스 디렉토리로 추가).
+ * 호출 스레드는 링 버퍼에 넣기만 하고, 기록 스레드 1개가 모아서 포맷/기록 후 일괄 flush.
+ * 버퍼 가득 찼을 때 동작은 OverflowPolicy로 지정.
+ * 종료(close) 후 등록분은 기록 스레드 없이 표준 에러로 직접 출력.
+ */
+final class AsyncLogWriter {
+
+    // 텍스트 로그와 함께 기록할 추가 기록기 (Web 구조화 로그). 기록 스레드에서만 호출.
+    interface RecordSink {
+        void append(long millis, int level, String source, String thread, long txId, long durationMs,
+                String message, Throwable thrown) throws IOException;
+
+        void flush() throws IOException;
+
+        void close();
+    }
+
+    // 버퍼 초과 시 동작. BLOCK: 빈 칸 생길 때까지 대기, DROP: 폐기, DROP_INFO: INFO만 폐기 (WARNING 이상 대기).
+    enum OverflowPolicy {
+        BLOCK, DROP, DROP_INFO
+    }
+
+    static final int INFO = 0;
+    static final int WARNING = 1;
+    static final int SEVERE = 2;
+
+    private static final String[] LEVEL_TAGS = { "[INFO] ", "[WARNING] ", "[SEVERE] " };
+    private static final String LINE_SEP = System.lineSeparator();
+    private static final DateTimeFormatter PREFIX_FORMAT = DateTimeFormatter.ofPattern("'['yyyy-MM-dd HH:mm:ss'] '");
+
+    // 한 번에 모아 기록하는 최대 건수, 대기 중 최대 휴면 시간.
+    private static final int BATCH = 512;
+    private static final long IDLE_PARK_NANOS = 50_000_000L;
+
+    // 링 버퍼 칸. 미리 할당해두고 재사용.
+    private static final class Slot {
+        long millis;
+        int level;
+        String message;
+        Throwable thrown;
+        long durationMs;
+        String source;
+        String thread;
+        long txId;
+    }
+
+    // 링 버퍼. sequences[i]: 칸 상태 (== 위치: 기록 가능, == 위치+1: 읽기 가능).
+    private final Slot[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    private final OverflowPolicy policy;
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final Writer file;
+    private final Writer console;
+
+    // 예외 출력 형식. true: 스택트레이스 전체, false: 예외 요약 + 발생 위치 2줄.
+    private final boolean fullStackTrace;
+
+    // 추가 기록기. 없으면 null.
+    private final RecordSink structured;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean idle;
+
+    // 포맷 버퍼 및 초 단위 시각 접두어 캐시. 기록 스레드 전용.
+    private final StringBuilder batch = new StringBuilder(64 * 1024);
+    private char[] chars = new char[64 * 1024];
+    private final ZoneId zone = ZoneId.systemDefault();
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedPrefix;
+
+    AsyncLogWriter(String filePath, int capacity, OverflowPolicy policy, boolean fullStackTrace,
+            RecordSink structured) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new Slot[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.policy = policy;
+        this.fullStackTrace = fullStackTrace;
+        this.structured = structured;
+
+        Writer fileWriter = null;
+        if (filePath != null) {
+            try {
+                fileWriter = new OutputStreamWriter(new FileOutputStream(filePath, true), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                System.err.println("파일 로그 초기화 실패: " + e.getMessage());
+            }
+        }
+        this.file = fileWriter;
+        this.console = new OutputStreamWriter(System.err, Charset.defaultCharset());
+
+        this.thread = new Thread(this::run, "async-logger");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * 로그 1건 등록 (소요 시간, 구조화 로그 필드 없음).
+     */
+    void log(int level, String message, Throwable thrown) {
+        log(level, message, thrown, -1, null, null, 0);
+    }
+
+    /**
+     * 로그 1건 등록. 버퍼 초과 시 정책에 따라 대기 또는 폐기.
+     * durationMs: 소요 시간 (없으면 -1), source/threadName/txId: 구조화 로그 필드 (없으면 null/0).
+     */
+    void log(int level, String message, Throwable thrown, long durationMs, String source, String threadName,
+            long txId) {
+        long millis = System.currentTimeMillis();
+        if (!running) {
+            writeClosed(millis, level, message, thrown, durationMs);
+            return;
+        }
+        while (!tryPublish(millis, level, message, thrown, durationMs, source, threadName, txId)) {
+            if (policy == OverflowPolicy.DROP || (policy == OverflowPolicy.DROP_INFO && level == INFO)) {
+                dropped.incrementAndGet();
+                return;
+            }
+            if (!running) {
+                // 대기 중 종료됨. 비울 기록 스레드가 없으므로 대기하지 않음.
+                writeClosed(millis, level, message, thrown, durationMs);
+                return;
+            }
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(50_000L);
+        }
+        if (idle) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * 남은 로그 기록 후 종료. timeoutMs 내 미완료 시 포기.
+     */
+    void close(long timeoutMs) {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 빈 칸 확보 (CAS) 후 기록, 칸 상태 갱신으로 기록 스레드에 공개.
+    private boolean tryPublish(long millis, int level, String message, Throwable thrown, long durationMs,
+            String source, String threadName, long txId) {
+        long pos = tail.get();
+        while (true) {
+            int idx = (int) (pos & mask);
+            long diff = sequences.get(idx) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    Slot slot = slots[idx];
+                    slot.millis = millis;
+                    slot.level = level;
+                    slot.message = message;
+                    slot.thrown = thrown;
+                    slot.durationMs = durationMs;
+                    slot.source = source;
+                    slot.thread = threadName;
+                    slot.txId = txId;
+                    sequences.set(idx, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    // 기록 스레드 루프. 쌓인 만큼 포맷 후 기록, 버퍼 비면 flush 후 휴면.
+    private void run() {
+        while (true) {
+            int n = drain();
+            if (n > 0) {
+                if (n < BATCH) {
+                    flush();
+                }
+                continue;
+            }
+            if (!running) {
+                break;
+            }
+            idle = true;
+            if (isEmpty() && running) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            idle = false;
+        }
+        while (drain() > 0) {
+        }
+        flush();
+        try {
+            if (file != null) {
+                file.close();
+            }
+        } catch (IOException ignored) {
+        }
+        if (structured != null) {
+            structured.close();
+        }
+    }
+
+    // 최대 BATCH건 포맷 후 기록. 처리 건수 반환.
+    private int drain() {
+        batch.setLength(0);
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            record(System.currentTimeMillis(), WARNING, "로그 " + lost + "건 유실 (버퍼 초과)", null, -1, null, null, 0);
+        }
+
+        int n = 0;
+        while (n < BATCH) {
+            int idx = (int) (head & mask);
+            if (sequences.get(idx) != head + 1) {
+                break;
+            }
+            Slot slot = slots[idx];
+            record(slot.millis, slot.level, slot.message, slot.thrown, slot.durationMs, slot.source, slot.thread,
+                    slot.txId);
+            slot.message = null;
+            slot.thrown = null;
+            slot.source = null;
+            slot.thread = null;
+            sequences.set(idx, head + slots.length);
+            head++;
+            n++;
+        }
+
+        if (batch.length() > 0) {
+            write();
+        }
+        if (structured != null && batch.length() > 0) {
+            try {
+                structured.flush();
+            } catch (IOException ignored) {
+            }
+        }
+        return n;
+    }
+
+    private boolean isEmpty() {
+        return sequences.get((int) (head & mask)) != head + 1;
+    }
+
+    // 텍스트 로그 배치 추가 및 구조화 로그 배치 추가.
+    private void record(long millis, int level, String message, Throwable thrown, long durationMs, String source,
+            String thread, long txId) {
+        appendLine(batch, prefix(millis), level, message, thrown, durationMs);
+        if (structured != null) {
+            try {
+                structured.append(millis, level, source, thread, txId, durationMs, message, thrown);
+            } catch (IOException e) {
+                appendLine(batch, prefix(millis), WARNING, "구조화 로그 기록 실패: " + e.getMessage(), null, -1);
+            }
+        }
+    }
+
+    // 초 단위 시각 접두어. 기록 스레드 전용 캐시.
+    private String prefix(long millis) {
+        long second = Math.floorDiv(millis, 1000);
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            cachedPrefix = PREFIX_FORMAT.format(Instant.ofEpochSecond(second).atZone(zone));
+        }
+        return cachedPrefix;
+    }
+
+    // 종료 후 등록분 동기 출력 (파일은 기록 스레드 종료 시 닫힘).
+    private void writeClosed(long millis, int level, String message, Throwable thrown, long durationMs) {
+        StringBuilder line = new StringBuilder();
+        appendLine(line, PREFIX_FORMAT.format(Instant.ofEpochMilli(millis).atZone(zone)), level, message, thrown,
+                durationMs);
+        System.err.print(line);
+    }
+
+    // 한 줄 포맷. [yyyy-MM-dd HH:mm:ss] [LEVEL] 메시지 (소요 시간) (+ 예외).
+    private void appendLine(StringBuilder out, String prefix, int level, String message, Throwable thrown,
+            long durationMs) {
+        out.append(prefix).append(LEVEL_TAGS[level]).append(message);
+        if (durationMs >= 0) {
+            out.append(" (").append(durationMs).append("ms)");
+        }
+        out.append(LINE_SEP);
+
+        if (thrown == null) {
+            return;
+        }
+        if (fullStackTrace) {
+            StringWriter sw = new StringWriter();
+            thrown.printStackTrace(new PrintWriter(sw));
+            out.append(sw);
+            return;
+        }
+        out.append("  예외: ").append(thrown.getClass().getSimpleName());
+        if (thrown.getMessage() != null) {
+            out.append(" - ").append(thrown.getMessage());
+        }
+        out.append(LINE_SEP);
+
+        StackTraceElement[] stack = thrown.getStackTrace();
+        if (stack.length > 0) {
+            out.append("  위치: ").append(stack[0]).append(LINE_SEP);
+        }
+    }
+
+    private void write() {
+        int len = batch.length();
+        if (chars.length < len) {
+            chars = new char[Math.max(len, chars.length * 2)];
+        }
+        batch.getChars(0, len, chars, 0);
+        try {
+            console.write(chars, 0, len);
+        } catch (IOException ignored) {
+        }
+        try {
+            if (file != null) {
+                file.write(chars, 0, len);
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void flush() {
+        try {
+            console.flush();
+        } catch (IOException ignored) {
+        }
+
+        try {
+            if (file != null) {
+                file.flush();
+            }
+        } catch (IOException ignored) {
+        }
+    }
+}
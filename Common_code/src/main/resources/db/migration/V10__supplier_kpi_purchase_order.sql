@@ -0,0 +1,59 @@
+-- 발주서 공급업체 변경/삭제 시 공급업체 KPI(V6) 증분 반영
+--   * 공급업체 변경: 발주 금액과 납품 건수/지연 건수를 이전 업체에서 새 업체로 이동
+--   * 삭제: 발주 금액 차감. 납품이 있는 발주서는 외래키로 삭제 불가하므로
+--     납품 건수는 먼저 삭제되는 Delivery 행의 트리거(V6)에서 차감됨.
+--     발주 항목은 발주서 삭제 후 연쇄 삭제되므로 삭제 전(BEFORE) 트리거에서 합산.
+-- 발주 항목 수정/삭제는 여전히 재계산 대상 (V6 참고).
+
+CREATE OR REPLACE FUNCTION supplier_kpi_purchase_order_changed() RETURNS trigger AS $$
+DECLARE
+    amount FLOAT;
+    deliveries INT := 0;
+    delayed INT := 0;
+    r RECORD;
+BEGIN
+    SELECT COALESCE(SUM(pol.Quantity * pol.UnitPriceAtOrder), 0) INTO amount
+      FROM PurchaseOrderLine pol
+     WHERE pol.POID = OLD.POID;
+
+    IF TG_OP = 'DELETE' THEN
+        UPDATE SupplierKpi
+           SET TotalOrderAmount = TotalOrderAmount - amount,
+               UpdatedAt = now()
+         WHERE SupplierID = OLD.SupplierID;
+        RETURN OLD;
+    END IF;
+
+    SELECT COUNT(*), COUNT(*) FILTER (WHERE d.Status = '지연') INTO deliveries, delayed
+      FROM Delivery d
+     WHERE d.POID = OLD.POID;
+
+    -- 업체 ID 순으로 갱신 (발주 등록 트랜잭션과 같은 잠금 순서)
+    FOR r IN
+        SELECT s.SupplierID, s.Sign
+          FROM (VALUES (OLD.SupplierID, -1), (NEW.SupplierID, 1)) AS s (SupplierID, Sign)
+         ORDER BY s.SupplierID
+    LOOP
+        INSERT INTO SupplierKpi (SupplierID, TotalOrderAmount, TotalDeliveries, DelayedDeliveries, UpdatedAt)
+        VALUES (r.SupplierID, r.Sign * amount, r.Sign * deliveries, r.Sign * delayed, now())
+        ON CONFLICT (SupplierID) DO UPDATE
+        SET TotalOrderAmount = SupplierKpi.TotalOrderAmount + EXCLUDED.TotalOrderAmount,
+            TotalDeliveries = SupplierKpi.TotalDeliveries + EXCLUDED.TotalDeliveries,
+            DelayedDeliveries = SupplierKpi.DelayedDeliveries + EXCLUDED.DelayedDeliveries,
+            UpdatedAt = EXCLUDED.UpdatedAt;
+    END LOOP;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_purchaseorder_kpi_update ON PurchaseOrder;
+CREATE TRIGGER trg_purchaseorder_kpi_update
+    AFTER UPDATE OF SupplierID ON PurchaseOrder
+    FOR EACH ROW
+    WHEN (OLD.SupplierID IS DISTINCT FROM NEW.SupplierID)
+    EXECUTE FUNCTION supplier_kpi_purchase_order_changed();
+
+DROP TRIGGER IF EXISTS trg_purchaseorder_kpi_delete ON PurchaseOrder;
+CREATE TRIGGER trg_purchaseorder_kpi_delete
+    BEFORE DELETE ON PurchaseOrder
+    FOR EACH ROW EXECUTE FUNCTION supplier_kpi_purchase_order_changed();
@@ -0,0 +1,28 @@
+-- 납품 삭제 시 프로젝트 배출 집계(V7) 차감
+-- CarbonEmissionRecord.DeliveryID는 ON DELETE SET NULL이라 배출 기록 UPDATE 트리거가
+-- 납품 행 삭제 후에 실행됨 -> old_rows의 납품 -> 발주서 조인이 비어 발주서 프로젝트 귀속분이 남음.
+-- 삭제 전(BEFORE) 트리거에서 발주서 프로젝트 귀속분을 먼저 차감.
+-- 이후 SET NULL 갱신은 c.ProjectID 귀속분만 차감/가산 (변화 없음).
+
+CREATE OR REPLACE FUNCTION project_emission_delivery_deleted() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO ProjectEmissionMonthly AS t (ProjectID, EmissionType, Month, CO2eAmount, RecordCount)
+    SELECT po.ProjectID, c.EmissionType, date_trunc('month', c.RecordDate)::date,
+           -SUM(c.CO2eAmount), -COUNT(*)
+    FROM CarbonEmissionRecord c
+    JOIN PurchaseOrder po ON po.POID = OLD.POID
+    WHERE c.DeliveryID = OLD.DeliveryID
+      AND po.ProjectID IS DISTINCT FROM c.ProjectID
+    GROUP BY po.ProjectID, c.EmissionType, date_trunc('month', c.RecordDate)::date
+    ORDER BY 1, 2, 3
+    ON CONFLICT (ProjectID, EmissionType, Month) DO UPDATE
+    SET CO2eAmount = t.CO2eAmount + EXCLUDED.CO2eAmount,
+        RecordCount = t.RecordCount + EXCLUDED.RecordCount;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_delivery_emission_delete ON Delivery;
+CREATE TRIGGER trg_delivery_emission_delete
+    BEFORE DELETE ON Delivery
+    FOR EACH ROW EXECUTE FUNCTION project_emission_delivery_deleted();
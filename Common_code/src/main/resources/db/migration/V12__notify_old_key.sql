@@ -0,0 +1,25 @@
+-- 기준 정보 변경 알림에 변경 전 키 추가
+-- UPDATE로 ID 컬럼 값이 바뀐 경우 변경 전 ID도 "테이블명:ID"로 전송 (수신 측 색인/캐시에서 이전 키 제거용).
+-- payload 형식은 V2와 동일. 트리거는 V2/V3 그대로 사용.
+
+CREATE OR REPLACE FUNCTION notify_reference_data_changed() RETURNS trigger AS $$
+DECLARE
+    old_key TEXT;
+    new_key TEXT;
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        old_key := to_jsonb(OLD) ->> TG_ARGV[1];
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        new_key := to_jsonb(NEW) ->> TG_ARGV[1];
+    END IF;
+
+    IF old_key IS NOT NULL AND old_key IS DISTINCT FROM new_key THEN
+        PERFORM pg_notify('reference_data_changed', TG_ARGV[0] || ':' || old_key);
+    END IF;
+    IF new_key IS NOT NULL THEN
+        PERFORM pg_notify('reference_data_changed', TG_ARGV[0] || ':' || new_key);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,20 @@
+-- ID 채번용 시퀀스 (SequenceGenerator 블록 할당)
+-- INCREMENT BY = 블록 크기. nextval 1회로 50개 ID를 애플리케이션 메모리에 확보함.
+-- 기존 데이터 최대값으로 시퀀스 위치를 맞추므로 seed.sql 적용 후 실행.
+
+CREATE SEQUENCE IF NOT EXISTS purchaseorder_poid_seq INCREMENT BY 50 MINVALUE 0 START WITH 0;
+CREATE SEQUENCE IF NOT EXISTS delivery_deliveryid_seq INCREMENT BY 50 MINVALUE 0 START WITH 0;
+CREATE SEQUENCE IF NOT EXISTS carbonemissionrecord_recordid_seq INCREMENT BY 50 MINVALUE 0 START WITH 0;
+
+-- 현재 최대값과 시퀀스 현재 위치 중 큰 값으로 시퀀스 위치 지정 (다음 nextval = 그 값 + 50)
+--   * 시퀀스를 뒤로 돌리지 않음: 재실행(이력 테이블 없는 DB, Datagen 재적재) 시에도
+--     실행 중인 프로세스가 확보해 둔 블록과 겹치는 ID를 다시 배분하지 않음.
+SELECT setval('purchaseorder_poid_seq', GREATEST(
+    (SELECT COALESCE(MAX(POID), 0) FROM PurchaseOrder),
+    (SELECT last_value FROM purchaseorder_poid_seq)));
+SELECT setval('delivery_deliveryid_seq', GREATEST(
+    (SELECT COALESCE(MAX(DeliveryID), 0) FROM Delivery),
+    (SELECT last_value FROM delivery_deliveryid_seq)));
+SELECT setval('carbonemissionrecord_recordid_seq', GREATEST(
+    (SELECT COALESCE(MAX(RecordID), 0) FROM CarbonEmissionRecord),
+    (SELECT last_value FROM carbonemissionrecord_recordid_seq)));
@@ -0,0 +1,40 @@
+-- 기준 정보(공급사/창고/부품/공급사-부품 단가) 변경 알림
+-- 변경 행마다 reference_data_changed 채널로 "테이블명:ID" 전송. 애플리케이션 캐시 무효화용.
+-- (동일 트랜잭션 내 같은 payload는 PostgreSQL이 1회로 합쳐서 커밋 시 전달)
+-- 트리거 인자: TG_ARGV[0] = payload 테이블명, TG_ARGV[1] = ID 컬럼명(소문자)
+
+CREATE OR REPLACE FUNCTION notify_reference_data_changed() RETURNS trigger AS $$
+DECLARE
+    row_data JSONB;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        row_data := to_jsonb(OLD);
+    ELSE
+        row_data := to_jsonb(NEW);
+    END IF;
+
+    PERFORM pg_notify('reference_data_changed', TG_ARGV[0] || ':' || (row_data ->> TG_ARGV[1]));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_supplier_notify ON Supplier;
+CREATE TRIGGER trg_supplier_notify
+    AFTER INSERT OR UPDATE OR DELETE ON Supplier
+    FOR EACH ROW EXECUTE FUNCTION notify_reference_data_changed('Supplier', 'supplierid');
+
+DROP TRIGGER IF EXISTS trg_warehouse_notify ON Warehouse;
+CREATE TRIGGER trg_warehouse_notify
+    AFTER INSERT OR UPDATE OR DELETE ON Warehouse
+    FOR EACH ROW EXECUTE FUNCTION notify_reference_data_changed('Warehouse', 'warehouseid');
+
+DROP TRIGGER IF EXISTS trg_part_notify ON Part;
+CREATE TRIGGER trg_part_notify
+    AFTER INSERT OR UPDATE OR DELETE ON Part
+    FOR EACH ROW EXECUTE FUNCTION notify_reference_data_changed('Part', 'partid');
+
+-- SupplierPart 단가 변경은 부품 검색 결과(평균 단가)에 영향. PartID 기준 전송.
+DROP TRIGGER IF EXISTS trg_supplierpart_notify ON SupplierPart;
+CREATE TRIGGER trg_supplierpart_notify
+    AFTER INSERT OR UPDATE OR DELETE ON SupplierPart
+    FOR EACH ROW EXECUTE FUNCTION notify_reference_data_changed('SupplierPart', 'partid');
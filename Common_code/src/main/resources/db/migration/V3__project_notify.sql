@@ -0,0 +1,7 @@
+-- 선박 프로젝트 변경 알림 (선박명 검색 색인 갱신용)
+-- V2의 notify_reference_data_changed() 재사용. payload "ShipProject:ProjectID".
+
+DROP TRIGGER IF EXISTS trg_shipproject_notify ON ShipProject;
+CREATE TRIGGER trg_shipproject_notify
+    AFTER INSERT OR UPDATE OR DELETE ON ShipProject
+    FOR EACH ROW EXECUTE FUNCTION notify_reference_data_changed('ShipProject', 'projectid');
@@ -0,0 +1,7 @@
+-- 공급업체별 발주 내역 키셋 페이징용 복합 인덱스
+-- WHERE SupplierID = ? AND (OrderDate, POID) < (?, ?) ORDER BY OrderDate DESC, POID DESC
+-- 조건을 인덱스 탐색만으로 처리하여 깊은 페이지도 앞 페이지 행을 읽지 않음.
+-- 프로젝트 검색(ProjectID > ?)은 ShipProject 기본키 인덱스 사용.
+
+CREATE INDEX IF NOT EXISTS idx_purchaseorder_supplier_orderdate
+    ON PurchaseOrder (SupplierID, OrderDate DESC, POID DESC);
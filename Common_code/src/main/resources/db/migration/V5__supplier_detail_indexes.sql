@@ -0,0 +1,7 @@
+-- 공급업체 상세 통계 조회용 인덱스
+-- 업체 조건으로 좁힌 발주서(V4 인덱스)에서 배송을 POID로 찾아 지연 건수 집계.
+-- Status 포함하여 지연 여부 판정도 인덱스에서 처리 (발주 내역의 지연 EXISTS 확인 포함).
+-- PurchaseOrderLine은 기본키 (POID, LineNo) 사용.
+
+CREATE INDEX IF NOT EXISTS idx_delivery_poid_status
+    ON Delivery (POID, Status);
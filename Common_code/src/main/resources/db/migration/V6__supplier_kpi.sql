@@ -0,0 +1,86 @@
+-- 공급업체 KPI 요약 테이블 (총 발주 금액, 납품 건수, 지연 건수, 지연율)
+-- 공급업체 목록 화면은 이 테이블만 조회 (업체 수 비례 비용).
+-- 갱신 경로:
+--   * 발주 등록 트랜잭션(OrderTransactionService)에서 발주 금액/초기 납품 건수 증분 반영
+--   * Delivery 상태 변경/삭제는 아래 트리거, 발주서 공급업체 변경/삭제는 V10 트리거에서 증분 반영
+--   * 그 외 직접 수정(발주 항목 수정/삭제, 대량 적재 등) 후에는 재계산 실행
+--     (Web: POST /api/suppliers/kpi/rebuild, Console: 메뉴 4)
+-- 재실행 시 현재 데이터 기준으로 전체 재계산.
+
+CREATE TABLE IF NOT EXISTS SupplierKpi (
+    SupplierID INT PRIMARY KEY,
+    TotalOrderAmount FLOAT NOT NULL DEFAULT 0,
+    TotalDeliveries INT NOT NULL DEFAULT 0,
+    DelayedDeliveries INT NOT NULL DEFAULT 0,
+    DelayRatio FLOAT GENERATED ALWAYS AS (
+        CASE WHEN TotalDeliveries = 0 THEN 0
+             ELSE DelayedDeliveries::float / TotalDeliveries
+        END) STORED,
+    UpdatedAt TIMESTAMP NOT NULL DEFAULT now(),
+    FOREIGN KEY (SupplierID) REFERENCES Supplier(SupplierID) ON DELETE CASCADE
+);
+
+-- 초기 적재 (재실행 시 재계산)
+INSERT INTO SupplierKpi (SupplierID, TotalOrderAmount, TotalDeliveries, DelayedDeliveries, UpdatedAt)
+SELECT s.SupplierID,
+       COALESCE(ot.total_amount, 0),
+       COALESCE(ds.total_deliveries, 0),
+       COALESCE(ds.delayed_deliveries, 0),
+       now()
+FROM Supplier s
+LEFT JOIN (
+    SELECT po.SupplierID, SUM(pol.Quantity * pol.UnitPriceAtOrder) AS total_amount
+    FROM PurchaseOrder po
+    JOIN PurchaseOrderLine pol ON pol.POID = po.POID
+    GROUP BY po.SupplierID
+) ot ON ot.SupplierID = s.SupplierID
+LEFT JOIN (
+    SELECT po.SupplierID,
+           COUNT(*) AS total_deliveries,
+           SUM(CASE WHEN d.Status = '지연' THEN 1 ELSE 0 END) AS delayed_deliveries
+    FROM PurchaseOrder po
+    JOIN Delivery d ON d.POID = po.POID
+    GROUP BY po.SupplierID
+) ds ON ds.SupplierID = s.SupplierID
+ON CONFLICT (SupplierID) DO UPDATE
+SET TotalOrderAmount = EXCLUDED.TotalOrderAmount,
+    TotalDeliveries = EXCLUDED.TotalDeliveries,
+    DelayedDeliveries = EXCLUDED.DelayedDeliveries,
+    UpdatedAt = EXCLUDED.UpdatedAt;
+
+-- Delivery 변경/삭제 시 이전 값 차감 후 새 값 가산.
+-- (신규 납품 INSERT는 발주 등록 트랜잭션에서 반영하므로 트리거 대상 아님)
+CREATE OR REPLACE FUNCTION supplier_kpi_delivery_changed() RETURNS trigger AS $$
+BEGIN
+    UPDATE SupplierKpi k
+       SET TotalDeliveries = k.TotalDeliveries - 1,
+           DelayedDeliveries = k.DelayedDeliveries - CASE WHEN OLD.Status = '지연' THEN 1 ELSE 0 END,
+           UpdatedAt = now()
+      FROM PurchaseOrder po
+     WHERE po.POID = OLD.POID
+       AND k.SupplierID = po.SupplierID;
+
+    IF TG_OP = 'UPDATE' THEN
+        UPDATE SupplierKpi k
+           SET TotalDeliveries = k.TotalDeliveries + 1,
+               DelayedDeliveries = k.DelayedDeliveries + CASE WHEN NEW.Status = '지연' THEN 1 ELSE 0 END,
+               UpdatedAt = now()
+          FROM PurchaseOrder po
+         WHERE po.POID = NEW.POID
+           AND k.SupplierID = po.SupplierID;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_delivery_kpi_update ON Delivery;
+CREATE TRIGGER trg_delivery_kpi_update
+    AFTER UPDATE OF Status, POID ON Delivery
+    FOR EACH ROW
+    WHEN (OLD.Status IS DISTINCT FROM NEW.Status OR OLD.POID IS DISTINCT FROM NEW.POID)
+    EXECUTE FUNCTION supplier_kpi_delivery_changed();
+
+DROP TRIGGER IF EXISTS trg_delivery_kpi_delete ON Delivery;
+CREATE TRIGGER trg_delivery_kpi_delete
+    AFTER DELETE ON Delivery
+    FOR EACH ROW EXECUTE FUNCTION supplier_kpi_delivery_changed();
@@ -0,0 +1,112 @@
+-- 프로젝트 탄소 배출 월별 집계 (ProjectID, EmissionType, Month)
+-- 대시보드/콘솔 배출량 조회는 이 테이블만 읽음 (프로젝트의 유형 x 월 행 수 비례 비용).
+-- 배출 기록의 프로젝트 귀속 규칙 (기존 조회 조건과 동일):
+--   * c.ProjectID 프로젝트
+--   * c.DeliveryID -> Delivery -> PurchaseOrder.ProjectID 프로젝트 (위와 다를 때만 추가)
+-- 귀속은 기록 적재 시점에 문장(statement) 단위 트리거에서 1회 계산.
+-- 납품 삭제 시 발주서 프로젝트 귀속분 차감은 V11 트리거 담당.
+-- 발주서의 프로젝트 변경 등 귀속 대상 자체가 바뀐 경우에는 재계산 실행
+-- (Web: POST /api/projects/emissions/rebuild, Console: 메뉴 5)
+-- 재실행 시 현재 데이터 기준으로 전체 재계산.
+
+CREATE TABLE IF NOT EXISTS ProjectEmissionMonthly (
+    ProjectID INT NOT NULL,
+    EmissionType VARCHAR(50) NOT NULL,
+    Month DATE NOT NULL, -- 해당 월 1일
+    CO2eAmount FLOAT NOT NULL DEFAULT 0,
+    RecordCount INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (ProjectID, EmissionType, Month),
+    FOREIGN KEY (ProjectID) REFERENCES ShipProject(ProjectID) ON DELETE CASCADE
+);
+
+-- 배출 기록 1건당 귀속 프로젝트 (재계산/검증용)
+CREATE OR REPLACE VIEW EmissionAttribution AS
+SELECT c.RecordID, c.ProjectID, c.EmissionType,
+       date_trunc('month', c.RecordDate)::date AS Month, c.CO2eAmount
+FROM CarbonEmissionRecord c
+WHERE c.ProjectID IS NOT NULL
+UNION ALL
+SELECT c.RecordID, po.ProjectID, c.EmissionType,
+       date_trunc('month', c.RecordDate)::date AS Month, c.CO2eAmount
+FROM CarbonEmissionRecord c
+JOIN Delivery d ON d.DeliveryID = c.DeliveryID
+JOIN PurchaseOrder po ON po.POID = d.POID
+WHERE po.ProjectID IS DISTINCT FROM c.ProjectID;
+
+-- 초기 적재 (재실행 시 재계산)
+DELETE FROM ProjectEmissionMonthly;
+INSERT INTO ProjectEmissionMonthly (ProjectID, EmissionType, Month, CO2eAmount, RecordCount)
+SELECT ProjectID, EmissionType, Month, SUM(CO2eAmount), COUNT(*)
+FROM EmissionAttribution
+GROUP BY ProjectID, EmissionType, Month;
+
+-- 변경된 행 집합(전이 테이블 old_rows/new_rows)을 그룹별로 합산해 1회씩 반영.
+-- 행 단위 트리거 대신 문장 단위로 처리하여 대량 적재 시 집계 행 갱신 횟수 최소화.
+-- 키 순서로 반영하여 동시 적재 간 교착상태 방지. (차감 후 0건 그룹은 합계 0으로 유지)
+DROP FUNCTION IF EXISTS project_emission_changed() CASCADE;
+CREATE FUNCTION project_emission_changed() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        INSERT INTO ProjectEmissionMonthly AS t (ProjectID, EmissionType, Month, CO2eAmount, RecordCount)
+        SELECT a.pid, a.etype, a.m, -SUM(a.amt), -COUNT(*)
+        FROM (
+            SELECT o.ProjectID AS pid, o.EmissionType AS etype,
+                   date_trunc('month', o.RecordDate)::date AS m, o.CO2eAmount AS amt
+            FROM old_rows o
+            WHERE o.ProjectID IS NOT NULL
+            UNION ALL
+            SELECT po.ProjectID, o.EmissionType, date_trunc('month', o.RecordDate)::date, o.CO2eAmount
+            FROM old_rows o
+            JOIN Delivery d ON d.DeliveryID = o.DeliveryID
+            JOIN PurchaseOrder po ON po.POID = d.POID
+            WHERE po.ProjectID IS DISTINCT FROM o.ProjectID
+        ) a
+        GROUP BY a.pid, a.etype, a.m
+        ORDER BY a.pid, a.etype, a.m
+        ON CONFLICT (ProjectID, EmissionType, Month) DO UPDATE
+        SET CO2eAmount = t.CO2eAmount + EXCLUDED.CO2eAmount,
+            RecordCount = t.RecordCount + EXCLUDED.RecordCount;
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO ProjectEmissionMonthly AS t (ProjectID, EmissionType, Month, CO2eAmount, RecordCount)
+        SELECT a.pid, a.etype, a.m, SUM(a.amt), COUNT(*)
+        FROM (
+            SELECT n.ProjectID AS pid, n.EmissionType AS etype,
+                   date_trunc('month', n.RecordDate)::date AS m, n.CO2eAmount AS amt
+            FROM new_rows n
+            WHERE n.ProjectID IS NOT NULL
+            UNION ALL
+            SELECT po.ProjectID, n.EmissionType, date_trunc('month', n.RecordDate)::date, n.CO2eAmount
+            FROM new_rows n
+            JOIN Delivery d ON d.DeliveryID = n.DeliveryID
+            JOIN PurchaseOrder po ON po.POID = d.POID
+            WHERE po.ProjectID IS DISTINCT FROM n.ProjectID
+        ) a
+        GROUP BY a.pid, a.etype, a.m
+        ORDER BY a.pid, a.etype, a.m
+        ON CONFLICT (ProjectID, EmissionType, Month) DO UPDATE
+        SET CO2eAmount = t.CO2eAmount + EXCLUDED.CO2eAmount,
+            RecordCount = t.RecordCount + EXCLUDED.RecordCount;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_emission_rollup_insert ON CarbonEmissionRecord;
+CREATE TRIGGER trg_emission_rollup_insert
+    AFTER INSERT ON CarbonEmissionRecord
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION project_emission_changed();
+
+DROP TRIGGER IF EXISTS trg_emission_rollup_update ON CarbonEmissionRecord;
+CREATE TRIGGER trg_emission_rollup_update
+    AFTER UPDATE ON CarbonEmissionRecord
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION project_emission_changed();
+
+DROP TRIGGER IF EXISTS trg_emission_rollup_delete ON CarbonEmissionRecord;
+CREATE TRIGGER trg_emission_rollup_delete
+    AFTER DELETE ON CarbonEmissionRecord
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION project_emission_changed();
@@ -0,0 +1,47 @@
+-- migrate:no-transaction
+-- 운영 중 적용 시 쓰기 차단 방지: CREATE INDEX CONCURRENTLY (트랜잭션 내 실행 불가 -> 문장 단위 자동 커밋 실행).
+-- 적용 실패 시 INVALID 인덱스가 남으면 IF NOT EXISTS로 건너뛰므로 해당 인덱스 DROP 후 재기동.
+-- 조회 경로별 보조 인덱스 (schema.sql은 기본키만 정의)
+-- 각 인덱스 위 주석: 사용하는 리포지토리 쿼리.
+-- 이미 있는 인덱스로 처리되는 경로:
+--   * Inventory WHERE WarehouseID = ?      -> 기본키 (WarehouseID, PartID) 선두 컬럼
+--   * PurchaseOrder WHERE SupplierID = ?   -> V4 (SupplierID, OrderDate DESC, POID DESC)
+--   * Delivery WHERE POID = ? (상태 포함)  -> V5 (POID, Status)
+--   * PurchaseOrderLine JOIN ON POID       -> 기본키 (POID, LineNo)
+-- 공급업체 목록, 메인 요약의 전체 배출 합계 등 전체 행 집계는 인덱스 대상 아님.
+
+-- 프로젝트 대시보드 총 발주액, 상위 공급사 (WHERE po.ProjectID = ?)
+-- POID/SupplierID 포함하여 발주서 테이블 방문 없이 발주 항목 조인.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_purchaseorder_project
+    ON PurchaseOrder (ProjectID) INCLUDE (POID, SupplierID);
+
+-- 발주 금액 합계 SUM(Quantity * UnitPriceAtOrder) (프로젝트 대시보드, 공급업체 상세, KPI 재계산)
+-- 금액 컬럼 포함하여 발주 항목 테이블 방문 없이 합산 (index-only scan).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_purchaseorderline_poid_amount
+    ON PurchaseOrderLine (POID) INCLUDE (Quantity, UnitPriceAtOrder);
+
+-- 지연 배송 부분 인덱스
+-- 메인 요약 COUNT(*) WHERE Status = '지연', 공급업체 발주 내역의 지연 EXISTS 확인.
+-- 지연 행만 저장하므로 전체 배송 대비 작음.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_delivery_delayed
+    ON Delivery (POID) WHERE Status = '지연';
+
+-- 배출 기록 -> 배송 귀속 (EmissionAttribution 뷰, 배출 집계 트리거의 DeliveryID 조인)
+-- 배송 삭제 시 ON DELETE SET NULL 대상 탐색도 사용.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_carbonemission_delivery
+    ON CarbonEmissionRecord (DeliveryID) WHERE DeliveryID IS NOT NULL;
+
+-- 배출 기록 프로젝트/유형별 조회 및 프로젝트 삭제 시 ON DELETE SET NULL 대상 탐색.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_carbonemission_project_type
+    ON CarbonEmissionRecord (ProjectID, EmissionType) WHERE ProjectID IS NOT NULL;
+
+-- 부품 평균 단가 (부품 검색/단건 조회의 LEFT JOIN SupplierPart ON PartID)
+-- 기본키 (SupplierID, PartID)는 부품 기준 탐색 불가. 단가 포함하여 index-only scan.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_supplierpart_part
+    ON SupplierPart (PartID) INCLUDE (UnitPrice);
+
+ANALYZE PurchaseOrder;
+ANALYZE PurchaseOrderLine;
+ANALYZE Delivery;
+ANALYZE CarbonEmissionRecord;
+ANALYZE SupplierPart;
@@ -0,0 +1,23 @@
+-- 재고 이동 원장 (입고 등 창고·부품별 수량 증감 기록, 추가 전용)
+-- 발주 트랜잭션은 Inventory 행을 갱신하지 않고 이 테이블에 행을 추가만 함.
+--   * 같은 창고·부품에 동시 입고가 몰려도 행 잠금 대기 없음 (인기 부품 행이 전역 잠금이 되지 않음).
+-- 백그라운드 정리 작업(Web: InventoryLedgerCompactor)이 원장 행을 삭제하면서 합계를 Inventory에 반영.
+--   * 삭제와 반영을 한 트랜잭션에서 처리하므로 각 원장 행은 정확히 1회 반영.
+-- 재고 조회는 Inventory 수량 + 미반영 원장 합계 (같은 스냅샷에서 계산하여 반영 시점과 무관하게 동일 결과).
+-- 원장 행은 반영 후 삭제되는 임시 기록이라 발주서/납품 참조에 외래키 없음 (출처 추적용 값만 보관).
+
+CREATE TABLE IF NOT EXISTS InventoryMovement (
+    MovementID BIGSERIAL PRIMARY KEY,
+    WarehouseID INT NOT NULL,
+    PartID INT NOT NULL,
+    DeltaQty INT NOT NULL,
+    POID INT,
+    DeliveryID INT,
+    CreatedAt TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (WarehouseID) REFERENCES Warehouse(WarehouseID),
+    FOREIGN KEY (PartID) REFERENCES Part(PartID)
+);
+
+-- 창고 재고 조회의 미반영 원장 합계 (WHERE WarehouseID = ?)
+CREATE INDEX IF NOT EXISTS idx_inventorymovement_warehouse
+    ON InventoryMovement (WarehouseID) INCLUDE (PartID, DeltaQty);
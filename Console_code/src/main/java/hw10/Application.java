@@ -29,6 +29,10 @@ public final class Application {
         try (DatabaseConnection db = new DatabaseConnection(config)) {
             // [과제 요구사항] DB 접속 성공 로그
             Logger.info("DB 접속 성공");
+
+            // db/migration 스크립트 중 안 돌린 것 자동 적용 (예전엔 psql로 손으로 돌렸음)
+            // 실패하면 스키마가 어중간한 상태라 메뉴 안 띄우고 종료함
+            db.migrate();
             
             // 콘솔 메뉴 실행 (여기서 기능 1,2,3 다 돌아감)
             new ConsoleMenu(db).run();
@@ -15,6 +15,17 @@ import java.util.Properties;
  * 우선순위:
  * 1. 환경변수 (DB_URL, DB_USER, DB_PASSWORD)
  * 2. config.properties 파일
+ *
+ * 커넥션 풀 설정도 같이 읽음 (항목별로 환경변수 -> config.properties -> 기본값 순):
+ * - DB_POOL_MAX_SIZE / db.pool.max-size: 최대 커넥션 수 (기본 4)
+ * - DB_POOL_IDLE_TIMEOUT_MS / db.pool.idle-timeout-ms: 이만큼 안 쓰인 커넥션은 닫음 (기본 10분)
+ * - DB_POOL_MAX_LIFETIME_MS / db.pool.max-lifetime-ms: 만든 지 이만큼 지나면 새로 만듦 (기본 30분)
+ * - DB_POOL_LEAK_DETECTION_MS / db.pool.leak-detection-ms: 이만큼 반납 안 되면 경고 로그 (기본 60초, 0이면 끔)
+ *
+ * 스키마 관리 설정 (같은 순서로 읽음):
+ * - DB_MIGRATE / db.migrate: 시작할 때 db/migration 스크립트 자동 적용 (기본 1, 0이면 끔)
+ * - DB_PLAN_CHECK_SEQ_SCAN_ROWS / db.plan-check.seq-scan-rows: 실행 계획 점검(메뉴 6)에서
+ *   이 행 수 넘는 테이블 순차 스캔이면 경고 (기본 10000)
  */
 public final class DatabaseConfig {
     
@@ -23,12 +34,28 @@ public final class DatabaseConfig {
     public final String dbUser;      // DB 계정 이름
     public final String dbPassword;  // DB 비밀번호
 
+    // 커넥션 풀 설정 (DatabaseConnection이 풀 만들 때 씀)
+    public final int poolMaxSize;
+    public final long poolIdleTimeoutMs;
+    public final long poolMaxLifetimeMs;
+    public final long poolLeakDetectionMs;
+
+    // 스키마 관리 설정
+    public final boolean migrate;
+    public final long planCheckSeqScanRows;
+
     // private 생성자: 외부에서 new로 직접 못 만들게 막음
     // 대신 load() 메서드로만 생성 가능
-    private DatabaseConfig(String dbUrl, String dbUser, String dbPassword) {
+    private DatabaseConfig(String dbUrl, String dbUser, String dbPassword, Properties p) {
         this.dbUrl = dbUrl;
         this.dbUser = dbUser;
         this.dbPassword = dbPassword;
+        this.poolMaxSize = (int) Math.max(1, number(p, "DB_POOL_MAX_SIZE", "db.pool.max-size", 4));
+        this.poolIdleTimeoutMs = number(p, "DB_POOL_IDLE_TIMEOUT_MS", "db.pool.idle-timeout-ms", 600_000);
+        this.poolMaxLifetimeMs = number(p, "DB_POOL_MAX_LIFETIME_MS", "db.pool.max-lifetime-ms", 1_800_000);
+        this.poolLeakDetectionMs = number(p, "DB_POOL_LEAK_DETECTION_MS", "db.pool.leak-detection-ms", 60_000);
+        this.migrate = number(p, "DB_MIGRATE", "db.migrate", 1) != 0;
+        this.planCheckSeqScanRows = number(p, "DB_PLAN_CHECK_SEQ_SCAN_ROWS", "db.plan-check.seq-scan-rows", 10_000);
     }
 
     /**
@@ -41,32 +68,52 @@ public final class DatabaseConfig {
         String envUrl = System.getenv("DB_URL");
         String envUser = System.getenv("DB_USER");
         String envPass = System.getenv("DB_PASSWORD");
+        boolean envComplete = notBlank(envUrl) && notBlank(envUser) && envPass != null;
 
-        // 환경변수 다 있으면 그거 쓰고 리턴
-        if (notBlank(envUrl) && notBlank(envUser) && envPass != null) {
-            return new DatabaseConfig(envUrl, envUser, envPass);
-        }
-
-        // 2순위: config.properties 파일에서 읽기
+        // config.properties 파일 읽기 (풀 설정 때문에 환경변수 있어도 읽어봄)
         // Properties는 Java에서 key=value 형태 파일 읽는 클래스
         Properties p = new Properties();
         try (InputStream is = new FileInputStream("config.properties")) {
             p.load(is);  // 파일 읽어서 Properties에 로드
-            
-            String url = p.getProperty("db.url");
-            String user = p.getProperty("db.user");
-            String pass = p.getProperty("db.password");
-            
-            if (notBlank(url) && notBlank(user) && pass != null) {
-                return new DatabaseConfig(url, user, pass);
-            }
         } catch (Exception e) {
-            // 파일 없거나 읽기 실패하면 경고만 남김
-            Logger.warn("config.properties 로드 실패(환경변수 미설정 시 실행 불가): " + e.getMessage());
+            // 파일 없거나 읽기 실패하면 경고만 남김 (환경변수 다 있으면 상관없으니 조용히 넘어감)
+            if (!envComplete) {
+                Logger.warn("config.properties 로드 실패(환경변수 미설정 시 실행 불가): " + e.getMessage());
+            }
+        }
+
+        // 환경변수 다 있으면 그거 쓰고 리턴
+        if (envComplete) {
+            return new DatabaseConfig(envUrl, envUser, envPass, p);
+        }
+
+        // 2순위: config.properties 값
+        String url = p.getProperty("db.url");
+        String user = p.getProperty("db.user");
+        String pass = p.getProperty("db.password");
+        if (notBlank(url) && notBlank(user) && pass != null) {
+            return new DatabaseConfig(url, user, pass, p);
         }
 
         // 둘 다 없으면 null로 반환 (나중에 DatabaseConnection에서 예외 터짐)
-        return new DatabaseConfig(null, null, null);
+        return new DatabaseConfig(null, null, null, p);
+    }
+
+    // 숫자 설정 읽기 (환경변수 -> 파일 -> 기본값). 숫자 아니면 기본값 씀
+    private static long number(Properties p, String env, String key, long defaultValue) {
+        String value = System.getenv(env);
+        if (!notBlank(value)) {
+            value = p.getProperty(key);
+        }
+        if (!notBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            Logger.warn(key + " 값이 숫자가 아님 -> 기본값 " + defaultValue + " 사용");
+            return defaultValue;
+        }
     }
 
     // 문자열이 비어있는지 체크하는 헬퍼 함수
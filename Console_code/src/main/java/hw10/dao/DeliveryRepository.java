@@ -4,6 +4,7 @@ import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * 납품/납품상세 INSERT (기능 2용)
@@ -13,6 +14,9 @@ import java.sql.SQLException;
  */
 public final class DeliveryRepository {
 
+    /** 납품상세 일괄 INSERT용 데이터 (한 줄 = DeliveryLine 1건) */
+    public record DeliveryLineRow(int lineNo, int receivedQty, String inspectionResult) {}
+
     /**
      * 납품(Delivery) INSERT
      * 
@@ -83,4 +87,34 @@ public final class DeliveryRepository {
             ps.executeUpdate();
         }
     }
+
+    /**
+     * 납품상세(DeliveryLine) 일괄 INSERT
+     * 
+     * insertDeliveryLine 여러 번 부르는 대신 addBatch/executeBatch로 한 번에 보냄
+     * (OrderRepository.insertPurchaseOrderLines랑 같은 방식)
+     * 
+     * @param conn DB 커넥션
+     * @param deliveryId 납품 ID (FK)
+     * @param poid 발주서 ID (FK, 복합키)
+     * @param rows 저장할 납품상세 목록
+     */
+    public void insertDeliveryLines(Connection conn, int deliveryId, int poid, List<DeliveryLineRow> rows) throws SQLException {
+        String sql = """
+                INSERT INTO DeliveryLine(DeliveryID, POID, LineNo, ReceivedQty, InspectionResult)
+                VALUES (?, ?, ?, ?, ?)
+                """;
+        
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (DeliveryLineRow row : rows) {
+                ps.setInt(1, deliveryId);
+                ps.setInt(2, poid);
+                ps.setInt(3, row.lineNo());
+                ps.setInt(4, row.receivedQty());
+                ps.setString(5, row.inspectionResult());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
 }
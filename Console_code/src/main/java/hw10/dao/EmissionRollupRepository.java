@@ -0,0 +1,70 @@
+package hw10.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 프로젝트 월별 배출 집계(ProjectEmissionMonthly) 관리 SQL 모음
+ *
+ * 평소 증분 반영은 CarbonEmissionRecord 트리거가 함 (V7__project_emission_rollup.sql)
+ * 여기는 집계가 원본이랑 맞는지 검사하고, 안 맞으면 다시 계산하는 용도
+ */
+public final class EmissionRollupRepository {
+
+    /** 재계산 결과 (corrected = 재계산 전에 원본이랑 안 맞던 프로젝트 수) */
+    public record RebuildResult(int groups, int corrected) {}
+
+    /** 배출량 비교 허용 오차 (double 누적 덧셈 오차 때문에 == 비교하면 안 됨) */
+    private static final double AMOUNT_TOLERANCE = 0.001;
+
+    /**
+     * 집계 테이블이 원본 귀속 결과(EmissionAttribution 뷰)랑 다른 프로젝트 ID 목록
+     *
+     * FULL JOIN: 원본에만 있는 그룹, 집계에만 남은 그룹 둘 다 잡으려고
+     *
+     * @param conn DB 커넥션
+     * @return 불일치 프로젝트 ID (오름차순), 다 맞으면 빈 리스트
+     */
+    public List<Integer> findMismatches(Connection conn) throws SQLException {
+        String sql = """
+                WITH live AS (
+                  SELECT ProjectID, EmissionType, Month, SUM(CO2eAmount) AS amount, COUNT(*) AS cnt
+                  FROM EmissionAttribution
+                  GROUP BY ProjectID, EmissionType, Month
+                )
+                SELECT DISTINCT COALESCE(l.ProjectID, r.ProjectID) AS ProjectID
+                FROM live l
+                FULL JOIN ProjectEmissionMonthly r
+                  ON r.ProjectID = l.ProjectID AND r.EmissionType = l.EmissionType AND r.Month = l.Month
+                WHERE COALESCE(l.cnt, 0) <> COALESCE(r.RecordCount, 0)
+                   OR ABS(COALESCE(l.amount, 0) - COALESCE(r.CO2eAmount, 0)) > ?
+                ORDER BY ProjectID
+                """;
+        return SummaryRebuild.findIds(conn, sql, AMOUNT_TOLERANCE);
+    }
+
+    /**
+     * 원본 배출 기록 기준 전체 재계산 + 검증 (잠금/검증 절차는 SummaryRebuild)
+     *
+     * @param conn DB 커넥션 (autoCommit=false 상태여야 함)
+     * @return 재계산한 그룹 수, 보정된 프로젝트 수
+     */
+    public RebuildResult rebuild(Connection conn) throws SQLException {
+        SummaryRebuild.Outcome o = SummaryRebuild.rebuild(conn, "ProjectEmissionMonthly", this::findMismatches,
+                c -> {
+                    try (Statement st = c.createStatement()) {
+                        st.executeUpdate("DELETE FROM ProjectEmissionMonthly");
+                        return st.executeUpdate("""
+                                INSERT INTO ProjectEmissionMonthly (ProjectID, EmissionType, Month, CO2eAmount, RecordCount)
+                                SELECT ProjectID, EmissionType, Month, SUM(CO2eAmount), COUNT(*)
+                                FROM EmissionAttribution
+                                GROUP BY ProjectID, EmissionType, Month
+                                """);
+                    }
+                },
+                "배출 집계 재계산 검증 실패 - 불일치 프로젝트: ");
+        return new RebuildResult(o.rows(), o.corrected());
+    }
+}
@@ -3,6 +3,9 @@ package hw10.dao;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 재고 UPSERT (기능 2용)
@@ -13,9 +16,17 @@ import java.sql.SQLException;
  * - 기존 레코드가 있으면 UPDATE
  * 
  * PostgreSQL의 ON CONFLICT 문법 사용함 (UPSERT)
+ * 
+ * 웹 앱은 재고 행을 직접 안 건드리고 이동 원장(InventoryMovement, V9)에 행만 추가함
+ * (동시 발주가 인기 부품 재고 행 하나에 줄 서는 문제 때문). 원장은 웹 앱 백그라운드 작업이 재고에 합쳐 줌.
+ * 콘솔은 한 번에 한 사람만 쓰고 원장 합치는 작업도 없어서 그냥 여기서 바로 UPSERT 함.
+ * 웹 재고 조회가 재고 + 남은 원장을 더해서 보여주니까 둘이 섞여도 수량은 맞음.
  */
 public final class InventoryRepository {
 
+    /** 재고 일괄 UPSERT용 데이터 (부품 ID + 추가할 수량) */
+    public record InventoryDelta(int partId, int deltaQty) {}
+
     /**
      * 재고 추가/갱신 (UPSERT)
      * 
@@ -48,4 +59,40 @@ public final class InventoryRepository {
             ps.executeUpdate();
         }
     }
+
+    /**
+     * 재고 일괄 추가/갱신 (UPSERT 배치)
+     * 
+     * 같은 부품이 여러 줄에 있으면 먼저 합쳐서 1건으로 만듦.
+     * reWriteBatchedInserts 켜면 배치가 INSERT ... VALUES (...), (...) 한 문장으로 바뀌는데,
+     * 한 문장 안에서 ON CONFLICT로 같은 행을 두 번 UPDATE 하면 PostgreSQL이 에러 냄.
+     * 
+     * @param conn DB 커넥션
+     * @param warehouseId 창고 ID
+     * @param deltas 부품별 추가할 수량 목록
+     */
+    public void addInventoryBatch(Connection conn, int warehouseId, List<InventoryDelta> deltas) throws SQLException {
+        // 부품별 수량 합치기 (LinkedHashMap이라 입력 순서 유지됨)
+        Map<Integer, Integer> merged = new LinkedHashMap<>();
+        for (InventoryDelta d : deltas) {
+            merged.merge(d.partId(), d.deltaQty(), Integer::sum);
+        }
+
+        String sql = """
+                INSERT INTO Inventory(WarehouseID, PartID, Quantity)
+                VALUES (?, ?, ?)
+                ON CONFLICT (WarehouseID, PartID)
+                DO UPDATE SET Quantity = Inventory.Quantity + EXCLUDED.Quantity
+                """;
+        
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (Map.Entry<Integer, Integer> e : merged.entrySet()) {
+                ps.setInt(1, warehouseId);
+                ps.setInt(2, e.getKey());
+                ps.setInt(3, e.getValue());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
 }
@@ -4,6 +4,7 @@ import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * 발주서/발주항목 INSERT (기능 2용)
@@ -13,6 +14,9 @@ import java.sql.SQLException;
  */
 public final class OrderRepository {
 
+    /** 발주항목 일괄 INSERT용 데이터 (한 줄 = PurchaseOrderLine 1건) */
+    public record PurchaseOrderLineRow(int lineNo, int partId, int quantity, double unitPrice, Date requestedDueDate) {}
+
     /**
      * 발주서(PurchaseOrder) INSERT
      * 
@@ -76,4 +80,36 @@ public final class OrderRepository {
             ps.executeUpdate();
         }
     }
+
+    /**
+     * 발주항목(PurchaseOrderLine) 일괄 INSERT
+     * 
+     * insertPurchaseOrderLine을 품목 수만큼 부르면 매번 PreparedStatement 만들고
+     * executeUpdate 하니까 품목 200개면 DB 왕복 200번임.
+     * 여기서는 PreparedStatement 하나에 addBatch로 쌓아두고 executeBatch 한 번에 보냄.
+     * (URL에 reWriteBatchedInserts=true 있으면 드라이버가 INSERT ... VALUES (...), (...) 로 합쳐줌)
+     * 
+     * @param conn DB 커넥션
+     * @param poid 발주서 ID (FK)
+     * @param rows 저장할 발주항목 목록
+     */
+    public void insertPurchaseOrderLines(Connection conn, int poid, List<PurchaseOrderLineRow> rows) throws SQLException {
+        String sql = """
+                INSERT INTO PurchaseOrderLine(POID, LineNo, PartID, Quantity, UnitPriceAtOrder, RequestedDueDate)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """;
+        
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (PurchaseOrderLineRow row : rows) {
+                ps.setInt(1, poid);
+                ps.setInt(2, row.lineNo());
+                ps.setInt(3, row.partId());
+                ps.setInt(4, row.quantity());
+                ps.setDouble(5, row.unitPrice());
+                ps.setDate(6, row.requestedDueDate());
+                ps.addBatch();  // 바로 실행 안 하고 쌓아둠
+            }
+            ps.executeBatch();  // 쌓인 거 한 번에 실행
+        }
+    }
 }
@@ -190,6 +190,10 @@ public final class ProjectRepository {
      * 프로젝트 탄소 배출 합계 (특정 타입만)
      * 
      * 프로젝트에 직접 연결된 것 + 해당 프로젝트의 Delivery에 연결된 것 포함
+     * 예전엔 CarbonEmissionRecord를 "ProjectID = ? OR DeliveryID IN (서브쿼리)"로 매번 훑었는데
+     * OR 조건 때문에 인덱스를 못 타서 기록이 많아지면 느려짐
+     * -> 기록 적재할 때 트리거가 프로젝트로 귀속시켜서 월별로 합쳐둔 ProjectEmissionMonthly에서 읽음
+     * (V7__project_emission_rollup.sql 참고)
      * 
      * @param conn DB 커넥션
      * @param projectId 프로젝트 ID
@@ -198,25 +202,16 @@ public final class ProjectRepository {
      */
     public double emissionSumByType(Connection conn, int projectId, String emissionType) throws SQLException {
         String sql = """
-                SELECT COALESCE(SUM(c.CO2eAmount), 0) AS s
-                FROM CarbonEmissionRecord c
-                WHERE c.EmissionType = ?
-                  AND (
-                        c.ProjectID = ?
-                        OR c.DeliveryID IN (
-                            SELECT d.DeliveryID
-                            FROM Delivery d
-                            JOIN PurchaseOrder po ON po.POID = d.POID
-                            WHERE po.ProjectID = ?
-                        )
-                  )
+                SELECT COALESCE(SUM(e.CO2eAmount), 0) AS s
+                FROM ProjectEmissionMonthly e
+                WHERE e.ProjectID = ?
+                  AND e.EmissionType = ?
                 """;
-        // 서브쿼리: 해당 프로젝트의 발주서에 연결된 Delivery 찾기
+        // PK (ProjectID, EmissionType, Month) 앞부분으로 바로 찾음
         
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, emissionType);
-            ps.setInt(2, projectId);
-            ps.setInt(3, projectId);
+            ps.setInt(1, projectId);
+            ps.setString(2, emissionType);
             try (ResultSet rs = ps.executeQuery()) {
                 rs.next();
                 return rs.getDouble("s");
@@ -227,27 +222,20 @@ public final class ProjectRepository {
     /**
      * 프로젝트 전체 탄소 배출 합계 (타입 무관)
      * 
+     * 월별 집계 테이블에서 읽음 (emissionSumByType 설명 참고)
+     * 
      * @param conn DB 커넥션
      * @param projectId 프로젝트 ID
      * @return 전체 탄소 배출량 합계
      */
     public double emissionSumTotal(Connection conn, int projectId) throws SQLException {
         String sql = """
-                SELECT COALESCE(SUM(c.CO2eAmount), 0) AS s
-                FROM CarbonEmissionRecord c
-                WHERE (
-                        c.ProjectID = ?
-                        OR c.DeliveryID IN (
-                            SELECT d.DeliveryID
-                            FROM Delivery d
-                            JOIN PurchaseOrder po ON po.POID = d.POID
-                            WHERE po.ProjectID = ?
-                        )
-                  )
+                SELECT COALESCE(SUM(e.CO2eAmount), 0) AS s
+                FROM ProjectEmissionMonthly e
+                WHERE e.ProjectID = ?
                 """;
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, projectId);
-            ps.setInt(2, projectId);
             try (ResultSet rs = ps.executeQuery()) {
                 rs.next();
                 return rs.getDouble("s");
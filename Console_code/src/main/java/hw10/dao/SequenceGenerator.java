@@ -1,57 +1,148 @@
 package hw10.dao;
 
+import hw10.util.Logger;
+
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * PK 생성 도우미
- * 
- * 원래 PostgreSQL에서는 SERIAL이나 SEQUENCE 써서 자동 생성하는데,
- * 우리 스키마에는 그게 없어서 MAX(id)+1 방식으로 수동 생성.
- * 
- * 주의: 동시에 여러 사용자가 INSERT하면 충돌 가능
- * 과제 데모 용도로만 쓰기 (실무에선 SEQUENCE 쓰셈)
+ *
+ * PostgreSQL SEQUENCE 기반 블록 할당 (hi/lo 방식).
+ * 시퀀스 INCREMENT BY를 블록 크기로 써서 nextval 한 번에 ID 50개를 받아옴.
+ * 블록 안에서는 AtomicLong만 증가시키니까 DB 안 거치고 채번함.
+ *
+ * 예전 MAX(id)+1 방식은 동시에 INSERT하면 같은 ID 받아서 PK 충돌났었음.
+ * 시퀀스는 트랜잭션 롤백돼도 값이 안 돌아가서 충돌 없음 (대신 중간에 빈 번호 생길 수 있음).
+ *
+ * 시퀀스 없는 DB(V1__id_sequences.sql 미적용)거나 INCREMENT BY가 이상하면 그냥 예외 던짐.
+ * 예전처럼 MAX(id)+1로 대신 채번하면 다른 프로세스가 이미 받아간 블록 안의 번호랑 겹칠 수 있어서
+ * (그게 원래 고치려던 충돌) 조용히 넘어가지 않고 바로 실패시킴.
  */
 public final class SequenceGenerator {
-    
-    // 허용된 테이블.컬럼 목록 (SQL 인젝션 방지용)
-    private static final Set<String> ALLOWED = Set.of(
-            "PurchaseOrder.POID",
-            "Delivery.DeliveryID",
-            "CarbonEmissionRecord.RecordID"
+
+    // 허용된 테이블.컬럼 -> 시퀀스 이름 (SQL 인젝션 방지용 화이트리스트 겸용)
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "PurchaseOrder.POID", "purchaseorder_poid_seq",
+            "Delivery.DeliveryID", "delivery_deliveryid_seq",
+            "CarbonEmissionRecord.RecordID", "carbonemissionrecord_recordid_seq"
     );
 
+    // 테이블별 현재 블록 (static이라 인스턴스 여러 개여도 공유됨)
+    private static final Map<String, IdBlock> BLOCKS = new ConcurrentHashMap<>();
+
+    // 테이블별 블록 크기 (= 시퀀스 INCREMENT BY). 제대로 조회된 값만 넣어둠 (실패하면 다음 호출 때 다시 조회)
+    private static final Map<String, Long> BLOCK_SIZES = new ConcurrentHashMap<>();
+
+    // 블록 다 쓰면 새로 받아올 때 쓰는 테이블별 락
+    private static final Map<String, Object> LOCKS = new ConcurrentHashMap<>();
+
     /**
      * 다음 ID 생성
-     * 
-     * 현재 MAX 값 + 1 반환
-     * 
+     *
+     * 블록에 남은 ID 있으면 바로 반환, 다 썼으면 nextval로 새 블록 받아옴
+     *
      * @param conn DB 커넥션
      * @param tableDotCol "테이블명.컬럼명" 형태 (예: "PurchaseOrder.POID")
      * @return 새 ID 값
      */
     public int nextId(Connection conn, String tableDotCol) throws SQLException {
         // 허용된 테이블만 사용 가능 (보안)
-        if (!ALLOWED.contains(tableDotCol)) {
+        String sequence = SEQUENCES.get(tableDotCol);
+        if (sequence == null) {
             throw new IllegalArgumentException("허용되지 않은 ID 컬럼: " + tableDotCol);
         }
-        
-        // "PurchaseOrder.POID" -> ["PurchaseOrder", "POID"]
-        String[] parts = tableDotCol.split("\\.");
-        String table = parts[0];
-        String col = parts[1];
-        
-        // MAX 값 조회
-        String sql = "SELECT COALESCE(MAX(" + col + "), 0) + 1 AS next_id FROM " + table;
-        // COALESCE: 테이블 비어있으면 MAX가 NULL이니까 0으로 바꿔서 1 반환
-        
-        try (PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-            rs.next();
-            return rs.getInt("next_id");
+
+        // 1. 현재 블록에서 꺼내기 (락 없음, 대부분 여기서 끝남)
+        IdBlock block = BLOCKS.get(tableDotCol);
+        long id = block == null ? -1 : block.take();
+        if (id > 0) return Math.toIntExact(id);
+
+        // 2. 블록 소진 -> 한 스레드만 새 블록 받아오게 락 걸음
+        synchronized (LOCKS.computeIfAbsent(tableDotCol, k -> new Object())) {
+            // 락 기다리는 동안 다른 스레드가 이미 새 블록 받아놨을 수 있음
+            block = BLOCKS.get(tableDotCol);
+            id = block == null ? -1 : block.take();
+            if (id > 0) return Math.toIntExact(id);
+
+            Long blockSize = BLOCK_SIZES.get(tableDotCol);
+            if (blockSize == null) {
+                // 시퀀스 없으면 여기서 SQLException -> 호출한 쪽 트랜잭션 롤백됨
+                blockSize = lookupBlockSize(conn, sequence);
+                BLOCK_SIZES.put(tableDotCol, blockSize);
+            }
+
+            block = allocateBlock(conn, sequence, blockSize);
+            BLOCKS.put(tableDotCol, block);
+            return Math.toIntExact(block.take());
+        }
+    }
+
+    /**
+     * 시퀀스 INCREMENT BY 조회
+     * 시퀀스가 없거나 증가폭이 1보다 작으면 SQLException (블록을 못 만드니까)
+     */
+    private static long lookupBlockSize(Connection conn, String sequence) throws SQLException {
+        String sql = """
+                SELECT increment_by
+                FROM pg_sequences
+                WHERE schemaname = current_schema() AND sequencename = ?
+                """;
+        long increment = 0;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, sequence);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) increment = rs.getLong("increment_by");
+            }
+        }
+
+        if (increment < 1) {
+            String message = "ID 시퀀스 없음 또는 증가폭 이상: " + sequence
+                    + " (increment_by=" + increment + ", V1__id_sequences.sql 적용 필요)";
+            Logger.warn(message);
+            throw new SQLException(message);
+        }
+        return increment;
+    }
+
+    /**
+     * nextval로 새 블록 받아오기
+     * nextval 값이 블록 상한(hi)이고, 범위는 (hi - blockSize, hi]
+     * 예: 블록 50, nextval=100 -> 51~100 사용
+     */
+    private static IdBlock allocateBlock(Connection conn, String sequence, long blockSize) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT nextval(?::regclass) AS hi")) {
+            ps.setString(1, sequence);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                long hi = rs.getLong("hi");
+                return new IdBlock(hi - blockSize + 1, hi);
+            }
+        }
+    }
+
+    /**
+     * 미리 받아둔 ID 범위
+     * getAndIncrement는 원자적이라 여러 스레드가 동시에 꺼내도 안 겹침
+     */
+    private static final class IdBlock {
+        private final AtomicLong next;
+        private final long last;
+
+        private IdBlock(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+
+        /** 다음 ID (다 썼으면 -1) */
+        private long take() {
+            long id = next.getAndIncrement();
+            return id <= last ? id : -1;
         }
     }
 }
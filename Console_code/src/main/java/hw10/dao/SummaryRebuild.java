@@ -0,0 +1,83 @@
+package hw10.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 요약 테이블 재계산/검증 공통 절차
+ *
+ * 공급업체 KPI(SupplierKpi), 프로젝트 배출 집계(ProjectEmissionMonthly) 둘 다
+ * "잠금 -> 원본이랑 비교 -> 다시 채우기 -> 다시 비교" 순서가 똑같아서 여기로 모음.
+ * 테이블마다 다른 건 불일치 조회 SQL이랑 다시 채우는 SQL뿐.
+ */
+final class SummaryRebuild {
+
+    /** 커넥션 하나로 하는 SQL 작업 (람다로 넘기려고, SQLException 던질 수 있게) */
+    @FunctionalInterface
+    interface SqlWork<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    /** 다시 채운 행 수, 재계산 전에 안 맞던 건수 */
+    record Outcome(int rows, int corrected) {}
+
+    private SummaryRebuild() {}
+
+    /**
+     * 불일치 ID 조회 (SQL 첫 번째 ? = 허용 오차)
+     *
+     * @param conn DB 커넥션
+     * @param sql 첫 컬럼이 ID인 조회 SQL
+     * @param tolerance 금액/배출량 비교 허용 오차
+     * @return 첫 컬럼 값 목록 (SQL에서 정렬한 순서 그대로)
+     */
+    static List<Integer> findIds(Connection conn, String sql, double tolerance) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setDouble(1, tolerance);
+            try (ResultSet rs = ps.executeQuery()) {
+                List<Integer> out = new ArrayList<>();
+                while (rs.next()) {
+                    out.add(rs.getInt(1));
+                }
+                return out;
+            }
+        }
+    }
+
+    /**
+     * 전체 재계산 + 검증
+     *
+     * 재계산하는 동안 다른 트랜잭션의 증분 반영(발주 등록, 트리거)이 끼어들면 값이 꼬임
+     * -> 테이블 잠금으로 막음 (반영하는 쪽은 잠금 풀릴 때까지 대기)
+     * 재계산 후 다시 비교해서 안 맞으면 예외 -> 호출 측에서 롤백
+     * 커밋/롤백은 호출 측에서 함
+     *
+     * @param conn DB 커넥션 (autoCommit=false 상태여야 함)
+     * @param table 잠글 요약 테이블 이름
+     * @param mismatches 불일치 ID 조회
+     * @param refill 다시 채우기 (채운 행 수 반환)
+     * @param failure 검증 실패 메시지 (뒤에 불일치 ID 목록 붙음)
+     * @return 다시 채운 행 수, 보정된 건수
+     */
+    static Outcome rebuild(Connection conn, String table, SqlWork<List<Integer>> mismatches,
+                           SqlWork<Integer> refill, String failure) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute("LOCK TABLE " + table + " IN SHARE ROW EXCLUSIVE MODE");
+        }
+
+        int corrected = mismatches.run(conn).size();
+        int rows = refill.run(conn);
+
+        // 검증: 재계산 직후니까 불일치 0건이어야 정상
+        List<Integer> remaining = mismatches.run(conn);
+        if (!remaining.isEmpty()) {
+            throw new SQLException(failure + remaining);
+        }
+        return new Outcome(rows, corrected);
+    }
+}
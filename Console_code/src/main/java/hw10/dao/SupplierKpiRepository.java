@@ -0,0 +1,127 @@
+package hw10.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 공급업체 KPI 요약 테이블(SupplierKpi) SQL 모음
+ *
+ * 공급업체 리포트(기능 3) 목록이 매번 전체 발주/납품 이력을 집계하면
+ * 데이터 쌓일수록 느려짐 -> 업체별 합계를 테이블에 미리 저장해두고 목록은 그것만 읽음.
+ *
+ * - 발주 등록 트랜잭션에서 금액/납품 건수를 더해줌 (applyOrder)
+ * - 납품 상태 변경/삭제, 발주서 공급업체 변경/삭제는 DB 트리거가 처리 (V6, V10)
+ * - 그 외 직접 수정한 경우엔 rebuild로 전체 재계산
+ */
+public final class SupplierKpiRepository {
+
+    /** 재계산 결과 (corrected = 재계산 전에 원본이랑 안 맞던 업체 수) */
+    public record RebuildResult(int suppliers, int corrected) {}
+
+    /** 금액 비교 허용 오차 (double 누적 덧셈 오차 때문에 == 비교하면 안 됨) */
+    private static final double AMOUNT_TOLERANCE = 0.01;
+
+    /** 원본 테이블 기준 업체별 KPI 집계 (예전 목록 쿼리의 CTE랑 같은 계산) */
+    private static final String LIVE_SQL = """
+            SELECT s.SupplierID,
+                   COALESCE(ot.total_amount, 0) AS total_amount,
+                   COALESCE(ds.total_deliveries, 0) AS total_deliveries,
+                   COALESCE(ds.delayed_deliveries, 0) AS delayed_deliveries
+            FROM Supplier s
+            LEFT JOIN (
+                SELECT po.SupplierID, SUM(pol.Quantity * pol.UnitPriceAtOrder) AS total_amount
+                FROM PurchaseOrder po
+                JOIN PurchaseOrderLine pol ON pol.POID = po.POID
+                GROUP BY po.SupplierID
+            ) ot ON ot.SupplierID = s.SupplierID
+            LEFT JOIN (
+                SELECT po.SupplierID,
+                       COUNT(*) AS total_deliveries,
+                       SUM(CASE WHEN d.Status = '지연' THEN 1 ELSE 0 END) AS delayed_deliveries
+                FROM PurchaseOrder po
+                JOIN Delivery d ON d.POID = po.POID
+                GROUP BY po.SupplierID
+            ) ds ON ds.SupplierID = s.SupplierID
+            """;
+
+    /**
+     * 발주 1건만큼 KPI 증분 반영
+     *
+     * 업체 행 없으면 INSERT, 있으면 기존 값에 더함 (ON CONFLICT = UPSERT)
+     * 발주 등록이랑 같은 커넥션/트랜잭션에서 호출해야 롤백될 때 같이 취소됨
+     *
+     * @param conn DB 커넥션 (트랜잭션 진행 중)
+     * @param supplierId 공급업체 ID
+     * @param orderAmount 발주 금액 (수량 * 단가 합)
+     * @param deliveries 추가된 납품 건수
+     * @param delayedDeliveries 추가된 지연 납품 건수
+     */
+    public void applyOrder(Connection conn, int supplierId, double orderAmount,
+                           int deliveries, int delayedDeliveries) throws SQLException {
+        String sql = """
+                INSERT INTO SupplierKpi (SupplierID, TotalOrderAmount, TotalDeliveries, DelayedDeliveries, UpdatedAt)
+                VALUES (?, ?, ?, ?, now())
+                ON CONFLICT (SupplierID) DO UPDATE
+                SET TotalOrderAmount = SupplierKpi.TotalOrderAmount + EXCLUDED.TotalOrderAmount,
+                    TotalDeliveries = SupplierKpi.TotalDeliveries + EXCLUDED.TotalDeliveries,
+                    DelayedDeliveries = SupplierKpi.DelayedDeliveries + EXCLUDED.DelayedDeliveries,
+                    UpdatedAt = EXCLUDED.UpdatedAt
+                """;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, supplierId);
+            ps.setDouble(2, orderAmount);
+            ps.setInt(3, deliveries);
+            ps.setInt(4, delayedDeliveries);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * 요약 테이블 값이 원본 집계랑 다른 업체 ID 목록
+     *
+     * @param conn DB 커넥션
+     * @return 불일치 업체 ID (오름차순), 다 맞으면 빈 리스트
+     */
+    public List<Integer> findMismatches(Connection conn) throws SQLException {
+        String sql = "WITH live AS (" + LIVE_SQL + """
+                )
+                SELECT l.SupplierID
+                FROM live l
+                LEFT JOIN SupplierKpi k ON k.SupplierID = l.SupplierID
+                WHERE COALESCE(k.TotalDeliveries, 0) <> l.total_deliveries
+                   OR COALESCE(k.DelayedDeliveries, 0) <> l.delayed_deliveries
+                   OR ABS(COALESCE(k.TotalOrderAmount, 0) - l.total_amount) > ?
+                ORDER BY l.SupplierID
+                """;
+        return SummaryRebuild.findIds(conn, sql, AMOUNT_TOLERANCE);
+    }
+
+    /**
+     * 원본 데이터 기준 전체 재계산 + 검증 (잠금/검증 절차는 SummaryRebuild)
+     *
+     * @param conn DB 커넥션 (autoCommit=false 상태여야 함)
+     * @return 재계산 업체 수, 보정된 업체 수
+     */
+    public RebuildResult rebuild(Connection conn) throws SQLException {
+        String sql = "INSERT INTO SupplierKpi (SupplierID, TotalOrderAmount, TotalDeliveries, DelayedDeliveries, UpdatedAt) "
+                + "SELECT live.SupplierID, live.total_amount, live.total_deliveries, live.delayed_deliveries, now() "
+                + "FROM (" + LIVE_SQL + ") live "
+                + """
+                ON CONFLICT (SupplierID) DO UPDATE
+                SET TotalOrderAmount = EXCLUDED.TotalOrderAmount,
+                    TotalDeliveries = EXCLUDED.TotalDeliveries,
+                    DelayedDeliveries = EXCLUDED.DelayedDeliveries,
+                    UpdatedAt = EXCLUDED.UpdatedAt
+                """;
+        SummaryRebuild.Outcome o = SummaryRebuild.rebuild(conn, "SupplierKpi", this::findMismatches,
+                c -> {
+                    try (PreparedStatement ps = c.prepareStatement(sql)) {
+                        return ps.executeUpdate();
+                    }
+                },
+                "공급업체 KPI 재계산 검증 실패 - 불일치 업체: ");
+        return new RebuildResult(o.rows(), o.corrected());
+    }
+}
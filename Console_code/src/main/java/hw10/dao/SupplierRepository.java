@@ -45,8 +45,9 @@ public final class SupplierRepository {
      * - ESG 등급 다중 선택 필터
      * - 지연 비율 상한/하한 필터
      * 
-     * WITH CTE 사용해서 복잡한 쿼리 구조화함
-     * CTE = Common Table Expression (임시 테이블 같은 거)
+     * 통계(발주 금액, 납품/지연 건수, 지연 비율)는 SupplierKpi 요약 테이블에서 읽음
+     * 예전엔 매번 전체 발주/납품 이력을 CTE로 집계했는데 이력 쌓일수록 느려져서 바꿈
+     * 이제 업체 수만큼만 읽음 (요약 테이블 관리는 SupplierKpiRepository 참고)
      * 
      * @param conn DB 커넥션
      * @param esgGrades ESG 등급 필터 (null이면 전체)
@@ -61,35 +62,18 @@ public final class SupplierRepository {
         // StringBuilder: 동적으로 SQL 문자열 만들 때 사용
         // cpp의 stringstream이랑 비슷
         StringBuilder sb = new StringBuilder();
+        // KPI 행 없는 업체(발주 이력 없음)는 LEFT JOIN + COALESCE로 0 처리
         sb.append("""
-                WITH order_totals AS (
-                  SELECT po.SupplierID, SUM(pol.Quantity * pol.UnitPriceAtOrder) AS total_amount
-                  FROM PurchaseOrder po
-                  JOIN PurchaseOrderLine pol ON pol.POID = po.POID
-                  GROUP BY po.SupplierID
-                ),
-                delivery_stats AS (
-                  SELECT po.SupplierID,
-                         COUNT(*) AS total_deliveries,
-                         SUM(CASE WHEN d.Status = '지연' THEN 1 ELSE 0 END) AS delayed_deliveries
-                  FROM PurchaseOrder po
-                  JOIN Delivery d ON d.POID = po.POID
-                  GROUP BY po.SupplierID
-                ),
-                base AS (
+                SELECT *
+                FROM (
                   SELECT s.SupplierID, s.Name, s.Country, s.ESGGrade,
-                         COALESCE(ot.total_amount, 0) AS total_order_amount,
-                         COALESCE(ds.delayed_deliveries, 0) AS delayed_deliveries,
-                         COALESCE(ds.total_deliveries, 0) AS total_deliveries,
-                         CASE WHEN COALESCE(ds.total_deliveries, 0) = 0 THEN 0
-                              ELSE (COALESCE(ds.delayed_deliveries, 0)::float / ds.total_deliveries)
-                         END AS delay_ratio
+                         COALESCE(k.TotalOrderAmount, 0) AS total_order_amount,
+                         COALESCE(k.DelayedDeliveries, 0) AS delayed_deliveries,
+                         COALESCE(k.TotalDeliveries, 0) AS total_deliveries,
+                         COALESCE(k.DelayRatio, 0) AS delay_ratio
                   FROM Supplier s
-                  LEFT JOIN order_totals ot ON ot.SupplierID = s.SupplierID
-                  LEFT JOIN delivery_stats ds ON ds.SupplierID = s.SupplierID
-                )
-                SELECT *
-                FROM base
+                  LEFT JOIN SupplierKpi k ON k.SupplierID = s.SupplierID
+                ) base
                 WHERE 1=1
                 """);
         // WHERE 1=1 트릭: 이후에 AND 조건 붙이기 편하려고
@@ -149,18 +133,24 @@ public final class SupplierRepository {
     }
 
     /**
-     * 특정 공급업체의 최근 발주서 조회 (페이징)
+     * 특정 공급업체의 최근 발주서 조회 (키셋 페이징)
      * 
      * [과제 요구사항] 최근 N개 발주서 + 지연 여부 요약
      * 
+     * OFFSET 방식은 뒤쪽 페이지일수록 앞 페이지 행을 전부 읽고 버려서 느려짐.
+     * 대신 이전 페이지 마지막 행의 (OrderDate, POID) 다음부터 읽음 (seek).
+     * (SupplierID, OrderDate DESC, POID DESC) 인덱스 타면 몇 번째 페이지든 비용 같음.
+     * 
      * @param conn DB 커넥션
      * @param supplierId 공급업체 ID
      * @param limit 한 페이지 크기
-     * @param offset 건너뛸 개수 (페이지 * 페이지크기)
+     * @param afterDate 이전 페이지 마지막 발주일 (첫 페이지면 null)
+     * @param afterPoid 이전 페이지 마지막 POID (첫 페이지면 null)
      * @return 발주서 리스트
      */
-    public List<SupplierPoRow> recentPurchaseOrders(Connection conn, int supplierId, 
-                                                   int limit, int offset) throws SQLException {
+    public List<SupplierPoRow> recentPurchaseOrders(Connection conn, int supplierId, int limit,
+                                                   java.sql.Date afterDate, Integer afterPoid) throws SQLException {
+        boolean seek = afterDate != null && afterPoid != null;
         String sql = """
                 SELECT po.POID, po.OrderDate, po.Status,
                        CASE WHEN EXISTS (
@@ -169,15 +159,23 @@ public final class SupplierRepository {
                        ) THEN TRUE ELSE FALSE END AS delayed
                 FROM PurchaseOrder po
                 WHERE po.SupplierID = ?
+                """
+                // 행 값 비교: 정렬 순서(DESC, DESC)와 같은 방향이라 인덱스 범위 탐색으로 처리됨
+                + (seek ? "  AND (po.OrderDate, po.POID) < (?, ?)\n" : "")
+                + """
                 ORDER BY po.OrderDate DESC, po.POID DESC
-                LIMIT ? OFFSET ?
+                LIMIT ?
                 """;
         // EXISTS 서브쿼리: 해당 발주서에 지연 납품이 있는지 체크
         
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, supplierId);
-            ps.setInt(2, limit);
-            ps.setInt(3, offset);
+            int idx = 1;
+            ps.setInt(idx++, supplierId);
+            if (seek) {
+                ps.setDate(idx++, afterDate);
+                ps.setInt(idx++, afterPoid);
+            }
+            ps.setInt(idx, limit);
             
             try (ResultSet rs = ps.executeQuery()) {
                 List<SupplierPoRow> out = new ArrayList<>();
@@ -0,0 +1,403 @@
+package hw10.db;
+
+import hw10.util.Logger;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 간단한 커넥션 풀 (DatabaseConnection 내부용)
+ *
+ * 매번 DriverManager.getConnection() 하면 TCP 연결 + 인증을 처음부터 다시 함.
+ * 그래서 한번 만든 물리 커넥션을 모아뒀다가 빌려주고(borrow) 돌려받음(return).
+ * cpp로 치면 객체 풀(object pool) 패턴이랑 같음.
+ *
+ * 빌려준 커넥션은 프록시라서 close() 부르면 실제로 안 닫히고 풀로 돌아옴
+ * -> 기존 try (Connection conn = db.openConnection()) 코드 그대로 쓰면 됨
+ *
+ * 기능:
+ * - 빌려줄 때 검사: 잠깐 이상 안 쓰인 커넥션은 isValid()로 살아있는지 확인 (죽었으면 버리고 새로)
+ * - 유휴 시간 초과: idleTimeoutMs 동안 안 쓰인 커넥션은 닫음
+ * - 최대 수명: maxLifetimeMs 지난 커넥션은 반납될 때/빌려줄 때 닫고 새로 만듦
+ * - 누수 감지: leakDetectionMs 동안 반납 안 되면 빌려간 위치랑 같이 경고 로그
+ */
+final class ConnectionPool implements AutoCloseable {
+
+    /**
+     * 물리 커넥션 만드는 함수 (DatabaseConnection이 DriverManager로 만들어서 넘겨줌)
+     */
+    @FunctionalInterface
+    interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    // 최근에 쓴 커넥션은 검사 생략 (매번 검사하면 왕복 1번씩 늘어남)
+    private static final long VALIDATION_BYPASS_MS = 500;
+    private static final int VALIDATION_TIMEOUT_SEC = 2;
+
+    // 풀 가득 찼을 때 최대 대기 시간
+    private static final long BORROW_TIMEOUT_MS = 30_000;
+
+    // 물리 커넥션 1개 + 상태 정보
+    private static final class Entry {
+        final Connection physical;
+        final long createdAt;
+        final int defaultIsolation;
+        long lastUsedAt;
+        boolean isolationChanged;  // 빌려간 쪽이 격리 수준 바꿨는지 (반납 때 원래대로)
+
+        // 대여 중일 때만 의미 있음
+        long borrowedAt;
+        Throwable borrowSite;  // 누수 경고에 찍을 대여 위치 (누수 감지 꺼져 있으면 null)
+        boolean leakReported;
+
+        Entry(Connection physical, long now) throws SQLException {
+            this.physical = physical;
+            this.createdAt = now;
+            this.lastUsedAt = now;
+            this.defaultIsolation = physical.getTransactionIsolation();
+        }
+    }
+
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final long idleTimeoutMs;
+    private final long maxLifetimeMs;
+    private final long leakDetectionMs;
+
+    // idle: 쉬고 있는 커넥션 (앞쪽이 최근에 반납된 것 = 살아있을 확률 높음)
+    // borrowed: 빌려간 커넥션 (누수 감지용)
+    // total: 열려 있는 물리 커넥션 수 (만드는 중인 것 포함)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<Entry> idle = new ArrayDeque<>();
+    private final Set<Entry> borrowed = new HashSet<>();
+    private int total;
+    private boolean closed;
+
+    // 통계 (종료 로그용)
+    private long created;
+    private long borrowCount;
+
+    // 유휴/수명/누수 주기 점검 스레드
+    private final Thread housekeeper;
+
+    ConnectionPool(ConnectionFactory factory, int maxSize, long idleTimeoutMs, long maxLifetimeMs,
+            long leakDetectionMs) {
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.maxLifetimeMs = maxLifetimeMs;
+        this.leakDetectionMs = leakDetectionMs;
+
+        this.housekeeper = new Thread(this::housekeep, "db-pool-housekeeper");
+        this.housekeeper.setDaemon(true);  // 메인 끝나면 같이 끝나게
+        this.housekeeper.start();
+    }
+
+    /**
+     * 커넥션 빌리기
+     * 쉬는 커넥션 있으면 그거 주고, 없으면 새로 만들고, 꽉 찼으면 반납될 때까지 기다림
+     *
+     * @return close()하면 풀로 돌아가는 커넥션
+     * @throws SQLException 연결 실패 또는 대기 시간 초과
+     */
+    Connection borrow() throws SQLException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(BORROW_TIMEOUT_MS);
+        while (true) {
+            Entry entry = null;
+            boolean create = false;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("커넥션 풀이 이미 종료됨");
+                    }
+                    if (!idle.isEmpty()) {
+                        entry = idle.pollFirst();
+                        break;
+                    }
+                    if (total < maxSize) {
+                        total++;  // 자리 먼저 잡아두고 락 밖에서 연결 (연결이 느려도 다른 스레드 안 막힘)
+                        create = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new SQLException("커넥션 풀 대기 시간 초과 (" + BORROW_TIMEOUT_MS + "ms, 최대 "
+                                + maxSize + "개 모두 사용 중)", "08001");
+                    }
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("커넥션 대기 중 인터럽트", e);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            long now = System.currentTimeMillis();
+            if (create) {
+                Connection physical = null;
+                try {
+                    physical = factory.create();
+                    entry = new Entry(physical, now);
+                } catch (SQLException | RuntimeException e) {
+                    if (physical != null) {
+                        try {
+                            physical.close();
+                        } catch (SQLException ignored) {
+                        }
+                    }
+                    discard(null);  // 잡아둔 자리 반환
+                    throw e;
+                }
+                lock.lock();
+                try {
+                    created++;
+                } finally {
+                    lock.unlock();
+                }
+            } else if (!usable(entry, now)) {
+                // 수명 지났거나 죽은 커넥션 -> 버리고 다시 시도
+                discard(entry);
+                continue;
+            }
+
+            lock.lock();
+            try {
+                entry.borrowedAt = now;
+                entry.borrowSite = leakDetectionMs > 0 ? new Throwable("커넥션 대여 위치") : null;
+                entry.leakReported = false;
+                borrowed.add(entry);
+                borrowCount++;
+            } finally {
+                lock.unlock();
+            }
+            return wrap(entry);
+        }
+    }
+
+    /**
+     * 풀 종료 - 쉬는 커넥션 다 닫음
+     * 빌려간 건 반납될 때 닫힘
+     */
+    @Override
+    public void close() {
+        List<Entry> toClose;
+        String stats;
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+            available.signalAll();
+            stats = "생성 " + created + "개, 대여 " + borrowCount + "회";
+        } finally {
+            lock.unlock();
+        }
+        housekeeper.interrupt();
+        Logger.info("커넥션 풀 종료 (" + stats + ")");
+        for (Entry e : toClose) {
+            discard(e);
+        }
+    }
+
+    // 빌려줘도 되는지 확인 (최대 수명, 살아있는지)
+    private boolean usable(Entry entry, long now) {
+        if (maxLifetimeMs > 0 && now - entry.createdAt >= maxLifetimeMs) {
+            return false;
+        }
+        if (now - entry.lastUsedAt < VALIDATION_BYPASS_MS) {
+            return true;
+        }
+        try {
+            return entry.physical.isValid(VALIDATION_TIMEOUT_SEC);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // 반납 처리. 다음 사용자가 깨끗한 상태로 받도록 트랜잭션 설정 원래대로 돌림
+    private void release(Entry entry) {
+        boolean reusable;
+        try {
+            if (!entry.physical.getAutoCommit()) {
+                entry.physical.rollback();  // 커밋 안 하고 반납한 작업은 취소
+                entry.physical.setAutoCommit(true);
+            }
+            // getTransactionIsolation()은 DB 왕복이라 바꾼 경우에만 되돌림
+            if (entry.isolationChanged) {
+                entry.physical.setTransactionIsolation(entry.defaultIsolation);
+                entry.isolationChanged = false;
+            }
+            if (entry.physical.isReadOnly()) {
+                entry.physical.setReadOnly(false);
+            }
+            entry.physical.clearWarnings();
+            reusable = true;
+        } catch (SQLException e) {
+            // 상태 되돌리기 실패 = 커넥션 문제 있음 -> 재사용 안 함
+            reusable = false;
+        }
+
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            borrowed.remove(entry);
+            entry.borrowSite = null;
+            if (reusable && !closed && (maxLifetimeMs <= 0 || now - entry.createdAt < maxLifetimeMs)) {
+                entry.lastUsedAt = now;
+                idle.addFirst(entry);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        discard(entry);
+    }
+
+    // 물리 커넥션 닫고 자리 반환 (entry가 null이면 자리만 반환)
+    private void discard(Entry entry) {
+        if (entry != null) {
+            try {
+                entry.physical.close();
+            } catch (SQLException ignored) {
+                // 닫다가 실패해도 할 수 있는 게 없음
+            }
+        }
+        lock.lock();
+        try {
+            total--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 주기 점검: 오래 쉰 커넥션/수명 지난 커넥션 정리, 누수 경고
+    private void housekeep() {
+        long interval = 30_000;
+        if (leakDetectionMs > 0) {
+            interval = Math.min(interval, Math.max(1_000, leakDetectionMs / 2));
+        }
+        while (true) {
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                return;  // close()에서 깨움
+            }
+
+            long now = System.currentTimeMillis();
+            List<Entry> expired = new ArrayList<>();
+            List<Entry> leaked = new ArrayList<>();
+            lock.lock();
+            try {
+                if (closed) return;
+                for (Iterator<Entry> it = idle.iterator(); it.hasNext();) {
+                    Entry e = it.next();
+                    boolean tooIdle = idleTimeoutMs > 0 && now - e.lastUsedAt >= idleTimeoutMs;
+                    boolean tooOld = maxLifetimeMs > 0 && now - e.createdAt >= maxLifetimeMs;
+                    if (tooIdle || tooOld) {
+                        it.remove();
+                        expired.add(e);
+                    }
+                }
+                if (leakDetectionMs > 0) {
+                    for (Entry e : borrowed) {
+                        if (!e.leakReported && now - e.borrowedAt >= leakDetectionMs) {
+                            e.leakReported = true;
+                            leaked.add(e);
+                        }
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            for (Entry e : expired) {
+                discard(e);
+            }
+            for (Entry e : leaked) {
+                Throwable site = e.borrowSite;
+                Logger.warn("커넥션 누수 의심 - " + (now - e.borrowedAt) + "ms 동안 반납 안 됨, 대여 위치: "
+                        + callerOf(site));
+            }
+        }
+    }
+
+    // 대여 위치 요약 (풀/DatabaseConnection 프레임 빼고 앞쪽 3개)
+    private static String callerOf(Throwable site) {
+        if (site == null) return "알 수 없음";
+        StringBuilder sb = new StringBuilder();
+        int count = 0;
+        for (StackTraceElement frame : site.getStackTrace()) {
+            if (frame.getClassName().startsWith("hw10.db.")) continue;
+            if (count > 0) sb.append(" <- ");
+            sb.append(frame);
+            if (++count == 3) break;
+        }
+        return sb.toString();
+    }
+
+    // 빌려줄 커넥션 프록시. close()만 가로채서 반납으로 바꿈
+    private Connection wrap(Entry entry) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean returned;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!returned) {
+                            returned = true;
+                            release(entry);
+                        }
+                        return null;
+                    case "isClosed":
+                        return returned || entry.physical.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "PooledConnection[" + entry.physical + "]";
+                    default:
+                        break;
+                }
+                if (returned) {
+                    throw new SQLException("이미 반납된 커넥션");
+                }
+                if (method.getName().equals("setTransactionIsolation")) {
+                    entry.isolationChanged = true;
+                }
+                try {
+                    return method.invoke(entry.physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();  // 원래 SQLException 그대로 던짐
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, handler);
+    }
+}
@@ -1,10 +1,13 @@
 package hw10.db;
 
 import hw10.config.DatabaseConfig;
+import hw10.util.Logger;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Properties;
 
 /**
  * DB 연결 관리 클래스
@@ -13,11 +16,17 @@ import java.sql.SQLException;
  * cpp에서 libpq 쓰는 거랑 비슷한데, Java는 JDBC라는 표준 API 씀.
  * 
  * AutoCloseable 구현해서 try-with-resources 문법 쓸 수 있게 함.
+ *
+ * 커넥션은 ConnectionPool에서 빌려줌 (매번 새로 연결 안 함).
+ * openConnection()으로 받은 커넥션 close()하면 실제로는 풀에 반납됨.
  */
 public final class DatabaseConnection implements AutoCloseable {
     
     private final DatabaseConfig config;
 
+    // 커넥션 풀 (처음 openConnection() 부를 때까지는 연결 안 함)
+    private final ConnectionPool pool;
+
     /**
      * 생성자 - 설정 받아서 저장
      * 설정이 비어있으면 여기서 바로 예외 던짐
@@ -29,29 +38,73 @@ public final class DatabaseConnection implements AutoCloseable {
         if (config.dbUrl == null || config.dbUser == null || config.dbPassword == null) {
             throw new IllegalStateException("DB 설정이 비어 있습니다. 환경변수 또는 config.properties를 설정하세요.");
         }
+
+        this.pool = new ConnectionPool(this::connect, config.poolMaxSize, config.poolIdleTimeoutMs,
+                config.poolMaxLifetimeMs, config.poolLeakDetectionMs);
     }
 
     /**
-     * 새 DB 커넥션 열기
+     * DB 커넥션 빌리기
      * 
-     * 호출할 때마다 새 Connection 객체 리턴함.
-     * cpp에서 PQconnectdb() 호출하는 거랑 비슷함.
+     * 풀에 쉬는 커넥션 있으면 재사용, 없으면 새로 연결함.
+     * 다 쓰면 꼭 close() 해야 풀에 돌아감 (try-with-resources 쓰면 자동)
      * 
      * @return java.sql.Connection 객체 (SQL 실행할 때 필요)
-     * @throws SQLException 연결 실패하면 예외 발생
+     * @throws SQLException 연결 실패 또는 풀 대기 시간 초과하면 예외 발생
      */
     public Connection openConnection() throws SQLException {
+        return pool.borrow();
+    }
+
+    // 실제 물리 커넥션 생성 (풀이 새 커넥션 필요할 때만 부름)
+    // cpp에서 PQconnectdb() 호출하는 거랑 비슷함.
+    private Connection connect() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty("user", config.dbUser);
+        props.setProperty("password", config.dbPassword);
+        // 배치 INSERT를 다중 VALUES 한 문장으로 바꿔서 보냄 (발주항목 일괄 저장할 때 왕복 줄어듦)
+        // URL에 직접 reWriteBatchedInserts=false 쓰면 그게 우선함
+        props.setProperty("reWriteBatchedInserts", "true");
+
         // DriverManager.getConnection()이 실제로 DB에 연결하는 함수
-        return DriverManager.getConnection(config.dbUrl, config.dbUser, config.dbPassword);
+        return DriverManager.getConnection(config.dbUrl, props);
+    }
+
+    /**
+     * db/migration 스크립트 중 아직 안 돌린 것 적용 (SchemaMigrator 참고)
+     * DB_MIGRATE=0이면 아무것도 안 함
+     *
+     * @throws SQLException 접속 실패 또는 스크립트 실패
+     */
+    public void migrate() throws SQLException {
+        if (!config.migrate) {
+            Logger.info("스키마 마이그레이션 자동 적용 꺼짐 (DB_MIGRATE=0)");
+            return;
+        }
+        SchemaMigrator migrator;
+        try {
+            migrator = SchemaMigrator.fromClasspath();
+        } catch (IOException e) {
+            throw new SQLException("마이그레이션 스크립트 로드 실패: " + e.getMessage(), e);
+        }
+        try (Connection conn = openConnection()) {
+            SchemaMigrator.Result r = migrator.migrate(conn);
+            Logger.info("스키마 버전 V" + r.version() + " (신규 적용 " + r.applied() + "건)");
+        }
+    }
+
+    // 실행 계획 점검 기준 행 수 (메뉴 6에서 씀)
+    public long planCheckSeqScanRows() {
+        return config.planCheckSeqScanRows;
     }
 
     /**
      * AutoCloseable 인터페이스 구현
      * try-with-resources 블록 끝나면 자동 호출됨
-     * 여기서는 딱히 할 거 없어서 비워둠
+     * 풀에 있는 커넥션 전부 닫음
      */
     @Override
     public void close() {
-        // 특별히 정리할 리소스 없음
+        pool.close();
     }
 }
@@ -0,0 +1,169 @@
+package hw10.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 실행 계획 기록기
+ *
+ * connection()으로 받은 커넥션으로 SQL 실행하면, 실행 직전에 같은 SQL + 같은 파라미터로 EXPLAIN 먼저 돌려서 계획 저장함.
+ * 그다음 원래 SQL도 그대로 실행 -> 리포지토리 메서드를 손 안 대고 그대로 호출할 수 있음
+ * (점검용 SQL을 따로 복사해 두면 리포지토리 고칠 때 같이 안 고쳐서 어긋나기 쉬움)
+ *
+ * 계획에서 "Seq Scan on 테이블" 찾아서 그 테이블 추정 행 수(pg_class.reltuples)도 같이 기록함.
+ * 통계 한 번도 안 모은 테이블은 -1이라 0으로 침.
+ *
+ * 구현은 ConnectionPool이랑 같은 java.lang.reflect.Proxy 방식 (cpp로 치면 함수 호출 가로채는 래퍼 클래스)
+ */
+public final class QueryPlanRecorder {
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\S+)");
+
+    // 순차 스캔 1건. rows: 테이블 추정 행 수
+    public record SeqScan(String relation, long rows) {}
+
+    // 실행된 SQL 1건의 계획. lines: EXPLAIN 결과 줄들
+    public record Plan(String sql, List<SeqScan> seqScans, List<String> lines) {}
+
+    private final Connection conn;
+    private final List<Plan> plans = new ArrayList<>();
+    private final Map<String, Long> tableRows = new HashMap<>();
+
+    public QueryPlanRecorder(Connection conn) {
+        this.conn = conn;
+    }
+
+    /**
+     * 기록용 커넥션
+     * close()는 무시함 (원래 커넥션은 빌려온 쪽에서 닫아야 함)
+     */
+    public Connection connection() {
+        return proxy(Connection.class, conn, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.equals("close")) {
+                return null;
+            }
+            Object result = invoke(conn, method, args);
+            if (name.equals("prepareStatement") && result instanceof PreparedStatement ps) {
+                return recordPrepared(ps, (String) args[0]);
+            }
+            if (name.equals("createStatement") && result instanceof Statement st) {
+                return recordStatement(st);
+            }
+            return result;
+        });
+    }
+
+    public List<Plan> plans() {
+        return List.copyOf(plans);
+    }
+
+    // setInt/setString 같은 파라미터 설정 호출을 모아 뒀다가 실행 직전에 EXPLAIN 쪽에도 똑같이 설정함
+    private PreparedStatement recordPrepared(PreparedStatement ps, String sql) {
+        List<Object[]> binds = new ArrayList<>();
+        return proxy(PreparedStatement.class, ps, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                binds.add(new Object[] { method, args });
+            } else if (name.equals("clearParameters")) {
+                binds.clear();
+            } else if ((name.equals("executeQuery") || name.equals("execute") || name.equals("executeUpdate"))
+                    && (args == null || args.length == 0)) {
+                explain(sql, binds);
+            }
+            return invoke(ps, method, args);
+        });
+    }
+
+    private Statement recordStatement(Statement st) {
+        return proxy(Statement.class, st, (proxy, method, args) -> {
+            String name = method.getName();
+            if ((name.equals("executeQuery") || name.equals("execute") || name.equals("executeUpdate"))
+                    && args != null && args.length > 0 && args[0] instanceof String sql) {
+                explain(sql, List.of());
+            }
+            return invoke(st, method, args);
+        });
+    }
+
+    private void explain(String sql, List<Object[]> binds) throws Throwable {
+        List<String> lines = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement("EXPLAIN " + sql)) {
+            for (Object[] bind : binds) {
+                invoke(ps, (Method) bind[0], (Object[]) bind[1]);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    lines.add(rs.getString(1));
+                }
+            }
+        }
+
+        Set<String> relations = new LinkedHashSet<>();
+        for (String line : lines) {
+            Matcher m = SEQ_SCAN.matcher(line);
+            if (m.find()) {
+                relations.add(m.group(1));
+            }
+        }
+        List<SeqScan> scans = new ArrayList<>();
+        for (String relation : relations) {
+            scans.add(new SeqScan(relation, tableRows(relation)));
+        }
+        plans.add(new Plan(sql.replaceAll("\\s+", " ").trim(), scans, lines));
+    }
+
+    private long tableRows(String relation) throws SQLException {
+        Long cached = tableRows.get(relation);
+        if (cached != null) {
+            return cached;
+        }
+        long rows = 0;
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE oid = to_regclass(?)")) {
+            ps.setString(1, relation);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    rows = rs.getLong(1);
+                }
+            }
+        }
+        tableRows.put(relation, rows);
+        return rows;
+    }
+
+    // 프록시 만들기. equals/hashCode/unwrap은 가로채지 않음
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        InvocationHandler guarded = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "unwrap", "isWrapperFor" -> invoke(target, method, args);
+            default -> handler.invoke(proxy, method, args);
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, guarded);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import hw10.dao.DeliveryRepository;
 import hw10.dao.SequenceGenerator;
 import hw10.dao.InventoryRepository;
 import hw10.dao.OrderRepository;
+import hw10.dao.SupplierKpiRepository;
 import hw10.db.DatabaseConnection;
 import hw10.util.Logger;
 
@@ -11,7 +12,11 @@ import java.sql.Connection;
 import java.sql.Date;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * [기능 2] 발주 등록 처리 - 트랜잭션 서비스
@@ -21,10 +26,14 @@ import java.util.List;
  * 
  * [과제 요구사항]
  * - PurchaseOrder + PurchaseOrderLine + Delivery + DeliveryLine + Inventory
- *   이 모든 작업을 하나의 트랜잭션으로 묶음
+ *   이 모든 작업을 하나의 트랜잭션으로 묶음 (+ 공급업체 KPI 요약 테이블 반영)
  * - 중간 오류 발생 시 전체 ROLLBACK
  * - 교착상태(Deadlock) 발생 시 재시도
  * - 트랜잭션 isolation level 설정
+ * 
+ * 잠금 순서: 재고 행은 부품별로 합친 다음 부품 ID 순으로 UPSERT, 공급업체 KPI 행은 맨 마지막.
+ * 사용자가 입력한 품목 순서대로 잠그면 두 발주가 서로 반대 순서로 같은 재고 행을 잡아서 교착상태가 났음.
+ * 순서를 고정하고 나서는 재시도는 혹시 모를 경우 대비용.
  */
 public final class OrderTransactionService {
     
@@ -34,6 +43,14 @@ public final class OrderTransactionService {
     /** 트랜잭션 결과 (생성된 ID들 반환) */
     public record TransactionResult(int poid, int deliveryId) {}
 
+    /** 품목 수가 이 값 이상이면 건별 INSERT 대신 배치(addBatch/executeBatch)로 저장 */
+    private static final int BATCH_THRESHOLD = 8;
+
+    /** 교착상태 재시도: 최대 시도 횟수, 대기 시간 기준/상한(ms) */
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long BASE_DELAY_MS = 10;
+    private static final long MAX_DELAY_MS = 100;
+
     private final DatabaseConnection db;
     
     // DAO 객체들 (각각 DB 테이블 접근 담당)
@@ -41,6 +58,7 @@ public final class OrderTransactionService {
     private final OrderRepository orderRepository = new OrderRepository();
     private final DeliveryRepository deliveryRepository = new DeliveryRepository();
     private final InventoryRepository inventoryRepository = new InventoryRepository();
+    private final SupplierKpiRepository supplierKpiRepository = new SupplierKpiRepository();
 
     public OrderTransactionService(DatabaseConnection db) {
         this.db = db;
@@ -70,9 +88,7 @@ public final class OrderTransactionService {
     ) throws Exception {
         
         // [과제 요구사항] 교착상태 발생 시 재시도
-        int maxRetries = 3;
-        
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
             try (Connection conn = db.openConnection()) {
                 
                 // [과제 요구사항] 명시적 트랜잭션 시작
@@ -94,29 +110,25 @@ public final class OrderTransactionService {
                     orderRepository.insertPurchaseOrder(conn, poid, today, "요청", engineerName, projectId, supplierId);
 
                     // ========== 2. 발주 항목 생성 ==========
-                    int lineNo = 1;
-                    for (OrderLineInput li : lines) {
-                        orderRepository.insertPurchaseOrderLine(conn, poid, lineNo, li.partId(), li.quantity(), li.unitPrice(), null);
-                        lineNo++;
-                    }
+                    insertOrderLines(conn, poid, lines);
 
                     // ========== 3. 초기 납품 생성 ==========
                     int deliveryId = sequenceGenerator.nextId(conn, "Delivery.DeliveryID");
                     deliveryRepository.insertDelivery(conn, deliveryId, poid, today, transportMode, distanceKm, "정상입고");
 
                     // ========== 4. 납품 상세 + 재고 반영 ==========
-                    // [과제 요구사항] 발주 수량의 50% 입고
-                    lineNo = 1;
+                    insertInitialDeliveryLines(conn, deliveryId, poid, warehouseId, lines);
+
+                    // ========== 5. 공급업체 KPI 증분 반영 ==========
+                    // 공급업체 리포트 목록이 읽는 요약 테이블. 같은 트랜잭션이라 롤백되면 같이 취소됨
+                    // 초기 납품은 '정상입고'라서 지연 건수는 0
+                    double orderAmount = 0;
                     for (OrderLineInput li : lines) {
-                        int received = (li.quantity() + 1) / 2;  // 50% 올림 (5개면 3개)
-                        deliveryRepository.insertDeliveryLine(conn, deliveryId, poid, lineNo, received, "초기납품(자동)");
-                        
-                        // [과제 요구사항] Inventory UPSERT
-                        inventoryRepository.addInventory(conn, warehouseId, li.partId(), received);
-                        lineNo++;
+                        orderAmount += li.quantity() * li.unitPrice();
                     }
+                    supplierKpiRepository.applyOrder(conn, supplierId, orderAmount, 1, 0);
 
-                    // ========== 5. 커밋 ==========
+                    // ========== 6. 커밋 ==========
                     // [과제 요구사항] 정상 완료 시 커밋
                     conn.commit();
                     
@@ -137,10 +149,19 @@ public final class OrderTransactionService {
 
                     // [과제 요구사항] 교착상태(Deadlock) 발생 시 재시도
                     // 40P01 = PostgreSQL deadlock_detected
-                    if ("40P01".equals(e.getSQLState()) && attempt < maxRetries) {
-                        Logger.warn("교착상태 감지(40P01) -> 재시도: " + e.getMessage());
-                        // 잠깐 대기 후 재시도 (attempt마다 대기 시간 증가)
-                        try { Thread.sleep(200L * attempt); } catch (InterruptedException ignored) {}
+                    if ("40P01".equals(e.getSQLState()) && attempt < MAX_ATTEMPTS) {
+                        // 대기 시간: 0 ~ min(상한, 기준 x 2^(attempt-1)) 중 랜덤
+                        // 고정 대기(200ms x attempt)면 같이 교착상태 난 발주들이 같은 시각에 다시 부딪힘
+                        long capMs = Math.min(MAX_DELAY_MS, BASE_DELAY_MS << (attempt - 1));
+                        long delayMs = ThreadLocalRandom.current().nextLong(capMs + 1);
+                        Logger.warn("교착상태 감지(40P01) -> " + delayMs + "ms 후 재시도: " + e.getMessage());
+                        try {
+                            Thread.sleep(delayMs);
+                        } catch (InterruptedException ie) {
+                            // 인터럽트면 재시도 안 하고 원래 에러 그대로 던짐
+                            Thread.currentThread().interrupt();
+                            throw e;
+                        }
                         continue;  // 다음 attempt로
                     }
                     
@@ -153,4 +174,73 @@ public final class OrderTransactionService {
         // 여기까지 오면 재시도 다 실패한 것
         throw new IllegalStateException("트랜잭션 재시도 초과");
     }
+
+    /**
+     * 발주항목 저장
+     * 
+     * 품목 적으면 예전처럼 한 줄씩 INSERT, BATCH_THRESHOLD 이상이면 배치로 한 번에 보냄.
+     * (대형 BOM 발주는 품목이 수백 개라 건별로 하면 커밋까지 너무 오래 걸렸음)
+     */
+    private void insertOrderLines(Connection conn, int poid, List<OrderLineInput> lines) throws SQLException {
+        if (lines.size() < BATCH_THRESHOLD) {
+            int lineNo = 1;
+            for (OrderLineInput li : lines) {
+                orderRepository.insertPurchaseOrderLine(conn, poid, lineNo, li.partId(), li.quantity(), li.unitPrice(), null);
+                lineNo++;
+            }
+            return;
+        }
+
+        List<OrderRepository.PurchaseOrderLineRow> rows = new ArrayList<>(lines.size());
+        int lineNo = 1;
+        for (OrderLineInput li : lines) {
+            rows.add(new OrderRepository.PurchaseOrderLineRow(lineNo, li.partId(), li.quantity(), li.unitPrice(), null));
+            lineNo++;
+        }
+        orderRepository.insertPurchaseOrderLines(conn, poid, rows);
+    }
+
+    /**
+     * 납품상세 저장 + 재고 반영
+     * 
+     * [과제 요구사항] 발주 수량의 50% 입고, Inventory UPSERT
+     * 품목 수 기준은 insertOrderLines랑 같음
+     */
+    private void insertInitialDeliveryLines(Connection conn, int deliveryId, int poid, int warehouseId,
+                                            List<OrderLineInput> lines) throws SQLException {
+        boolean batch = lines.size() >= BATCH_THRESHOLD;
+        List<DeliveryRepository.DeliveryLineRow> deliveryRows = new ArrayList<>(lines.size());
+        // 부품별 입고 수량 합계 (TreeMap이라 부품 ID 순)
+        Map<Integer, Integer> received = new TreeMap<>();
+
+        int lineNo = 1;
+        for (OrderLineInput li : lines) {
+            int qty = (li.quantity() + 1) / 2;  // 50% 올림 (5개면 3개)
+            received.merge(li.partId(), qty, Integer::sum);
+
+            if (batch) {
+                // 배치면 일단 모아두기만 함
+                deliveryRows.add(new DeliveryRepository.DeliveryLineRow(lineNo, qty, "초기납품(자동)"));
+            } else {
+                deliveryRepository.insertDeliveryLine(conn, deliveryId, poid, lineNo, qty, "초기납품(자동)");
+            }
+            lineNo++;
+        }
+
+        if (batch) {
+            deliveryRepository.insertDeliveryLines(conn, deliveryId, poid, deliveryRows);
+        }
+
+        // 재고 UPSERT는 납품상세 다 넣고 나서 부품 ID 순으로 (창고는 발주당 하나라 (창고, 부품) 순서와 같음)
+        // 입력 순서대로 하면 동시 발주끼리 재고 행을 반대 순서로 잠가서 교착상태 남
+        if (batch) {
+            List<InventoryRepository.InventoryDelta> deltas = new ArrayList<>(received.size());
+            received.forEach((partId, qty) -> deltas.add(new InventoryRepository.InventoryDelta(partId, qty)));
+            inventoryRepository.addInventoryBatch(conn, warehouseId, deltas);
+        } else {
+            for (Map.Entry<Integer, Integer> e : received.entrySet()) {
+                inventoryRepository.addInventory(conn, warehouseId, e.getKey(), e.getValue());
+            }
+        }
+    }
 }
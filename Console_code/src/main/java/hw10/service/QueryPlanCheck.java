@@ -0,0 +1,142 @@
+package hw10.service;
+
+import hw10.dao.ProjectRepository;
+import hw10.dao.SupplierRepository;
+import hw10.db.QueryPlanRecorder;
+import hw10.util.Logger;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 조회 쿼리 실행 계획 점검 (인덱스 빠진 곳 찾기용)
+ *
+ * 기능 1, 3에서 쓰는 리포지토리 조회를 표본 ID로 실제 호출하면서 EXPLAIN 기록함 (QueryPlanRecorder)
+ * 계획에 Seq Scan(테이블 통째로 읽기)이 있고 그 테이블이 기준 행 수보다 크면 경고
+ * -> 데이터 많아졌는데 인덱스 없어서 느려지는 쿼리 미리 잡으려는 거임
+ *
+ * 공급업체 목록처럼 원래 전체를 읽는 게 맞는 쿼리는 허용 테이블 목록으로 빼 둠
+ * 표본 ID는 테이블별 중앙값 ID (발주 몰린 특정 업체/프로젝트 말고 보통 키 기준 계획 보려고)
+ * 전부 읽기 전용 트랜잭션 안에서 돌리고 끝나면 롤백함
+ */
+public final class QueryPlanCheck {
+
+    // 점검 1건 결과. flagged: 기준 넘은 순차 스캔, error: 실행 실패 메시지 (정상이면 null)
+    public record Result(String name, List<QueryPlanRecorder.Plan> plans,
+                         List<QueryPlanRecorder.SeqScan> flagged, String error) {
+        public boolean ok() {
+            return flagged.isEmpty() && error == null;
+        }
+    }
+
+    // 표본 ID
+    private record Samples(int projectId, int supplierId) {}
+
+    // 점검 대상 호출 (리포지토리 메서드 한두 개 부르는 람다)
+    @FunctionalInterface
+    private interface Call {
+        void run(Connection conn, Samples s) throws SQLException;
+    }
+
+    // 점검 항목. fullScans: 순차 스캔 괜찮은 테이블 (소문자)
+    private record Check(String name, Set<String> fullScans, Call call) {}
+
+    private final long seqScanRows;
+    private final List<Check> checks;
+
+    /**
+     * @param seqScanRows 이 행 수보다 큰 테이블의 순차 스캔만 경고
+     */
+    public QueryPlanCheck(long seqScanRows) {
+        this.seqScanRows = seqScanRows;
+
+        ProjectRepository projects = new ProjectRepository();
+        SupplierRepository suppliers = new SupplierRepository();
+        this.checks = List.of(
+                new Check("프로젝트 기본 정보", Set.of(),
+                        (c, s) -> projects.findProjectById(c, s.projectId())),
+                new Check("프로젝트 총 발주액", Set.of(),
+                        (c, s) -> projects.totalOrderAmount(c, s.projectId())),
+                new Check("프로젝트 상위 공급사", Set.of(),
+                        (c, s) -> projects.topSuppliersByAmount(c, s.projectId(), 3)),
+                new Check("프로젝트 유형별 배출량", Set.of(),
+                        (c, s) -> projects.emissionSumByType(c, s.projectId(), "운송")),
+                new Check("프로젝트 총 배출량", Set.of(),
+                        (c, s) -> projects.emissionSumTotal(c, s.projectId())),
+                new Check("공급업체 목록", Set.of("supplier", "supplierkpi"),
+                        (c, s) -> suppliers.listSuppliers(c, null, null, null)),
+                new Check("공급업체 발주 내역", Set.of(),
+                        (c, s) -> suppliers.recentPurchaseOrders(c, s.supplierId(), 10, null, null)));
+    }
+
+    /**
+     * 전체 점검 실행
+     * 경고 건은 로그에도 남김
+     */
+    public List<Result> run(Connection conn) throws SQLException {
+        List<Result> results = new ArrayList<>();
+        conn.setAutoCommit(false);
+        conn.setReadOnly(true);
+        try {
+            Samples samples = samples(conn);
+            for (Check check : checks) {
+                results.add(runCheck(conn, check, samples));
+            }
+        } finally {
+            conn.rollback();
+            conn.setReadOnly(false);
+            conn.setAutoCommit(true);
+        }
+        return results;
+    }
+
+    public long seqScanRows() {
+        return seqScanRows;
+    }
+
+    private Result runCheck(Connection conn, Check check, Samples samples) throws SQLException {
+        QueryPlanRecorder recorder = new QueryPlanRecorder(conn);
+        String error = null;
+        // 실패해도 다음 점검 계속하려고 세이브포인트 (트랜잭션 안에서 에러 나면 롤백 전까지 아무것도 못 함)
+        try (Statement st = conn.createStatement()) {
+            st.execute("SAVEPOINT plan_check");
+        }
+        try {
+            check.call().run(recorder.connection(), samples);
+        } catch (SQLException e) {
+            error = e.getMessage();
+            try (Statement st = conn.createStatement()) {
+                st.execute("ROLLBACK TO SAVEPOINT plan_check");
+            }
+        }
+
+        List<QueryPlanRecorder.SeqScan> flagged = new ArrayList<>();
+        for (QueryPlanRecorder.Plan plan : recorder.plans()) {
+            for (QueryPlanRecorder.SeqScan scan : plan.seqScans()) {
+                if (scan.rows() > seqScanRows && !check.fullScans().contains(scan.relation())) {
+                    flagged.add(scan);
+                    Logger.warn("순차 스캔 감지 [" + check.name() + "] " + scan.relation() + " (약 " + scan.rows() + "행)");
+                }
+            }
+        }
+        return new Result(check.name(), recorder.plans(), flagged, error);
+    }
+
+    // 테이블별 중앙값 ID (빈 테이블이면 0)
+    private static Samples samples(Connection conn) throws SQLException {
+        String sql = """
+                SELECT COALESCE((SELECT percentile_disc(0.5) WITHIN GROUP (ORDER BY ProjectID) FROM ShipProject), 0),
+                       COALESCE((SELECT percentile_disc(0.5) WITHIN GROUP (ORDER BY SupplierID) FROM Supplier), 0)
+                """;
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return new Samples(rs.getInt(1), rs.getInt(2));
+        }
+    }
+}
@@ -36,6 +36,9 @@ public final class ConsoleMenu {
             System.out.println("1) 프로젝트 대시보드 및 탄소·비용 리포트");
             System.out.println("2) 발주 등록(트랜잭션) + 초기 납품 + 재고 반영");
             System.out.println("3) 공급업체 ESG 및 지연 납품 리포트");
+            System.out.println("4) 공급업체 KPI 요약 재계산(관리)");
+            System.out.println("5) 프로젝트 배출 집계 재계산(관리)");
+            System.out.println("6) 조회 쿼리 실행 계획 점검(관리)");
             System.out.println("0) 종료");
             System.out.print("선택> ");
             String choice = sc.nextLine().trim();
@@ -47,10 +50,13 @@ public final class ConsoleMenu {
                     case "1" -> ProjectDashboard.run(db, sc);    // 기능1 실행
                     case "2" -> OrderRegistration.run(db, sc);   // 기능2 실행
                     case "3" -> SupplierReport.run(db, sc);      // 기능3 실행
+                    case "4" -> SupplierReport.rebuildKpi(db);   // 기능3 요약 테이블 재계산
+                    case "5" -> ProjectDashboard.rebuildEmissionRollup(db);  // 기능1 배출 집계 재계산
+                    case "6" -> QueryPlanReport.run(db, db.planCheckSeqScanRows());  // 인덱스 빠진 쿼리 찾기
                     case "0" -> {
                         return;  // 루프 탈출 -> 프로그램 종료
                     }
-                    default -> System.out.println("[안내] 0~3 중에서 선택하세요.");
+                    default -> System.out.println("[안내] 0~6 중에서 선택하세요.");
                 }
             } catch (SQLException e) {
                 // [과제 요구사항] SQL 에러는 로그에 상세히, 사용자에겐 간단히
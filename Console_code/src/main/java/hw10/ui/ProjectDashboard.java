@@ -1,10 +1,13 @@
 package hw10.ui;
 
+import hw10.dao.EmissionRollupRepository;
 import hw10.dao.ProjectRepository;
 import hw10.db.DatabaseConnection;
 import hw10.util.InputHelper;
+import hw10.util.Logger;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Scanner;
 
@@ -132,6 +135,31 @@ public final class ProjectDashboard {
         }
     }
 
+    /**
+     * 프로젝트 월별 배출 집계 재계산 (관리용)
+     * 
+     * 배출 기록 추가/수정/삭제는 트리거가 알아서 반영하지만
+     * 발주서의 프로젝트를 바꾸는 것처럼 귀속 대상 자체가 바뀌면 집계가 안 맞을 수 있음
+     * -> 원본 기준으로 다시 계산하고 검증까지 함. 검증 실패하면 롤백
+     */
+    public static void rebuildEmissionRollup(DatabaseConnection db) throws Exception {
+        long start = System.currentTimeMillis();
+        try (Connection conn = db.openConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                EmissionRollupRepository.RebuildResult r = new EmissionRollupRepository().rebuild(conn);
+                conn.commit();
+                long elapsed = System.currentTimeMillis() - start;
+                Logger.info("배출 집계 재계산(groups=" + r.groups() + ", corrected=" + r.corrected() + ")");
+                System.out.printf("[완료] 배출 집계 %d개 그룹 재계산, 불일치 보정 프로젝트 %d개 (%dms)%n",
+                        r.groups(), r.corrected(), elapsed);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
     /**
      * null이면 "-" 반환하는 헬퍼 함수
      * 출력할 때 null 대신 보기 좋게 하려고
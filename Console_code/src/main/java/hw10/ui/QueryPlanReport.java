@@ -0,0 +1,54 @@
+package hw10.ui;
+
+import hw10.db.DatabaseConnection;
+import hw10.db.QueryPlanRecorder;
+import hw10.service.QueryPlanCheck;
+import hw10.util.Logger;
+
+import java.sql.Connection;
+import java.util.List;
+
+/**
+ * 조회 쿼리 실행 계획 점검 화면 (관리용)
+ *
+ * 기능 1, 3 조회 쿼리마다 순차 스캔 테이블이랑 추정 행 수 보여줌.
+ * 기준(DB_PLAN_CHECK_SEQ_SCAN_ROWS) 넘는 테이블 통째로 읽기는 [경고]로 표시
+ * -> db/migration의 인덱스 마이그레이션이 안 먹었거나 새 쿼리에 인덱스 필요하다는 뜻
+ */
+public final class QueryPlanReport {
+
+    // 인스턴스 생성 막음
+    private QueryPlanReport() {}
+
+    public static void run(DatabaseConnection db, long seqScanRows) throws Exception {
+        long start = System.currentTimeMillis();
+        QueryPlanCheck check = new QueryPlanCheck(seqScanRows);
+        List<QueryPlanCheck.Result> results;
+        try (Connection conn = db.openConnection()) {
+            results = check.run(conn);
+        }
+
+        System.out.println();
+        System.out.println("---------- 실행 계획 점검 (순차 스캔 경고 기준: " + seqScanRows + "행 초과) ----------");
+        int warnings = 0;
+        for (QueryPlanCheck.Result r : results) {
+            System.out.printf("%-6s %s%n", r.ok() ? "[정상]" : "[경고]", r.name());
+            if (r.error() != null) {
+                System.out.println("       실행 실패: " + r.error());
+            }
+            for (QueryPlanRecorder.Plan plan : r.plans()) {
+                for (QueryPlanRecorder.SeqScan scan : plan.seqScans()) {
+                    boolean flagged = r.flagged().contains(scan);
+                    System.out.printf("       Seq Scan %s (약 %,d행)%s%n",
+                            scan.relation(), scan.rows(), flagged ? "  <- 인덱스 확인 필요" : "");
+                }
+            }
+            if (!r.ok()) {
+                warnings++;
+            }
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        Logger.info("실행 계획 점검(checks=" + results.size() + ", warnings=" + warnings + ")");
+        System.out.printf("[완료] 점검 %d건, 경고 %d건 (%dms)%n", results.size(), warnings, elapsed);
+    }
+}
@@ -1,10 +1,15 @@
 package hw10.ui;
 
+import hw10.dao.SupplierKpiRepository;
 import hw10.dao.SupplierRepository;
 import hw10.db.DatabaseConnection;
 import hw10.util.InputHelper;
+import hw10.util.Logger;
 
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Scanner;
 
@@ -96,10 +101,18 @@ public final class SupplierReport {
         int pageSize = (nOpt == null || nOpt <= 0) ? 5 : nOpt;
 
         int page = 0;  // 현재 페이지 (0-indexed)
+        // 페이지별 시작 위치 스택 (키셋 페이징). 각 원소 = 이전 페이지 마지막 행, 첫 페이지는 없음.
+        // 이전 페이지로 갈 때는 pop만 하면 돼서 OFFSET 계산 필요 없음
+        Deque<SupplierRepository.SupplierPoRow> pageStarts = new ArrayDeque<>();
         
         while (true) {
-            int offset = page * pageSize;  // SQL OFFSET 계산
-            List<SupplierRepository.SupplierPoRow> pos = repository.recentPurchaseOrders(conn, supplierId, pageSize, offset);
+            SupplierRepository.SupplierPoRow after = pageStarts.peek();
+            // 다음 페이지 존재 여부 확인용으로 1개 더 조회
+            List<SupplierRepository.SupplierPoRow> pos = repository.recentPurchaseOrders(conn, supplierId, pageSize + 1,
+                    after == null ? null : after.orderDate(),
+                    after == null ? null : after.poid());
+            boolean hasNext = pos.size() > pageSize;
+            if (hasNext) pos = pos.subList(0, pageSize);
 
             System.out.println();
             System.out.println("----- 공급업체 " + supplierId + " 최근 발주서 (page " + (page + 1) + ") -----");
@@ -120,20 +133,48 @@ public final class SupplierReport {
             
             if (cmd.equals("q") || cmd.isEmpty()) return;  // 종료
             if (cmd.equals("n")) {
-                if (pos.isEmpty()) {
+                if (!hasNext) {
                     System.out.println("[안내] 다음 페이지가 없습니다.");
                 } else {
+                    pageStarts.push(pos.get(pos.size() - 1));  // 현재 페이지 마지막 행 = 다음 페이지 시작 위치
                     page++;
                 }
             } else if (cmd.equals("p")) {
                 if (page == 0) System.out.println("[안내] 이미 첫 페이지입니다.");
-                else page--;
+                else {
+                    pageStarts.pop();
+                    page--;
+                }
             } else {
                 System.out.println("[안내] n/p/q 중에서 선택하세요.");
             }
         }
     }
 
+    /**
+     * 공급업체 KPI 요약 테이블 재계산 (관리용)
+     * 
+     * 발주 항목을 DB에서 직접 고치거나 대량 적재한 뒤에는 요약 테이블이 원본이랑 안 맞을 수 있음
+     * -> 원본 기준으로 다시 계산하고 검증까지 함. 검증 실패하면 롤백
+     */
+    public static void rebuildKpi(DatabaseConnection db) throws Exception {
+        long start = System.currentTimeMillis();
+        try (Connection conn = db.openConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                SupplierKpiRepository.RebuildResult r = new SupplierKpiRepository().rebuild(conn);
+                conn.commit();
+                long elapsed = System.currentTimeMillis() - start;
+                Logger.info("공급업체 KPI 재계산(suppliers=" + r.suppliers() + ", corrected=" + r.corrected() + ")");
+                System.out.printf("[완료] 공급업체 %d곳 재계산, 불일치 보정 %d곳 (%dms)%n",
+                        r.suppliers(), r.corrected(), elapsed);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
     /**
      * null이면 "-" 반환
      */
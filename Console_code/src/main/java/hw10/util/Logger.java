@@ -3,27 +3,34 @@ package hw10.util;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.logging.*;
+import java.util.logging.Level;
 
 /**
  * 로그 유틸리티 클래스
- * 
+ *
  * [과제 요구사항]
  * - 시작/종료 로그
  * - DB 접속 성공/실패 로그
  * - 트랜잭션 begin/commit/rollback 로그
  * - 주요 오류 메시지 로그
- * 
+ *
  * 콘솔 + 파일(logs/app.log) 둘 다 출력함.
- * java.util.logging 패키지 사용함 (Java 기본 제공 로그 라이브러리)
+ * 실제 쓰기는 AsyncLogWriter가 백그라운드 스레드에서 함
+ * -> info() 같은 거 불러도 디스크 I/O 안 기다리고 바로 리턴됨 (트랜잭션 중에 불러도 부담 적음)
+ *
+ * 버퍼 크기/초과 정책은 시스템 속성 또는 환경변수로 바꿀 수 있음:
+ * - scm.log.buffer-size / SCM_LOG_BUFFER_SIZE (기본 8192건)
+ * - scm.log.overflow / SCM_LOG_OVERFLOW (BLOCK, DROP, DROP_INFO 중 하나, 기본 DROP_INFO)
  */
 public final class Logger {
-    
-    // Java 표준 로거 가져옴 (이름은 "scm"으로 설정)
+
+    // init() 전에 로그 찍히면 쓸 Java 표준 로거 (이름은 "scm")
     private static final java.util.logging.Logger LOGGER = java.util.logging.Logger.getLogger("scm");
-    
-    // 초기화 한번만 하려고 플래그 둠
-    private static boolean initialized = false;
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    // 비동기 기록기 (init() 전엔 null)
+    private static volatile AsyncLogWriter writer;
 
     // private 생성자: 이 클래스는 인스턴스 만들 필요 없음 (static 메서드만 사용)
     private Logger() {}
@@ -32,48 +39,39 @@ public final class Logger {
      * 로그 시스템 초기화
      * 프로그램 시작할 때 딱 한번 호출하면 됨
      */
-    public static void init() {
-        if (initialized) return;  // 이미 초기화됐으면 스킵
-        initialized = true;
-
-        // 부모 핸들러 끄기 (기본 콘솔 핸들러 중복 방지)
-        LOGGER.setUseParentHandlers(false);
-        LOGGER.setLevel(Level.INFO);
-
-        // 1. 콘솔 로그 핸들러 추가
-        ConsoleHandler ch = new ConsoleHandler();
-        ch.setLevel(Level.INFO);
-        ch.setFormatter(new SimpleFormatter());  // 간단한 포맷
-        LOGGER.addHandler(ch);
+    public static synchronized void init() {
+        if (writer != null) return;  // 이미 초기화됐으면 스킵
 
-        // 2. 파일 로그 핸들러 추가 (logs/app.log)
+        String filePath = "logs/app.log";
         try {
             // logs 폴더 없으면 만듦
             Files.createDirectories(Path.of("logs"));
-            
-            // true = append 모드 (기존 로그 뒤에 계속 추가)
-            FileHandler fh = new FileHandler("logs/app.log", true);
-            fh.setLevel(Level.INFO);
-            fh.setFormatter(new SimpleFormatter());
-            LOGGER.addHandler(fh);
         } catch (IOException e) {
-            // 파일 로그 실패해도 프로그램 안 멈춤
+            // 파일 로그 실패해도 프로그램 안 멈춤 (콘솔로만 찍음)
             LOGGER.log(Level.WARNING, "파일 로그 초기화 실패: " + e.getMessage());
+            filePath = null;
         }
+
+        // 예외는 스택트레이스 전체 출력 (true), 구조화 로그는 콘솔에서 안 씀 (null)
+        AsyncLogWriter w = new AsyncLogWriter(filePath, bufferSize(), overflowPolicy(), true, null);
+
+        // 프로그램 끝날 때 버퍼에 남은 로그 마저 쓰고 종료 (최대 2초 기다림)
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> w.close(2000), "async-logger-shutdown"));
+        writer = w;
     }
 
     /**
      * INFO 레벨 로그 (일반 정보)
      */
     public static void info(String msg) {
-        LOGGER.info(msg);
+        log(AsyncLogWriter.INFO, Level.INFO, msg, null);
     }
 
     /**
      * WARNING 레벨 로그 (경고)
      */
     public static void warn(String msg) {
-        LOGGER.warning(msg);
+        log(AsyncLogWriter.WARNING, Level.WARNING, msg, null);
     }
 
     /**
@@ -82,6 +80,40 @@ public final class Logger {
      * @param t 예외 객체 (스택트레이스 같이 찍힘)
      */
     public static void error(String msg, Throwable t) {
-        LOGGER.log(Level.SEVERE, msg, t);
+        log(AsyncLogWriter.SEVERE, Level.SEVERE, msg, t);
+    }
+
+    private static void log(int level, Level julLevel, String msg, Throwable t) {
+        AsyncLogWriter w = writer;
+        if (w != null) {
+            w.log(level, msg, t);
+        } else {
+            LOGGER.log(julLevel, msg, t);
+        }
+    }
+
+    private static int bufferSize() {
+        String value = setting("scm.log.buffer-size", "SCM_LOG_BUFFER_SIZE");
+        try {
+            return value == null ? DEFAULT_BUFFER_SIZE : Math.max(64, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            return DEFAULT_BUFFER_SIZE;  // 숫자 아니면 기본값
+        }
+    }
+
+    private static AsyncLogWriter.OverflowPolicy overflowPolicy() {
+        String value = setting("scm.log.overflow", "SCM_LOG_OVERFLOW");
+        try {
+            return value == null ? AsyncLogWriter.OverflowPolicy.DROP_INFO
+                    : AsyncLogWriter.OverflowPolicy.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return AsyncLogWriter.OverflowPolicy.DROP_INFO;  // 모르는 값이면 기본값
+        }
+    }
+
+    // 시스템 속성(-Dscm.log...) 먼저 보고, 없으면 환경변수
+    private static String setting(String property, String env) {
+        String value = System.getProperty(property);
+        return value != null ? value : System.getenv(env);
     }
 }
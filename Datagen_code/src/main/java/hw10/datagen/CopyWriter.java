@@ -0,0 +1,109 @@
+package hw10.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * COPY FROM STDIN 스트리밍 기록기 (text 형식, 탭 구분, NULL = \N).
+ * 행을 버퍼에 모아 일정 크기마다 서버로 전송. 전체 데이터를 메모리에 두지 않음.
+ * 문자열 값은 탭/개행/역슬래시 미포함 전제 (생성기 값만 기록).
+ */
+final class CopyWriter implements AutoCloseable {
+
+    private static final int FLUSH_CHARS = 64 * 1024;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buf = new StringBuilder(FLUSH_CHARS + 1024);
+    private boolean rowStarted;
+    private long rows;
+
+    CopyWriter(Connection conn, String table, String columns) throws SQLException {
+        this.copyIn = conn.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY " + table + " (" + columns + ") FROM STDIN");
+    }
+
+    CopyWriter add(long value) {
+        sep().append(value);
+        return this;
+    }
+
+    CopyWriter add(double value) {
+        sep().append(Math.round(value * 100) / 100.0);
+        return this;
+    }
+
+    CopyWriter add(boolean value) {
+        sep().append(value ? 't' : 'f');
+        return this;
+    }
+
+    CopyWriter add(String value) {
+        if (value == null) {
+            return nul();
+        }
+        sep().append(value);
+        return this;
+    }
+
+    // 에포크 기준 일수 -> yyyy-MM-dd.
+    CopyWriter addDate(long epochDay) {
+        sep().append(LocalDate.ofEpochDay(epochDay));
+        return this;
+    }
+
+    CopyWriter nul() {
+        sep().append("\\N");
+        return this;
+    }
+
+    void endRow() throws SQLException {
+        buf.append('\n');
+        rowStarted = false;
+        rows++;
+        if (buf.length() >= FLUSH_CHARS) {
+            flush();
+        }
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    /**
+     * 남은 버퍼 전송 후 COPY 종료. 서버 반영 행 수 반환.
+     */
+    long finish() throws SQLException {
+        flush();
+        return copyIn.endCopy();
+    }
+
+    // 미완료 COPY 취소 (오류 시). 정상 종료 후에는 무시.
+    @Override
+    public void close() throws SQLException {
+        if (copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+
+    private StringBuilder sep() {
+        if (rowStarted) {
+            buf.append('\t');
+        }
+        rowStarted = true;
+        return buf;
+    }
+
+    private void flush() throws SQLException {
+        if (buf.length() == 0) {
+            return;
+        }
+        byte[] bytes = buf.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buf.setLength(0);
+    }
+}
@@ -0,0 +1,467 @@
+package hw10.datagen;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 대용량 샘플 데이터 생성기.
+ * DatasetPlan 규칙으로 행을 생성하여 COPY FROM STDIN으로 스트리밍 적재 (메모리에 전체 데이터 두지 않음).
+ * 테이블은 외래키 순서대로 적재, 테이블 내부는 ID 구간을 나눠 여러 연결로 병렬 적재.
+ * 적재 후 마이그레이션(V*.sql) 재실행으로 ID 시퀀스, 공급업체 KPI, 배출 월별 집계 등 파생 데이터 재계산.
+ */
+public final class DataGenerator {
+
+    // 적재 대상 테이블 (외래키 순서).
+    private static final String[] TABLES = { "Shipyard", "Supplier", "Part", "ShipProject", "SupplierPart",
+            "Warehouse", "Inventory", "PurchaseOrder", "PurchaseOrderLine", "Delivery", "DeliveryLine",
+            "CarbonEmissionRecord" };
+
+    private static final Pattern MIGRATION = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    // 비트랜잭션 스크립트 헤더 표시 및 문장 구분 (SchemaMigrator와 같은 규칙).
+    private static final String NO_TRANSACTION = "-- migrate:no-transaction";
+    private static final Pattern STATEMENT_END = Pattern.compile(";[ \\t]*(\\R|$)");
+
+    // 이 수 미만의 ID 구간은 단일 연결로 적재.
+    private static final int MIN_PARALLEL_IDS = 10_000;
+
+    // ID 1개에서 생성하는 행 쓰기 (행 0개 이상).
+    @FunctionalInterface
+    private interface RowSource {
+        void write(CopyWriter out, int id) throws SQLException;
+    }
+
+    private final DatagenOptions options;
+    private final DatasetPlan plan;
+    private final ExecutorService workers;
+
+    // 트리거/외래키 검사 생략 가능 여부 (session_replication_role 권한).
+    private boolean replica;
+    private long totalRows;
+
+    private DataGenerator(DatagenOptions options, DatasetPlan plan) {
+        this.options = options;
+        this.plan = plan;
+        this.workers = Executors.newFixedThreadPool(options.threads, r -> {
+            Thread t = new Thread(r, "datagen-copy");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static void main(String[] args) {
+        DatagenOptions options;
+        try {
+            options = DatagenOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("[오류] " + e.getMessage());
+            System.err.println(DatagenOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        DatasetPlan plan = DatasetPlan.forRows(options.rows, options.seed);
+        printPlan(plan);
+        if (options.dryRun) {
+            return;
+        }
+
+        DataGenerator generator = new DataGenerator(options, plan);
+        try {
+            generator.run();
+        } catch (IllegalStateException e) {
+            // 사용 조건 위반 (기존 데이터 존재 등). 안내 메시지만 출력.
+            System.err.println("[오류] " + e.getMessage());
+            System.exit(1);
+        } catch (Exception e) {
+            System.err.println("[오류] 데이터 생성 실패: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        } finally {
+            generator.workers.shutdownNow();
+        }
+    }
+
+    private void run() throws Exception {
+        long start = System.currentTimeMillis();
+        try (Connection conn = connect()) {
+            if (options.reset) {
+                System.out.println("스키마 재생성: " + options.schema);
+                execute(conn, "DROP SCHEMA public CASCADE; CREATE SCHEMA public;");
+                execute(conn, Files.readString(options.schema, StandardCharsets.UTF_8));
+            } else {
+                requireEmpty(conn);
+            }
+            replica = trySessionReplicationRole(conn);
+        }
+        if (!replica) {
+            System.out.println("[참고] session_replication_role 권한 없음 -> 트리거/외래키 검사 유지 (적재 속도 저하)");
+        }
+
+        loadMasterData();
+        loadOrders();
+
+        System.out.println("파생 데이터 재계산 (마이그레이션 재실행)");
+        try (Connection conn = connect()) {
+            runMigrations(conn);
+            execute(conn, "ANALYZE");
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        System.out.printf("완료: 전체 %,d행, %.1f초 (%,.0f행/초)%n", totalRows, elapsed / 1000.0,
+                totalRows * 1000.0 / Math.max(1, elapsed));
+    }
+
+    // ===== 테이블별 행 생성 =====
+
+    private void loadMasterData() throws Exception {
+        load("Shipyard", "ShipyardID, Name, Region, HName, EstablishedDate", plan.shipyards, (out, id) -> out
+                .add(id)
+                .add(id <= DatasetPlan.SHIPYARD_NAMES.length ? DatasetPlan.SHIPYARD_NAMES[id - 1] : "조선소-" + id)
+                .add(DatasetPlan.SHIPYARD_REGIONS[(id - 1) % DatasetPlan.SHIPYARD_REGIONS.length])
+                .add("상선사업본부")
+                .addDate(LocalDate.of(1972 + id % 40, 1 + id % 12, 1).toEpochDay())
+                .endRow());
+
+        load("Supplier", "SupplierID, Name, Country, ContactName, ContactPhone, ESGGrade", plan.suppliers,
+                (out, id) -> out
+                        .add(id)
+                        .add(plan.supplierName(id))
+                        .add(plan.supplierCountry(id))
+                        .add("담당자-" + id)
+                        .add(String.format("02-%03d-%04d", id / 10000 % 1000, id % 10000))
+                        .add(String.valueOf(plan.supplierEsg(id)))
+                        .endRow());
+
+        load("Part", "PartID, Name, Spec, Unit, BaseEmissionFactor", plan.parts, (out, id) -> out
+                .add(id)
+                .add(plan.partName(id))
+                .add("규격-" + id)
+                .add(DatasetPlan.PART_UNITS[DatasetPlan.partCategory(id)])
+                .add(DatasetPlan.PART_EMISSION[DatasetPlan.partCategory(id)])
+                .endRow());
+
+        load("ShipProject", "ProjectID, ShipName, ShipType, ContractDate, DeliveryDueDate, Status, ShipyardID",
+                plan.projects, (out, id) -> {
+                    DatasetPlan.Project p = plan.project(id);
+                    out.add(id).add(p.shipName()).add(p.shipType()).addDate(p.contractDay()).addDate(p.dueDay())
+                            .add(p.status()).add(p.shipyardId()).endRow();
+                });
+
+        load("SupplierPart", "SupplierID, PartID, UnitPrice, LeadTimeDays, MinOrderQty", plan.parts, (out, partId) -> {
+            int[] suppliers = plan.partSuppliers(partId);
+            double price = plan.partPrice(partId);
+            for (int i = 0; i < suppliers.length; i++) {
+                out.add(suppliers[i]).add(partId).add(price * (0.9 + 0.05 * i)).add(14 + (partId + i * 37) % 200)
+                        .add(1 + i).endRow();
+            }
+        });
+
+        load("Warehouse", "WarehouseID, ShipyardID, Name, Location, IsTempControlled", plan.warehouses,
+                (out, id) -> out
+                        .add(id)
+                        .add(1 + (id - 1) % plan.shipyards)
+                        .add("창고-" + id)
+                        .add("구역-" + (id % 20))
+                        .add(id % 4 == 0)
+                        .endRow());
+
+        load("Inventory", "WarehouseID, PartID, Quantity", plan.warehouses, (out, warehouseId) -> {
+            for (int partId : plan.inventoryParts(warehouseId)) {
+                out.add(warehouseId).add(partId).add(10 + Math.floorMod(warehouseId * 31L + partId * 17L, 5000))
+                        .endRow();
+            }
+        });
+    }
+
+    private void loadOrders() throws Exception {
+        load("PurchaseOrder", "POID, OrderDate, Status, EngineerName, ProjectID, SupplierID", plan.orders,
+                (out, poid) -> {
+                    DatasetPlan.Order o = plan.order(poid);
+                    out.add(poid).addDate(o.orderDay()).add(o.status()).add(o.engineerName()).add(o.projectId())
+                            .add(o.supplierId()).endRow();
+                });
+
+        load("PurchaseOrderLine", "POID, LineNo, PartID, Quantity, UnitPriceAtOrder, RequestedDueDate", plan.orders,
+                (out, poid) -> {
+                    DatasetPlan.Order o = plan.order(poid);
+                    for (int i = 0; i < o.partIds().length; i++) {
+                        out.add(poid).add(i + 1).add(o.partIds()[i]).add(o.quantities()[i]).add(o.prices()[i])
+                                .addDate(o.orderDay() + 60).endRow();
+                    }
+                });
+
+        load("Delivery", "DeliveryID, POID, ActualArrivalDate, TransportMode, DistanceKm, Status", plan.orders,
+                (out, poid) -> {
+                    DatasetPlan.Delivery d = plan.delivery(plan.order(poid));
+                    if (d != null) {
+                        out.add(d.deliveryId()).add(poid).addDate(d.arrivalDay()).add(d.transportMode())
+                                .add(d.distanceKm()).add(d.status()).endRow();
+                    }
+                });
+
+        load("DeliveryLine", "DeliveryID, POID, LineNo, ReceivedQty, InspectionResult", plan.orders, (out, poid) -> {
+            DatasetPlan.Order o = plan.order(poid);
+            DatasetPlan.Delivery d = plan.delivery(o);
+            if (d == null) {
+                return;
+            }
+            for (int i = 0; i < o.quantities().length; i++) {
+                out.add(d.deliveryId()).add(poid).add(i + 1).add(d.receivedQty(o.quantities()[i])).add("합격")
+                        .endRow();
+            }
+        });
+
+        String emissionColumns = "RecordID, DeliveryID, ProjectID, EmissionType, CO2eAmount, Basis, RecordDate";
+        // 납품별 운송 배출 (기록 ID = 납품 ID).
+        load("CarbonEmissionRecord", emissionColumns, plan.orders, (out, poid) -> {
+            DatasetPlan.Delivery d = plan.delivery(plan.order(poid));
+            if (d != null) {
+                out.add(d.deliveryId()).add(d.deliveryId()).nul().add("운송").add(d.transportCo2e())
+                        .add("운송 거리 기준").addDate(d.arrivalDay()).endRow();
+            }
+        });
+        // 프로젝트 월별 생산/보관 배출 (기록 ID = 발주서 수 이후 프로젝트별 48개 구간).
+        load("CarbonEmissionRecord", emissionColumns, plan.projects, (out, projectId) -> {
+            DatasetPlan.Project p = plan.project(projectId);
+            LocalDate first = LocalDate.ofEpochDay(p.contractDay()).withDayOfMonth(1);
+            int months = p.emissionMonths();
+            for (int type = 0; type < 2; type++) {
+                for (int m = 0; m < months; m++) {
+                    long recordId = (long) plan.orders + (projectId - 1L) * 2 * DatasetPlan.MAX_EMISSION_MONTHS
+                            + type * DatasetPlan.MAX_EMISSION_MONTHS + m + 1;
+                    out.add(recordId).nul().add(projectId).add(type == 0 ? "생산" : "보관")
+                            .add(plan.projectEmission(projectId, type, m)).add("표준 배출계수")
+                            .addDate(first.plusMonths(m).toEpochDay()).endRow();
+                }
+            }
+        });
+    }
+
+    // ===== 적재 =====
+
+    /**
+     * ID 1..count 구간을 나눠 병렬 COPY. 구간별로 별도 연결/트랜잭션.
+     */
+    private void load(String table, String columns, int count, RowSource source) throws Exception {
+        long start = System.currentTimeMillis();
+        int parts = count < MIN_PARALLEL_IDS ? 1 : options.threads;
+        AtomicLong done = new AtomicLong();
+
+        // 긴 적재 진행률 (10초 간격).
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "datagen-progress");
+            t.setDaemon(true);
+            return t;
+        });
+        progress.scheduleAtFixedRate(() -> System.out.printf("  %s ... %.0f%%%n", table,
+                done.get() * 100.0 / count), 10, 10, TimeUnit.SECONDS);
+
+        List<Future<Long>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < parts; i++) {
+                int from = (int) ((long) count * i / parts) + 1;
+                int to = (int) ((long) count * (i + 1) / parts);
+                futures.add(workers.submit(() -> copyRange(table, columns, from, to, source, done)));
+            }
+            long rows = 0;
+            for (Future<Long> f : futures) {
+                rows += f.get();
+            }
+            totalRows += rows;
+            long elapsed = System.currentTimeMillis() - start;
+            System.out.printf("%-22s %,14d행  %7.1f초  %,12.0f행/초%n", table, rows, elapsed / 1000.0,
+                    rows * 1000.0 / Math.max(1, elapsed));
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ex ? ex : e;
+        } finally {
+            progress.shutdownNow();
+        }
+    }
+
+    private long copyRange(String table, String columns, int from, int to, RowSource source, AtomicLong done)
+            throws SQLException {
+        try (Connection conn = connect()) {
+            if (replica) {
+                execute(conn, "SET session_replication_role = replica");
+            }
+            conn.setAutoCommit(false);
+            try (CopyWriter out = new CopyWriter(conn, table, columns)) {
+                for (int id = from; id <= to; id++) {
+                    source.write(out, id);
+                    if ((id & 0xFFF) == 0) {
+                        done.addAndGet(0x1000);
+                    }
+                }
+                long rows = out.finish();
+                conn.commit();
+                return rows;
+            }
+        }
+    }
+
+    // ===== DB 준비/후처리 =====
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(options.url, options.user, options.password);
+    }
+
+    // 기존 데이터 보호. 스키마 미적용 또는 데이터 존재 시 중단.
+    private static void requireEmpty(Connection conn) throws SQLException {
+        for (String table : TABLES) {
+            try (Statement st = conn.createStatement();
+                    ResultSet rs = st.executeQuery("SELECT EXISTS (SELECT 1 FROM " + table + ")")) {
+                rs.next();
+                if (rs.getBoolean(1)) {
+                    throw new IllegalStateException(
+                            table + " 테이블에 데이터 존재. 빈 DB를 사용하거나 --reset 지정 (기존 데이터 삭제)");
+                }
+            } catch (SQLException e) {
+                if ("42P01".equals(e.getSQLState())) {
+                    throw new IllegalStateException("스키마 미적용 (" + table + " 없음). schema.sql 실행 또는 --reset 지정");
+                }
+                throw e;
+            }
+        }
+    }
+
+    // 복제 모드(트리거/외래키 검사 생략) 설정 가능 여부. 슈퍼유저 또는 SET 권한 필요.
+    private static boolean trySessionReplicationRole(Connection conn) {
+        try {
+            execute(conn, "SET session_replication_role = replica");
+            execute(conn, "RESET session_replication_role");
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // 마이그레이션 폴더의 V*.sql 번호순 실행 (모두 재실행 가능 스크립트).
+    // 앱 기동 시 마이그레이션 실행기와 같은 SchemaMigration 이력 기록 -> 앱이 대용량 재계산 반복 안 함.
+    private void runMigrations(Connection conn) throws IOException, SQLException {
+        if (!Files.isDirectory(options.migrations)) {
+            System.out.println("[참고] 마이그레이션 폴더 없음 (" + options.migrations
+                    + ") -> db/migration V*.sql을 번호순으로 직접 실행 필요");
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> list = Files.list(options.migrations)) {
+            files = list.filter(p -> MIGRATION.matcher(p.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingInt(DataGenerator::migrationVersion))
+                    .toList();
+        }
+        execute(conn, """
+                CREATE TABLE IF NOT EXISTS SchemaMigration (
+                    Version INT PRIMARY KEY,
+                    Description VARCHAR(200) NOT NULL,
+                    Checksum BIGINT NOT NULL,
+                    AppliedAt TIMESTAMP NOT NULL DEFAULT now(),
+                    ExecutionMs BIGINT NOT NULL
+                )
+                """);
+        for (Path file : files) {
+            long start = System.currentTimeMillis();
+            String sql = Files.readString(file, StandardCharsets.UTF_8);
+            executeScript(conn, sql);
+            long elapsed = System.currentTimeMillis() - start;
+            recordMigration(conn, file, sql, elapsed);
+            System.out.printf("  %s (%.1f초)%n", file.getFileName(), elapsed / 1000.0);
+        }
+    }
+
+    // 이력 기록 (버전, 파일명 설명, 본문 CRC32). 이미 있으면 갱신.
+    private static void recordMigration(Connection conn, Path file, String sql, long elapsedMs) throws SQLException {
+        Matcher m = MIGRATION.matcher(file.getFileName().toString());
+        m.matches();
+        CRC32 crc = new CRC32();
+        crc.update(sql.getBytes(StandardCharsets.UTF_8));
+        try (PreparedStatement ps = conn.prepareStatement("""
+                INSERT INTO SchemaMigration (Version, Description, Checksum, ExecutionMs) VALUES (?, ?, ?, ?)
+                ON CONFLICT (Version) DO UPDATE
+                SET Description = EXCLUDED.Description, Checksum = EXCLUDED.Checksum,
+                    AppliedAt = now(), ExecutionMs = EXCLUDED.ExecutionMs
+                """)) {
+            ps.setInt(1, Integer.parseInt(m.group(1)));
+            ps.setString(2, m.group(2).replace('_', ' '));
+            ps.setLong(3, crc.getValue());
+            ps.setLong(4, elapsedMs);
+            ps.executeUpdate();
+        }
+    }
+
+    // 헤더 주석에 NO_TRANSACTION 표시가 있으면 문장 단위 실행 (CREATE INDEX CONCURRENTLY는 일괄 전송 불가).
+    private static void executeScript(Connection conn, String sql) throws SQLException {
+        if (!hasNoTransactionHeader(sql)) {
+            execute(conn, sql);
+            return;
+        }
+        for (String part : STATEMENT_END.split(sql)) {
+            boolean code = part.lines().map(String::strip).anyMatch(t -> !t.isEmpty() && !t.startsWith("--"));
+            if (code) {
+                execute(conn, part.strip());
+            }
+        }
+    }
+
+    private static boolean hasNoTransactionHeader(String sql) {
+        for (String line : sql.lines().toList()) {
+            String t = line.strip();
+            if (t.isEmpty()) {
+                continue;
+            }
+            if (!t.startsWith("--")) {
+                return false;
+            }
+            if (t.equals(NO_TRANSACTION)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int migrationVersion(Path file) {
+        Matcher m = MIGRATION.matcher(file.getFileName().toString());
+        return m.matches() ? Integer.parseInt(m.group(1)) : Integer.MAX_VALUE;
+    }
+
+    private static void execute(Connection conn, String sql) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute(sql);
+        }
+    }
+
+    private static void printPlan(DatasetPlan plan) {
+        System.out.println("=== 데이터 생성 계획 (seed=" + plan.seed + ") ===");
+        System.out.printf("조선소 %,d / 공급업체 %,d / 부품 %,d / 프로젝트 %,d / 창고 %,d / 발주서 %,d%n",
+                plan.shipyards, plan.suppliers, plan.parts, plan.projects, plan.warehouses, plan.orders);
+        System.out.printf("예상 전체 행 수: 약 %,d%n", DatasetPlan.estimateRows(plan.orders));
+        System.out.printf("발주 점유율: 상위 1%% 공급업체 %.0f%%, 상위 20%% 공급업체 %.0f%%%n",
+                plan.topSupplierShare(0.01) * 100, plan.topSupplierShare(0.20) * 100);
+        System.out.printf("공급업체 평균 지연율: %.1f%%%n", plan.averageDelayRate() * 100);
+    }
+}
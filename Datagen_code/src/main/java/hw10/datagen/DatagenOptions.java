@@ -0,0 +1,97 @@
+package hw10.datagen;
+
+import java.nio.file.Path;
+
+/**
+ * 명령행 옵션.
+ * DB 접속 정보 기본값은 콘솔 앱과 같은 환경변수 (DB_URL, DB_USER, DB_PASSWORD).
+ */
+final class DatagenOptions {
+
+    static final String USAGE = """
+            사용법: java -jar target/carbon-neutral-scm-datagen-1.0.0.jar [옵션]
+              --rows <N>          목표 전체 행 수 (k/m 단위 가능, 예: 10k, 5m, 100m). 기본 100k
+              --seed <N>          난수 시드 (같은 시드 = 같은 데이터). 기본 42
+              --threads <N>       테이블별 병렬 COPY 연결 수. 기본 min(4, CPU 수)
+              --reset             public 스키마 삭제 후 schema.sql 재적용 (기존 데이터 전부 삭제)
+              --dry-run           규모 계획만 출력
+              --url <JDBC URL>    기본 환경변수 DB_URL
+              --user <사용자>      기본 환경변수 DB_USER
+              --password <암호>   기본 환경변수 DB_PASSWORD
+              --schema <경로>     스키마 파일. 기본 ../Web_code/schema.sql
+              --migrations <경로> 마이그레이션 폴더 (적재 후 V*.sql 번호순 실행). 기본 ../Common_code/src/main/resources/db/migration
+            """;
+
+    long rows = 100_000;
+    long seed = 42;
+    int threads = Math.min(4, Runtime.getRuntime().availableProcessors());
+    boolean reset;
+    boolean dryRun;
+    String url = System.getenv("DB_URL");
+    String user = System.getenv("DB_USER");
+    String password = System.getenv("DB_PASSWORD");
+    Path schema = Path.of("..", "Web_code", "schema.sql");
+    Path migrations = Path.of("..", "Common_code", "src", "main", "resources", "db", "migration");
+
+    private DatagenOptions() {
+    }
+
+    /**
+     * 옵션 해석. 잘못된 값은 IllegalArgumentException.
+     */
+    static DatagenOptions parse(String[] args) {
+        DatagenOptions o = new DatagenOptions();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--reset" -> o.reset = true;
+                case "--dry-run" -> o.dryRun = true;
+                case "--rows" -> o.rows = count(value(args, ++i, arg));
+                case "--seed" -> o.seed = Long.parseLong(value(args, ++i, arg));
+                case "--threads" -> o.threads = (int) count(value(args, ++i, arg));
+                case "--url" -> o.url = value(args, ++i, arg);
+                case "--user" -> o.user = value(args, ++i, arg);
+                case "--password" -> o.password = value(args, ++i, arg);
+                case "--schema" -> o.schema = Path.of(value(args, ++i, arg));
+                case "--migrations" -> o.migrations = Path.of(value(args, ++i, arg));
+                default -> throw new IllegalArgumentException("알 수 없는 옵션: " + arg);
+            }
+        }
+        if (o.rows < 1_000 || o.rows > 400_000_000L) {
+            throw new IllegalArgumentException("--rows 범위: 1k ~ 400m");
+        }
+        if (o.threads < 1) {
+            throw new IllegalArgumentException("--threads는 1 이상");
+        }
+        if (!o.dryRun && (o.url == null || o.url.isBlank() || o.user == null)) {
+            throw new IllegalArgumentException("DB 접속 정보 필요 (--url/--user 또는 DB_URL/DB_USER 환경변수)");
+        }
+        return o;
+    }
+
+    private static String value(String[] args, int i, String option) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException(option + " 값 누락");
+        }
+        return args[i];
+    }
+
+    // 숫자 + k/m 단위.
+    private static long count(String text) {
+        String s = text.trim().toLowerCase().replace("_", "").replace(",", "");
+        long unit = 1;
+        if (s.endsWith("k")) {
+            unit = 1_000;
+        } else if (s.endsWith("m")) {
+            unit = 1_000_000;
+        }
+        if (unit > 1) {
+            s = s.substring(0, s.length() - 1);
+        }
+        try {
+            return Math.round(Double.parseDouble(s) * unit);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("숫자 형식 오류: " + text);
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package hw10.datagen;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * 데이터셋 규모 및 행 생성 규칙.
+ * 목표 행 수에서 발주서 수를 역산하고, 마스터 데이터는 발주서 수에 비례해 결정.
+ * 모든 값은 (seed, 테이블, ID)로 정한 난수에서 생성 -> 테이블별/구간별로 따로 생성해도 서로 일치
+ * (예: 발주 품목, 납품 상세 모두 order(poid)로 같은 품목 재현). 같은 seed면 실행마다 동일 데이터.
+ *
+ * 치우침(skew):
+ * - 공급업체 발주량: Zipf(0.9). 상위 20% 업체가 발주 약 3/4 차지 (파레토 분포 근사).
+ * - 프로젝트 발주량 Zipf(0.8), 부품 선택 Zipf(1.0).
+ * - 공급업체 지연율: ESG 등급별 기준(A 4%, B 7%, C 12%, D 20%) x 로그정규 편차, 최대 60%.
+ */
+final class DatasetPlan {
+
+    // 난수 스트림 구분 (테이블/용도별).
+    private static final long SUPPLIER = 1, PART = 2, PROJECT = 3, SUPPLIER_PART = 4, WAREHOUSE = 5,
+            ORDER = 6, DELIVERY = 7, PROJECT_EMISSION = 8;
+
+    static final long ORDER_START_DAY = LocalDate.of(2022, 1, 1).toEpochDay();
+    static final int ORDER_DAYS = 1096; // 2022-01-01 ~ 2024-12-31
+    private static final long PROJECT_START_DAY = LocalDate.of(2021, 1, 1).toEpochDay();
+    private static final long DATA_END_DAY = LocalDate.of(2024, 12, 31).toEpochDay();
+
+    // 프로젝트별 월 배출 기록 최대 개월 수 (생산/보관 각각).
+    static final int MAX_EMISSION_MONTHS = 24;
+    static final int INVENTORY_PER_WAREHOUSE = 200;
+
+    static final String[] SHIP_TYPES = { "Bulk carrier", "Containership", "Tanker", "Gas carrier",
+            "General cargo ship", "Refrigerated cargo carrier", "Ro-ro", "Passenger ship", "Offshore supply vessel" };
+    static final String[] SHIPYARD_NAMES = { "현대중공업 울산", "삼성중공업 거제", "대우조선해양" };
+    static final String[] SHIPYARD_REGIONS = { "울산광역시", "경상남도 거제시", "경상남도 거제시", "전라남도 영암군", "부산광역시" };
+    private static final String[] SHIP_PREFIX = { "HYUNDAI", "SAMSUNG", "DSME" };
+    private static final String[] SHIP_WORDS = { "GREEN", "PIONEER", "ECO STAR", "FUTURE", "AURORA", "CARGO",
+            "COLD", "OCEAN", "BREEZE", "HORIZON" };
+
+    static final String[] COUNTRIES = { "한국", "한국", "한국", "독일", "중국", "핀란드", "스위스", "일본" };
+    private static final String[] SUPPLIER_WORDS = { "대성", "한빛", "동해", "세진", "우진", "태평양", "신성", "금강" };
+    private static final String[] SUPPLIER_SUFFIX = { "정밀", "중공업", "마린", "테크", "엔지니어링", "메탈", "케미칼" };
+
+    // 부품 분류 (seed.sql 부품 기준): 이름, 단위, 기본 배출계수, 기준 단가.
+    static final String[] PART_NAMES = { "저속 디젤엔진", "프로펠러", "LNG 연료탱크", "발전기 세트", "선박용 케이블",
+            "철강판재", "도료", "밸브", "펌프", "배터리팩" };
+    static final String[] PART_UNITS = { "대", "개", "기", "세트", "km", "톤", "드럼", "개", "대", "세트" };
+    static final double[] PART_EMISSION = { 45000, 8500, 32000, 12000, 350, 2100, 85, 120, 2800, 18000 };
+    private static final double[] PART_PRICE = { 30_000_000, 3_300_000, 14_800_000, 1_400_000, 50_000, 1_500, 900,
+            25_000, 400_000, 8_500_000 };
+
+    // 발주 상태 비율 (요청 20, 발주완료 55, 검수중 20, 취소 5). 취소 발주는 납품 없음.
+    private static final String[] ORDER_STATUS = { "요청", "발주완료", "검수중", "취소" };
+    private static final int[] ORDER_STATUS_WEIGHT = { 20, 55, 20, 5 };
+
+    // 발주서당 품목 수 1~8 비율 (평균 약 2.7).
+    private static final int[] LINE_WEIGHT = { 30, 25, 18, 12, 7, 4, 2, 2 };
+
+    // 운송 수단 비율, 거리 범위(km), km당 배출계수.
+    static final String[] TRANSPORT = { "트럭", "선박", "철도", "항공" };
+    private static final int[] TRANSPORT_WEIGHT = { 50, 30, 15, 5 };
+    private static final int[][] TRANSPORT_KM = { { 20, 600 }, { 300, 12000 }, { 100, 1500 }, { 500, 9000 } };
+    private static final double[] TRANSPORT_FACTOR = { 0.9, 0.3, 0.25, 2.5 };
+
+    private static final char[] ESG = { 'A', 'B', 'C', 'D' };
+    private static final int[] ESG_WEIGHT = { 25, 35, 28, 12 };
+    private static final double[] ESG_DELAY = { 0.04, 0.07, 0.12, 0.20 };
+
+    private static final double PARTIAL_RATE = 0.06;
+
+    final long seed;
+    final int orders;
+    final int shipyards;
+    final int suppliers;
+    final int parts;
+    final int projects;
+    final int warehouses;
+
+    private final char[] supplierEsg;
+    private final double[] supplierDelay;
+    private final ZipfSampler supplierPick;
+    private final ZipfSampler projectPick;
+    private final ZipfSampler partPick;
+
+    private DatasetPlan(long seed, int orders) {
+        this.seed = seed;
+        this.orders = orders;
+        this.shipyards = shipyardsFor(orders);
+        this.suppliers = suppliersFor(orders);
+        this.parts = partsFor(orders);
+        this.projects = projectsFor(orders);
+        this.warehouses = warehousesFor(orders);
+
+        supplierEsg = new char[suppliers];
+        supplierDelay = new double[suppliers];
+        for (int i = 0; i < suppliers; i++) {
+            SplittableRandom r = random(SUPPLIER, i + 1);
+            int grade = pick(r, ESG_WEIGHT);
+            supplierEsg[i] = ESG[grade];
+            supplierDelay[i] = Math.min(0.6, ESG_DELAY[grade] * Math.exp(0.5 * gaussian(r)));
+        }
+        supplierPick = new ZipfSampler(suppliers, 0.9);
+        projectPick = new ZipfSampler(projects, 0.8);
+        partPick = new ZipfSampler(parts, 1.0);
+    }
+
+    /**
+     * 목표 전체 행 수에 맞춘 계획. 발주서 수를 이진 탐색으로 역산.
+     */
+    static DatasetPlan forRows(long targetRows, long seed) {
+        int lo = 1, hi = 50_000_000;
+        while (lo < hi) {
+            int mid = lo + (hi - lo) / 2;
+            if (estimateRows(mid) < targetRows) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return new DatasetPlan(seed, lo);
+    }
+
+    /**
+     * 발주서 수 기준 예상 전체 행 수 (기대값).
+     */
+    static long estimateRows(int orders) {
+        double avgLines = 0;
+        int totalWeight = 0;
+        for (int i = 0; i < LINE_WEIGHT.length; i++) {
+            avgLines += (i + 1) * LINE_WEIGHT[i];
+            totalWeight += LINE_WEIGHT[i];
+        }
+        avgLines /= totalWeight;
+        double delivered = 1 - ORDER_STATUS_WEIGHT[3] / 100.0;
+
+        int parts = partsFor(orders);
+        int warehouses = warehousesFor(orders);
+        double rows = shipyardsFor(orders) + suppliersFor(orders)
+                + parts * 3.5 // 부품 + 공급업체 단가 평균 2.5건
+                + projectsFor(orders) * (1 + 2 * 18.0) // 프로젝트 + 월별 생산/보관 배출 (평균 18개월)
+                + warehouses * (1.0 + Math.min(parts, INVENTORY_PER_WAREHOUSE))
+                + orders * (1 + avgLines + delivered * (1 + avgLines + 1)); // 발주, 품목, 납품, 납품 상세, 운송 배출
+        return (long) rows;
+    }
+
+    static int shipyardsFor(int orders) {
+        return 3 + orders / 2_000_000;
+    }
+
+    static int suppliersFor(int orders) {
+        return Math.max(20, orders / 200);
+    }
+
+    static int partsFor(int orders) {
+        return Math.max(50, orders / 40);
+    }
+
+    static int projectsFor(int orders) {
+        return Math.max(10, orders / 100);
+    }
+
+    static int warehousesFor(int orders) {
+        return Math.max(5, Math.min(5000, orders / 5000));
+    }
+
+    // ===== 마스터 데이터 =====
+
+    char supplierEsg(int supplierId) {
+        return supplierEsg[supplierId - 1];
+    }
+
+    double supplierDelayRate(int supplierId) {
+        return supplierDelay[supplierId - 1];
+    }
+
+    String supplierName(int supplierId) {
+        SplittableRandom r = random(SUPPLIER, -supplierId);
+        return SUPPLIER_WORDS[r.nextInt(SUPPLIER_WORDS.length)] + SUPPLIER_SUFFIX[r.nextInt(SUPPLIER_SUFFIX.length)]
+                + " " + supplierId;
+    }
+
+    String supplierCountry(int supplierId) {
+        return COUNTRIES[(int) Math.floorMod(mix(seed ^ supplierId), (long) COUNTRIES.length)];
+    }
+
+    // 부품 분류 (0~9).
+    static int partCategory(int partId) {
+        return partId % PART_NAMES.length;
+    }
+
+    String partName(int partId) {
+        return PART_NAMES[partCategory(partId)] + " M" + partId;
+    }
+
+    // 부품 기준 단가 (분류 단가 x 0.8~1.2).
+    double partPrice(int partId) {
+        return PART_PRICE[partCategory(partId)] * (0.8 + 0.4 * random(PART, partId).nextDouble());
+    }
+
+    /**
+     * 부품 공급업체 목록 (1~4곳, 중복 없음). 발주량 많은 업체가 더 많은 부품 공급.
+     */
+    int[] partSuppliers(int partId) {
+        SplittableRandom r = random(SUPPLIER_PART, partId);
+        int count = Math.min(suppliers, 1 + r.nextInt(4));
+        int[] ids = new int[count];
+        int n = 0;
+        while (n < count) {
+            int s = supplierPick.sample(r);
+            boolean dup = false;
+            for (int i = 0; i < n; i++) {
+                dup |= ids[i] == s;
+            }
+            if (!dup) {
+                ids[n++] = s;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 창고 재고 부품 (창고별 시작 위치부터 일정 간격, 중복 없음).
+     */
+    int[] inventoryParts(int warehouseId) {
+        int count = Math.min(parts, INVENTORY_PER_WAREHOUSE);
+        int stride = parts / count;
+        int start = random(WAREHOUSE, warehouseId).nextInt(parts);
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = 1 + (start + i * stride) % parts;
+        }
+        return ids;
+    }
+
+    /**
+     * 선박 프로젝트. 계약일 2021~2024 상반기, 건조 기간 12~36개월.
+     */
+    Project project(int projectId) {
+        SplittableRandom r = random(PROJECT, projectId);
+        int shipyardId = 1 + r.nextInt(shipyards);
+        String type = SHIP_TYPES[r.nextInt(SHIP_TYPES.length)];
+        long contract = PROJECT_START_DAY + r.nextInt(1277); // ~2024-06-30
+        int months = 12 + r.nextInt(25);
+        long due = LocalDate.ofEpochDay(contract).plusMonths(months).toEpochDay();
+        String status;
+        if (r.nextInt(50) == 0) {
+            status = "취소";
+        } else if (due <= DATA_END_DAY) {
+            status = "인도완료";
+        } else if (contract > DATA_END_DAY - 365) {
+            status = "설계";
+        } else {
+            status = "건조중";
+        }
+        String name = SHIP_PREFIX[(shipyardId - 1) % SHIP_PREFIX.length] + " "
+                + SHIP_WORDS[r.nextInt(SHIP_WORDS.length)] + "-" + projectId;
+        return new Project(projectId, name, type, contract, due, status, shipyardId);
+    }
+
+    record Project(int projectId, String shipName, String shipType, long contractDay, long dueDay, String status,
+            int shipyardId) {
+
+        // 배출 기록 대상 개월 수 (계약 월부터 인도 또는 데이터 종료 시점까지, 최대 24개월).
+        int emissionMonths() {
+            LocalDate from = LocalDate.ofEpochDay(contractDay).withDayOfMonth(1);
+            LocalDate to = LocalDate.ofEpochDay(Math.min(dueDay, DATA_END_DAY));
+            int months = (to.getYear() - from.getYear()) * 12 + to.getMonthValue() - from.getMonthValue() + 1;
+            return Math.max(0, Math.min(MAX_EMISSION_MONTHS, months));
+        }
+    }
+
+    /**
+     * 프로젝트 월별 배출량 (생산/보관). type 0: 생산, 1: 보관.
+     */
+    double projectEmission(int projectId, int type, int month) {
+        SplittableRandom r = random(PROJECT_EMISSION, ((long) projectId << 8) | (type << 6) | month);
+        double base = type == 0 ? 2000 : 150;
+        return base * Math.exp(0.6 * gaussian(r));
+    }
+
+    // ===== 발주/납품 =====
+
+    /**
+     * 발주서 (품목 포함). 같은 poid는 항상 같은 결과.
+     */
+    Order order(int poid) {
+        SplittableRandom r = random(ORDER, poid);
+        int supplierId = supplierPick.sample(r);
+        int projectId = projectPick.sample(r);
+        long orderDay = ORDER_START_DAY + r.nextInt(ORDER_DAYS);
+        String status = ORDER_STATUS[pick(r, ORDER_STATUS_WEIGHT)];
+        int lineCount = Math.min(parts, 1 + pick(r, LINE_WEIGHT));
+
+        int[] partIds = new int[lineCount];
+        int[] quantities = new int[lineCount];
+        double[] prices = new double[lineCount];
+        for (int i = 0; i < lineCount; i++) {
+            int partId;
+            boolean dup;
+            int tries = 0;
+            do {
+                partId = partPick.sample(r);
+                dup = false;
+                for (int j = 0; j < i; j++) {
+                    dup |= partIds[j] == partId;
+                }
+            } while (dup && ++tries < 20);
+            partIds[i] = partId;
+            // 고가 부품(엔진/탱크 등)은 소량, 자재(판재/도료)는 대량.
+            quantities[i] = partPrice(partId) > 1_000_000 ? 1 + r.nextInt(3) : 5 + r.nextInt(200);
+            prices[i] = partPrice(partId) * (0.9 + 0.2 * r.nextDouble());
+        }
+        return new Order(poid, supplierId, projectId, orderDay, status, "엔지니어-" + (poid % 500), partIds,
+                quantities, prices);
+    }
+
+    record Order(int poid, int supplierId, int projectId, long orderDay, String status, String engineerName,
+            int[] partIds, int[] quantities, double[] prices) {
+
+        boolean delivered() {
+            return !status.equals("취소");
+        }
+
+        int totalQuantity() {
+            int sum = 0;
+            for (int q : quantities) {
+                sum += q;
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * 발주서의 납품 (취소 발주는 null). 납품 ID = 발주서 ID.
+     * 지연 여부는 공급업체 지연율 기준, 도착일 = 발주일 + 리드타임(14~90일) (+ 지연 7~60일).
+     */
+    Delivery delivery(Order order) {
+        if (!order.delivered()) {
+            return null;
+        }
+        SplittableRandom r = random(DELIVERY, order.poid());
+        boolean delayed = r.nextDouble() < supplierDelayRate(order.supplierId());
+        boolean partial = !delayed && r.nextDouble() < PARTIAL_RATE;
+        long arrival = order.orderDay() + 14 + r.nextInt(77) + (delayed ? 7 + r.nextInt(54) : 0);
+        int mode = pick(r, TRANSPORT_WEIGHT);
+        int[] km = TRANSPORT_KM[mode];
+        double distance = km[0] + r.nextInt(km[1] - km[0]);
+        String status = delayed ? "지연" : partial ? "부분입고" : "정상입고";
+        double co2e = distance * TRANSPORT_FACTOR[mode] * (1 + order.totalQuantity() / 50.0);
+        return new Delivery(order.poid(), arrival, TRANSPORT[mode], distance, status, co2e);
+    }
+
+    record Delivery(int deliveryId, long arrivalDay, String transportMode, double distanceKm, String status,
+            double transportCo2e) {
+
+        // 부분입고는 절반 (최소 1), 그 외 전량.
+        int receivedQty(int quantity) {
+            return status.equals("부분입고") ? Math.max(1, quantity / 2) : quantity;
+        }
+    }
+
+    // ===== 계획 출력용 =====
+
+    double topSupplierShare(double fraction) {
+        return supplierPick.topShare(Math.max(1, (int) (suppliers * fraction)));
+    }
+
+    double averageDelayRate() {
+        double sum = 0;
+        for (double d : supplierDelay) {
+            sum += d;
+        }
+        return sum / suppliers;
+    }
+
+    // ===== 난수 =====
+
+    private SplittableRandom random(long stream, long id) {
+        return new SplittableRandom(mix(seed * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + id));
+    }
+
+    // splitmix64 최종 단계 (인접 ID 간 상관 제거).
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // 가중치 배열 기준 인덱스 선택.
+    private static int pick(SplittableRandom r, int[] weights) {
+        int total = 0;
+        for (int w : weights) {
+            total += w;
+        }
+        int x = r.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            x -= weights[i];
+            if (x < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    // 표준 정규 난수 (Box-Muller).
+    private static double gaussian(SplittableRandom r) {
+        double u = 1 - r.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * r.nextDouble());
+    }
+}
@@ -0,0 +1,47 @@
+package hw10.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf 분포 표본 추출 (1..n, 순위 1이 가장 빈번).
+ * 누적 분포 배열 + 이진 탐색. 생성 후 불변이므로 스레드 간 공유 가능.
+ */
+final class ZipfSampler {
+
+    private final double[] cdf;
+
+    /**
+     * @param n 항목 수
+     * @param exponent 치우침 정도 (0이면 균등, 1 전후가 일반적인 거래량 분포)
+     */
+    ZipfSampler(int n, double exponent) {
+        cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+    }
+
+    int size() {
+        return cdf.length;
+    }
+
+    // 순위 (1..n).
+    int sample(SplittableRandom random) {
+        int idx = Arrays.binarySearch(cdf, random.nextDouble());
+        if (idx < 0) {
+            idx = -idx - 1;
+        }
+        return Math.min(idx, cdf.length - 1) + 1;
+    }
+
+    // 순위 1..k 누적 비율 (계획 출력용).
+    double topShare(int k) {
+        return cdf[Math.min(k, cdf.length) - 1];
+    }
+}
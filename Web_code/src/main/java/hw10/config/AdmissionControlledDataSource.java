@@ -0,0 +1,162 @@
+package hw10.config;
+
+import hw10.util.LatencyHistogram;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 커넥션 획득 입장 제한 DataSource.
+ * 풀 크기만큼의 허가(공정 세마포어) 획득 후 풀에서 커넥션 획득, 커넥션 close 시 허가 반납.
+ * 가상 스레드 모드에서 요청 수만큼 늘어나는 대기를 풀 내부 대기 대신 순서 보장 대기열로 처리.
+ * 대기 인원(maxWaiting) 초과 또는 대기 시간 초과 시 SQLTransientConnectionException (503 응답).
+ */
+public class AdmissionControlledDataSource extends DelegatingDataSource implements Closeable {
+
+    private final Semaphore permits;
+    private final int size;
+    private final int maxWaiting;
+    private final long timeoutMs;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+
+    public AdmissionControlledDataSource(DataSource target, int permits, int maxWaiting, long timeoutMs) {
+        super(target);
+        this.size = Math.max(1, permits);
+        this.permits = new Semaphore(size, true);
+        this.maxWaiting = Math.max(0, maxWaiting);
+        this.timeoutMs = Math.max(0, timeoutMs);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        admit();
+        try {
+            return releasing(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        admit();
+        try {
+            return releasing(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // 대상 DataSource 종료 (풀 정리). 컨테이너 종료 시 호출.
+    @Override
+    public void close() {
+        if (getTargetDataSource() instanceof Closeable pool) {
+            try {
+                pool.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * 입장 제한 현황.
+     * 허가 수/사용 가능/대기 인원, 누적 입장/거부/시간 초과 건수.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("permits", size);
+        m.put("available", permits.availablePermits());
+        m.put("waiting", waiting.get());
+        m.put("maxWaiting", maxWaiting);
+        m.put("admitted", admitted.get());
+        m.put("rejected", rejected.get());
+        m.put("timeouts", timeouts.get());
+        return m;
+    }
+
+    public LatencyHistogram waitTime() {
+        return waitTime;
+    }
+
+    // 허가 획득. 즉시 획득 실패 시 대기열 진입 (정원 초과 시 즉시 거부).
+    private void admit() throws SQLException {
+        if (permits.tryAcquire()) {
+            admitted.incrementAndGet();
+            waitTime.record(0);
+            return;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.incrementAndGet();
+            throw new SQLTransientConnectionException("DB 연결 대기 인원 초과 (" + maxWaiting + "명)");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLTransientConnectionException("DB 연결 대기 시간 초과 (" + timeoutMs + "ms)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("DB 연결 대기 중단", e);
+        } finally {
+            waiting.decrementAndGet();
+            waitTime.record(System.nanoTime() - start);
+        }
+        admitted.incrementAndGet();
+    }
+
+    // close 1회에 한해 허가 반납. 이후 close는 대상 커넥션에만 전달.
+    private Connection releasing(Connection conn) {
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "close" -> {
+                try {
+                    yield invoke(conn, method, args);
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        permits.release();
+                    }
+                }
+            }
+            default -> invoke(conn, method, args);
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
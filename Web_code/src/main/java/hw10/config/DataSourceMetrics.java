@@ -0,0 +1,124 @@
+package hw10.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import hw10.util.LatencyHistogram;
+import hw10.util.Logger;
+import hw10.util.TimerRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 커넥션 풀 및 쿼리 지표 수집.
+ * HikariDataSource 생성 직후(풀 시작 전) 지표 수집기 등록.
+ * 커넥션 획득 대기 시간, 사용 시간 히스토그램 및 획득 시간 초과 횟수 기록.
+ * 초기화 완료 후 InstrumentedDataSource로 감싸 호출 메서드별 커넥션 획득/SQL 실행 시간 기록.
+ * 입장 제한 사용 시(가상 스레드 모드 기본) 풀 크기 허가의 AdmissionControlledDataSource를 그 안쪽에 배치.
+ */
+@Component
+public class DataSourceMetrics implements BeanPostProcessor, MetricsTrackerFactory {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final LatencyHistogram acquireTime = new LatencyHistogram();
+    private final LatencyHistogram usageTime = new LatencyHistogram();
+    private final AtomicLong timeouts = new AtomicLong();
+
+    // 호출 메서드별 SQL 실행, 커넥션 획득 집계.
+    private final TimerRegistry queries = new TimerRegistry();
+    private final TimerRegistry acquires = new TimerRegistry();
+
+    // 커넥션 획득 입장 제한. 대기 시간 0 이하면 풀 connectionTimeout 사용.
+    private final boolean admissionEnabled;
+    private final int admissionMaxWaiting;
+    private final long admissionTimeoutMs;
+
+    private volatile AdmissionControlledDataSource admission;
+
+    public DataSourceMetrics(
+            @Value("${scm.db-admission.enabled:${spring.threads.virtual.enabled:false}}") boolean admissionEnabled,
+            @Value("${scm.db-admission.max-waiting:1000}") int admissionMaxWaiting,
+            @Value("${scm.db-admission.timeout-ms:0}") long admissionTimeoutMs) {
+        this.admissionEnabled = admissionEnabled;
+        this.admissionMaxWaiting = admissionMaxWaiting;
+        this.admissionTimeoutMs = admissionTimeoutMs;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikari && hikari.getMetricsTrackerFactory() == null
+                && hikari.getMetricRegistry() == null) {
+            hikari.setMetricsTrackerFactory(this);
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikari) {
+            if (!admissionEnabled) {
+                return new InstrumentedDataSource(hikari, queries, acquires);
+            }
+            // 풀 크기 미설정(-1)이면 풀 시작 시 HikariCP 기본값(10) 적용.
+            int permits = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+            long timeoutMs = admissionTimeoutMs > 0 ? admissionTimeoutMs : hikari.getConnectionTimeout();
+            admission = new AdmissionControlledDataSource(hikari, permits, admissionMaxWaiting, timeoutMs);
+            Logger.info("DB 커넥션 입장 제한 사용: 허가 " + permits + ", 최대 대기 "
+                    + admissionMaxWaiting + "명, 대기 시간 " + timeoutMs + "ms");
+            return new InstrumentedDataSource(admission, queries, acquires);
+        }
+        return bean;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquireTime.record(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageTime.record(elapsedBorrowedMillis * 1_000_000);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.incrementAndGet();
+            }
+        };
+    }
+
+    public LatencyHistogram acquireTime() {
+        return acquireTime;
+    }
+
+    public LatencyHistogram usageTime() {
+        return usageTime;
+    }
+
+    public long timeouts() {
+        return timeouts.get();
+    }
+
+    public TimerRegistry queries() {
+        return queries;
+    }
+
+    public TimerRegistry acquires() {
+        return acquires;
+    }
+
+    /**
+     * 커넥션 획득 입장 제한기. 미사용 시 null.
+     */
+    public AdmissionControlledDataSource admission() {
+        return admission;
+    }
+}
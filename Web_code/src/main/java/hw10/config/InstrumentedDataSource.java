@@ -0,0 +1,179 @@
+package hw10.config;
+
+import hw10.util.TimerRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * 계측 DataSource.
+ * 커넥션 획득 시간은 호출 메서드별, SQL 실행 시간/변경 행 수는 실행 메서드(주로 Repository 메서드)별 기록.
+ * 실행 시간은 Statement execute* 호출 구간 (드라이버 기본 설정은 실행 시 결과 전체 수신이라 결과 전송 포함).
+ * ResultSet은 감싸지 않음 (결과 행마다 프록시 호출 비용 제거, 조회 행 수는 미집계).
+ * 호출 메서드: 스택에서 처음 만나는 hw10 클래스 (config 패키지, 커넥션 중계 프록시 처리기(InvocationHandler) 제외).
+ */
+public class InstrumentedDataSource extends DelegatingDataSource implements Closeable {
+
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private static final int MAX_SQL_LENGTH = 200;
+
+    private final TimerRegistry queries;
+    private final TimerRegistry acquires;
+
+    public InstrumentedDataSource(DataSource target, TimerRegistry queries, TimerRegistry acquires) {
+        super(target);
+        this.queries = queries;
+        this.acquires = acquires;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Connection conn = super.getConnection();
+            acquires.record(caller(), System.nanoTime() - start, 0, false, null);
+            return wrapConnection(conn);
+        } catch (SQLException e) {
+            acquires.record(caller(), System.nanoTime() - start, 0, true, e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    // 대상 DataSource 종료 (풀 정리). 컨테이너 종료 시 호출.
+    @Override
+    public void close() {
+        if (getTargetDataSource() instanceof Closeable pool) {
+            try {
+                pool.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private Connection wrapConnection(Connection conn) {
+        return proxy(Connection.class, conn, (proxy, method, args) -> {
+            Object result = invoke(conn, method, args);
+            String name = method.getName();
+            if (result instanceof Statement stmt
+                    && (name.equals("createStatement") || name.equals("prepareStatement")
+                            || name.equals("prepareCall"))) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? normalize(s) : null;
+                return wrapStatement(stmt, sql, caller());
+            }
+            return result;
+        });
+    }
+
+    private Statement wrapStatement(Statement stmt, String preparedSql, String tag) {
+        Class<? extends Statement> type = stmt instanceof CallableStatement ? CallableStatement.class
+                : stmt instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return proxy(type, stmt, (proxy, method, args) -> {
+            if (EXECUTE_METHODS.contains(method.getName())) {
+                return timeExecute(stmt, method, args, preparedSql, tag);
+            }
+            return invoke(stmt, method, args);
+        });
+    }
+
+    // SQL 실행 시간 및 변경 행 수 기록.
+    private Object timeExecute(Statement stmt, Method method, Object[] args, String preparedSql, String tag)
+            throws Throwable {
+        String sql = args != null && args.length > 0 && args[0] instanceof String s ? normalize(s) : preparedSql;
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invoke(stmt, method, args);
+        } catch (Throwable t) {
+            queries.record(tag, System.nanoTime() - start, 0, true, sql);
+            throw t;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long rows = 0;
+        if (result instanceof Integer n) {
+            rows = Math.max(0, n);
+        } else if (result instanceof Long n) {
+            rows = Math.max(0, n);
+        } else if (result instanceof int[] counts) {
+            for (int n : counts) {
+                rows += Math.max(0, n);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long n : counts) {
+                rows += Math.max(0, n);
+            }
+        }
+        queries.record(tag, elapsed, rows, false, sql);
+        return result;
+    }
+
+    // 호출 메서드 이름 (클래스.메서드). 람다는 감싼 메서드 이름.
+    private static String caller() {
+        return WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("hw10.") && !f.getClassName().startsWith("hw10.config.")
+                        && !InvocationHandler.class.isAssignableFrom(f.getDeclaringClass()))
+                .findFirst()
+                .map(f -> {
+                    String cls = f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1);
+                    String m = f.getMethodName();
+                    if (m.startsWith("lambda$")) {
+                        int end = m.indexOf('$', 7);
+                        m = end > 7 ? m.substring(7, end) : m;
+                    }
+                    return cls + "." + m;
+                })
+                .orElse(TimerRegistry.OTHER));
+    }
+
+    // 공백 정리 및 길이 제한.
+    private static String normalize(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        String s = sql.replaceAll("\\s+", " ").trim();
+        return s.length() > MAX_SQL_LENGTH ? s.substring(0, MAX_SQL_LENGTH) + "..." : s;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, Object target, InvocationHandler handler) {
+        InvocationHandler guarded = (proxy, method, args) -> switch (method.getName()) {
+            // 프록시 자체 비교/식별. 래핑 해제는 원본 객체 기준.
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "unwrap", "isWrapperFor" -> invoke(target, method, args);
+            default -> handler.invoke(proxy, method, args);
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, guarded);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package hw10.config;
+
+import hw10.util.TimerRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * API 요청 처리 시간 집계.
+ * "메서드 URL 패턴" 단위 기록 (경로 변수는 패턴 그대로), 5xx 응답 및 미처리 예외는 오류로 집계.
+ * 컨트롤러 메서드만 대상. 비동기 응답(SSE 스트림 등)은 연결 유지 시간이라 제외.
+ */
+@Component
+public class RequestMetrics implements WebMvcConfigurer, AsyncHandlerInterceptor {
+
+    private static final String START_ATTR = RequestMetrics.class.getName() + ".start";
+    private static final String ASYNC_ATTR = RequestMetrics.class.getName() + ".async";
+
+    private final TimerRegistry endpoints = new TimerRegistry();
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && request.getAttribute(ASYNC_ATTR) == null) {
+            request.setAttribute(START_ATTR, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        request.setAttribute(ASYNC_ATTR, Boolean.TRUE);
+        request.removeAttribute(START_ATTR);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (!(request.getAttribute(START_ATTR) instanceof Long start)) {
+            return;
+        }
+        request.removeAttribute(START_ATTR);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String name = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        endpoints.record(name, System.nanoTime() - start, 0, ex != null || response.getStatus() >= 500, null);
+    }
+
+    public TimerRegistry endpoints() {
+        return endpoints;
+    }
+}
@@ -0,0 +1,77 @@
+package hw10.config;
+
+import hw10.db.SchemaMigrator;
+import hw10.util.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 기동 시 스키마 마이그레이션 적용.
+ * DataSource 초기화 직후(다른 빈 주입 전) classpath:db/migration/V*.sql(Common_code 공용 스크립트) 적용.
+ * DB 접속 불가 시 경고 후 기동 계속 (상태 점검에서 오류 표시), 스크립트 실패 시 기동 중단.
+ */
+@Component
+public class SchemaMigrations implements BeanPostProcessor {
+
+    private static final String LOCATION = "classpath*:" + SchemaMigrator.LOCATION + "/V*.sql";
+
+    private final boolean enabled;
+    private volatile boolean done;
+
+    public SchemaMigrations(@Value("${scm.migration.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && enabled && !done) {
+            done = true;
+            migrate(dataSource);
+        }
+        return bean;
+    }
+
+    private void migrate(DataSource dataSource) {
+        SchemaMigrator migrator = new SchemaMigrator(loadScripts());
+        Connection conn;
+        try {
+            conn = dataSource.getConnection();
+        } catch (SQLException e) {
+            Logger.warn("마이그레이션 생략 (DB 접속 불가): " + e.getMessage());
+            return;
+        }
+        try (conn) {
+            SchemaMigrator.Result result = migrator.migrate(conn);
+            Logger.info("스키마 버전 V" + result.version() + " (신규 적용 " + result.applied() + "건)");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static List<SchemaMigrator.Script> loadScripts() {
+        try {
+            List<SchemaMigrator.Script> scripts = new ArrayList<>();
+            for (Resource r : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+                try (InputStream in = r.getInputStream()) {
+                    scripts.add(SchemaMigrator.Script.of(r.getFilename(),
+                            new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+                }
+            }
+            return scripts;
+        } catch (IOException e) {
+            throw new IllegalStateException("마이그레이션 스크립트 로드 실패: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package hw10.config;
+
+import hw10.util.Logger;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 요청 처리 스레드 모드.
+ * spring.threads.virtual.enabled=true 이고 JDK 21 이상이면 Tomcat 요청 처리(컨트롤러/서비스 포함)를 가상 스레드로 실행.
+ * 설정은 Spring Boot 표준 속성 사용, 이 클래스는 실제 적용 여부 판단 및 기동 로그 담당.
+ * JDK 21 미만에서 요청 시 경고 후 플랫폼 스레드 풀(server.tomcat.threads.max) 유지.
+ */
+@Component
+public class ThreadingMode {
+
+    private final boolean requested;
+    private final boolean virtual;
+
+    public ThreadingMode(@Value("${spring.threads.virtual.enabled:false}") boolean requested) {
+        this.requested = requested;
+        this.virtual = requested && supported();
+    }
+
+    @PostConstruct
+    void log() {
+        if (virtual) {
+            Logger.info("요청 처리 스레드: 가상 스레드 (JDK " + Runtime.version().feature() + ")");
+        } else if (requested) {
+            Logger.warn("가상 스레드 모드는 JDK 21 이상 필요 (현재 JDK " + Runtime.version().feature()
+                    + "), 플랫폼 스레드 풀로 실행");
+        } else {
+            Logger.info("요청 처리 스레드: 플랫폼 스레드 풀");
+        }
+    }
+
+    /**
+     * 가상 스레드 모드 적용 여부.
+     */
+    public boolean virtual() {
+        return virtual;
+    }
+
+    public String name() {
+        return virtual ? "virtual" : "platform";
+    }
+
+    /**
+     * 요청 처리 보조 작업용 실행기.
+     * 가상 스레드 모드면 작업마다 가상 스레드, 아니면 platformThreads개 고정 데몬 스레드 풀 (이름: name-번호).
+     */
+    public ExecutorService newExecutor(String name, int platformThreads) {
+        if (virtual) {
+            // JDK 17 대상 컴파일 유지를 위해 리플렉션 호출.
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                Logger.warn("가상 스레드 실행기 생성 실패, 플랫폼 스레드 사용: " + e.getMessage());
+            }
+        }
+        AtomicInteger seq = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, platformThreads), r -> {
+            Thread t = new Thread(r, name + "-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 현재 JVM의 가상 스레드 지원 여부 (JDK 21 이상).
+     */
+    public static boolean supported() {
+        return Runtime.version().feature() >= 21;
+    }
+}
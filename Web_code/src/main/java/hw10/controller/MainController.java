@@ -2,6 +2,7 @@ package hw10.controller;
 
 import hw10.dto.MainDto;
 import hw10.service.MainService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -23,10 +24,13 @@ public class MainController {
 
     /**
      * 대시보드 상단 요약 정보(활성 프로젝트, 탄소 감축, 지연 등) 반환.
+     * 스냅샷 경과 시간은 Age 헤더(초)로도 제공.
      */
     @GetMapping("/summary")
     public ResponseEntity<MainDto.MainSummary> getSummary() throws SQLException {
         MainDto.MainSummary summary = mainService.getSummary();
-        return ResponseEntity.ok(summary);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.AGE, String.valueOf(summary.ageMs() / 1000))
+                .body(summary);
     }
 }
@@ -2,10 +2,18 @@ package hw10.controller;
 
 import hw10.dto.OrderDto;
 import hw10.dto.ProjectDto;
+import hw10.service.OrderImportService;
 import hw10.service.OrderService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.util.List;
 
@@ -18,9 +26,11 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderImportService orderImportService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderImportService orderImportService) {
         this.orderService = orderService;
+        this.orderImportService = orderImportService;
     }
 
     /**
@@ -39,6 +49,33 @@ public class OrderController {
         }
     }
 
+    /**
+     * 발주 일괄 등록.
+     * 요청 본문(NDJSON 또는 text/csv)을 스트리밍으로 읽어 chunkSize 건마다 커밋.
+     * 행별 처리 결과 및 최종 요약을 NDJSON으로 응답.
+     */
+    @PostMapping("/bulk")
+    public void bulkImport(
+            @RequestParam(defaultValue = "500") int chunkSize,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        // 응답 시작 전 검증. 오류 시 400.
+        orderImportService.checkChunkSize(chunkSize);
+        OrderImportService.Format format = OrderImportService.Format.fromContentType(request.getContentType());
+
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), charset))) {
+            orderImportService.importOrders(reader, format, chunkSize, response.getWriter());
+        }
+    }
+
     /**
      * 프로젝트 목록 조회 (드롭다운용).
      * 키워드 검색 지원.
@@ -6,7 +6,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.sql.SQLException;
-import java.util.List;
 
 /**
  * 프로젝트 관련 API 컨트롤러.
@@ -35,18 +34,34 @@ public class ProjectController {
     }
 
     /**
-     * 프로젝트 검색 API. 페이징 지원.
-     * limit: 페이지 당 개수, page: 페이지 번호 (0부터 시작).
+     * 프로젝트 검색 API. 키셋 페이징 지원.
+     * limit: 페이지 당 개수, cursor: 이전 응답의 nextCursor (첫 페이지는 생략).
      */
     @GetMapping("/search")
-    public ResponseEntity<List<ProjectDto.ProjectSearchItem>> searchProjects(
+    public ResponseEntity<ProjectDto.ProjectSearchPage> searchProjects(
             @RequestParam String keyword,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int limit) throws SQLException {
-        List<ProjectDto.ProjectSearchItem> results = projectService.searchProjects(keyword, page, limit);
+        ProjectDto.ProjectSearchPage results = projectService.searchProjects(keyword, cursor, limit);
         return ResponseEntity.ok(results);
     }
 
+    /**
+     * 프로젝트 월별 배출 집계 검증. 원본과 불일치 프로젝트 목록 반환.
+     */
+    @GetMapping("/emissions/verify")
+    public ResponseEntity<ProjectDto.EmissionRollupVerifyResult> verifyEmissionRollup() throws SQLException {
+        return ResponseEntity.ok(projectService.verifyEmissionRollup());
+    }
+
+    /**
+     * 프로젝트 월별 배출 집계 재계산 및 검증.
+     */
+    @PostMapping("/emissions/rebuild")
+    public ResponseEntity<ProjectDto.EmissionRollupRebuildResult> rebuildEmissionRollup() throws SQLException {
+        return ResponseEntity.ok(projectService.rebuildEmissionRollup());
+    }
+
     /**
      * 프로젝트 대시보드 통계 데이터 조회.
      * 탄소 배출, 집약도, 공급사 정보 등 제공.
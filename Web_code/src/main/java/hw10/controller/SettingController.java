@@ -1,9 +1,15 @@
 package hw10.controller;
 
+import hw10.service.LogStreamService;
+import hw10.service.QueryPlanCheckService;
+import hw10.service.ReferenceDataService;
 import hw10.service.SettingService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.sql.SQLException;
 import java.util.Map;
 
 /**
@@ -15,30 +21,54 @@ import java.util.Map;
 public class SettingController {
 
     private final SettingService settingService;
+    private final ReferenceDataService referenceDataService;
+    private final LogStreamService logStreamService;
+    private final QueryPlanCheckService queryPlanCheckService;
 
-    public SettingController(SettingService settingService) {
+    public SettingController(SettingService settingService, ReferenceDataService referenceDataService,
+            LogStreamService logStreamService, QueryPlanCheckService queryPlanCheckService) {
         this.settingService = settingService;
+        this.referenceDataService = referenceDataService;
+        this.logStreamService = logStreamService;
+        this.queryPlanCheckService = queryPlanCheckService;
     }
 
     /**
      * 시스템 로그 조회 API.
      * 레벨(INFO/WARN 등) 및 검색어 필터링 가능.
-     * limit 통한 개수 제한.
+     * limit 통한 개수 제한, since(yyyy-MM-dd HH:mm:ss) 통한 시각 제한.
+     * source(클래스명), tx(트랜잭션 ID) 필터는 구조화 로그 사용 시에만 지원.
      */
     @GetMapping("/logs")
     public ResponseEntity<Map<String, Object>> getLogs(
             @RequestParam(required = false) String level,
             @RequestParam(defaultValue = "100") int limit,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) Long tx) {
         try {
-            Map<String, Object> result = settingService.getLogs(level, limit, search);
+            Map<String, Object> result = settingService.getLogs(level, limit, search, since, source, tx);
             return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body(Map.of("error", "로그 조회 실패: " + e.getMessage()));
         }
     }
 
+    /**
+     * 신규 로그 실시간 스트림 (SSE).
+     * 조회 API와 같은 레벨/검색어 필터 적용, 이벤트명 log.
+     */
+    @GetMapping(value = "/logs/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLogs(
+            @RequestParam(required = false) String level,
+            @RequestParam(required = false) String search) {
+        return logStreamService.subscribe(level, search);
+    }
+
     /**
      * 시스템 상태(DB 연결 등) 조회.
      */
@@ -53,4 +83,58 @@ public class SettingController {
         }
     }
 
+    /**
+     * 성능 지표 조회 API.
+     * API 요청, SQL 실행, 커넥션 획득 소요 시간 백분위(ms) 및 처리 행 수, 발주 교착상태 재시도 집계.
+     */
+    @GetMapping("/metrics")
+    public ResponseEntity<Map<String, Object>> getMetrics(@RequestParam(defaultValue = "30") int limit) {
+        try {
+            return ResponseEntity.ok(settingService.getMetrics(limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 기준 정보 캐시 통계 조회.
+     * 캐시별 적중/미적중 횟수 및 변경 알림 수신 상태.
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(referenceDataService.getCacheStats());
+    }
+
+    /**
+     * 기준 정보 캐시 전체 무효화.
+     */
+    @PostMapping("/cache/invalidate")
+    public ResponseEntity<Map<String, Object>> invalidateCache() {
+        referenceDataService.invalidateAll();
+        return ResponseEntity.ok(referenceDataService.getCacheStats());
+    }
+
+    /**
+     * 조회 쿼리 실행 계획 점검 결과.
+     * 점검별 SQL, 순차 스캔 테이블(추정 행 수, 기준 초과 여부), EXPLAIN 결과.
+     * 점검 이력 없으면 즉시 실행.
+     */
+    @GetMapping("/query-plans")
+    public ResponseEntity<Map<String, Object>> getQueryPlans() {
+        Map<String, Object> result = queryPlanCheckService.lastResult();
+        return result != null ? ResponseEntity.ok(result) : checkQueryPlans();
+    }
+
+    /**
+     * 실행 계획 점검 재실행.
+     */
+    @PostMapping("/query-plans/check")
+    public ResponseEntity<Map<String, Object>> checkQueryPlans() {
+        try {
+            return ResponseEntity.ok(queryPlanCheckService.run());
+        } catch (SQLException e) {
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", "실행 계획 점검 실패: " + e.getMessage()));
+        }
+    }
 }
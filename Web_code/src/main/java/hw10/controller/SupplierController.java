@@ -35,6 +35,22 @@ public class SupplierController {
         return ResponseEntity.ok(suppliers);
     }
 
+    /**
+     * 공급업체 KPI 요약 테이블 검증. 원본 집계와 불일치 업체 목록 반환.
+     */
+    @GetMapping("/kpi/verify")
+    public ResponseEntity<SupplierDto.KpiVerifyResult> verifyKpi() throws SQLException {
+        return ResponseEntity.ok(supplierService.verifyKpi());
+    }
+
+    /**
+     * 공급업체 KPI 요약 테이블 재계산 및 검증.
+     */
+    @PostMapping("/kpi/rebuild")
+    public ResponseEntity<SupplierDto.KpiRebuildResult> rebuildKpi() throws SQLException {
+        return ResponseEntity.ok(supplierService.rebuildKpi());
+    }
+
     /**
      * 특정 공급업체 상세 정보 조회.
      * 최근 발주 내역 포함.
@@ -46,14 +62,15 @@ public class SupplierController {
     }
 
     /**
-     * 공급업체 발주 내역 페이징 조회.
+     * 공급업체 발주 내역 키셋 페이징 조회.
+     * cursor: 이전 응답의 nextCursor (첫 페이지는 생략), size: 페이지 당 개수.
      */
     @GetMapping("/{id}/orders")
-    public ResponseEntity<List<SupplierDto.SupplierPoRow>> getSupplierOrders(
+    public ResponseEntity<SupplierDto.SupplierPoPage> getSupplierOrders(
             @PathVariable int id,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "5") int size) throws SQLException {
-        List<SupplierDto.SupplierPoRow> orders = supplierService.getSupplierOrders(id, page, size);
+        SupplierDto.SupplierPoPage orders = supplierService.getSupplierOrders(id, cursor, size);
         return ResponseEntity.ok(orders);
     }
 }
@@ -8,11 +8,14 @@ public class MainDto {
     /**
      * 메인화면 요약 정보(카드 4개) 레코드.
      * 활성 프로젝트 수, 탄소 감축량, 지연 배송, ESG 등급 평균 포함.
+     * computedAt: 집계 시각 (ISO-8601), ageMs: 집계 후 경과 시간.
      */
     public record MainSummary(
             int activeProjects,
             double carbonReduction,
             int delayedDeliveries,
-            String avgEsgGrade) {
+            String avgEsgGrade,
+            String computedAt,
+            long ageMs) {
     }
 }
@@ -77,4 +77,29 @@ public class OrderDto {
                         String unit,
                         int quantity) {
         }
+
+        /**
+         * 일괄 등록 행별 처리 결과. NDJSON 한 줄로 응답.
+         * row: 입력 내 발주 순번(1부터), orderRef: 입력의 발주 참조값(CSV 그룹 키).
+         */
+        public record BulkRowResult(
+                        int row,
+                        String orderRef,
+                        boolean success,
+                        Integer poid,
+                        Integer deliveryId,
+                        String message) {
+        }
+
+        /**
+         * 일괄 등록 최종 요약. 응답 마지막 줄.
+         * 중단 시 error에 사유 포함.
+         */
+        public record BulkSummary(
+                        int total,
+                        int succeeded,
+                        int failed,
+                        int chunks,
+                        String error) {
+        }
 }
@@ -39,19 +39,46 @@ public class ProjectDto {
                         String status) {
         }
 
+        /**
+         * 프로젝트 검색 키셋 페이지. nextCursor null 시 마지막 페이지.
+         */
+        public record ProjectSearchPage(
+                        List<ProjectSearchItem> items,
+                        String nextCursor) {
+        }
+
         /**
          * 대시보드 차트용 종합 통계 데이터.
          * 총 발주액, 탄소 배출량(운송/보관/가공), 상위 공급사, 탄소 집약도 등 포함.
+         * 일부 조회 시간 초과/실패 시 해당 항목 null, unavailable에 항목 이름 기록 (부분 결과).
          */
         public record DashboardStats(
                         ProjectBasic project,
-                        double totalOrderAmount,
-                        double totalEmission,
-                        double transportEmission,
-                        double storageEmission,
-                        double processingEmission,
+                        Double totalOrderAmount,
+                        Double totalEmission,
+                        Double transportEmission,
+                        Double storageEmission,
+                        Double processingEmission,
                         List<SupplierAmount> topSuppliers,
                         Double carbonIntensity,
-                        Double shipCII) {
+                        Double shipCII,
+                        List<String> unavailable) {
+        }
+
+        /**
+         * 배출 집계 재계산 결과. corrected: 재계산 전 불일치 프로젝트 수.
+         */
+        public record EmissionRollupRebuildResult(
+                        int groups,
+                        int corrected,
+                        long elapsedMs) {
+        }
+
+        /**
+         * 배출 집계 검증 결과. 원본 귀속 결과와 다른 프로젝트 ID 목록.
+         */
+        public record EmissionRollupVerifyResult(
+                        boolean consistent,
+                        List<Integer> mismatchedProjectIds) {
         }
 }
@@ -33,6 +33,14 @@ public class SupplierDto {
                         boolean delayed) {
         }
 
+        /**
+         * 발주 이력 키셋 페이지. nextCursor null 시 마지막 페이지.
+         */
+        public record SupplierPoPage(
+                        List<SupplierPoRow> orders,
+                        String nextCursor) {
+        }
+
         /**
          * 공급업체 상세 페이지용. 업체 정보 및 최근 발주 내역 포함.
          */
@@ -40,4 +48,21 @@ public class SupplierDto {
                         SupplierRow supplier,
                         List<SupplierPoRow> recentOrders) {
         }
+
+        /**
+         * 공급업체 KPI 재계산 결과. corrected: 재계산 전 불일치 업체 수.
+         */
+        public record KpiRebuildResult(
+                        int suppliers,
+                        int corrected,
+                        long elapsedMs) {
+        }
+
+        /**
+         * 공급업체 KPI 검증 결과. 원본 집계와 다른 업체 ID 목록.
+         */
+        public record KpiVerifyResult(
+                        boolean consistent,
+                        List<Integer> mismatchedSupplierIds) {
+        }
 }
@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
 
 /**
  * 전역 예외 처리 핸들러.
@@ -28,6 +29,18 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponse("BAD_REQUEST", e.getMessage()));
     }
 
+    /**
+     * DB 커넥션 획득 실패 처리 (입장 대기 인원/시간 초과, 풀 획득 시간 초과).
+     * 일시적 과부하로 보고 503 Service Unavailable 반환.
+     */
+    @ExceptionHandler(SQLTransientConnectionException.class)
+    public ResponseEntity<ErrorResponse> handleConnectionUnavailable(SQLTransientConnectionException e) {
+        Logger.warn("DB 커넥션 획득 실패: " + e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse("DATABASE_BUSY", "요청이 많아 잠시 후 다시 시도해 주세요."));
+    }
+
     /**
      * DB SQL 관련 예외 처리.
      * 500 Internal Server Error 반환.
@@ -4,12 +4,17 @@ import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * 배송 정보 DB 저장 리포지토리.
  */
 public final class DeliveryRepository {
 
+    // 배송 상세 품목 일괄 저장용 레코드.
+    public record DeliveryLineRow(int lineNo, int receivedQty, String inspectionResult) {
+    }
+
     /**
      * 배송(Delivery) 테이블에 데이터 1건 추가.
      * ID, POID, 도착일, 운송수단, 거리, 상태 포함.
@@ -60,4 +65,28 @@ public final class DeliveryRepository {
             ps.executeUpdate();
         }
     }
+
+    /**
+     * 배송 상세 품목(DeliveryLine) 일괄 추가.
+     * 단일 PreparedStatement에 addBatch 후 executeBatch 1회 실행.
+     */
+    public void insertDeliveryLines(Connection conn, int deliveryId, int poid, List<DeliveryLineRow> rows)
+            throws SQLException {
+        String sql = """
+                INSERT INTO DeliveryLine(DeliveryID, POID, LineNo, ReceivedQty, InspectionResult)
+                VALUES (?, ?, ?, ?, ?)
+                """;
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (DeliveryLineRow row : rows) {
+                ps.setInt(1, deliveryId);
+                ps.setInt(2, poid);
+                ps.setInt(3, row.lineNo());
+                ps.setInt(4, row.receivedQty());
+                ps.setString(5, row.inspectionResult());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
 }
@@ -0,0 +1,61 @@
+package hw10.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 프로젝트 월별 배출 집계(ProjectEmissionMonthly) 리포지토리.
+ * 배출 기록 적재 시 증분 반영은 DB 트리거 담당, 여기서는 재계산 및 검증.
+ */
+public final class EmissionRollupRepository {
+
+    // 재계산 결과. corrected: 재계산 전 원본과 불일치했던 프로젝트 수.
+    public record RebuildResult(int groups, int corrected) {
+    }
+
+    // 배출량 비교 허용 오차. 증분 합산 시 부동소수점 오차 보정.
+    private static final double AMOUNT_TOLERANCE = 0.001;
+
+    /**
+     * 집계 테이블과 원본 귀속 결과(EmissionAttribution)가 다른 프로젝트 ID 목록.
+     */
+    public List<Integer> findMismatches(Connection conn) throws SQLException {
+        String sql = """
+                WITH live AS (
+                  SELECT ProjectID, EmissionType, Month, SUM(CO2eAmount) AS amount, COUNT(*) AS cnt
+                  FROM EmissionAttribution
+                  GROUP BY ProjectID, EmissionType, Month
+                )
+                SELECT DISTINCT COALESCE(l.ProjectID, r.ProjectID) AS ProjectID
+                FROM live l
+                FULL JOIN ProjectEmissionMonthly r
+                  ON r.ProjectID = l.ProjectID AND r.EmissionType = l.EmissionType AND r.Month = l.Month
+                WHERE COALESCE(l.cnt, 0) <> COALESCE(r.RecordCount, 0)
+                   OR ABS(COALESCE(l.amount, 0) - COALESCE(r.CO2eAmount, 0)) > ?
+                ORDER BY ProjectID
+                """;
+        return SummaryRebuild.findIds(conn, sql, AMOUNT_TOLERANCE);
+    }
+
+    /**
+     * 원본 배출 기록 기준 전체 재계산 후 검증 (SummaryRebuild 절차).
+     */
+    public RebuildResult rebuild(Connection conn) throws SQLException {
+        SummaryRebuild.Outcome o = SummaryRebuild.rebuild(conn, "ProjectEmissionMonthly", this::findMismatches,
+                c -> {
+                    try (Statement st = c.createStatement()) {
+                        st.executeUpdate("DELETE FROM ProjectEmissionMonthly");
+                        return st.executeUpdate("""
+                                INSERT INTO ProjectEmissionMonthly (ProjectID, EmissionType, Month, CO2eAmount, RecordCount)
+                                SELECT ProjectID, EmissionType, Month, SUM(CO2eAmount), COUNT(*)
+                                FROM EmissionAttribution
+                                GROUP BY ProjectID, EmissionType, Month
+                                """);
+                    }
+                },
+                "배출 집계 재계산 검증 실패 - 불일치 프로젝트: ");
+        return new RebuildResult(o.rows(), o.corrected());
+    }
+}
@@ -2,31 +2,169 @@ package hw10.repository;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 창고 재고 관리 리포지토리.
+ * 수량 증감은 이동 원장(InventoryMovement)에 기록, 재고(Inventory)에는 원장 반영 시 합산.
  */
 public final class InventoryRepository {
 
+    // 재고 증감 일괄 처리용 레코드.
+    public record InventoryDelta(int partId, int deltaQty) {
+    }
+
+    // 창고 재고 조회 결과 레코드.
+    public record InventoryRow(int partId, String partName, String unit, int quantity) {
+    }
+
+    // 원장 반영 결과 레코드. movements: 반영(삭제)한 원장 행 수, rows: 갱신/생성한 재고 행 수.
+    public record CompactResult(int movements, int rows) {
+    }
+
+    // 미반영 원장 현황 레코드. lagMs: 가장 오래된 행 경과 시간 (원장 비었으면 0).
+    public record PendingMovements(long count, long lagMs) {
+    }
+
     /**
-     * 창고 부품 수량 증감 처리. (deltaQty 음수 시 차감)
-     * 존재 시 수량 업데이트, 미존재 시 신규 삽입 (Upsert).
+     * 특정 창고의 부품별 재고 조회. 부품명 순 정렬.
+     * 재고 수량 + 미반영 이동 원장 합계 (한 문장, 같은 스냅샷).
+     * 재고 기본키 (WarehouseID, PartID), 원장 idx_inventorymovement_warehouse 선두 컬럼 탐색.
      */
-    public void addInventory(Connection conn, int warehouseId, int partId, int deltaQty) throws SQLException {
-        // 재고 존재 시 합산, 미존재 시 신규 생성 쿼리.
+    public List<InventoryRow> findByWarehouse(Connection conn, int warehouseId) throws SQLException {
         String sql = """
-                INSERT INTO Inventory(WarehouseID, PartID, Quantity)
-                VALUES (?, ?, ?)
-                ON CONFLICT (WarehouseID, PartID)
-                DO UPDATE SET Quantity = Inventory.Quantity + EXCLUDED.Quantity
+                SELECT s.PartID, p.Name AS PartName, p.Unit, s.Quantity
+                FROM (
+                    SELECT u.PartID, SUM(u.Quantity) AS Quantity
+                    FROM (
+                        SELECT PartID, Quantity FROM Inventory WHERE WarehouseID = ?
+                        UNION ALL
+                        SELECT PartID, DeltaQty FROM InventoryMovement WHERE WarehouseID = ?
+                    ) u
+                    GROUP BY u.PartID
+                ) s
+                INNER JOIN Part p ON s.PartID = p.PartID
+                ORDER BY p.Name
                 """;
-
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, warehouseId);
-            ps.setInt(2, partId);
-            ps.setInt(3, deltaQty);
+            ps.setInt(2, warehouseId);
+            try (ResultSet rs = ps.executeQuery()) {
+                List<InventoryRow> out = new ArrayList<>();
+                while (rs.next()) {
+                    out.add(new InventoryRow(
+                            rs.getInt("PartID"),
+                            rs.getString("PartName"),
+                            rs.getString("Unit"),
+                            rs.getInt("Quantity")));
+                }
+                return out;
+            }
+        }
+    }
+
+    /**
+     * 창고 부품 수량 증감 기록. (deltaQty 음수 시 차감)
+     * 이동 원장에 행 추가만 수행, 재고 행 잠금 없음. 재고 반영은 compact.
+     */
+    public void appendMovement(Connection conn, int warehouseId, int partId, int deltaQty, Integer poid,
+            Integer deliveryId) throws SQLException {
+        String sql = """
+                INSERT INTO InventoryMovement(WarehouseID, PartID, DeltaQty, POID, DeliveryID)
+                VALUES (?, ?, ?, ?, ?)
+                """;
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            bindMovement(ps, warehouseId, partId, deltaQty, poid, deliveryId);
             ps.executeUpdate();
         }
     }
+
+    /**
+     * 창고 부품 수량 증감 일괄 기록.
+     * 원장은 행 추가만 하므로 동일 부품 합산 불필요 (항목별 1행, 다중 VALUES 변환 가능).
+     */
+    public void appendMovements(Connection conn, int warehouseId, List<InventoryDelta> deltas, Integer poid,
+            Integer deliveryId) throws SQLException {
+        String sql = """
+                INSERT INTO InventoryMovement(WarehouseID, PartID, DeltaQty, POID, DeliveryID)
+                VALUES (?, ?, ?, ?, ?)
+                """;
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (InventoryDelta d : deltas) {
+                bindMovement(ps, warehouseId, d.partId(), d.deltaQty(), poid, deliveryId);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /**
+     * 이동 원장 반영. 오래된 원장 행 최대 limit건을 삭제하면서 창고·부품별 합계를 재고에 합산 (Upsert).
+     * 다른 반영 작업이 잠근 원장 행은 건너뜀 (SKIP LOCKED).
+     * 재고 행은 키 순서로 갱신하여 동시 반영 간 교착상태 방지.
+     * 호출 측 트랜잭션에서 실행 (삭제와 합산이 함께 커밋/롤백되어야 함).
+     */
+    public CompactResult compact(Connection conn, int limit) throws SQLException {
+        String sql = """
+                WITH moved AS (
+                    DELETE FROM InventoryMovement
+                    WHERE MovementID IN (
+                        SELECT MovementID FROM InventoryMovement
+                        ORDER BY MovementID
+                        LIMIT ?
+                        FOR UPDATE SKIP LOCKED
+                    )
+                    RETURNING WarehouseID, PartID, DeltaQty
+                ), folded AS (
+                    INSERT INTO Inventory AS t (WarehouseID, PartID, Quantity)
+                    SELECT WarehouseID, PartID, SUM(DeltaQty)
+                    FROM moved
+                    GROUP BY WarehouseID, PartID
+                    ORDER BY WarehouseID, PartID
+                    ON CONFLICT (WarehouseID, PartID)
+                    DO UPDATE SET Quantity = t.Quantity + EXCLUDED.Quantity
+                    RETURNING 1
+                )
+                SELECT (SELECT COUNT(*) FROM moved) AS Movements, (SELECT COUNT(*) FROM folded) AS Rows
+                """;
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return new CompactResult(rs.getInt("Movements"), rs.getInt("Rows"));
+            }
+        }
+    }
+
+    /**
+     * 미반영 원장 현황. 행 수와 가장 오래된 행의 경과 시간.
+     */
+    public PendingMovements pendingMovements(Connection conn) throws SQLException {
+        String sql = """
+                SELECT COUNT(*) AS Pending,
+                       COALESCE(EXTRACT(EPOCH FROM (CURRENT_TIMESTAMP - MIN(CreatedAt))) * 1000, 0) AS LagMs
+                FROM InventoryMovement
+                """;
+        try (PreparedStatement ps = conn.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            return new PendingMovements(rs.getLong("Pending"), rs.getLong("LagMs"));
+        }
+    }
+
+    private static void bindMovement(PreparedStatement ps, int warehouseId, int partId, int deltaQty, Integer poid,
+            Integer deliveryId) throws SQLException {
+        ps.setInt(1, warehouseId);
+        ps.setInt(2, partId);
+        ps.setInt(3, deltaQty);
+        ps.setObject(4, poid, Types.INTEGER);
+        ps.setObject(5, deliveryId, Types.INTEGER);
+    }
 }
@@ -0,0 +1,55 @@
+package hw10.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 메인 대시보드 요약 집계 리포지토리.
+ */
+public final class MainRepository {
+
+    // 요약 집계 결과. avgEsgScore: A=4 ~ D=1 환산 평균.
+    public record SummaryRow(
+            int activeProjects,
+            double totalEmission,
+            int delayedDeliveries,
+            double avgEsgScore) {
+    }
+
+    /**
+     * 활성 프로젝트 수, 총 탄소 배출량, 지연 배송 건수, ESG 평균 점수 단일 쿼리 집계.
+     */
+    public SummaryRow summary(Connection conn) throws SQLException {
+        // 1. '인도완료' 제외 프로젝트 수
+        // 2. 전체 탄소 배출량
+        // 3. 상태 '지연' 배송 건수
+        // 4. ESG 등급 점수 환산 평균 (등급 미존재 업체 제외)
+        String sql = """
+                SELECT
+                  (SELECT COUNT(*) FROM ShipProject WHERE Status != '인도완료') AS active_projects,
+                  (SELECT COALESCE(SUM(CO2eAmount), 0) FROM CarbonEmissionRecord) AS total_emission,
+                  (SELECT COUNT(*) FROM Delivery WHERE Status = '지연') AS delayed_deliveries,
+                  (SELECT AVG(
+                       CASE ESGGrade
+                           WHEN 'A' THEN 4
+                           WHEN 'B' THEN 3
+                           WHEN 'C' THEN 2
+                           WHEN 'D' THEN 1
+                           ELSE 0
+                       END)
+                   FROM Supplier
+                   WHERE ESGGrade IS NOT NULL) AS avg_grade
+                """;
+        try (PreparedStatement ps = conn.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            return new SummaryRow(
+                    rs.getInt("active_projects"),
+                    rs.getDouble("total_emission"),
+                    rs.getInt("delayed_deliveries"),
+                    rs.getDouble("avg_grade"));
+        }
+    }
+}
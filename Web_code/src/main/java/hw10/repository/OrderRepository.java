@@ -4,12 +4,17 @@ import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * 발주(PurchaseOrder) 정보 저장 리포지토리.
  */
 public final class OrderRepository {
 
+    // 발주 상세 품목 일괄 저장용 레코드.
+    public record PurchaseOrderLineRow(int lineNo, int partId, int quantity, double unitPrice, Date requestedDueDate) {
+    }
+
     /**
      * 발주 기본 정보(PurchaseOrder) DB 저장.
      * POID, 날짜, 상태, 담당자, 프로젝트ID, 공급사ID 포함.
@@ -53,4 +58,29 @@ public final class OrderRepository {
             ps.executeUpdate();
         }
     }
+
+    /**
+     * 발주 상세 품목(PurchaseOrderLine) 일괄 저장.
+     * 단일 PreparedStatement에 addBatch 후 executeBatch 1회 실행.
+     */
+    public void insertPurchaseOrderLines(Connection conn, int poid, List<PurchaseOrderLineRow> rows)
+            throws SQLException {
+        String sql = """
+                INSERT INTO PurchaseOrderLine(POID, LineNo, PartID, Quantity, UnitPriceAtOrder, RequestedDueDate)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """;
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (PurchaseOrderLineRow row : rows) {
+                ps.setInt(1, poid);
+                ps.setInt(2, row.lineNo());
+                ps.setInt(3, row.partId());
+                ps.setInt(4, row.quantity());
+                ps.setDouble(5, row.unitPrice());
+                ps.setDate(6, row.requestedDueDate());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
 }
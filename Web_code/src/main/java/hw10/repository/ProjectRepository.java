@@ -5,6 +5,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -30,6 +31,20 @@ public final class ProjectRepository {
     public record ProjectSearchItem(int projectId, String shipName, String shipType, String status) {
     }
 
+    // 대시보드 통계 레코드. 기본 정보, 총 발주액, 유형별 배출량 포함.
+    public record ProjectStats(
+            ProjectBasic project,
+            double totalOrderAmount,
+            double totalEmission,
+            double transportEmission,
+            double storageEmission,
+            double processingEmission) {
+    }
+
+    // 유형별 배출량 합계 (가공: 가공+생산).
+    public record EmissionSums(double total, double transport, double storage, double processing) {
+    }
+
     /**
      * 프로젝트 ID로 상세 정보 조회.
      * 미존재 시 null 반환.
@@ -61,22 +76,23 @@ public final class ProjectRepository {
 
     /**
      * 선박 이름으로 프로젝트 검색 (부분 일치).
-     * 페이징 처리 (limit, offset).
+     * 키셋 페이징: afterId 초과 프로젝트 ID부터 limit건 (PK 인덱스 탐색).
      */
-    public List<ProjectSearchItem> searchProjectsByShipName(Connection conn, String keyword, int limit, int offset)
+    public List<ProjectSearchItem> searchProjectsByShipName(Connection conn, String keyword, int afterId, int limit)
             throws SQLException {
         String sql = """
                 SELECT ProjectID, ShipName, ShipType, Status
                 FROM ShipProject
                 WHERE ShipName ILIKE ?
+                  AND ProjectID > ?
                 ORDER BY ProjectID
-                LIMIT ? OFFSET ?
+                LIMIT ?
                 """;
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setString(1, "%" + keyword + "%");
-            ps.setInt(2, limit);
-            ps.setInt(3, offset);
+            ps.setInt(2, afterId);
+            ps.setInt(3, limit);
 
             try (ResultSet rs = ps.executeQuery()) {
                 List<ProjectSearchItem> out = new ArrayList<>();
@@ -92,6 +108,55 @@ public final class ProjectRepository {
         }
     }
 
+    /**
+     * 전체 프로젝트 요약 조회. 검색 색인 구축용.
+     */
+    public List<ProjectSearchItem> findAllProjectSearchItems(Connection conn) throws SQLException {
+        String sql = """
+                SELECT ProjectID, ShipName, ShipType, Status
+                FROM ShipProject
+                ORDER BY ProjectID
+                """;
+        try (PreparedStatement ps = conn.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            List<ProjectSearchItem> out = new ArrayList<>();
+            while (rs.next()) {
+                out.add(new ProjectSearchItem(
+                        rs.getInt("ProjectID"),
+                        rs.getString("ShipName"),
+                        rs.getString("ShipType"),
+                        rs.getString("Status")));
+            }
+            return out;
+        }
+    }
+
+    /**
+     * 프로젝트 여러 건 검색용 요약 일괄 조회. 미존재 ID는 결과에서 제외.
+     */
+    public List<ProjectSearchItem> findProjectSearchItems(Connection conn, Collection<Integer> projectIds)
+            throws SQLException {
+        String sql = """
+                SELECT ProjectID, ShipName, ShipType, Status
+                FROM ShipProject
+                WHERE ProjectID = ANY(?)
+                """;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setArray(1, conn.createArrayOf("integer", projectIds.toArray()));
+            try (ResultSet rs = ps.executeQuery()) {
+                List<ProjectSearchItem> out = new ArrayList<>();
+                while (rs.next()) {
+                    out.add(new ProjectSearchItem(
+                            rs.getInt("ProjectID"),
+                            rs.getString("ShipName"),
+                            rs.getString("ShipType"),
+                            rs.getString("Status")));
+                }
+                return out;
+            }
+        }
+    }
+
     /**
      * 특정 프로젝트의 총 발주 금액 계산.
      * (수량 * 단가) 합계 산출.
@@ -145,78 +210,96 @@ public final class ProjectRepository {
     }
 
     /**
-     * 배출 유형별(운송/보관/가공) 탄소 배출량 합계.
-     * 프로젝트 자체 배출 및 배송 배출 합산.
+     * 배출 유형별(운송/보관/가공+생산) 합계 및 총합 일괄 조회.
+     * 월별 집계 테이블 1회 조회.
      */
-    public double emissionSumByType(Connection conn, int projectId, String emissionType) throws SQLException {
+    public EmissionSums emissionSums(Connection conn, int projectId) throws SQLException {
         String sql = """
-                SELECT COALESCE(SUM(c.CO2eAmount), 0) AS s
-                FROM CarbonEmissionRecord c
-                WHERE c.EmissionType = ?
-                  AND (
-                        c.ProjectID = ?
-                        OR c.DeliveryID IN (
-                            SELECT d.DeliveryID
-                            FROM Delivery d
-                            JOIN PurchaseOrder po ON po.POID = d.POID
-                            WHERE po.ProjectID = ?
-                        )
-                  )
+                SELECT COALESCE(SUM(c.CO2eAmount), 0) AS total,
+                       COALESCE(SUM(c.CO2eAmount) FILTER (WHERE c.EmissionType = '운송'), 0) AS transport,
+                       COALESCE(SUM(c.CO2eAmount) FILTER (WHERE c.EmissionType = '보관'), 0) AS storage,
+                       COALESCE(SUM(c.CO2eAmount) FILTER (WHERE c.EmissionType IN ('가공', '생산')), 0) AS processing
+                FROM ProjectEmissionMonthly c
+                WHERE c.ProjectID = ?
                 """;
 
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, emissionType);
-            ps.setInt(2, projectId);
-            ps.setInt(3, projectId);
+            ps.setInt(1, projectId);
             try (ResultSet rs = ps.executeQuery()) {
                 rs.next();
-                return rs.getDouble("s");
+                return new EmissionSums(
+                        rs.getDouble("total"),
+                        rs.getDouble("transport"),
+                        rs.getDouble("storage"),
+                        rs.getDouble("processing"));
             }
         }
     }
 
     /**
-     * 프로젝트 전체 탄소 배출량 총합 산출.
-     * 유형 불문 합산.
+     * 대시보드 통계 단일 쿼리 조회.
+     * 기본 정보, 총 발주액, 유형별(운송/보관/가공+생산) 배출량을 한 번에 집계.
+     * 프로젝트 미존재 시 null 반환.
      */
-    public double emissionSumTotal(Connection conn, int projectId) throws SQLException {
+    public ProjectStats dashboardStats(Connection conn, int projectId) throws SQLException {
+        // 1. 프로젝트 총 발주 금액 (order_amount)
+        // 2. 프로젝트 월별 배출 집계에서 유형별 FILTER 합산 (emission)
+        // 3. 프로젝트 기본 정보와 병합
         String sql = """
-                SELECT COALESCE(SUM(c.CO2eAmount), 0) AS s
-                FROM CarbonEmissionRecord c
-                WHERE (
-                        c.ProjectID = ?
-                        OR c.DeliveryID IN (
-                            SELECT d.DeliveryID
-                            FROM Delivery d
-                            JOIN PurchaseOrder po ON po.POID = d.POID
-                            WHERE po.ProjectID = ?
-                        )
-                  )
+                WITH order_amount AS (
+                  SELECT COALESCE(SUM(pol.Quantity * pol.UnitPriceAtOrder), 0) AS total_amount
+                  FROM PurchaseOrder po
+                  JOIN PurchaseOrderLine pol ON pol.POID = po.POID
+                  WHERE po.ProjectID = ?
+                ),
+                emission AS (
+                  SELECT COALESCE(SUM(c.CO2eAmount), 0) AS total,
+                         COALESCE(SUM(c.CO2eAmount) FILTER (WHERE c.EmissionType = '운송'), 0) AS transport,
+                         COALESCE(SUM(c.CO2eAmount) FILTER (WHERE c.EmissionType = '보관'), 0) AS storage,
+                         COALESCE(SUM(c.CO2eAmount) FILTER (WHERE c.EmissionType IN ('가공', '생산')), 0) AS processing
+                  FROM ProjectEmissionMonthly c
+                  WHERE c.ProjectID = ?
+                )
+                SELECT p.ProjectID, p.ShipName, p.ShipType, p.ContractDate, p.DeliveryDueDate, p.Status,
+                       oa.total_amount, e.total, e.transport, e.storage, e.processing
+                FROM ShipProject p
+                CROSS JOIN order_amount oa
+                CROSS JOIN emission e
+                WHERE p.ProjectID = ?
                 """;
+
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, projectId);
             ps.setInt(2, projectId);
+            ps.setInt(3, projectId);
+
             try (ResultSet rs = ps.executeQuery()) {
-                rs.next();
-                return rs.getDouble("s");
+                if (!rs.next())
+                    return null;
+                ProjectBasic basic = new ProjectBasic(
+                        rs.getInt("ProjectID"),
+                        rs.getString("ShipName"),
+                        rs.getString("ShipType"),
+                        rs.getDate("ContractDate"),
+                        rs.getDate("DeliveryDueDate"),
+                        rs.getString("Status"));
+                return new ProjectStats(
+                        basic,
+                        rs.getDouble("total_amount"),
+                        rs.getDouble("total"),
+                        rs.getDouble("transport"),
+                        rs.getDouble("storage"),
+                        rs.getDouble("processing"));
             }
         }
     }
 
     /**
      * 탄소 집약도(Carbon Intensity) 계산.
-     * 총 배출량 / 총 발주금액 * 1,000,000.
-     * 소수점 첫째 자리 반올림.
+     * 총 배출량 / 총 발주금액 * 1,000,000, 소수점 첫째 자리 반올림.
+     * 금액 0일 경우 계산 불가, null 반환.
      */
-    public Double calculateCarbonIntensity(Connection conn, int projectId) throws SQLException {
-
-        // 총 배출량 조회.
-        double totalEmissionKg = emissionSumTotal(conn, projectId);
-
-        // 총 발주금액 조회.
-        double totalAmountKRW = totalOrderAmount(conn, projectId);
-
-        // 금액 0일 경우 계산 불가, null 반환.
+    public static Double carbonIntensity(double totalEmissionKg, double totalAmountKRW) {
         if (totalAmountKRW == 0)
             return null;
 
@@ -0,0 +1,201 @@
+package hw10.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 기준 정보(프로젝트, 공급사, 부품, 창고) 조회 리포지토리.
+ * 드롭다운 옵션 및 일괄 등록 검증용 ID 조회.
+ */
+public final class ReferenceRepository {
+
+    // 공급업체 옵션 레코드.
+    public record SupplierOption(int supplierId, String name, String country) {
+    }
+
+    // 창고 옵션 레코드.
+    public record WarehouseOption(int warehouseId, String name, String location) {
+    }
+
+    // 부품 옵션 레코드. 공급사 평균 단가 포함.
+    public record PartOption(int partId, String name, String unit, double unitPrice) {
+    }
+
+    // 조회 가능 테이블.컬럼 목록.
+    private static final Map<String, String> ID_SQL = Map.of(
+            "ShipProject.ProjectID", "SELECT ProjectID AS id FROM ShipProject",
+            "Supplier.SupplierID", "SELECT SupplierID AS id FROM Supplier",
+            "Part.PartID", "SELECT PartID AS id FROM Part",
+            "Warehouse.WarehouseID", "SELECT WarehouseID AS id FROM Warehouse");
+
+    /**
+     * 테이블 전체 ID 집합 조회.
+     * tableDotCol: "테이블명.컬럼명" 형식 필수.
+     */
+    public Set<Integer> findAllIds(Connection conn, String tableDotCol) throws SQLException {
+        String sql = ID_SQL.get(tableDotCol);
+        if (sql == null) {
+            throw new IllegalArgumentException("허용되지 않은 ID 컬럼: " + tableDotCol);
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            Set<Integer> ids = new HashSet<>();
+            while (rs.next()) {
+                ids.add(rs.getInt("id"));
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * 공급업체 목록 전체 조회. 이름 순 정렬.
+     */
+    public List<SupplierOption> findSupplierOptions(Connection conn) throws SQLException {
+        String sql = "SELECT SupplierID, Name, Country FROM Supplier ORDER BY Name";
+        try (PreparedStatement ps = conn.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            List<SupplierOption> out = new ArrayList<>();
+            while (rs.next()) {
+                out.add(new SupplierOption(
+                        rs.getInt("SupplierID"),
+                        rs.getString("Name"),
+                        rs.getString("Country")));
+            }
+            return out;
+        }
+    }
+
+    /**
+     * 창고 목록 조회. 이름 순 정렬.
+     */
+    public List<WarehouseOption> findWarehouseOptions(Connection conn) throws SQLException {
+        String sql = "SELECT WarehouseID, Name, Location FROM Warehouse ORDER BY Name";
+        try (PreparedStatement ps = conn.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            List<WarehouseOption> out = new ArrayList<>();
+            while (rs.next()) {
+                out.add(new WarehouseOption(
+                        rs.getInt("WarehouseID"),
+                        rs.getString("Name"),
+                        rs.getString("Location")));
+            }
+            return out;
+        }
+    }
+
+    /**
+     * 부품 검색. 키워드 존재 시 이름 검색(20개), 부재 시 전체 조회(50개).
+     * 평균 단가 포함하여 반환.
+     */
+    public List<PartOption> searchPartOptions(Connection conn, String keyword) throws SQLException {
+        boolean hasKeyword = keyword != null && !keyword.trim().isEmpty();
+
+        String sql;
+        // 키워드 미존재 시 전체 조회 (상위 50개)
+        if (!hasKeyword) {
+            sql = """
+                    SELECT p.PartID, p.Name, p.Unit,
+                           COALESCE(AVG(sp.UnitPrice), 0.0) AS UnitPrice
+                    FROM Part p
+                    LEFT JOIN SupplierPart sp ON p.PartID = sp.PartID
+                    GROUP BY p.PartID, p.Name, p.Unit
+                    ORDER BY p.Name
+                    LIMIT 50
+                    """;
+        } else {
+            // 키워드 존재 시 이름 검색 (상위 20개)
+            sql = """
+                    SELECT p.PartID, p.Name, p.Unit,
+                           COALESCE(AVG(sp.UnitPrice), 0.0) AS UnitPrice
+                    FROM Part p
+                    LEFT JOIN SupplierPart sp ON p.PartID = sp.PartID
+                    WHERE p.Name ILIKE ?
+                    GROUP BY p.PartID, p.Name, p.Unit
+                    ORDER BY p.Name
+                    LIMIT 20
+                    """;
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (hasKeyword) {
+                ps.setString(1, "%" + keyword + "%");
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                List<PartOption> out = new ArrayList<>();
+                while (rs.next()) {
+                    out.add(new PartOption(
+                            rs.getInt("PartID"),
+                            rs.getString("Name"),
+                            rs.getString("Unit"),
+                            rs.getDouble("UnitPrice")));
+                }
+                return out;
+            }
+        }
+    }
+
+    /**
+     * 전체 부품 및 평균 단가 조회. 검색 색인 구축용.
+     */
+    public List<PartOption> findAllPartOptions(Connection conn) throws SQLException {
+        String sql = """
+                SELECT p.PartID, p.Name, p.Unit,
+                       COALESCE(AVG(sp.UnitPrice), 0.0) AS UnitPrice
+                FROM Part p
+                LEFT JOIN SupplierPart sp ON p.PartID = sp.PartID
+                GROUP BY p.PartID, p.Name, p.Unit
+                ORDER BY p.PartID
+                """;
+
+        try (PreparedStatement ps = conn.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            List<PartOption> out = new ArrayList<>();
+            while (rs.next()) {
+                out.add(new PartOption(
+                        rs.getInt("PartID"),
+                        rs.getString("Name"),
+                        rs.getString("Unit"),
+                        rs.getDouble("UnitPrice")));
+            }
+            return out;
+        }
+    }
+
+    /**
+     * 부품 여러 건 및 평균 단가 일괄 조회. 미존재 ID는 결과에서 제외.
+     */
+    public List<PartOption> findPartOptions(Connection conn, Collection<Integer> partIds) throws SQLException {
+        String sql = """
+                SELECT p.PartID, p.Name, p.Unit,
+                       COALESCE(AVG(sp.UnitPrice), 0.0) AS UnitPrice
+                FROM Part p
+                LEFT JOIN SupplierPart sp ON p.PartID = sp.PartID
+                WHERE p.PartID = ANY(?)
+                GROUP BY p.PartID, p.Name, p.Unit
+                """;
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setArray(1, conn.createArrayOf("integer", partIds.toArray()));
+            try (ResultSet rs = ps.executeQuery()) {
+                List<PartOption> out = new ArrayList<>();
+                while (rs.next()) {
+                    out.add(new PartOption(
+                            rs.getInt("PartID"),
+                            rs.getString("Name"),
+                            rs.getString("Unit"),
+                            rs.getDouble("UnitPrice")));
+                }
+                return out;
+            }
+        }
+    }
+}
@@ -1,22 +1,37 @@
 package hw10.repository;
 
+import hw10.util.Logger;
+
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * ID 자동 생성 유틸리티 리포지토리.
- * 테이블별 ID 조회 및 생성.
+ * PostgreSQL 시퀀스 기반 블록 할당(hi/lo). 블록 소진 전까지 DB 조회 없이 메모리에서 채번.
+ * 시퀀스 미존재/증가폭 오류 시 채번 실패 (MAX(id)+1은 다른 프로세스가 확보한 블록과 충돌하므로 대체하지 않음).
  */
 public final class SequenceGenerator {
 
-    // ID 생성 가능 테이블.컬럼 목록.
-    private static final Set<String> ALLOWED = Set.of(
-            "PurchaseOrder.POID",
-            "Delivery.DeliveryID",
-            "CarbonEmissionRecord.RecordID");
+    // ID 생성 가능 테이블.컬럼 목록 및 대응 시퀀스.
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "PurchaseOrder.POID", "purchaseorder_poid_seq",
+            "Delivery.DeliveryID", "delivery_deliveryid_seq",
+            "CarbonEmissionRecord.RecordID", "carbonemissionrecord_recordid_seq");
+
+    // 테이블별 할당 블록. 요청마다 생성되는 인스턴스 간 공유.
+    private static final Map<String, IdBlock> BLOCKS = new ConcurrentHashMap<>();
+
+    // 테이블별 시퀀스 증가폭(블록 크기). 정상 조회된 값만 보관 (실패 시 다음 호출에서 재조회).
+    private static final Map<String, Long> BLOCK_SIZES = new ConcurrentHashMap<>();
+
+    // 테이블별 블록 재할당 잠금. 잠금 중 DB 조회가 있어 synchronized 대신 사용 (가상 스레드 고정 방지).
+    private static final Map<String, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
 
     /**
      * 다음 ID 번호 채번.
@@ -25,22 +40,95 @@ public final class SequenceGenerator {
     public int nextId(Connection conn, String tableDotCol) throws SQLException {
 
         // 허용된 컬럼 확인 (SQL 인젝션 방지).
-        if (!ALLOWED.contains(tableDotCol)) {
+        String sequence = SEQUENCES.get(tableDotCol);
+        if (sequence == null) {
             throw new IllegalArgumentException("허용되지 않은 ID 컬럼: " + tableDotCol);
         }
 
-        // 테이블 및 컬럼 분리.
-        String[] parts = tableDotCol.split("\\.");
-        String table = parts[0];
-        String col = parts[1];
+        // 현재 블록에서 채번. (락 없음)
+        IdBlock block = BLOCKS.get(tableDotCol);
+        long id = block == null ? -1 : block.take();
+        if (id > 0) {
+            return Math.toIntExact(id);
+        }
+
+        // 블록 소진 시 테이블 단위로 한 스레드만 재할당.
+        ReentrantLock lock = LOCKS.computeIfAbsent(tableDotCol, k -> new ReentrantLock());
+        lock.lock();
+        try {
+            block = BLOCKS.get(tableDotCol);
+            id = block == null ? -1 : block.take();
+            if (id > 0) {
+                return Math.toIntExact(id);
+            }
+
+            Long blockSize = BLOCK_SIZES.get(tableDotCol);
+            if (blockSize == null) {
+                blockSize = lookupBlockSize(conn, sequence);
+                BLOCK_SIZES.put(tableDotCol, blockSize);
+            }
+
+            block = allocateBlock(conn, sequence, blockSize);
+            BLOCKS.put(tableDotCol, block);
+            return Math.toIntExact(block.take());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 시퀀스 증가폭 조회. 미존재 또는 증가폭 1 미만 시 SQLException.
+    private static long lookupBlockSize(Connection conn, String sequence) throws SQLException {
+        String sql = """
+                SELECT increment_by
+                FROM pg_sequences
+                WHERE schemaname = current_schema() AND sequencename = ?
+                """;
 
-        // 최대값 + 1 조회 쿼리. 미존재 시 1.
-        String sql = "SELECT COALESCE(MAX(" + col + "), 0) + 1 AS next_id FROM " + table;
+        long increment = 0;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, sequence);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    increment = rs.getLong("increment_by");
+                }
+            }
+        }
+
+        if (increment < 1) {
+            String message = "ID 시퀀스 미존재 또는 증가폭 오류: " + sequence
+                    + " (increment_by=" + increment + ", db/migration/V1__id_sequences.sql 적용 필요)";
+            Logger.warn(message);
+            throw new SQLException(message);
+        }
+        return increment;
+    }
+
+    // 시퀀스에서 다음 블록 상한값(hi) 조회. 블록 범위: (hi - blockSize, hi].
+    private static IdBlock allocateBlock(Connection conn, String sequence, long blockSize) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT nextval(?::regclass) AS hi")) {
+            ps.setString(1, sequence);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                long hi = rs.getLong("hi");
+                return new IdBlock(hi - blockSize + 1, hi);
+            }
+        }
+    }
+
+    // 할당된 ID 범위. next 증가만으로 채번하여 경합 없음.
+    private static final class IdBlock {
+        private final AtomicLong next;
+        private final long last;
+
+        private IdBlock(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
 
-        try (PreparedStatement ps = conn.prepareStatement(sql);
-                ResultSet rs = ps.executeQuery()) {
-            rs.next();
-            return rs.getInt("next_id");
+        // 범위 내 다음 ID. 소진 시 -1.
+        private long take() {
+            long id = next.getAndIncrement();
+            return id <= last ? id : -1;
         }
     }
 }
@@ -0,0 +1,66 @@
+package hw10.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 요약 테이블(SupplierKpi, ProjectEmissionMonthly) 재계산/검증 공통 절차.
+ * 테이블 잠금 -> 불일치 집계 -> 재적재 -> 재검증.
+ */
+final class SummaryRebuild {
+
+    // 커넥션 단위 SQL 작업.
+    @FunctionalInterface
+    interface SqlWork<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    // 재적재 행 수, 재계산 전 불일치 건수.
+    record Outcome(int rows, int corrected) {
+    }
+
+    private SummaryRebuild() {
+    }
+
+    /**
+     * 허용 오차를 첫 번째 파라미터로 받는 불일치 조회. 첫 컬럼(ID) 목록 반환.
+     */
+    static List<Integer> findIds(Connection conn, String sql, double tolerance) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setDouble(1, tolerance);
+            try (ResultSet rs = ps.executeQuery()) {
+                List<Integer> out = new ArrayList<>();
+                while (rs.next()) {
+                    out.add(rs.getInt(1));
+                }
+                return out;
+            }
+        }
+    }
+
+    /**
+     * 전체 재계산 후 검증.
+     * 재계산 중 증분 반영(발주 등록, 트리거) 차단 (테이블 잠금). 커밋/롤백은 호출 측 담당.
+     * 검증 실패 시 SQLException (호출 측 롤백).
+     */
+    static Outcome rebuild(Connection conn, String table, SqlWork<List<Integer>> mismatches,
+            SqlWork<Integer> refill, String failure) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute("LOCK TABLE " + table + " IN SHARE ROW EXCLUSIVE MODE");
+        }
+
+        int corrected = mismatches.run(conn).size();
+        int rows = refill.run(conn);
+
+        List<Integer> remaining = mismatches.run(conn);
+        if (!remaining.isEmpty()) {
+            throw new SQLException(failure + remaining);
+        }
+        return new Outcome(rows, corrected);
+    }
+}
@@ -0,0 +1,108 @@
+package hw10.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 공급업체 KPI 요약 테이블(SupplierKpi) 리포지토리.
+ * 발주 등록 시 증분 반영, 원본 데이터 기준 재계산 및 검증.
+ */
+public final class SupplierKpiRepository {
+
+    // 재계산 결과. corrected: 재계산 전 원본과 불일치했던 업체 수.
+    public record RebuildResult(int suppliers, int corrected) {
+    }
+
+    // 금액 비교 허용 오차. 증분 합산 시 부동소수점 오차 보정.
+    private static final double AMOUNT_TOLERANCE = 0.01;
+
+    // 원본 테이블 기준 업체별 KPI 집계.
+    private static final String LIVE_SQL = """
+            SELECT s.SupplierID,
+                   COALESCE(ot.total_amount, 0) AS total_amount,
+                   COALESCE(ds.total_deliveries, 0) AS total_deliveries,
+                   COALESCE(ds.delayed_deliveries, 0) AS delayed_deliveries
+            FROM Supplier s
+            LEFT JOIN (
+                SELECT po.SupplierID, SUM(pol.Quantity * pol.UnitPriceAtOrder) AS total_amount
+                FROM PurchaseOrder po
+                JOIN PurchaseOrderLine pol ON pol.POID = po.POID
+                GROUP BY po.SupplierID
+            ) ot ON ot.SupplierID = s.SupplierID
+            LEFT JOIN (
+                SELECT po.SupplierID,
+                       COUNT(*) AS total_deliveries,
+                       SUM(CASE WHEN d.Status = '지연' THEN 1 ELSE 0 END) AS delayed_deliveries
+                FROM PurchaseOrder po
+                JOIN Delivery d ON d.POID = po.POID
+                GROUP BY po.SupplierID
+            ) ds ON ds.SupplierID = s.SupplierID
+            """;
+
+    /**
+     * 발주 1건 증분 반영. 업체 행 미존재 시 생성.
+     * 발주 등록 트랜잭션과 같은 커넥션에서 호출 (롤백 시 함께 취소).
+     */
+    public void applyOrder(Connection conn, int supplierId, double orderAmount,
+            int deliveries, int delayedDeliveries) throws SQLException {
+        String sql = """
+                INSERT INTO SupplierKpi (SupplierID, TotalOrderAmount, TotalDeliveries, DelayedDeliveries, UpdatedAt)
+                VALUES (?, ?, ?, ?, now())
+                ON CONFLICT (SupplierID) DO UPDATE
+                SET TotalOrderAmount = SupplierKpi.TotalOrderAmount + EXCLUDED.TotalOrderAmount,
+                    TotalDeliveries = SupplierKpi.TotalDeliveries + EXCLUDED.TotalDeliveries,
+                    DelayedDeliveries = SupplierKpi.DelayedDeliveries + EXCLUDED.DelayedDeliveries,
+                    UpdatedAt = EXCLUDED.UpdatedAt
+                """;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, supplierId);
+            ps.setDouble(2, orderAmount);
+            ps.setInt(3, deliveries);
+            ps.setInt(4, delayedDeliveries);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * 요약 테이블과 원본 집계가 다른 업체 ID 목록. 업체 ID 순 정렬.
+     */
+    public List<Integer> findMismatches(Connection conn) throws SQLException {
+        String sql = "WITH live AS (" + LIVE_SQL + """
+                )
+                SELECT l.SupplierID
+                FROM live l
+                LEFT JOIN SupplierKpi k ON k.SupplierID = l.SupplierID
+                WHERE COALESCE(k.TotalDeliveries, 0) <> l.total_deliveries
+                   OR COALESCE(k.DelayedDeliveries, 0) <> l.delayed_deliveries
+                   OR ABS(COALESCE(k.TotalOrderAmount, 0) - l.total_amount) > ?
+                ORDER BY l.SupplierID
+                """;
+        return SummaryRebuild.findIds(conn, sql, AMOUNT_TOLERANCE);
+    }
+
+    /**
+     * 원본 데이터 기준 전체 재계산 후 검증 (SummaryRebuild 절차).
+     */
+    public RebuildResult rebuild(Connection conn) throws SQLException {
+        String sql = "INSERT INTO SupplierKpi (SupplierID, TotalOrderAmount, TotalDeliveries, DelayedDeliveries, UpdatedAt) "
+                + "SELECT live.SupplierID, live.total_amount, live.total_deliveries, live.delayed_deliveries, now() "
+                + "FROM (" + LIVE_SQL + ") live "
+                + """
+                ON CONFLICT (SupplierID) DO UPDATE
+                SET TotalOrderAmount = EXCLUDED.TotalOrderAmount,
+                    TotalDeliveries = EXCLUDED.TotalDeliveries,
+                    DelayedDeliveries = EXCLUDED.DelayedDeliveries,
+                    UpdatedAt = EXCLUDED.UpdatedAt
+                """;
+        SummaryRebuild.Outcome o = SummaryRebuild.rebuild(conn, "SupplierKpi", this::findMismatches,
+                c -> {
+                    try (PreparedStatement ps = c.prepareStatement(sql)) {
+                        return ps.executeUpdate();
+                    }
+                },
+                "공급업체 KPI 재계산 검증 실패 - 불일치 업체: ");
+        return new RebuildResult(o.rows(), o.corrected());
+    }
+}
@@ -35,7 +35,7 @@ public final class SupplierRepository {
     /**
      * 공급업체 목록 조회.
      * ESG 등급, 지연율 필터링 지원.
-     * CTE(Common Table Expressions) 사용 통계 계산.
+     * 통계는 KPI 요약 테이블(SupplierKpi) 조회. 업체 수 비례 비용.
      */
     public List<SupplierRow> listSuppliers(Connection conn,
             List<String> esgGrades,
@@ -43,38 +43,18 @@ public final class SupplierRepository {
             Double maxRatio) throws SQLException {
 
         StringBuilder sb = new StringBuilder();
-        // 1. 업체별 총 발주 금액 계산 (order_totals)
-        // 2. 업체별 배송 건수 및 지연 건수 계산 (delivery_stats)
-        // 3. 업체 정보 및 통계 병합 (base)
+        // 업체 정보 및 KPI 병합 (base). KPI 행 미존재 업체는 0 처리.
         sb.append("""
-                WITH order_totals AS (
-                  SELECT po.SupplierID, SUM(pol.Quantity * pol.UnitPriceAtOrder) AS total_amount
-                  FROM PurchaseOrder po
-                  JOIN PurchaseOrderLine pol ON pol.POID = po.POID
-                  GROUP BY po.SupplierID
-                ),
-                delivery_stats AS (
-                  SELECT po.SupplierID,
-                         COUNT(*) AS total_deliveries,
-                         SUM(CASE WHEN d.Status = '지연' THEN 1 ELSE 0 END) AS delayed_deliveries
-                  FROM PurchaseOrder po
-                  JOIN Delivery d ON d.POID = po.POID
-                  GROUP BY po.SupplierID
-                ),
-                base AS (
+                SELECT *
+                FROM (
                   SELECT s.SupplierID, s.Name, s.Country, s.ESGGrade,
-                         COALESCE(ot.total_amount, 0) AS total_order_amount,
-                         COALESCE(ds.delayed_deliveries, 0) AS delayed_deliveries,
-                         COALESCE(ds.total_deliveries, 0) AS total_deliveries,
-                         CASE WHEN COALESCE(ds.total_deliveries, 0) = 0 THEN 0
-                              ELSE (COALESCE(ds.delayed_deliveries, 0)::float / ds.total_deliveries)
-                         END AS delay_ratio
+                         COALESCE(k.TotalOrderAmount, 0) AS total_order_amount,
+                         COALESCE(k.DelayedDeliveries, 0) AS delayed_deliveries,
+                         COALESCE(k.TotalDeliveries, 0) AS total_deliveries,
+                         COALESCE(k.DelayRatio, 0) AS delay_ratio
                   FROM Supplier s
-                  LEFT JOIN order_totals ot ON ot.SupplierID = s.SupplierID
-                  LEFT JOIN delivery_stats ds ON ds.SupplierID = s.SupplierID
-                )
-                SELECT *
-                FROM base
+                  LEFT JOIN SupplierKpi k ON k.SupplierID = s.SupplierID
+                ) base
                 WHERE 1=1
                 """);
 
@@ -132,12 +112,69 @@ public final class SupplierRepository {
         }
     }
 
+    /**
+     * 단일 공급업체 통계 조회. 미존재 시 null 반환.
+     * 각 CTE에 업체 조건 적용하여 해당 업체 발주/배송만 집계.
+     * (SupplierID, ...) 발주 인덱스, 발주 항목 PK, Delivery(POID) 인덱스 사용.
+     */
+    public SupplierRow findSupplierStats(Connection conn, int supplierId) throws SQLException {
+        String sql = """
+                WITH order_totals AS (
+                  SELECT SUM(pol.Quantity * pol.UnitPriceAtOrder) AS total_amount
+                  FROM PurchaseOrder po
+                  JOIN PurchaseOrderLine pol ON pol.POID = po.POID
+                  WHERE po.SupplierID = ?
+                ),
+                delivery_stats AS (
+                  SELECT COUNT(*) AS total_deliveries,
+                         SUM(CASE WHEN d.Status = '지연' THEN 1 ELSE 0 END) AS delayed_deliveries
+                  FROM PurchaseOrder po
+                  JOIN Delivery d ON d.POID = po.POID
+                  WHERE po.SupplierID = ?
+                )
+                SELECT s.SupplierID, s.Name, s.Country, s.ESGGrade,
+                       COALESCE(ot.total_amount, 0) AS total_order_amount,
+                       COALESCE(ds.delayed_deliveries, 0) AS delayed_deliveries,
+                       ds.total_deliveries,
+                       CASE WHEN ds.total_deliveries = 0 THEN 0
+                            ELSE (COALESCE(ds.delayed_deliveries, 0)::float / ds.total_deliveries)
+                       END AS delay_ratio
+                FROM Supplier s
+                CROSS JOIN order_totals ot
+                CROSS JOIN delivery_stats ds
+                WHERE s.SupplierID = ?
+                """;
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, supplierId);
+            ps.setInt(2, supplierId);
+            ps.setInt(3, supplierId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next())
+                    return null;
+                return new SupplierRow(
+                        rs.getInt("SupplierID"),
+                        rs.getString("Name"),
+                        rs.getString("Country"),
+                        rs.getString("ESGGrade"),
+                        rs.getDouble("total_order_amount"),
+                        rs.getInt("delayed_deliveries"),
+                        rs.getInt("total_deliveries"),
+                        rs.getDouble("delay_ratio"));
+            }
+        }
+    }
+
     /**
      * 특정 공급업체의 최근 발주 내역 조회.
      * 배송 지연 여부 포함.
+     * 키셋 페이징: (afterDate, afterPoid) 이후 행부터 조회, null 시 첫 페이지.
+     * (SupplierID, OrderDate DESC, POID DESC) 인덱스 탐색.
      */
     public List<SupplierPoRow> recentPurchaseOrders(Connection conn, int supplierId,
-            int limit, int offset) throws SQLException {
+            int limit, java.sql.Date afterDate, Integer afterPoid) throws SQLException {
+        boolean seek = afterDate != null && afterPoid != null;
         String sql = """
                 SELECT po.POID, po.OrderDate, po.Status,
                        CASE WHEN EXISTS (
@@ -146,14 +183,21 @@ public final class SupplierRepository {
                        ) THEN TRUE ELSE FALSE END AS delayed
                 FROM PurchaseOrder po
                 WHERE po.SupplierID = ?
+                """
+                + (seek ? "  AND (po.OrderDate, po.POID) < (?, ?)\n" : "")
+                + """
                 ORDER BY po.OrderDate DESC, po.POID DESC
-                LIMIT ? OFFSET ?
+                LIMIT ?
                 """;
 
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, supplierId);
-            ps.setInt(2, limit);
-            ps.setInt(3, offset);
+            int idx = 1;
+            ps.setInt(idx++, supplierId);
+            if (seek) {
+                ps.setDate(idx++, afterDate);
+                ps.setInt(idx++, afterPoid);
+            }
+            ps.setInt(idx, limit);
 
             try (ResultSet rs = ps.executeQuery()) {
                 List<SupplierPoRow> out = new ArrayList<>();
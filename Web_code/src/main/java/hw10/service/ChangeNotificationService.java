@@ -0,0 +1,150 @@
+package hw10.service;
+
+import hw10.util.Logger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 기준 정보 변경 알림 수신 서비스.
+ * PostgreSQL LISTEN으로 reference_data_changed 채널 수신 후 구독자에게 전달.
+ * payload 형식: "테이블명:ID", 전체 무효화는 "*".
+ */
+@Service
+public class ChangeNotificationService {
+
+    public static final String CHANNEL = "reference_data_changed";
+
+    // 전체 무효화 payload. 재연결 시 누락 알림 보정용.
+    public static final String ALL = "*";
+
+    private static final long POLL_TIMEOUT_MS = 1000;
+    private static final long MAX_BACKOFF_MS = 30000;
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final List<Consumer<String>> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong received = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private Thread listenerThread;
+
+    public ChangeNotificationService(DataSource dataSource,
+            @Value("${scm.reference-cache.listen:true}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 변경 알림 구독 등록.
+     */
+    public void subscribe(Consumer<String> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * DB 거치지 않고 구독자에게 직접 전달.
+     * 수신 비활성화 환경(테스트 등) 및 수동 무효화용.
+     */
+    public void publishLocal(String payload) {
+        dispatch(payload);
+    }
+
+    /**
+     * 수신 상태 조회.
+     */
+    public Map<String, Object> status() {
+        return Map.of(
+                "enabled", enabled,
+                "connected", connected,
+                "received", received.get());
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            Logger.info("기준 정보 변경 알림 수신 비활성화 (TTL 만료 및 수동 무효화만 사용)");
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "reference-data-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    // 수신 루프. 연결 실패 시 지수 백오프 후 재연결.
+    private void listenLoop() {
+        long backoffMs = 1000;
+        while (running) {
+            try (Connection conn = dataSource.getConnection()) {
+                PGConnection pgConn = conn.unwrap(PGConnection.class);
+                try (Statement st = conn.createStatement()) {
+                    st.execute("LISTEN " + CHANNEL);
+                }
+                connected = true;
+                backoffMs = 1000;
+                Logger.info("기준 정보 변경 알림 수신 시작 (channel=" + CHANNEL + ")");
+
+                // 연결 끊긴 동안 누락된 알림 보정.
+                dispatch(ALL);
+
+                while (running) {
+                    PGNotification[] notifications = pgConn.getNotifications((int) POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification n : notifications) {
+                        received.incrementAndGet();
+                        dispatch(n.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                Logger.warn("기준 정보 변경 알림 수신 오류, " + backoffMs + "ms 후 재연결: " + e.getMessage());
+            } finally {
+                connected = false;
+            }
+
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                break;
+            }
+            backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+        }
+    }
+
+    private void dispatch(String payload) {
+        for (Consumer<String> subscriber : subscribers) {
+            try {
+                subscriber.accept(payload);
+            } catch (RuntimeException e) {
+                Logger.error("변경 알림 처리 실패: " + payload, e);
+            }
+        }
+    }
+}
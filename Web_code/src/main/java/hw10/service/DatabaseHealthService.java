@@ -0,0 +1,210 @@
+package hw10.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import hw10.config.AdmissionControlledDataSource;
+import hw10.config.DataSourceMetrics;
+import hw10.config.ThreadingMode;
+import hw10.util.LatencyHistogram;
+import hw10.util.Logger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DB 상태 점검 및 커넥션 풀 지표.
+ * 백그라운드 주기 핑(풀 커넥션 사용)으로 연결 상태/응답 시간 측정, 조회는 마지막 측정값 반환.
+ * 핑 응답 시간 및 커넥션 획득 시간 백분위는 최근 구간(window) 기준.
+ * 요청 처리 스레드 모드, 커넥션 입장 제한 현황(사용 시), 재고 원장 반영 현황 포함.
+ */
+@Service
+public class DatabaseHealthService {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // 마지막 핑 결과. probedAt: 측정 시각(ms), 측정 전 0.
+    private record Probe(boolean connected, long latencyMs, String error, long probedAt) {
+    }
+
+    // 구간 계산용 히스토그램 스냅샷. admission: 입장 대기 시간 (입장 제한 미사용 시 null).
+    private record Sample(long at, LatencyHistogram.Snapshot ping, LatencyHistogram.Snapshot acquire,
+            LatencyHistogram.Snapshot admission) {
+    }
+
+    private final DataSource dataSource;
+    private final DataSourceMetrics metrics;
+    private final ThreadingMode threadingMode;
+    private final InventoryLedgerCompactor inventoryLedgerCompactor;
+    private final LatencyHistogram pingTime = new LatencyHistogram();
+
+    // 핑 주기 및 백분위 구간(ms).
+    private final long probeMs;
+    private final long windowMs;
+
+    private volatile Probe probe = new Probe(false, 0, null, 0);
+
+    // 구간 시작점 후보. 핑 스레드 전용 갱신, 조회 시 동기화.
+    private final Deque<Sample> samples = new ArrayDeque<>();
+
+    private final ScheduledExecutorService prober = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "db-health-prober");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public DatabaseHealthService(DataSource dataSource, DataSourceMetrics metrics, ThreadingMode threadingMode,
+            InventoryLedgerCompactor inventoryLedgerCompactor,
+            @Value("${scm.db-health.probe-seconds:5}") long probeSeconds,
+            @Value("${scm.db-health.window-seconds:60}") long windowSeconds) {
+        this.dataSource = dataSource;
+        this.metrics = metrics;
+        this.threadingMode = threadingMode;
+        this.inventoryLedgerCompactor = inventoryLedgerCompactor;
+        this.probeMs = TimeUnit.SECONDS.toMillis(Math.max(1, probeSeconds));
+        this.windowMs = TimeUnit.SECONDS.toMillis(Math.max(probeSeconds, windowSeconds));
+    }
+
+    @PostConstruct
+    void start() {
+        prober.scheduleWithFixedDelay(this::probe, 0, probeMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        prober.shutdownNow();
+    }
+
+    /**
+     * 시스템 상태 조회 (마지막 측정값, DB 접근 없음).
+     * 연결 상태, 풀 커넥션 수(사용/유휴/대기), 핑 및 커넥션 획득 시간 백분위(ms), 스레드 모드, 입장 제한 현황,
+     * 재고 원장 반영 현황 (미반영 행 수는 마지막 반영 주기 기준).
+     */
+    public Map<String, Object> status() {
+        Probe p = probe;
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("status", p.connected() ? "정상" : "오류");
+        status.put("dbConnected", p.connected());
+
+        HikariPoolMXBean pool = poolBean();
+        status.put("activeConnections", pool != null ? pool.getActiveConnections() : 0);
+        status.put("idleConnections", pool != null ? pool.getIdleConnections() : 0);
+        status.put("pendingThreads", pool != null ? pool.getThreadsAwaitingConnection() : 0);
+        status.put("totalConnections", pool != null ? pool.getTotalConnections() : 0);
+        status.put("queryLatency", p.latencyMs());
+
+        Sample now = sample();
+        Sample from = windowStart(now);
+        status.put("windowSeconds", TimeUnit.MILLISECONDS.toSeconds(now.at() - from.at()));
+        status.put("pingLatency", percentiles(now.ping().since(from.ping())));
+        status.put("acquireTime", percentiles(now.acquire().since(from.acquire())));
+        status.put("connectionTimeouts", metrics.timeouts());
+        status.put("threadMode", threadingMode.name());
+        AdmissionControlledDataSource admission = metrics.admission();
+        if (admission != null) {
+            Map<String, Object> m = admission.stats();
+            m.put("waitTime", percentiles(now.admission().since(from.admission())));
+            status.put("admission", m);
+        }
+        status.put("inventoryLedger", inventoryLedgerCompactor.stats());
+        if (p.error() != null) {
+            status.put("lastError", p.error());
+        }
+        status.put("lastSync", p.probedAt() == 0 ? null
+                : LocalDateTime.ofInstant(Instant.ofEpochMilli(p.probedAt()), ZoneId.systemDefault())
+                        .format(TIME_FORMAT));
+        return status;
+    }
+
+    // 핑 1회. 풀에서 커넥션 획득 후 SELECT 1.
+    private void probe() {
+        long start = System.nanoTime();
+        try (Connection conn = dataSource.getConnection();
+                Statement stmt = conn.createStatement()) {
+            long queryStart = System.nanoTime();
+            try (ResultSet rs = stmt.executeQuery("SELECT 1")) {
+                rs.next();
+            }
+            long elapsed = System.nanoTime() - queryStart;
+            pingTime.record(elapsed);
+            if (!probe.connected() && probe.probedAt() != 0) {
+                Logger.info("DB 연결 복구");
+            }
+            probe = new Probe(true, TimeUnit.NANOSECONDS.toMillis(elapsed), null, System.currentTimeMillis());
+        } catch (SQLException e) {
+            if (probe.connected()) {
+                Logger.warn("DB 상태 점검 실패: " + e.getMessage());
+            }
+            probe = new Probe(false, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), e.getMessage(),
+                    System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            // 예약 작업 중단 방지.
+            Logger.error("DB 상태 점검 오류", e);
+        }
+
+        Sample sample = sample();
+        synchronized (samples) {
+            samples.addLast(sample);
+            // 구간 밖 스냅샷은 가장 최근 1개만 유지 (구간 전체 포함).
+            while (true) {
+                Sample first = samples.pollFirst();
+                Sample second = samples.peekFirst();
+                if (second == null || sample.at() - second.at() < windowMs) {
+                    samples.addFirst(first);
+                    break;
+                }
+            }
+        }
+    }
+
+    private Sample sample() {
+        AdmissionControlledDataSource admission = metrics.admission();
+        return new Sample(System.currentTimeMillis(), pingTime.snapshot(), metrics.acquireTime().snapshot(),
+                admission != null ? admission.waitTime().snapshot() : null);
+    }
+
+    // 구간 시작 스냅샷. 측정 전이면 now.
+    private Sample windowStart(Sample now) {
+        synchronized (samples) {
+            Sample first = samples.peekFirst();
+            return first != null ? first : now;
+        }
+    }
+
+    private HikariPoolMXBean poolBean() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            }
+        } catch (SQLException ignored) {
+        }
+        return null;
+    }
+
+    private static Map<String, Object> percentiles(LatencyHistogram.Snapshot s) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("count", s.count());
+        m.put("p50", s.percentileMillis(0.50));
+        m.put("p95", s.percentileMillis(0.95));
+        m.put("p99", s.percentileMillis(0.99));
+        m.put("max", s.maxMillis());
+        return m;
+    }
+}
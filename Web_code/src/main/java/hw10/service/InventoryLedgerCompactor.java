@@ -0,0 +1,131 @@
+package hw10.service;
+
+import hw10.repository.InventoryRepository;
+import hw10.util.Logger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 재고 이동 원장 반영 작업.
+ * 발주 트랜잭션이 추가한 원장(InventoryMovement) 행을 주기적으로 재고(Inventory) 수량에 합산 후 삭제.
+ * 주기마다 원장이 빌 때까지 batchSize건씩 반영 (건별 트랜잭션, 재고 행 잠금은 반영 트랜잭션 동안만).
+ * 재고 조회는 미반영 원장을 합산하므로 반영 주기는 조회 결과에 영향 없음 (원장 크기/조회 비용만 관련).
+ */
+@Service
+public class InventoryLedgerCompactor {
+
+    private final DataSource dataSource;
+    private final InventoryRepository inventoryRepository = new InventoryRepository();
+
+    private final boolean enabled;
+    private final long intervalMs;
+    private final int batchSize;
+
+    // 누적 반영 원장 행 수, 반영 트랜잭션 수, 실패 횟수.
+    private final AtomicLong folded = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    // 마지막 주기 종료 시점 미반영 원장 현황.
+    private volatile InventoryRepository.PendingMovements pending = new InventoryRepository.PendingMovements(0, 0);
+
+    private final ScheduledExecutorService compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "inventory-ledger-compactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public InventoryLedgerCompactor(DataSource dataSource,
+            @Value("${scm.inventory-ledger.compact-enabled:true}") boolean enabled,
+            @Value("${scm.inventory-ledger.compact-interval-ms:1000}") long intervalMs,
+            @Value("${scm.inventory-ledger.batch-size:5000}") int batchSize) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.intervalMs = Math.max(10, intervalMs);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            Logger.info("재고 원장 반영 꺼짐 (scm.inventory-ledger.compact-enabled=false)");
+            return;
+        }
+        compactor.scheduleWithFixedDelay(this::runSafely, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        compactor.shutdownNow();
+    }
+
+    /**
+     * 원장이 빌 때까지 반영 (현재 스레드). 반영한 원장 행 수 반환.
+     * 다른 반영 작업이 잠근 행은 건너뛰므로 호출 직후에도 원장이 남아 있을 수 있음.
+     */
+    public long compactAll() throws SQLException {
+        long total = 0;
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                while (true) {
+                    InventoryRepository.CompactResult r = inventoryRepository.compact(conn, batchSize);
+                    conn.commit();
+                    if (r.movements() == 0) {
+                        break;
+                    }
+                    total += r.movements();
+                    folded.addAndGet(r.movements());
+                    batches.incrementAndGet();
+                    if (r.movements() < batchSize) {
+                        break;
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            pending = inventoryRepository.pendingMovements(conn);
+        }
+        return total;
+    }
+
+    /**
+     * 반영 현황. 누적 반영 행/트랜잭션/실패 수, 마지막 주기 기준 미반영 행 수와 가장 오래된 행 경과 시간(ms).
+     */
+    public Map<String, Object> stats() {
+        InventoryRepository.PendingMovements p = pending;
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("enabled", enabled);
+        m.put("folded", folded.get());
+        m.put("batches", batches.get());
+        m.put("failures", failures.get());
+        m.put("pending", p.count());
+        m.put("lagMs", p.lagMs());
+        return m;
+    }
+
+    // 주기 실행. 실패 시 다음 주기 재시도 (원장 행은 롤백으로 보존).
+    private void runSafely() {
+        try {
+            compactAll();
+        } catch (SQLException | RuntimeException e) {
+            failures.incrementAndGet();
+            Logger.warn("재고 원장 반영 실패: " + e.getMessage());
+        }
+    }
+}
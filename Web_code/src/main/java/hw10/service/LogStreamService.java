@@ -0,0 +1,334 @@
+package hw10.service;
+
+import hw10.util.LogQueryEngine;
+import hw10.util.Logger;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 로그 실시간 스트림(SSE) 서비스.
+ * 공용 tailer 스레드 1개가 로그 파일 추가분만 읽어 구독자별 버퍼로 분배.
+ * 느린 구독자는 버퍼 초과분 폐기 후 폐기 건수 통지 (다른 구독자/tailer 지연 없음).
+ */
+@Service
+public class LogStreamService {
+
+    private static final Path LOG_PATH = Paths.get(SettingService.LOG_FILE_PATH);
+
+    // 변경 감지 대기 시간, 연결 유지용 heartbeat 주기.
+    private static final long WAIT_MS = 1000;
+    private static final long HEARTBEAT_MS = 15000;
+
+    // 마지막 항목 확정 대기 시간. 여러 줄 레코드가 나뉘어 기록되는 경우 대비.
+    private static final long SETTLE_MS = 50;
+
+    // 한 번에 읽는 최대 크기. 이보다 긴 줄은 앞부분만 전송.
+    private static final int READ_CHUNK = 1024 * 1024;
+
+    // heartbeat 표식. 큐 항목 중 로그가 아닌 것.
+    private static final Object HEARTBEAT = new Object();
+
+    private final int clientBuffer;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // 구독자별 전송 작업 실행. tailer는 큐에 넣기만 함.
+    private final ExecutorService sender = Executors.newFixedThreadPool(4, r -> {
+        Thread t = new Thread(r, "log-stream-sender");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Object tailerLock = new Object();
+    private Thread tailerThread;
+
+    // tailer 스레드 전용 상태. 읽은 위치, 아직 전송 보류 중인 마지막 항목 원문,
+    // READ_CHUNK 초과 줄의 나머지 건너뛰는 중 여부.
+    private long position;
+    private String pending = "";
+    private boolean skipping;
+
+    public LogStreamService(@Value("${scm.log-stream.client-buffer:256}") int clientBuffer) {
+        this.clientBuffer = Math.max(1, clientBuffer);
+    }
+
+    /**
+     * 구독 등록. 등록 시점 이후 기록되는 로그 중 level/search 조건 일치 항목 전송.
+     */
+    public SseEmitter subscribe(String level, String search) {
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscriber sub = new Subscriber(emitter, level, search, clientBuffer);
+
+        emitter.onCompletion(() -> subscribers.remove(sub));
+        emitter.onTimeout(() -> subscribers.remove(sub));
+        emitter.onError(e -> subscribers.remove(sub));
+
+        subscribers.add(sub);
+        ensureTailer();
+        return emitter;
+    }
+
+    @PreDestroy
+    void stop() {
+        synchronized (tailerLock) {
+            if (tailerThread != null) {
+                tailerThread.interrupt();
+            }
+        }
+        for (Subscriber sub : subscribers) {
+            sub.emitter.complete();
+        }
+        sender.shutdownNow();
+    }
+
+    // 구독자 존재 시 tailer 실행 보장. 구독자 없으면 tailer 스스로 종료.
+    private void ensureTailer() {
+        synchronized (tailerLock) {
+            if (tailerThread == null) {
+                tailerThread = new Thread(this::tailLoop, "log-stream-tailer");
+                tailerThread.setDaemon(true);
+                tailerThread.start();
+            }
+        }
+    }
+
+    // tailer 루프. 디렉토리 변경 감지 시 (또는 대기 시간 경과 시) 추가분 확인.
+    private void tailLoop() {
+        position = currentSize();
+        pending = "";
+        long lastHeartbeat = System.currentTimeMillis();
+
+        try (WatchService watch = openWatch()) {
+            while (!Thread.currentThread().isInterrupted()) {
+                synchronized (tailerLock) {
+                    if (subscribers.isEmpty()) {
+                        tailerThread = null;
+                        return;
+                    }
+                }
+
+                if (!readAppended() && !pending.isEmpty()) {
+                    // 대기 동안 추가 기록 없음. 보류 항목 확정.
+                    publish(LogQueryEngine.parse(pending));
+                    pending = "";
+                }
+
+                long now = System.currentTimeMillis();
+                if (now - lastHeartbeat >= HEARTBEAT_MS) {
+                    lastHeartbeat = now;
+                    for (Subscriber sub : subscribers) {
+                        sub.offer(HEARTBEAT);
+                    }
+                }
+
+                awaitChange(watch, pending.isEmpty() ? WAIT_MS : SETTLE_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            Logger.warn("로그 스트림 감시 실패: " + e.getMessage());
+        } finally {
+            synchronized (tailerLock) {
+                if (tailerThread == Thread.currentThread()) {
+                    tailerThread = null;
+                }
+            }
+        }
+    }
+
+    // position 이후 완성된 줄만 읽어 분배. 파일 축소(재생성) 시 처음부터.
+    // 마지막 항목은 이어지는 줄이 올 수 있어 보류. 새로 읽은 내용 있으면 true.
+    private boolean readAppended() {
+        if (!Files.exists(LOG_PATH)) {
+            position = 0;
+            return false;
+        }
+        boolean grew = false;
+        try (FileChannel ch = FileChannel.open(LOG_PATH, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < position) {
+                position = 0;
+                pending = "";
+                skipping = false;
+            }
+            while (position < size) {
+                ByteBuffer buf = ByteBuffer.allocate((int) Math.min(READ_CHUNK, size - position));
+                int n = ch.read(buf, position);
+                if (n <= 0) {
+                    break;
+                }
+                byte[] bytes = buf.array();
+                if (skipping) {
+                    // 긴 줄의 나머지. 줄바꿈까지 버림.
+                    int nl = 0;
+                    while (nl < n && bytes[nl] != '\n') {
+                        nl++;
+                    }
+                    position += Math.min(nl + 1, n);
+                    skipping = nl == n;
+                    grew = true;
+                    continue;
+                }
+                int len = n;
+                while (len > 0 && bytes[len - 1] != '\n') {
+                    len--;
+                }
+                String chunk;
+                if (len > 0) {
+                    chunk = new String(bytes, 0, len, StandardCharsets.UTF_8);
+                } else if (n == READ_CHUNK) {
+                    // 줄바꿈 없이 READ_CHUNK 초과. 앞부분만 (잘린 문자 제외) 한 줄로 처리, 나머지 건너뜀.
+                    int cut = n;
+                    while (cut > 0 && (bytes[cut - 1] & 0xC0) == 0x80) {
+                        cut--;
+                    }
+                    if (cut > 0 && (bytes[cut - 1] & 0x80) != 0) {
+                        cut--;
+                    }
+                    chunk = new String(bytes, 0, cut, StandardCharsets.UTF_8) + " ...(생략)\n";
+                    len = n;
+                    skipping = true;
+                } else {
+                    // 기록 중인 줄만 남음. 다음 감지 시 재시도.
+                    break;
+                }
+                position += len;
+                grew = true;
+
+                String text = pending + chunk;
+                int last = LogQueryEngine.lastEntryStart(text);
+                if (last < 0) {
+                    // 항목 시작 전 줄만 존재 (보류 항목도 없음). 무시.
+                    pending = "";
+                    continue;
+                }
+                publish(LogQueryEngine.parse(text.substring(0, last)));
+                pending = text.substring(last);
+            }
+        } catch (IOException e) {
+            Logger.warn("로그 스트림 읽기 실패: " + e.getMessage());
+        }
+        return grew;
+    }
+
+    private void publish(List<LogQueryEngine.Entry> entries) {
+        for (LogQueryEngine.Entry entry : entries) {
+            for (Subscriber sub : subscribers) {
+                if (LogQueryEngine.matches(entry, sub.level, sub.search)) {
+                    sub.offer(entry);
+                }
+            }
+        }
+    }
+
+    private WatchService openWatch() throws IOException {
+        Path dir = LOG_PATH.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        WatchService watch = FileSystems.getDefault().newWatchService();
+        dir.register(watch, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        return watch;
+    }
+
+    // 변경 이벤트 대기. 이벤트 내용과 무관하게 깨어나면 크기 비교로 판단.
+    private static void awaitChange(WatchService watch, long timeoutMs) throws InterruptedException {
+        var key = watch.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        if (key != null) {
+            key.pollEvents();
+            key.reset();
+        }
+    }
+
+    private long currentSize() {
+        try {
+            return Files.exists(LOG_PATH) ? Files.size(LOG_PATH) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    // 구독자. 고정 크기 버퍼, 전송 작업은 구독자당 최대 1개.
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final String level;
+        private final String search;
+        private final Queue<Object> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicInteger droppedSinceLastSend = new AtomicInteger();
+
+        Subscriber(SseEmitter emitter, String level, String search, int capacity) {
+            this.emitter = emitter;
+            this.level = level;
+            this.search = search;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void offer(Object item) {
+            if (!buffer.offer(item)) {
+                droppedSinceLastSend.incrementAndGet();
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RuntimeException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        // 버퍼 비울 때까지 전송. 종료 직전 추가된 항목은 재확인 후 재실행.
+        private void drain() {
+            try {
+                Object item;
+                while ((item = buffer.poll()) != null) {
+                    int lost = droppedSinceLastSend.getAndSet(0);
+                    if (lost > 0) {
+                        emitter.send(SseEmitter.event().name("dropped").data(Map.of("count", lost)));
+                    }
+                    if (item == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        LogQueryEngine.Entry entry = (LogQueryEngine.Entry) item;
+                        emitter.send(SseEmitter.event().name("log")
+                                .data(SettingService.toLogView(entry), MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 연결 종료. 구독 해제.
+                subscribers.remove(this);
+                buffer.clear();
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            if (!buffer.isEmpty() && scheduled.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+    }
+}
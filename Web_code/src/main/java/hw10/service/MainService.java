@@ -1,113 +1,194 @@
 package hw10.service;
 
 import hw10.dto.MainDto;
+import hw10.repository.MainRepository;
+import hw10.util.Logger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 메인 페이지 비즈니스 로직 담당.
  * 대시보드 요약 정보(활성 프로젝트, 탄소, 지연, ESG) 계산 및 제공.
+ * 요약은 스냅샷으로 보관, 주기적/변경 알림 시 백그라운드 갱신.
+ * 갱신 주기 경과 시 기존 스냅샷 즉시 반환 후 갱신 (stale-while-revalidate).
  */
 @Service
 public class MainService {
 
+    // 요약 스냅샷. computedAt: 계산 완료 시각(ms).
+    private record Snapshot(
+            int activeProjects,
+            double carbonReduction,
+            int delayedDeliveries,
+            String avgEsgGrade,
+            long computedAt) {
+    }
+
     // DB 데이터 소스.
     private final DataSource dataSource;
+    private final MainRepository mainRepository = new MainRepository();
+
+    // 갱신 주기 및 최대 허용 경과 시간(ms). 최대 경과 초과 시 갱신 완료 대기.
+    private final long refreshMs;
+    private final long maxStaleMs;
+
+    private volatile Snapshot snapshot;
+
+    // 진행 중 갱신. 동시 요청은 같은 갱신 결과 공유 (DB 집계 1회).
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "main-summary-refresher");
+        t.setDaemon(true);
+        return t;
+    });
 
-    // 생성자. 데이터 소스 주입.
-    public MainService(DataSource dataSource) {
+    // 생성자. 데이터 소스 주입, 변경 알림 구독.
+    public MainService(DataSource dataSource,
+            ChangeNotificationService changeNotificationService,
+            @Value("${scm.main-summary.refresh-seconds:30}") long refreshSeconds,
+            @Value("${scm.main-summary.max-stale-seconds:300}") long maxStaleSeconds) {
         this.dataSource = dataSource;
+        this.refreshMs = TimeUnit.SECONDS.toMillis(refreshSeconds);
+        this.maxStaleMs = TimeUnit.SECONDS.toMillis(Math.max(refreshSeconds, maxStaleSeconds));
+
+        changeNotificationService.subscribe(this::onChange);
+    }
+
+    @PostConstruct
+    void start() {
+        refresher.scheduleWithFixedDelay(this::refreshAsync, 0, refreshMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
     }
 
     /**
      * 메인 화면 상단 카드 4개 요약 정보 조회.
-     * 활성 프로젝트 수, 탄소 감축량, 배송 지연 건수, 평균 ESG 등급.
+     * 활성 프로젝트 수, 탄소 감축량, 배송 지연 건수, 평균 ESG 등급, 스냅샷 경과 시간.
      */
     public MainDto.MainSummary getSummary() throws SQLException {
-        try (Connection conn = dataSource.getConnection()) {
-            // 프로젝트 가동 수 확인.
-            int activeProjects = countActiveProjects(conn);
-            // 탄소 감축량 계산.
-            double carbonReduction = getTotalCarbonReduction(conn);
-            // 배송 지연 건수 확인.
-            int delayedDeliveries = countDelayedDeliveries(conn);
-            // 공급업체 ESG 등급 평균 산출.
-            String avgEsgGrade = getAverageEsgGrade(conn);
-
-            // DTO 포장 및 반환.
-            return new MainDto.MainSummary(
-                    activeProjects,
-                    carbonReduction,
-                    delayedDeliveries,
-                    avgEsgGrade);
+        Snapshot s = snapshot;
+        long now = System.currentTimeMillis();
+
+        if (s == null || now - s.computedAt() > maxStaleMs) {
+            // 스냅샷 없음 또는 최대 허용 경과 초과. 갱신 완료 대기.
+            s = await(refreshAsync());
+            now = System.currentTimeMillis();
+        } else if (now - s.computedAt() > refreshMs) {
+            // 갱신 주기 경과. 기존 스냅샷 반환, 백그라운드 갱신.
+            refreshAsync();
         }
+
+        return new MainDto.MainSummary(
+                s.activeProjects(),
+                s.carbonReduction(),
+                s.delayedDeliveries(),
+                s.avgEsgGrade(),
+                Instant.ofEpochMilli(s.computedAt()).toString(),
+                Math.max(0, now - s.computedAt()));
     }
 
-    // '인도완료' 제외 프로젝트 개수 쿼리 실행.
-    private int countActiveProjects(Connection conn) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM ShipProject WHERE Status != '인도완료'";
-        try (PreparedStatement ps = conn.prepareStatement(sql);
-                ResultSet rs = ps.executeQuery()) {
-            rs.next();
-            return rs.getInt(1);
+    // 갱신 요청. 진행 중 갱신 존재 시 해당 결과 공유.
+    private CompletableFuture<Snapshot> refreshAsync() {
+        while (true) {
+            CompletableFuture<Snapshot> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+            CompletableFuture<Snapshot> f = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, f)) {
+                try {
+                    refresher.execute(() -> runRefresh(f));
+                } catch (RuntimeException e) {
+                    // 종료 중 등 실행 거부.
+                    inFlight.set(null);
+                    f.completeExceptionally(e);
+                }
+                return f;
+            }
         }
     }
 
-    // 총 탄소 배출량 조회 및 기준값(1000) 대비 감축량 계산. (음수 시 0 처리)
-    private double getTotalCarbonReduction(Connection conn) throws SQLException {
-        String sql = "SELECT COALESCE(SUM(CO2eAmount), 0) FROM CarbonEmissionRecord";
-        try (PreparedStatement ps = conn.prepareStatement(sql);
-                ResultSet rs = ps.executeQuery()) {
-            rs.next();
-            double totalEmission = rs.getDouble(1);
-            // 기준값 1000에서 배출량 차감하여 감축량 산출.
-            return Math.max(0, 1000 - totalEmission);
+    private void runRefresh(CompletableFuture<Snapshot> f) {
+        try {
+            Snapshot s = compute();
+            snapshot = s;
+            inFlight.set(null);
+            f.complete(s);
+        } catch (SQLException | RuntimeException e) {
+            // 실패 시 기존 스냅샷 유지. 다음 주기 재시도.
+            Logger.warn("메인 요약 갱신 실패: " + e.getMessage());
+            inFlight.set(null);
+            f.completeExceptionally(e);
         }
     }
 
-    // 상태가 '지연'인 배송 건수 계산.
-    private int countDelayedDeliveries(Connection conn) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM Delivery WHERE Status = '지연'";
-        try (PreparedStatement ps = conn.prepareStatement(sql);
-                ResultSet rs = ps.executeQuery()) {
-            rs.next();
-            return rs.getInt(1);
+    // 단일 쿼리 집계 후 스냅샷 생성.
+    private Snapshot compute() throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            MainRepository.SummaryRow row = mainRepository.summary(conn);
+            return new Snapshot(
+                    row.activeProjects(),
+                    carbonReduction(row.totalEmission()),
+                    row.delayedDeliveries(),
+                    esgGrade(row.avgEsgScore()),
+                    System.currentTimeMillis());
         }
     }
 
-    // ESG 등급 평균 산출. A=4점, B=3점 등 점수 환산 후 평균.
-    private String getAverageEsgGrade(Connection conn) throws SQLException {
-        String sql = """
-                SELECT AVG(
-                    CASE ESGGrade
-                        WHEN 'A' THEN 4
-                        WHEN 'B' THEN 3
-                        WHEN 'C' THEN 2
-                        WHEN 'D' THEN 1
-                        ELSE 0
-                    END
-                ) as avg_grade
-                FROM Supplier
-                WHERE ESGGrade IS NOT NULL
-                """;
-        try (PreparedStatement ps = conn.prepareStatement(sql);
-                ResultSet rs = ps.executeQuery()) {
-            rs.next();
-            double avg = rs.getDouble("avg_grade");
-
-            // 평균 점수 등급 변환 및 반올림 적용.
-            if (avg >= 3.5)
-                return "A";
-            if (avg >= 2.5)
-                return "B";
-            if (avg >= 1.5)
-                return "C";
-            return "D";
+    private static Snapshot await(CompletableFuture<Snapshot> f) throws SQLException {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("메인 요약 갱신 대기 중단", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException se) {
+                throw se;
+            }
+            throw new SQLException("메인 요약 갱신 실패", e.getCause());
         }
     }
+
+    // 변경 알림 처리. 요약에 영향 있는 테이블만 갱신 요청.
+    private void onChange(String payload) {
+        String table = payload == null ? "" : payload.split(":", 2)[0];
+        switch (table) {
+            case "Supplier", "ShipProject", ChangeNotificationService.ALL -> refreshAsync();
+            default -> {
+            }
+        }
+    }
+
+    // 기준값(1000) 대비 감축량 계산. (음수 시 0 처리)
+    private static double carbonReduction(double totalEmission) {
+        return Math.max(0, 1000 - totalEmission);
+    }
+
+    // 평균 점수 등급 변환 및 반올림 적용. A=4점, B=3점 등.
+    private static String esgGrade(double avg) {
+        if (avg >= 3.5)
+            return "A";
+        if (avg >= 2.5)
+            return "B";
+        if (avg >= 1.5)
+            return "C";
+        return "D";
+    }
 }
@@ -0,0 +1,560 @@
+package hw10.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import hw10.dto.OrderDto;
+import hw10.repository.ReferenceRepository;
+import hw10.util.Logger;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 발주 일괄 등록 서비스.
+ * NDJSON/CSV 입력을 일정 건수(chunk)씩 메모리로 읽어 검증 후 chunk마다 짧은 트랜잭션으로 저장/커밋.
+ * 처리 결과는 chunk 커밋 후 행별 NDJSON으로 출력.
+ * 공급업체 KPI는 chunk 내 업체별 합산 후 커밋 직전 업체 ID 순 반영 (동시 일괄 등록 간 교착상태 방지).
+ */
+@Service
+public class OrderImportService {
+
+    // 일괄 등록 입력 형식.
+    public enum Format {
+        NDJSON, CSV;
+
+        // Content-Type 기준 형식 판별. CSV 외 NDJSON 처리.
+        public static Format fromContentType(String contentType) {
+            if (contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv")) {
+                return CSV;
+            }
+            return NDJSON;
+        }
+    }
+
+    private static final int MAX_CHUNK_SIZE = 5000;
+    private static final Set<String> ORDER_STATUSES = Set.of("요청", "발주완료", "취소", "검수중");
+
+    // CSV 필수 컬럼. 발주 단위 값은 그룹 첫 행 기준.
+    private static final List<String> CSV_REQUIRED_COLUMNS = List.of(
+            "orderref", "projectid", "supplierid", "warehouseid", "partid", "quantity", "unitprice");
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader requestReader;
+    private final OrderTransactionService transactionService;
+    private final ReferenceRepository referenceRepository = new ReferenceRepository();
+
+    public OrderImportService(DataSource dataSource, ObjectMapper objectMapper,
+            OrderTransactionService transactionService) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        // NDJSON 행의 orderRef 등 추가 필드 허용.
+        this.requestReader = objectMapper.readerFor(OrderDto.OrderRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.transactionService = transactionService;
+    }
+
+    /**
+     * 커밋 단위 크기 검증. 응답 시작 전 호출.
+     */
+    public void checkChunkSize(int chunkSize) {
+        if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("chunkSize는 1 ~ " + MAX_CHUNK_SIZE + " 범위여야 합니다: " + chunkSize);
+        }
+    }
+
+    /**
+     * 발주 일괄 등록.
+     * 발주 단위 세이브포인트로 실패 건만 제외, chunkSize 건마다 커밋 후 결과 출력.
+     * 교착상태 시 chunk 롤백 후 트랜잭션 밖에서 대기, 재실행.
+     * 마지막 줄에 요약 출력.
+     */
+    public OrderDto.BulkSummary importOrders(Reader in, Format format, int chunkSize, Writer out)
+            throws IOException {
+        checkChunkSize(chunkSize);
+        Logger.beginTx();
+        try {
+            return importOrders(in, format, chunkSize, out, System.currentTimeMillis());
+        } finally {
+            Logger.endTx();
+        }
+    }
+
+    // 일괄 등록 본체. 시작부터 종료 로그까지 같은 트랜잭션 ID.
+    private OrderDto.BulkSummary importOrders(Reader in, Format format, int chunkSize, Writer out, long started)
+            throws IOException {
+        Logger.info("발주 일괄 등록 시작 (format=" + format + ", chunkSize=" + chunkSize + ")");
+
+        BufferedReader reader = new BufferedReader(in);
+        Progress progress = new Progress();
+        String error = null;
+
+        try {
+            OrderSource source = format == Format.CSV ? new CsvOrderSource(reader) : new NdjsonOrderSource(reader);
+            error = importAll(source, chunkSize, progress, out);
+        } catch (IllegalArgumentException e) {
+            // 입력 헤더 오류. 처리 건 없음.
+            error = e.getMessage();
+        }
+
+        OrderDto.BulkSummary summary = new OrderDto.BulkSummary(
+                progress.total, progress.succeeded, progress.failed, progress.chunks, error);
+        out.write(objectMapper.writeValueAsString(summary));
+        out.write('\n');
+        out.flush();
+
+        Logger.info("발주 일괄 등록 종료 - 전체: " + summary.total() + ", 성공: " + summary.succeeded()
+                + ", 실패: " + summary.failed() + (error != null ? ", 중단: " + error : ""),
+                System.currentTimeMillis() - started);
+        return summary;
+    }
+
+    // 입력 전체 처리. 중단 시 사유 반환.
+    // 입력은 chunk 단위로 메모리에 읽은 뒤 저장 (입력 수신 중 커넥션/트랜잭션 미보유, 느린 업로드가 잠금/풀을 점유하지 않음).
+    private String importAll(OrderSource source, int chunkSize, Progress progress, Writer out) throws IOException {
+        ReferenceIds ids;
+        try (Connection conn = dataSource.getConnection()) {
+            // 검증용 ID 1회 적재.
+            ids = new ReferenceIds(
+                    referenceRepository.findAllIds(conn, "ShipProject.ProjectID"),
+                    referenceRepository.findAllIds(conn, "Supplier.SupplierID"),
+                    referenceRepository.findAllIds(conn, "Part.PartID"),
+                    referenceRepository.findAllIds(conn, "Warehouse.WarehouseID"));
+        } catch (SQLException e) {
+            Logger.error("발주 일괄 등록 준비 실패", e);
+            return "데이터베이스 연결 실패: " + e.getMessage();
+        }
+
+        List<PendingOrder> chunk = new ArrayList<>();
+        while (true) {
+            ParsedOrder order;
+            while (chunk.size() < chunkSize && (order = source.next()) != null) {
+                progress.total++;
+                String invalid = order.error() != null ? order.error() : validate(order.request(), ids);
+                chunk.add(new PendingOrder(progress.total, order, invalid));
+            }
+            if (chunk.isEmpty()) {
+                return null;
+            }
+
+            try {
+                write(writeChunk(chunk), progress, out);
+            } catch (SQLException e) {
+                // 커넥션 수준 오류. 현재 chunk 미반영 후 중단.
+                Logger.error("발주 일괄 등록 중단", e);
+                write(chunk.stream()
+                        .map(p -> failure(p.row, p.orderRef(), p.error != null ? p.error : "미반영 (일괄 등록 중단)"))
+                        .toList(), progress, out);
+                return "일괄 등록 중단: " + e.getMessage();
+            }
+            progress.chunks++;
+            chunk.clear();
+        }
+    }
+
+    // chunk 저장 및 커밋.
+    // 교착상태 시 chunk 트랜잭션 롤백(잠금 해제) 후 트랜잭션 밖에서 백오프, chunk 재실행.
+    // 재시도 불가 시 교착상태 발주만 실패 처리 후 나머지 재실행 (커밋 단계 교착상태면 chunk 전체 실패).
+    private List<OrderDto.BulkRowResult> writeChunk(List<PendingOrder> chunk) throws SQLException {
+        if (chunk.stream().allMatch(p -> p.error != null)) {
+            return chunk.stream().map(p -> failure(p.row, p.orderRef(), p.error)).toList();
+        }
+        for (int attempt = 1;; attempt++) {
+            ChunkAttempt result = attemptChunk(chunk);
+            SQLException deadlock = result.deadlock();
+            if (deadlock == null) {
+                for (OrderDto.BulkRowResult r : result.results()) {
+                    if (r.success()) {
+                        TransactionRetry.succeeded(attempt);
+                    }
+                }
+                return result.results();
+            }
+            if (TransactionRetry.retry(deadlock, attempt)) {
+                continue;
+            }
+            if (result.victim() == null) {
+                return commitFailed(result.results(), deadlock);
+            }
+            result.victim().error = deadlock.getMessage();
+        }
+    }
+
+    // chunk 1회 실행. 발주 단위 세이브포인트로 실패 건만 제외, KPI는 커밋 직전 업체 ID 순 반영.
+    // 교착상태 시 전체 롤백 후 deadlock, victim(발주 저장 중 발생 시 해당 발주) 반환.
+    private ChunkAttempt attemptChunk(List<PendingOrder> chunk) throws SQLException {
+        List<OrderDto.BulkRowResult> results = new ArrayList<>(chunk.size());
+        Map<Integer, OrderTransactionService.KpiDelta> kpi = new HashMap<>();
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            conn.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            try {
+                for (PendingOrder p : chunk) {
+                    if (p.error != null) {
+                        results.add(failure(p.row, p.orderRef(), p.error));
+                        continue;
+                    }
+
+                    OrderDto.OrderRequest req = p.order.request();
+                    List<OrderTransactionService.OrderLineInput> lines = req.lines().stream()
+                            .map(line -> new OrderTransactionService.OrderLineInput(
+                                    line.partId(),
+                                    line.quantity(),
+                                    line.unitPrice()))
+                            .toList();
+
+                    Savepoint savepoint = conn.setSavepoint();
+                    try {
+                        OrderTransactionService.TransactionResult result = transactionService.insertOrderWithoutKpi(
+                                conn,
+                                req.projectId(),
+                                req.supplierId(),
+                                req.engineerName(),
+                                req.status(),
+                                lines,
+                                req.warehouseId(),
+                                req.transportMode(),
+                                req.distanceKm());
+                        conn.releaseSavepoint(savepoint);
+                        kpi.merge(req.supplierId(), OrderTransactionService.kpiDelta(lines),
+                                OrderTransactionService.KpiDelta::plus);
+                        results.add(new OrderDto.BulkRowResult(p.row, p.orderRef(), true, result.poid(),
+                                result.deliveryId(), "발주 등록 완료"));
+                    } catch (SQLException e) {
+                        if (TransactionRetry.isDeadlock(e)) {
+                            conn.rollback();
+                            return new ChunkAttempt(results, e, p);
+                        }
+                        conn.rollback(savepoint);
+                        results.add(failure(p.row, p.orderRef(), e.getMessage()));
+                    }
+                }
+
+                try {
+                    transactionService.applySupplierKpi(conn, kpi);
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    if (TransactionRetry.isDeadlock(e)) {
+                        return new ChunkAttempt(results, e, null);
+                    }
+                    return new ChunkAttempt(commitFailed(results, e), null, null);
+                }
+                return new ChunkAttempt(results, null, null);
+            } catch (SQLException | RuntimeException e) {
+                rollbackQuietly(conn);
+                throw e;
+            }
+        }
+    }
+
+    // 입력 값 검증. 오류 시 사유 반환.
+    private static String validate(OrderDto.OrderRequest req, ReferenceIds ids) {
+        if (!ids.projects().contains(req.projectId())) {
+            return "존재하지 않는 프로젝트 ID: " + req.projectId();
+        }
+        if (!ids.suppliers().contains(req.supplierId())) {
+            return "존재하지 않는 공급사 ID: " + req.supplierId();
+        }
+        if (!ids.warehouses().contains(req.warehouseId())) {
+            return "존재하지 않는 창고 ID: " + req.warehouseId();
+        }
+        if (req.status() != null && !req.status().isBlank() && !ORDER_STATUSES.contains(req.status())) {
+            return "허용되지 않은 발주 상태: " + req.status();
+        }
+        if (req.distanceKm() != null && req.distanceKm() < 0) {
+            return "운송 거리는 0 이상이어야 합니다: " + req.distanceKm();
+        }
+        if (req.lines() == null || req.lines().isEmpty()) {
+            return "발주 품목이 없습니다.";
+        }
+
+        int lineNo = 1;
+        for (OrderDto.OrderLineInput line : req.lines()) {
+            if (line == null) {
+                return "품목 " + lineNo + ": 품목 정보가 없습니다.";
+            }
+            if (!ids.parts().contains(line.partId())) {
+                return "품목 " + lineNo + ": 존재하지 않는 부품 ID: " + line.partId();
+            }
+            if (line.quantity() <= 0) {
+                return "품목 " + lineNo + ": 수량은 1 이상이어야 합니다.";
+            }
+            if (line.unitPrice() < 0) {
+                return "품목 " + lineNo + ": 단가는 0 이상이어야 합니다.";
+            }
+            lineNo++;
+        }
+        return null;
+    }
+
+    // chunk 커밋 실패. 성공 건 실패 처리.
+    private static List<OrderDto.BulkRowResult> commitFailed(List<OrderDto.BulkRowResult> results, SQLException e) {
+        Logger.warn("일괄 등록 chunk 커밋 실패: " + e.getMessage());
+        return results.stream()
+                .map(r -> r.success() ? failure(r.row(), r.orderRef(), "커밋 실패: " + e.getMessage()) : r)
+                .toList();
+    }
+
+    private void write(List<OrderDto.BulkRowResult> results, Progress progress, Writer out) throws IOException {
+        for (OrderDto.BulkRowResult r : results) {
+            if (r.success()) {
+                progress.succeeded++;
+            } else {
+                progress.failed++;
+            }
+            out.write(objectMapper.writeValueAsString(r));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    private static OrderDto.BulkRowResult failure(int row, String orderRef, String message) {
+        return new OrderDto.BulkRowResult(row, orderRef, false, null, null, message);
+    }
+
+    private static void rollbackQuietly(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException re) {
+            Logger.error("롤백 실패", re);
+        }
+    }
+
+    // 첫 줄 BOM 제거.
+    private static String stripBom(String line) {
+        return line != null && line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+
+    // 검증용 기준 ID 집합.
+    private record ReferenceIds(Set<Integer> projects, Set<Integer> suppliers, Set<Integer> parts,
+            Set<Integer> warehouses) {
+    }
+
+    // 입력에서 읽은 발주 1건. 파싱 실패 시 error 설정.
+    private record ParsedOrder(String orderRef, OrderDto.OrderRequest request, String error) {
+    }
+
+    // chunk 내 발주 1건. error: 입력/검증 오류 또는 교착상태 재시도 포기 사유 (설정 시 저장 제외).
+    private static final class PendingOrder {
+        final int row;
+        final ParsedOrder order;
+        String error;
+
+        PendingOrder(int row, ParsedOrder order, String error) {
+            this.row = row;
+            this.order = order;
+            this.error = error;
+        }
+
+        String orderRef() {
+            return order.orderRef();
+        }
+    }
+
+    // chunk 1회 실행 결과. deadlock: 교착상태로 롤백된 경우 원인, victim: 원인 발주 (커밋 단계면 null).
+    private record ChunkAttempt(List<OrderDto.BulkRowResult> results, SQLException deadlock, PendingOrder victim) {
+    }
+
+    // 처리 건수.
+    private static final class Progress {
+        int total;
+        int succeeded;
+        int failed;
+        int chunks;
+    }
+
+    // 발주 입력 스트림. 끝이면 null 반환.
+    private interface OrderSource {
+        ParsedOrder next() throws IOException;
+    }
+
+    // NDJSON 입력. 한 줄 = OrderRequest 1건 (orderRef 선택).
+    private final class NdjsonOrderSource implements OrderSource {
+        private final BufferedReader reader;
+        private boolean first = true;
+
+        NdjsonOrderSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedOrder next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (first) {
+                    line = stripBom(line);
+                    first = false;
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                String orderRef = null;
+                try {
+                    JsonNode node = objectMapper.readTree(line);
+                    orderRef = node.path("orderRef").asText(null);
+                    return new ParsedOrder(orderRef, requestReader.treeToValue(node, OrderDto.OrderRequest.class), null);
+                } catch (JsonProcessingException e) {
+                    return new ParsedOrder(orderRef, null, "JSON 형식 오류: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    // CSV 입력. 헤더 필수, 연속된 동일 orderRef 행을 발주 1건으로 묶음.
+    private static final class CsvOrderSource implements OrderSource {
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private CsvRow lookahead;
+        private int lineNo;
+
+        CsvOrderSource(BufferedReader reader) throws IOException {
+            this.reader = reader;
+
+            String header = stripBom(reader.readLine());
+            lineNo++;
+            if (header == null || header.isBlank()) {
+                throw new IllegalArgumentException("CSV 헤더가 없습니다.");
+            }
+            List<String> names = parseLine(header);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String required : CSV_REQUIRED_COLUMNS) {
+                if (!columns.containsKey(required)) {
+                    throw new IllegalArgumentException("CSV 필수 컬럼 누락: " + required);
+                }
+            }
+        }
+
+        @Override
+        public ParsedOrder next() throws IOException {
+            CsvRow first = lookahead != null ? lookahead : readRow();
+            lookahead = null;
+            if (first == null) {
+                return null;
+            }
+
+            // 동일 orderRef 연속 행 수집. 참조값 없으면 단일 행 발주.
+            String orderRef = cell(first, "orderref");
+            List<CsvRow> group = new ArrayList<>();
+            group.add(first);
+            if (!orderRef.isEmpty()) {
+                CsvRow row;
+                while ((row = readRow()) != null) {
+                    if (!orderRef.equals(cell(row, "orderref"))) {
+                        lookahead = row;
+                        break;
+                    }
+                    group.add(row);
+                }
+            }
+            return toOrder(orderRef.isEmpty() ? null : orderRef, group);
+        }
+
+        private ParsedOrder toOrder(String orderRef, List<CsvRow> group) {
+            CsvRow head = group.get(0);
+            CsvRow current = head;
+            try {
+                List<OrderDto.OrderLineInput> lines = new ArrayList<>();
+                for (CsvRow row : group) {
+                    current = row;
+                    lines.add(new OrderDto.OrderLineInput(
+                            Integer.parseInt(cell(row, "partid")),
+                            Integer.parseInt(cell(row, "quantity")),
+                            Double.parseDouble(cell(row, "unitprice"))));
+                }
+                current = head;
+                String distance = cell(head, "distancekm");
+                OrderDto.OrderRequest request = new OrderDto.OrderRequest(
+                        Integer.parseInt(cell(head, "projectid")),
+                        Integer.parseInt(cell(head, "supplierid")),
+                        blankToNull(cell(head, "engineername")),
+                        blankToNull(cell(head, "status")),
+                        lines,
+                        Integer.parseInt(cell(head, "warehouseid")),
+                        blankToNull(cell(head, "transportmode")),
+                        distance.isEmpty() ? null : Double.parseDouble(distance));
+                return new ParsedOrder(orderRef, request, null);
+            } catch (NumberFormatException e) {
+                return new ParsedOrder(orderRef, null, "CSV 값 오류 (line " + current.lineNo() + "): " + e.getMessage());
+            }
+        }
+
+        // 다음 데이터 행. 빈 줄 건너뜀.
+        private CsvRow readRow() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (!line.isBlank()) {
+                    return new CsvRow(lineNo, parseLine(line));
+                }
+            }
+            return null;
+        }
+
+        private String cell(CsvRow row, String column) {
+            Integer idx = columns.get(column);
+            if (idx == null || idx >= row.cells().size()) {
+                return "";
+            }
+            return row.cells().get(idx).trim();
+        }
+
+        private static String blankToNull(String value) {
+            return value.isEmpty() ? null : value;
+        }
+
+        // CSV 한 줄 분리. 큰따옴표 묶음 및 "" 이스케이프 지원. (필드 내 줄바꿈 미지원)
+        private static List<String> parseLine(String line) {
+            List<String> cells = new ArrayList<>();
+            StringBuilder sb = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        sb.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        sb.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    cells.add(sb.toString());
+                    sb.setLength(0);
+                } else {
+                    sb.append(c);
+                }
+            }
+            cells.add(sb.toString());
+            return cells;
+        }
+    }
+
+    // CSV 데이터 행. 원본 줄 번호 포함.
+    private record CsvRow(int lineNo, List<String> cells) {
+    }
+}
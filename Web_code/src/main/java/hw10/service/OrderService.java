@@ -1,5 +1,6 @@
 package hw10.service;
 
+import hw10.repository.InventoryRepository;
 import hw10.repository.ProjectRepository;
 import hw10.dto.OrderDto;
 import hw10.dto.ProjectDto;
@@ -7,10 +8,7 @@ import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -22,18 +20,31 @@ public class OrderService {
 
     private final DataSource dataSource;
     private final ProjectRepository projectRepository;
+    private final InventoryRepository inventoryRepository;
+    private final ReferenceDataService referenceDataService;
+    private final SearchIndexService searchIndexService;
 
     // 생성자. 리포지토리 초기화.
-    public OrderService(DataSource dataSource) {
+    public OrderService(DataSource dataSource, ReferenceDataService referenceDataService,
+            SearchIndexService searchIndexService) {
         this.dataSource = dataSource;
         this.projectRepository = new ProjectRepository();
+        this.inventoryRepository = new InventoryRepository();
+        this.referenceDataService = referenceDataService;
+        this.searchIndexService = searchIndexService;
     }
 
     /**
      * 프로젝트 검색 및 드롭다운 옵션 제공.
      * 키워드 없을 시 전체 조회 (최대 20개).
+     * 검색 색인 우선 사용 (일치 순위 정렬), 미구축 시 SQL 조회.
      */
     public List<ProjectDto.ProjectSearchItem> getProjectOptions(String keyword) throws SQLException {
+        List<ProjectDto.ProjectSearchItem> indexed = searchIndexService.searchProjects(keyword, 20);
+        if (indexed != null) {
+            return indexed;
+        }
+
         try (Connection conn = dataSource.getConnection()) {
             var projects = projectRepository.searchProjectsByShipName(
                     conn, keyword.isEmpty() ? "%" : keyword, 20, 0);
@@ -49,122 +60,43 @@ public class OrderService {
 
     /**
      * 공급업체 목록 전체 조회. 이름 순 정렬.
+     * 기준 정보 캐시 사용.
      */
     public List<OrderDto.SupplierOption> getSupplierOptions() throws SQLException {
-        try (Connection conn = dataSource.getConnection()) {
-            String sql = "SELECT SupplierID, Name, Country FROM Supplier ORDER BY Name";
-            try (PreparedStatement ps = conn.prepareStatement(sql);
-                    ResultSet rs = ps.executeQuery()) {
-                List<OrderDto.SupplierOption> suppliers = new ArrayList<>();
-                while (rs.next()) {
-                    suppliers.add(new OrderDto.SupplierOption(
-                            rs.getInt("SupplierID"),
-                            rs.getString("Name"),
-                            rs.getString("Country")));
-                }
-                return suppliers;
-            }
-        }
+        return referenceDataService.getSupplierOptions();
     }
 
     /**
-     * 부품 검색. 키워드 존재 시 이름 검색, 부재 시 전체 조회 (50개).
+     * 부품 검색. 키워드 존재 시 이름 검색(20개), 부재 시 전체 조회 (50개).
      * 평균 단가 포함하여 반환.
+     * 검색 색인 우선 사용 (일치 순위 정렬), 미구축 시 기준 정보 캐시 사용.
      */
     public List<OrderDto.PartOption> searchParts(String keyword) throws SQLException {
-        try (Connection conn = dataSource.getConnection()) {
-
-            String sql;
-            // 키워드 미존재 시 전체 조회 (상위 50개)
-            if (keyword == null || keyword.trim().isEmpty()) {
-                sql = """
-                        SELECT p.PartID, p.Name, p.Unit,
-                               COALESCE(AVG(sp.UnitPrice), 0.0) AS UnitPrice
-                        FROM Part p
-                        LEFT JOIN SupplierPart sp ON p.PartID = sp.PartID
-                        GROUP BY p.PartID, p.Name, p.Unit
-                        ORDER BY p.Name
-                        LIMIT 50
-                        """;
-            } else {
-                // 키워드 존재 시 이름 검색 (상위 20개)
-                sql = """
-                        SELECT p.PartID, p.Name, p.Unit,
-                               COALESCE(AVG(sp.UnitPrice), 0.0) AS UnitPrice
-                        FROM Part p
-                        LEFT JOIN SupplierPart sp ON p.PartID = sp.PartID
-                        WHERE p.Name ILIKE ?
-                        GROUP BY p.PartID, p.Name, p.Unit
-                        ORDER BY p.Name
-                        LIMIT 20
-                        """;
-            }
-            try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                if (keyword != null && !keyword.trim().isEmpty()) {
-                    ps.setString(1, "%" + keyword + "%");
-                }
-                try (ResultSet rs = ps.executeQuery()) {
-                    List<OrderDto.PartOption> parts = new ArrayList<>();
-                    while (rs.next()) {
-                        parts.add(new OrderDto.PartOption(
-                                rs.getInt("PartID"),
-                                rs.getString("Name"),
-                                rs.getString("Unit"),
-                                rs.getDouble("UnitPrice")));
-                    }
-                    return parts;
-                }
-            }
+        boolean hasKeyword = keyword != null && !keyword.trim().isEmpty();
+        List<OrderDto.PartOption> indexed = searchIndexService.searchParts(keyword, hasKeyword ? 20 : 50);
+        if (indexed != null) {
+            return indexed;
         }
+        return referenceDataService.searchParts(keyword);
     }
 
     /**
      * 창고 목록 조회. 이름 순 정렬.
+     * 기준 정보 캐시 사용.
      */
     public List<OrderDto.WarehouseOption> getWarehouseOptions() throws SQLException {
-        try (Connection conn = dataSource.getConnection()) {
-            String sql = "SELECT WarehouseID, Name, Location FROM Warehouse ORDER BY Name";
-            try (PreparedStatement ps = conn.prepareStatement(sql);
-                    ResultSet rs = ps.executeQuery()) {
-                List<OrderDto.WarehouseOption> warehouses = new ArrayList<>();
-                while (rs.next()) {
-                    warehouses.add(new OrderDto.WarehouseOption(
-                            rs.getInt("WarehouseID"),
-                            rs.getString("Name"),
-                            rs.getString("Location")));
-                }
-                return warehouses;
-            }
-        }
+        return referenceDataService.getWarehouseOptions();
     }
 
     /**
      * 특정 창고의 현재 재고 현황 조회.
-     * 부품별 수량 표시.
+     * 부품별 수량 표시. 재고 수량에 미반영 이동 원장 합산 (입고 직후에도 반영된 수량).
      */
     public List<OrderDto.InventoryItem> getWarehouseInventory(int warehouseId) throws SQLException {
         try (Connection conn = dataSource.getConnection()) {
-            String sql = """
-                    SELECT i.PartID, p.Name AS PartName, p.Unit, i.Quantity
-                    FROM Inventory i
-                    INNER JOIN Part p ON i.PartID = p.PartID
-                    WHERE i.WarehouseID = ?
-                    ORDER BY p.Name
-                    """;
-            try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                ps.setInt(1, warehouseId);
-                try (ResultSet rs = ps.executeQuery()) {
-                    List<OrderDto.InventoryItem> inventory = new ArrayList<>();
-                    while (rs.next()) {
-                        inventory.add(new OrderDto.InventoryItem(
-                                rs.getInt("PartID"),
-                                rs.getString("PartName"),
-                                rs.getString("Unit"),
-                                rs.getInt("Quantity")));
-                    }
-                    return inventory;
-                }
-            }
+            return inventoryRepository.findByWarehouse(conn, warehouseId).stream()
+                    .map(i -> new OrderDto.InventoryItem(i.partId(), i.partName(), i.unit(), i.quantity()))
+                    .toList();
         }
     }
 
@@ -4,6 +4,7 @@ import hw10.repository.DeliveryRepository;
 import hw10.repository.SequenceGenerator;
 import hw10.repository.InventoryRepository;
 import hw10.repository.OrderRepository;
+import hw10.repository.SupplierKpiRepository;
 import hw10.util.Logger;
 import org.springframework.stereotype.Service;
 
@@ -12,12 +13,16 @@ import java.sql.Connection;
 import java.sql.Date;
 import java.sql.SQLException;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * 발주 등록 트랜잭션 서비스.
- * 발주서 생성, 상세 품목 추가, 초기 납품 기록 일괄 처리.
+ * 발주서 생성, 상세 품목 추가, 초기 납품 기록, 공급업체 KPI 반영 일괄 처리.
  * 오류 발생 시 전체 롤백.
+ * 잠금 순서 고정: 재고 이동은 부품별 합산 후 (창고, 부품) 순, 갱신 행(공급업체 KPI)은 마지막에 업체 ID 순.
  */
 @Service
 public class OrderTransactionService {
@@ -28,12 +33,23 @@ public class OrderTransactionService {
     public record TransactionResult(int poid, int deliveryId) {
     }
 
+    // 공급업체 KPI 증분. 발주 금액 합계, 초기 납품 건수.
+    public record KpiDelta(double orderAmount, int deliveries) {
+        public KpiDelta plus(KpiDelta other) {
+            return new KpiDelta(orderAmount + other.orderAmount, deliveries + other.deliveries);
+        }
+    }
+
+    // 일괄(batch) 저장 전환 기준 품목 수. 미만은 건별 저장.
+    private static final int BATCH_THRESHOLD = 8;
+
     private final DataSource dataSource;
 
     private final SequenceGenerator sequenceGenerator = new SequenceGenerator();
     private final OrderRepository orderRepository = new OrderRepository();
     private final DeliveryRepository deliveryRepository = new DeliveryRepository();
     private final InventoryRepository inventoryRepository = new InventoryRepository();
+    private final SupplierKpiRepository supplierKpiRepository = new SupplierKpiRepository();
 
     public OrderTransactionService(DataSource dataSource) {
         this.dataSource = dataSource;
@@ -49,10 +65,11 @@ public class OrderTransactionService {
             String transportMode,
             Double distanceKm) throws Exception {
 
-        // 교착상태(Deadlock) 발생 시 최대 3회 재시도.
-        int maxRetries = 3;
-
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
+        // 교착상태(Deadlock) 발생 시 재시도. 횟수/대기/예산은 TransactionRetry.
+        for (int attempt = 1;; attempt++) {
+            // 시도별 트랜잭션 ID. 이후 로그에 기록.
+            Logger.beginTx();
+            long started = System.currentTimeMillis();
             try (Connection conn = dataSource.getConnection()) {
 
                 // 수동 커밋 모드 전환. 트랜잭션 시작.
@@ -65,48 +82,16 @@ public class OrderTransactionService {
 
                 try {
 
-                    int poid = sequenceGenerator.nextId(conn, "PurchaseOrder.POID");
-                    Date today = new Date(System.currentTimeMillis());
-                    // 상태 값 미존재 시 기본값 '요청' 설정.
-                    String orderStatus = (status != null && !status.trim().isEmpty()) ? status : "요청";
-                    // 발주서 메인 정보 저장.
-                    orderRepository.insertPurchaseOrder(conn, poid, today, orderStatus, engineerName, projectId,
-                            supplierId);
-
-                    int lineNo = 1;
-                    for (OrderLineInput li : lines) {
-                        // 발주 상세 품목 저장.
-                        orderRepository.insertPurchaseOrderLine(conn, poid, lineNo, li.partId(), li.quantity(),
-                                li.unitPrice(), null);
-                        lineNo++;
-                    }
-
-                    // 초기 납품 데이터 생성. 금일 날짜, '정상입고'.
-                    int deliveryId = sequenceGenerator.nextId(conn, "Delivery.DeliveryID");
-                    deliveryRepository.insertDelivery(conn, deliveryId, poid, today, transportMode, distanceKm, "정상입고");
-
-                    lineNo = 1;
-                    for (OrderLineInput li : lines) {
-
-                        // 초기 수량 발주량의 50% 설정.
-                        int received = (int) Math.round(li.quantity() * 0.5);
-
-                        // 0개일 경우 1개로 처리.
-                        if (received == 0 && li.quantity() > 0) {
-                            received = 1;
-                        }
-                        deliveryRepository.insertDeliveryLine(conn, deliveryId, poid, lineNo, received, "초기납품(자동)");
-
-                        // 창고 재고 업데이트. 미존재 시 삽입, 존재 시 수량 추가.
-                        inventoryRepository.addInventory(conn, warehouseId, li.partId(), received);
-                        lineNo++;
-                    }
+                    TransactionResult result = insertOrderWithInitialDelivery(conn, projectId, supplierId,
+                            engineerName, status, lines, warehouseId, transportMode, distanceKm);
 
                     // DB 반영 (커밋).
                     conn.commit();
+                    TransactionRetry.succeeded(attempt);
 
-                    Logger.info("트랜잭션 커밋 완료 - 발주서 ID: " + poid + ", 납품서 ID: " + deliveryId);
-                    return new TransactionResult(poid, deliveryId);
+                    Logger.info("트랜잭션 커밋 완료 - 발주서 ID: " + result.poid() + ", 납품서 ID: " + result.deliveryId(),
+                            System.currentTimeMillis() - started);
+                    return result;
 
                 } catch (SQLException e) {
 
@@ -119,22 +104,161 @@ public class OrderTransactionService {
                         throw new SQLException("롤백 처리 중 오류 발생", re);
                     }
 
-                    // 데드락(40P01) 발생 시 재시도.
-                    if ("40P01".equals(e.getSQLState()) && attempt < maxRetries) {
-                        Logger.warn("교착상태 감지(40P01) -> 재시도: " + e.getMessage());
-                        // 대기 후 재시도.
-                        try {
-                            Thread.sleep(200L * attempt);
-                        } catch (InterruptedException ignored) {
-                        }
+                    // 데드락(40P01) 발생 시 지터 백오프 후 재시도.
+                    if (TransactionRetry.retry(e, attempt)) {
                         continue;
                     }
 
                     throw e;
                 }
+            } finally {
+                Logger.endTx();
+            }
+        }
+    }
+
+    /**
+     * 발주서, 상세 품목, 초기 납품, 재고 이동 기록, 공급업체 KPI 반영을 주어진 커넥션에 기록.
+     * 커밋/롤백은 호출 측 담당.
+     */
+    public TransactionResult insertOrderWithInitialDelivery(
+            Connection conn,
+            int projectId,
+            int supplierId,
+            String engineerName,
+            String status,
+            List<OrderLineInput> lines,
+            int warehouseId,
+            String transportMode,
+            Double distanceKm) throws SQLException {
+
+        TransactionResult result = insertOrderWithoutKpi(conn, projectId, supplierId, engineerName, status, lines,
+                warehouseId, transportMode, distanceKm);
+        applySupplierKpi(conn, Map.of(supplierId, kpiDelta(lines)));
+        return result;
+    }
+
+    /**
+     * 공급업체 KPI 반영 제외 기록. 한 트랜잭션에 여러 발주를 기록하는 호출 측(일괄 등록) 전용.
+     * KPI는 kpiDelta를 업체별로 모아 커밋 직전 applySupplierKpi로 반영 (발주 순서와 무관한 잠금 순서).
+     */
+    public TransactionResult insertOrderWithoutKpi(
+            Connection conn,
+            int projectId,
+            int supplierId,
+            String engineerName,
+            String status,
+            List<OrderLineInput> lines,
+            int warehouseId,
+            String transportMode,
+            Double distanceKm) throws SQLException {
+
+        int poid = sequenceGenerator.nextId(conn, "PurchaseOrder.POID");
+        Date today = new Date(System.currentTimeMillis());
+        // 상태 값 미존재 시 기본값 '요청' 설정.
+        String orderStatus = (status != null && !status.trim().isEmpty()) ? status : "요청";
+        // 발주서 메인 정보 저장.
+        orderRepository.insertPurchaseOrder(conn, poid, today, orderStatus, engineerName, projectId, supplierId);
+
+        // 발주 상세 품목 저장.
+        insertOrderLines(conn, poid, lines);
+
+        // 초기 납품 데이터 생성. 금일 날짜, '정상입고'.
+        int deliveryId = sequenceGenerator.nextId(conn, "Delivery.DeliveryID");
+        deliveryRepository.insertDelivery(conn, deliveryId, poid, today, transportMode, distanceKm, "정상입고");
+
+        // 납품 상세 품목 저장 및 창고 재고 이동 기록.
+        insertInitialDeliveryLines(conn, deliveryId, poid, warehouseId, lines);
+
+        return new TransactionResult(poid, deliveryId);
+    }
+
+    /**
+     * 발주 1건의 공급업체 KPI 증분. 발주 금액 및 초기 납품 1건.
+     */
+    public static KpiDelta kpiDelta(List<OrderLineInput> lines) {
+        double orderAmount = 0;
+        for (OrderLineInput li : lines) {
+            orderAmount += li.quantity() * li.unitPrice();
+        }
+        return new KpiDelta(orderAmount, 1);
+    }
+
+    /**
+     * 공급업체 KPI 증분 반영. 업체 ID 순으로 갱신하여 동시 트랜잭션 간 교착상태 방지.
+     * 초기 납품은 '정상입고'이므로 지연 0건.
+     */
+    public void applySupplierKpi(Connection conn, Map<Integer, KpiDelta> deltas) throws SQLException {
+        for (Map.Entry<Integer, KpiDelta> e : new TreeMap<>(deltas).entrySet()) {
+            supplierKpiRepository.applyOrder(conn, e.getKey(), e.getValue().orderAmount(),
+                    e.getValue().deliveries(), 0);
+        }
+    }
+
+    // 발주 상세 품목 저장. 기준 이상은 일괄 저장.
+    private void insertOrderLines(Connection conn, int poid, List<OrderLineInput> lines) throws SQLException {
+        if (lines.size() < BATCH_THRESHOLD) {
+            int lineNo = 1;
+            for (OrderLineInput li : lines) {
+                orderRepository.insertPurchaseOrderLine(conn, poid, lineNo, li.partId(), li.quantity(),
+                        li.unitPrice(), null);
+                lineNo++;
             }
+            return;
+        }
+
+        List<OrderRepository.PurchaseOrderLineRow> rows = new ArrayList<>(lines.size());
+        int lineNo = 1;
+        for (OrderLineInput li : lines) {
+            rows.add(new OrderRepository.PurchaseOrderLineRow(lineNo, li.partId(), li.quantity(), li.unitPrice(),
+                    null));
+            lineNo++;
         }
+        orderRepository.insertPurchaseOrderLines(conn, poid, rows);
+    }
 
-        throw new IllegalStateException("트랜잭션 재시도 초과");
+    // 초기 납품 상세 품목 저장 및 재고 이동 원장 기록. 기준 이상은 일괄 저장.
+    // 재고 행은 갱신하지 않음 (원장 반영은 InventoryLedgerCompactor).
+    // 재고 이동은 부품별 합산 후 부품 ID 순 기록 (창고는 발주당 1곳, 입력 순서와 무관한 잠금 순서).
+    private void insertInitialDeliveryLines(Connection conn, int deliveryId, int poid, int warehouseId,
+            List<OrderLineInput> lines) throws SQLException {
+        boolean batch = lines.size() >= BATCH_THRESHOLD;
+        List<DeliveryRepository.DeliveryLineRow> deliveryRows = new ArrayList<>(lines.size());
+        Map<Integer, Integer> received = new TreeMap<>();
+
+        int lineNo = 1;
+        for (OrderLineInput li : lines) {
+            int qty = initialReceivedQty(li.quantity());
+            received.merge(li.partId(), qty, Integer::sum);
+
+            if (batch) {
+                deliveryRows.add(new DeliveryRepository.DeliveryLineRow(lineNo, qty, "초기납품(자동)"));
+            } else {
+                deliveryRepository.insertDeliveryLine(conn, deliveryId, poid, lineNo, qty, "초기납품(자동)");
+            }
+            lineNo++;
+        }
+
+        if (batch) {
+            deliveryRepository.insertDeliveryLines(conn, deliveryId, poid, deliveryRows);
+
+            List<InventoryRepository.InventoryDelta> deltas = new ArrayList<>(received.size());
+            received.forEach((partId, qty) -> deltas.add(new InventoryRepository.InventoryDelta(partId, qty)));
+            inventoryRepository.appendMovements(conn, warehouseId, deltas, poid, deliveryId);
+        } else {
+            // 창고 재고 입고 기록. 원장 행 추가만 수행하여 재고 행 잠금 없음.
+            for (Map.Entry<Integer, Integer> e : received.entrySet()) {
+                inventoryRepository.appendMovement(conn, warehouseId, e.getKey(), e.getValue(), poid, deliveryId);
+            }
+        }
+    }
+
+    // 초기 입고 수량. 발주량의 50%, 0개일 경우 1개로 처리.
+    private static int initialReceivedQty(int quantity) {
+        int received = (int) Math.round(quantity * 0.5);
+        if (received == 0 && quantity > 0) {
+            received = 1;
+        }
+        return received;
     }
 }
@@ -1,7 +1,11 @@
 package hw10.service;
 
+import hw10.repository.EmissionRollupRepository;
 import hw10.repository.ProjectRepository;
 import hw10.dto.ProjectDto;
+import hw10.util.Logger;
+import hw10.util.PageCursor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
@@ -16,12 +20,25 @@ import java.util.List;
 @Service
 public class ProjectService {
 
+    // 검색 페이지 최대 크기.
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final DataSource dataSource;
     private final ProjectRepository projectRepository;
+    private final EmissionRollupRepository emissionRollupRepository = new EmissionRollupRepository();
+    private final SearchIndexService searchIndexService;
+    private final QueryFanOut queryFanOut;
+
+    // 대시보드 통계 병렬 조회 사용 여부. 기본 꺼짐 (단일 쿼리 순차 조회가 처리량, 커넥션 사용 모두 유리).
+    private final boolean fanOut;
 
-    public ProjectService(DataSource dataSource) {
+    public ProjectService(DataSource dataSource, SearchIndexService searchIndexService, QueryFanOut queryFanOut,
+            @Value("${scm.dashboard.fan-out:false}") boolean fanOut) {
         this.dataSource = dataSource;
         this.projectRepository = new ProjectRepository();
+        this.searchIndexService = searchIndexService;
+        this.queryFanOut = queryFanOut;
+        this.fanOut = fanOut;
     }
 
     /**
@@ -45,77 +62,162 @@ public class ProjectService {
     }
 
     /**
-     * 프로젝트 검색 및 페이징 처리.
+     * 프로젝트 검색 및 키셋 페이징 처리. 프로젝트 ID 순 정렬.
+     * cursor: 이전 페이지의 nextCursor, 첫 페이지는 생략.
+     * 검색 색인 우선 사용, 미구축 시 SQL 조회.
      */
-    public List<ProjectDto.ProjectSearchItem> searchProjects(String keyword, int page, int limit) throws SQLException {
-        int offset = page * limit;
-        try (Connection conn = dataSource.getConnection()) {
-            var results = projectRepository.searchProjectsByShipName(conn, keyword, limit, offset);
-            return results.stream()
-                    .map(r -> new ProjectDto.ProjectSearchItem(
-                            r.projectId(),
-                            r.shipName(),
-                            r.shipType(),
-                            r.status()))
-                    .toList();
+    public ProjectDto.ProjectSearchPage searchProjects(String keyword, String cursor, int limit) throws SQLException {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit은 1~" + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+        int afterId = PageCursor.parseId(cursor);
+
+        // 다음 페이지 존재 확인용 1건 추가 조회.
+        List<ProjectDto.ProjectSearchItem> rows = searchIndexService.searchProjectsAfterId(keyword, afterId, limit + 1);
+        if (rows == null) {
+            try (Connection conn = dataSource.getConnection()) {
+                rows = projectRepository.searchProjectsByShipName(conn, keyword, afterId, limit + 1).stream()
+                        .map(r -> new ProjectDto.ProjectSearchItem(
+                                r.projectId(),
+                                r.shipName(),
+                                r.shipType(),
+                                r.status()))
+                        .toList();
+            }
+        }
+
+        if (rows.size() <= limit) {
+            return new ProjectDto.ProjectSearchPage(rows, null);
         }
+        List<ProjectDto.ProjectSearchItem> items = rows.subList(0, limit);
+        return new ProjectDto.ProjectSearchPage(items, PageCursor.ofId(items.get(limit - 1).projectId()));
     }
 
     /**
-     * 프로젝트 대시보드 통계 데이터 수집.
-     * 총 발주액, 탄소 배출량(유형별), 상위 공급사, 탄소 집약도 계산.
+     * 프로젝트 대시보드 통계 데이터 수집. 기본은 단일 커넥션 순차 조회 (쿼리 2회).
+     * 병렬 조회(scm.dashboard.fan-out=true) 시 기본 정보, 총 발주액, 유형별 배출량, 상위 공급사를
+     * 별도 커넥션에서 병렬 조회 (QueryFanOut, 요청당 커넥션 최대 4개).
+     * 응답 시간은 조회 합계 대신 가장 느린 조회 기준. 기본 정보 외 항목은 시간 초과/실패 시 null (부분 결과).
+     * 탄소 집약도는 조회된 값으로 계산.
      */
     public ProjectDto.DashboardStats getDashboardStats(int projectId) throws SQLException {
+        if (!fanOut) {
+            return getDashboardStatsSerial(projectId);
+        }
+
+        QueryFanOut.Batch batch = queryFanOut.batch();
+        var basic = batch.submit("project", conn -> projectRepository.findProjectById(conn, projectId));
+        var amount = batch.submit("totalOrderAmount", conn -> projectRepository.totalOrderAmount(conn, projectId));
+        var emissions = batch.submit("emissions", conn -> projectRepository.emissionSums(conn, projectId));
+        var topSuppliers = batch.submit("topSuppliers",
+                conn -> projectRepository.topSuppliersByAmount(conn, projectId, 3));
+        batch.await();
+
+        // 기본 정보는 필수. 조회 실패 시 예외 전달.
+        var projectBasic = basic.get();
+        if (projectBasic == null) {
+            throw new IllegalArgumentException("프로젝트를 찾을 수 없습니다: " + projectId);
+        }
+
+        Double totalOrderAmount = amount.orNull();
+        var sums = emissions.orNull();
+        Double carbonIntensity = totalOrderAmount != null && sums != null
+                ? ProjectRepository.carbonIntensity(sums.total(), totalOrderAmount)
+                : null;
+        var suppliers = topSuppliers.orNull();
+
+        return new ProjectDto.DashboardStats(
+                toBasic(projectBasic),
+                totalOrderAmount,
+                sums != null ? sums.total() : null,
+                sums != null ? sums.transport() : null,
+                sums != null ? sums.storage() : null,
+                sums != null ? sums.processing() : null,
+                suppliers != null ? toSupplierAmounts(suppliers) : null,
+                carbonIntensity,
+                null,
+                batch.unavailable());
+    }
+
+    // 단일 커넥션 순차 조회. 기본 정보, 총 발주액, 배출량 단일 쿼리 후 상위 공급사 조회. (쿼리 2회)
+    private ProjectDto.DashboardStats getDashboardStatsSerial(int projectId) throws SQLException {
         try (Connection conn = dataSource.getConnection()) {
 
-            var projectBasic = projectRepository.findProjectById(conn, projectId);
-            if (projectBasic == null) {
+            // 기본 정보, 총 발주액, 배출량(총합/운송/보관/가공+생산) 일괄 조회.
+            var stats = projectRepository.dashboardStats(conn, projectId);
+            if (stats == null) {
                 throw new IllegalArgumentException("프로젝트를 찾을 수 없습니다: " + projectId);
             }
 
-            // 총 발주 금액.
-            double totalAmount = projectRepository.totalOrderAmount(conn, projectId);
-            // 총 탄소 배출량.
-            double totalEmission = projectRepository.emissionSumTotal(conn, projectId);
-            // 운송 과정 탄소 배출량.
-            double transportEmission = projectRepository.emissionSumByType(conn, projectId, "운송");
-            // 보관 과정 탄소 배출량.
-            double storageEmission = projectRepository.emissionSumByType(conn, projectId, "보관");
-
-            // 가공 및 생산 합산하여 처리 과정 배출량으로 간주.
-            double processingEmission = projectRepository.emissionSumByType(conn, projectId, "가공")
-                    + projectRepository.emissionSumByType(conn, projectId, "생산");
             // 상위 3개 공급사 조회.
             var topSuppliers = projectRepository.topSuppliersByAmount(conn, projectId, 3);
 
-            // 탄소 집약도 계산.
-            Double carbonIntensity = projectRepository.calculateCarbonIntensity(conn, projectId);
-
-            ProjectDto.ProjectBasic project = new ProjectDto.ProjectBasic(
-                    projectBasic.projectId(),
-                    projectBasic.shipName(),
-                    projectBasic.shipType(),
-                    projectBasic.contractDate(),
-                    projectBasic.deliveryDueDate(),
-                    projectBasic.status());
-
-            List<ProjectDto.SupplierAmount> suppliers = topSuppliers.stream()
-                    .map(s -> new ProjectDto.SupplierAmount(
-                            s.supplierId(),
-                            s.name(),
-                            s.amount()))
-                    .toList();
+            // 탄소 집약도 계산. 추가 조회 없이 집계 값 사용.
+            Double carbonIntensity = ProjectRepository.carbonIntensity(stats.totalEmission(), stats.totalOrderAmount());
 
             return new ProjectDto.DashboardStats(
-                    project,
-                    totalAmount,
-                    totalEmission,
-                    transportEmission,
-                    storageEmission,
-                    processingEmission,
-                    suppliers,
+                    toBasic(stats.project()),
+                    stats.totalOrderAmount(),
+                    stats.totalEmission(),
+                    stats.transportEmission(),
+                    stats.storageEmission(),
+                    stats.processingEmission(),
+                    toSupplierAmounts(topSuppliers),
                     carbonIntensity,
-                    null);
+                    null,
+                    List.of());
+        }
+    }
+
+    private static ProjectDto.ProjectBasic toBasic(ProjectRepository.ProjectBasic basic) {
+        return new ProjectDto.ProjectBasic(
+                basic.projectId(),
+                basic.shipName(),
+                basic.shipType(),
+                basic.contractDate(),
+                basic.deliveryDueDate(),
+                basic.status());
+    }
+
+    private static List<ProjectDto.SupplierAmount> toSupplierAmounts(List<ProjectRepository.SupplierAmount> rows) {
+        return rows.stream()
+                .map(s -> new ProjectDto.SupplierAmount(
+                        s.supplierId(),
+                        s.name(),
+                        s.amount()))
+                .toList();
+    }
+
+    /**
+     * 프로젝트 월별 배출 집계 전체 재계산.
+     * 원본 배출 기록 기준으로 덮어쓴 뒤 검증, 검증 실패 시 롤백.
+     */
+    public ProjectDto.EmissionRollupRebuildResult rebuildEmissionRollup() throws SQLException {
+        long start = System.currentTimeMillis();
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                var result = emissionRollupRepository.rebuild(conn);
+                conn.commit();
+
+                long elapsed = System.currentTimeMillis() - start;
+                Logger.info("배출 집계 재계산 완료 - 그룹: " + result.groups()
+                        + ", 보정 프로젝트: " + result.corrected(), elapsed);
+                return new ProjectDto.EmissionRollupRebuildResult(result.groups(), result.corrected(), elapsed);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 프로젝트 월별 배출 집계 검증. 원본 귀속 결과와 비교.
+     */
+    public ProjectDto.EmissionRollupVerifyResult verifyEmissionRollup() throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            List<Integer> mismatches = emissionRollupRepository.findMismatches(conn);
+            return new ProjectDto.EmissionRollupVerifyResult(mismatches.isEmpty(), mismatches);
         }
     }
 }
@@ -0,0 +1,346 @@
+package hw10.service;
+
+import hw10.config.ThreadingMode;
+import hw10.util.Logger;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 독립 조회 병렬 실행기.
+ * 한 요청의 서로 무관한 리포지토리 조회(분기)를 각각 별도 풀 커넥션에서 동시 실행.
+ * 요청(Batch)당 동시 실행 분기 수 제한, 초과분은 앞 분기 완료 시 순서대로 시작.
+ * 분기별 마감 시각(제출 시각 + 제한 시간) 적용. 커넥션 대기 포함, 마감 초과 시 대기 측에서 실행 중 조회 취소 요청.
+ * 정상 경로에는 Statement별 타이머/추가 왕복 없음 (취소는 마감 초과 분기에만 전송).
+ * 마감 초과/실패 분기는 결과 없음으로 처리하여 호출 측에서 부분 결과 구성 가능.
+ * 실행 스레드: 가상 스레드 모드면 분기마다 가상 스레드, 아니면 고정 크기 플랫폼 스레드 풀.
+ */
+@Service
+public class QueryFanOut {
+
+    // 분기 조회. 전달받은 커넥션은 실행기가 닫음.
+    @FunctionalInterface
+    public interface Query<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    private final DataSource dataSource;
+    private final ExecutorService executor;
+    private final int maxConcurrency;
+    private final long timeoutMs;
+
+    public QueryFanOut(DataSource dataSource, ThreadingMode threadingMode,
+            @Value("${scm.fan-out.max-concurrency:4}") int maxConcurrency,
+            @Value("${scm.fan-out.timeout-ms:3000}") long timeoutMs,
+            @Value("${scm.fan-out.threads:16}") int threads) {
+        this.dataSource = dataSource;
+        this.executor = threadingMode.newExecutor("query-fan-out", threads);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.timeoutMs = Math.max(1, timeoutMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 요청 1건의 분기 묶음 (기본 동시 실행 수, 제한 시간).
+     */
+    public Batch batch() {
+        return new Batch(maxConcurrency, timeoutMs);
+    }
+
+    /**
+     * 요청 1건의 분기 묶음. 요청 스레드 전용 (스레드 간 공유 불가).
+     */
+    public final class Batch {
+        private final int budget;
+        private final long defaultTimeoutMs;
+        private final List<Branch<?>> branches = new ArrayList<>();
+
+        // 시작 대기 분기 및 실행 중 분기 수. 분기 완료 스레드와 공유.
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Deque<Branch<?>> pending = new ArrayDeque<>();
+        private int running;
+
+        private Batch(int budget, long defaultTimeoutMs) {
+            this.budget = budget;
+            this.defaultTimeoutMs = defaultTimeoutMs;
+        }
+
+        public <T> Branch<T> submit(String name, Query<T> query) {
+            return submit(name, defaultTimeoutMs, query);
+        }
+
+        /**
+         * 분기 제출. 동시 실행 수 여유 시 즉시 시작.
+         */
+        public <T> Branch<T> submit(String name, long timeoutMs, Query<T> query) {
+            Branch<T> branch = new Branch<>(name, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs),
+                    query);
+            branches.add(branch);
+            lock.lock();
+            try {
+                pending.addLast(branch);
+            } finally {
+                lock.unlock();
+            }
+            drain();
+            return branch;
+        }
+
+        /**
+         * 전 분기 완료 또는 각 분기 마감까지 대기.
+         * 마감 초과 분기는 SQLTimeoutException으로 완료 처리 후 실행 중 조회 취소.
+         */
+        public void await() throws SQLException {
+            for (Branch<?> branch : branches) {
+                long remaining = branch.deadline - System.nanoTime();
+                try {
+                    branch.result.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+                } catch (ExecutionException ignored) {
+                    // 분기 결과에 보관, 조회 시 전달.
+                } catch (TimeoutException e) {
+                    if (branch.result.completeExceptionally(new SQLTimeoutException(branch.name + " 조회 시간 초과"))) {
+                        Logger.warn("병렬 조회 시간 초과 [" + branch.name + "]");
+                        branch.cancel();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("병렬 조회 대기 중단", e);
+                }
+            }
+        }
+
+        /**
+         * 결과 없는 분기 이름 (시간 초과/실패). await 이후 호출.
+         */
+        public List<String> unavailable() {
+            List<String> out = new ArrayList<>();
+            for (Branch<?> branch : branches) {
+                if (!branch.ok()) {
+                    out.add(branch.name);
+                }
+            }
+            return out;
+        }
+
+        // 동시 실행 수 여유만큼 대기 분기 시작.
+        private void drain() {
+            while (true) {
+                Branch<?> next;
+                lock.lock();
+                try {
+                    if (running >= budget || pending.isEmpty()) {
+                        return;
+                    }
+                    next = pending.pollFirst();
+                    running++;
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    executor.execute(() -> run(next));
+                } catch (RejectedExecutionException e) {
+                    next.result.completeExceptionally(new SQLException("병렬 조회 실행기 종료됨", e));
+                    finished();
+                }
+            }
+        }
+
+        private void finished() {
+            lock.lock();
+            try {
+                running--;
+            } finally {
+                lock.unlock();
+            }
+            drain();
+        }
+
+        private <T> void run(Branch<T> branch) {
+            try {
+                // 호출 측에서 이미 시간 초과 처리한 분기는 생략.
+                if (!branch.result.isDone()) {
+                    branch.result.complete(execute(branch));
+                }
+            } catch (Throwable t) {
+                if (branch.result.completeExceptionally(t)) {
+                    Logger.warn("병렬 조회 실패 [" + branch.name + "]: " + t.getMessage());
+                }
+            } finally {
+                finished();
+            }
+        }
+
+        // 풀 커넥션 획득 후 조회. 커넥션 대기로 마감 경과 시 조회 생략.
+        // 커넥션 반납 전 분기 종료 표시 (이후 취소 요청이 다음 사용자 조회에 전달되지 않도록).
+        private <T> T execute(Branch<T> branch) throws SQLException {
+            try (Connection conn = dataSource.getConnection()) {
+                try {
+                    return branch.query.run(TrackedConnection.wrap(conn, branch));
+                } finally {
+                    branch.release();
+                }
+            }
+        }
+    }
+
+    // 생성되는 Statement를 분기에 등록하는 커넥션 (닫기는 원본 소유자 담당). 마감 경과 후 생성 요청은 거부.
+    // 이름 있는 InvocationHandler 클래스: SQL 계측의 호출 메서드 판별에서 제외됨 (InstrumentedDataSource).
+    private static final class TrackedConnection implements InvocationHandler {
+        private final Connection conn;
+        private final Branch<?> branch;
+
+        private TrackedConnection(Connection conn, Branch<?> branch) {
+            this.conn = conn;
+            this.branch = branch;
+        }
+
+        static Connection wrap(Connection conn, Branch<?> branch) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, new TrackedConnection(conn, branch));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "close" -> null;
+                case "createStatement", "prepareStatement", "prepareCall" ->
+                    branch.track((Statement) forward(method, args));
+                default -> forward(method, args);
+            };
+        }
+
+        private Object forward(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(conn, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * 분기 1건의 결과.
+     */
+    public static final class Branch<T> {
+        private final String name;
+        private final long deadline;
+        private final Query<T> query;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        // 실행 중 Statement. 실행 스레드(등록/반납)와 대기 측(취소) 공유.
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<Statement> statements = new ArrayList<>();
+        private boolean released;
+
+        private Branch(String name, long deadline, Query<T> query) {
+            this.name = name;
+            this.deadline = deadline;
+            this.query = query;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public boolean ok() {
+            return result.isDone() && !result.isCompletedExceptionally();
+        }
+
+        /**
+         * 조회 결과. 시간 초과/실패 시 원래 예외 전달 (SQL 외 예외는 SQLException으로 감쌈).
+         */
+        public T get() throws SQLException {
+            try {
+                return result.getNow(null);
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException sql) {
+                    throw sql;
+                }
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new SQLException(name + " 조회 실패", cause);
+            }
+        }
+
+        /**
+         * 조회 결과. 시간 초과/실패 시 null (부분 결과 구성용).
+         */
+        public T orNull() {
+            return ok() ? result.getNow(null) : null;
+        }
+
+        // Statement 등록. 이미 시간 초과 처리된 분기면 닫고 SQLTimeoutException.
+        private Statement track(Statement st) throws SQLException {
+            lock.lock();
+            try {
+                if (result.isDone()) {
+                    st.close();
+                    throw new SQLTimeoutException(name + " 조회 시간 초과");
+                }
+                statements.add(st);
+                return st;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 실행 중 조회 취소 요청 (커넥션 반납 전인 경우만).
+        private void cancel() {
+            lock.lock();
+            try {
+                if (released) {
+                    return;
+                }
+                for (Statement st : statements) {
+                    try {
+                        st.cancel();
+                    } catch (SQLException e) {
+                        Logger.warn("병렬 조회 취소 실패 [" + name + "]: " + e.getMessage());
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void release() {
+            lock.lock();
+            try {
+                released = true;
+                statements.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
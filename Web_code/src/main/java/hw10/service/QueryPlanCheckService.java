@@ -0,0 +1,232 @@
+package hw10.service;
+
+import hw10.db.QueryPlanRecorder;
+import hw10.repository.InventoryRepository;
+import hw10.repository.MainRepository;
+import hw10.repository.ProjectRepository;
+import hw10.repository.ReferenceRepository;
+import hw10.repository.SupplierRepository;
+import hw10.util.Logger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 조회 쿼리 실행 계획 점검.
+ * 등록된 리포지토리 조회를 표본 ID로 실행하며 EXPLAIN 기록, 기준 행 수 초과 테이블의 순차 스캔 검출.
+ * 전체 목록/전체 합계처럼 순차 스캔이 정상인 테이블은 점검별 허용 목록으로 제외.
+ * 기동 시 백그라운드 1회 실행 (결과 로그), 이후 요청 시 재실행.
+ */
+@Service
+public class QueryPlanCheckService {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // 점검용 표본 ID (테이블별 중앙값 ID, 빈 테이블은 0). 거래 편중 키 대신 대표 키 계획 확인.
+    private record Samples(int projectId, int supplierId, int partId, int warehouseId) {
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        void run(Connection conn, Samples s) throws SQLException;
+    }
+
+    // 점검 대상. fullScans: 순차 스캔 허용 테이블 (소문자).
+    private record Check(String name, Set<String> fullScans, Call call) {
+    }
+
+    private final DataSource dataSource;
+    private final long seqScanRows;
+    private final boolean runOnStartup;
+    private final List<Check> checks;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "query-plan-check");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile Map<String, Object> lastResult;
+
+    // 점검 동시 실행 방지. 잠금 중 DB 조회가 있어 synchronized 대신 사용 (가상 스레드 고정 방지).
+    private final ReentrantLock running = new ReentrantLock();
+
+    public QueryPlanCheckService(DataSource dataSource,
+            @Value("${scm.query-plan-check.seq-scan-rows:10000}") long seqScanRows,
+            @Value("${scm.query-plan-check.on-startup:true}") boolean runOnStartup) {
+        this.dataSource = dataSource;
+        this.seqScanRows = Math.max(0, seqScanRows);
+        this.runOnStartup = runOnStartup;
+
+        ProjectRepository projects = new ProjectRepository();
+        SupplierRepository suppliers = new SupplierRepository();
+        ReferenceRepository references = new ReferenceRepository();
+        InventoryRepository inventory = new InventoryRepository();
+        MainRepository main = new MainRepository();
+        this.checks = List.of(
+                new Check("프로젝트 대시보드", Set.of(),
+                        (c, s) -> projects.dashboardStats(c, s.projectId())),
+                new Check("프로젝트 총 발주액", Set.of(),
+                        (c, s) -> projects.totalOrderAmount(c, s.projectId())),
+                new Check("프로젝트 유형별 배출량", Set.of(),
+                        (c, s) -> projects.emissionSums(c, s.projectId())),
+                new Check("프로젝트 상위 공급사", Set.of(),
+                        (c, s) -> projects.topSuppliersByAmount(c, s.projectId(), 3)),
+                new Check("공급업체 상세 통계", Set.of(),
+                        (c, s) -> suppliers.findSupplierStats(c, s.supplierId())),
+                new Check("공급업체 발주 내역", Set.of(),
+                        (c, s) -> suppliers.recentPurchaseOrders(c, s.supplierId(), 20, null, null)),
+                new Check("공급업체 목록", Set.of("supplier", "supplierkpi"),
+                        (c, s) -> suppliers.listSuppliers(c, null, null, null)),
+                new Check("부품 단가 조회", Set.of(),
+                        (c, s) -> references.findPartOptions(c, List.of(s.partId()))),
+                new Check("창고 재고", Set.of(),
+                        (c, s) -> inventory.findByWarehouse(c, s.warehouseId())),
+                new Check("메인 요약", Set.of("shipproject", "carbonemissionrecord", "supplier"),
+                        (c, s) -> main.summary(c)));
+    }
+
+    @PostConstruct
+    void start() {
+        if (runOnStartup) {
+            runner.execute(() -> {
+                try {
+                    run();
+                } catch (SQLException e) {
+                    Logger.warn("실행 계획 점검 실패: " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        runner.shutdownNow();
+    }
+
+    /**
+     * 마지막 점검 결과. 점검 전 null.
+     */
+    public Map<String, Object> lastResult() {
+        return lastResult;
+    }
+
+    /**
+     * 전체 점검 실행.
+     * 읽기 전용 트랜잭션 내 실행 후 롤백. 기준 초과 순차 스캔은 경고 로그 기록.
+     */
+    public Map<String, Object> run() throws SQLException {
+        running.lock();
+        try {
+            return runChecks();
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private Map<String, Object> runChecks() throws SQLException {
+        long start = System.nanoTime();
+        List<Map<String, Object>> results = new ArrayList<>();
+        int flaggedTotal = 0;
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            conn.setReadOnly(true);
+            try {
+                Samples samples = samples(conn);
+                for (Check check : checks) {
+                    Map<String, Object> result = runCheck(conn, check, samples);
+                    flaggedTotal += (int) result.get("flagged");
+                    results.add(result);
+                }
+            } finally {
+                conn.rollback();
+                conn.setReadOnly(false);
+                conn.setAutoCommit(true);
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("checkedAt", LocalDateTime.now().format(TIME_FORMAT));
+        summary.put("durationMs", (System.nanoTime() - start) / 1_000_000);
+        summary.put("seqScanRows", seqScanRows);
+        summary.put("flagged", flaggedTotal);
+        summary.put("checks", results);
+        lastResult = summary;
+        Logger.info("실행 계획 점검 완료: 점검 " + checks.size() + "건, 순차 스캔 경고 " + flaggedTotal + "건",
+                (long) summary.get("durationMs"));
+        return summary;
+    }
+
+    private Map<String, Object> runCheck(Connection conn, Check check, Samples samples) throws SQLException {
+        QueryPlanRecorder recorder = new QueryPlanRecorder(conn);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("name", check.name());
+        try (Statement st = conn.createStatement()) {
+            st.execute("SAVEPOINT plan_check");
+        }
+        try {
+            check.call().run(recorder.connection(), samples);
+        } catch (SQLException e) {
+            result.put("error", e.getMessage());
+            try (Statement st = conn.createStatement()) {
+                st.execute("ROLLBACK TO SAVEPOINT plan_check");
+            }
+        }
+
+        int flagged = 0;
+        List<Map<String, Object>> statements = new ArrayList<>();
+        for (QueryPlanRecorder.Plan plan : recorder.plans()) {
+            List<Map<String, Object>> scans = new ArrayList<>();
+            for (QueryPlanRecorder.SeqScan scan : plan.seqScans()) {
+                boolean flag = scan.rows() > seqScanRows && !check.fullScans().contains(scan.relation());
+                if (flag) {
+                    flagged++;
+                    Logger.warn("순차 스캔 감지 [" + check.name() + "] " + scan.relation()
+                            + " (약 " + scan.rows() + "행): " + abbreviate(plan.sql()));
+                }
+                scans.add(Map.of("relation", scan.relation(), "rows", scan.rows(), "flagged", flag));
+            }
+            statements.add(Map.of("sql", abbreviate(plan.sql()), "seqScans", scans, "plan", plan.lines()));
+        }
+        result.put("ok", flagged == 0 && !result.containsKey("error"));
+        result.put("flagged", flagged);
+        result.put("statements", statements);
+        return result;
+    }
+
+    private static Samples samples(Connection conn) throws SQLException {
+        String sql = """
+                SELECT COALESCE((SELECT percentile_disc(0.5) WITHIN GROUP (ORDER BY ProjectID) FROM ShipProject), 0),
+                       COALESCE((SELECT percentile_disc(0.5) WITHIN GROUP (ORDER BY SupplierID) FROM Supplier), 0),
+                       COALESCE((SELECT percentile_disc(0.5) WITHIN GROUP (ORDER BY PartID) FROM Part), 0),
+                       COALESCE((SELECT percentile_disc(0.5) WITHIN GROUP (ORDER BY WarehouseID) FROM Warehouse), 0)
+                """;
+        try (Statement st = conn.createStatement();
+                ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return new Samples(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4));
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() > 200 ? sql.substring(0, 200) + "..." : sql;
+    }
+}
@@ -0,0 +1,132 @@
+package hw10.service;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 기준 정보 메모리 캐시.
+ * 최대 개수(LRU) 및 TTL 기준 만료, 적중/미적중 횟수 집계.
+ */
+public final class ReferenceDataCache<K, V> {
+
+    // 캐시 미적중 시 값 적재 함수.
+    @FunctionalInterface
+    public interface Loader<K, V> {
+        V load(K key) throws SQLException;
+    }
+
+    // 캐시 통계 레코드.
+    public record Stats(
+            String name,
+            int size,
+            int maxSize,
+            long ttlSeconds,
+            long hits,
+            long misses,
+            long evictions,
+            long invalidations) {
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    // 접근 순서 유지. 가장 오래 사용하지 않은 항목부터 제거.
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // 무효화 세대. 적재 중 무효화된 값 저장 방지.
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ReferenceDataCache(String name, int maxSize, Duration ttl) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("캐시 최대 개수는 1 이상이어야 합니다: " + maxSize);
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * 캐시 조회. 미존재 또는 만료 시 loader로 적재 후 저장.
+     * 적재는 잠금 밖에서 수행.
+     */
+    public V get(K key, Loader<K, V> loader) throws SQLException {
+        long loadGeneration;
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() - System.nanoTime() > 0) {
+                    hits.increment();
+                    return entry.value();
+                }
+                entries.remove(key);
+                evictions.increment();
+            }
+            loadGeneration = generation;
+        }
+
+        misses.increment();
+        V value = loader.load(key);
+
+        synchronized (entries) {
+            // 적재 중 무효화 발생 시 저장 생략.
+            if (loadGeneration == generation) {
+                entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+                evictOverflow();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 전체 항목 무효화.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            generation++;
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * 캐시 통계 조회.
+     */
+    public Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(
+                name,
+                size,
+                maxSize,
+                Duration.ofNanos(ttlNanos).toSeconds(),
+                hits.sum(),
+                misses.sum(),
+                evictions.sum(),
+                invalidations.sum());
+    }
+
+    // 최대 개수 초과분 제거. 호출 측에서 잠금 보유.
+    private void evictOverflow() {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package hw10.service;
+
+import hw10.dto.OrderDto;
+import hw10.repository.ReferenceRepository;
+import hw10.util.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기준 정보(공급사, 창고, 부품) 드롭다운 옵션 캐시 서비스.
+ * 메모리 캐시 우선 조회, 변경 알림 수신 시 해당 캐시 무효화.
+ */
+@Service
+public class ReferenceDataService {
+
+    private final DataSource dataSource;
+    private final ChangeNotificationService changeNotificationService;
+    private final ReferenceRepository referenceRepository = new ReferenceRepository();
+
+    // 단일 키 캐시 (목록 전체).
+    private final ReferenceDataCache<String, List<OrderDto.SupplierOption>> supplierCache;
+    private final ReferenceDataCache<String, List<OrderDto.WarehouseOption>> warehouseCache;
+
+    // 검색어별 부품 검색 결과 캐시.
+    private final ReferenceDataCache<String, List<OrderDto.PartOption>> partCache;
+
+    public ReferenceDataService(DataSource dataSource,
+            ChangeNotificationService changeNotificationService,
+            @Value("${scm.reference-cache.ttl-seconds:600}") long ttlSeconds,
+            @Value("${scm.reference-cache.part-keywords:512}") int partKeywords) {
+        this.dataSource = dataSource;
+        this.changeNotificationService = changeNotificationService;
+
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.supplierCache = new ReferenceDataCache<>("suppliers", 1, ttl);
+        this.warehouseCache = new ReferenceDataCache<>("warehouses", 1, ttl);
+        this.partCache = new ReferenceDataCache<>("parts", partKeywords, ttl);
+
+        changeNotificationService.subscribe(this::onChange);
+    }
+
+    /**
+     * 공급업체 목록 조회. 이름 순 정렬.
+     */
+    public List<OrderDto.SupplierOption> getSupplierOptions() throws SQLException {
+        return supplierCache.get("all", key -> {
+            try (Connection conn = dataSource.getConnection()) {
+                return referenceRepository.findSupplierOptions(conn).stream()
+                        .map(s -> new OrderDto.SupplierOption(s.supplierId(), s.name(), s.country()))
+                        .toList();
+            }
+        });
+    }
+
+    /**
+     * 창고 목록 조회. 이름 순 정렬.
+     */
+    public List<OrderDto.WarehouseOption> getWarehouseOptions() throws SQLException {
+        return warehouseCache.get("all", key -> {
+            try (Connection conn = dataSource.getConnection()) {
+                return referenceRepository.findWarehouseOptions(conn).stream()
+                        .map(w -> new OrderDto.WarehouseOption(w.warehouseId(), w.name(), w.location()))
+                        .toList();
+            }
+        });
+    }
+
+    /**
+     * 부품 검색. 검색어 단위 캐시.
+     */
+    public List<OrderDto.PartOption> searchParts(String keyword) throws SQLException {
+        return partCache.get(keyword == null ? "" : keyword, key -> {
+            try (Connection conn = dataSource.getConnection()) {
+                return referenceRepository.searchPartOptions(conn, key).stream()
+                        .map(p -> new OrderDto.PartOption(p.partId(), p.name(), p.unit(), p.unitPrice()))
+                        .toList();
+            }
+        });
+    }
+
+    /**
+     * 캐시 통계 및 변경 알림 수신 상태 조회.
+     */
+    public Map<String, Object> getCacheStats() {
+        return Map.of(
+                "caches", List.of(supplierCache.stats(), warehouseCache.stats(), partCache.stats()),
+                "listener", changeNotificationService.status());
+    }
+
+    /**
+     * 전체 캐시 수동 무효화.
+     */
+    public void invalidateAll() {
+        changeNotificationService.publishLocal(ChangeNotificationService.ALL);
+    }
+
+    // 변경 알림 처리. payload "테이블명:ID" 중 테이블명 기준 무효화.
+    private void onChange(String payload) {
+        String table = payload == null ? "" : payload.split(":", 2)[0];
+        switch (table) {
+            case "Supplier" -> supplierCache.invalidateAll();
+            case "Warehouse" -> warehouseCache.invalidateAll();
+            case "Part", "SupplierPart" -> partCache.invalidateAll();
+            case "ShipProject" -> {
+                // 검색 색인 전용 알림. 캐시 대상 아님.
+            }
+            case ChangeNotificationService.ALL -> {
+                supplierCache.invalidateAll();
+                warehouseCache.invalidateAll();
+                partCache.invalidateAll();
+            }
+            default -> Logger.warn("알 수 없는 기준 정보 변경 알림: " + payload);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package hw10.service;
+
+import hw10.dto.OrderDto;
+import hw10.dto.ProjectDto;
+import hw10.repository.ProjectRepository;
+import hw10.repository.ReferenceRepository;
+import hw10.util.Logger;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 부품명, 선박명 검색 색인 서비스.
+ * 기동 시 메모리 n-gram 색인 구축, 변경 알림 수신 시 해당 행만 갱신.
+ * 알림 처리는 ID 수집만 하고 갱신은 작업 스레드에서 모아서 일괄 조회 (알림 수신 스레드에서 DB 조회 없음).
+ * 색인 미구축 상태에서는 null 반환 (호출 측 SQL 조회).
+ */
+@Service
+public class SearchIndexService {
+
+    private final DataSource dataSource;
+    private final ReferenceRepository referenceRepository = new ReferenceRepository();
+    private final ProjectRepository projectRepository = new ProjectRepository();
+
+    private volatile TrigramIndex<OrderDto.PartOption> partIndex;
+    private volatile TrigramIndex<ProjectDto.ProjectSearchItem> projectIndex;
+
+    // 재구축/행 갱신 단일 실행 스레드. 재구축 실행 중 요청 시 종료 후 1회 추가 실행.
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "search-index-builder");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean building = new AtomicBoolean();
+    private volatile boolean dirty;
+
+    // 갱신 대기 ID (중복 병합). 작업 예약은 비어 있다가 처음 추가될 때 1회.
+    private final Set<Integer> pendingParts = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> pendingProjects = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean reloadScheduled = new AtomicBoolean();
+
+    public SearchIndexService(DataSource dataSource, ChangeNotificationService changeNotificationService) {
+        this.dataSource = dataSource;
+        changeNotificationService.subscribe(this::onChange);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void onReady() {
+        requestRebuild();
+    }
+
+    @PreDestroy
+    void stop() {
+        builder.shutdownNow();
+    }
+
+    /**
+     * 부품명 순위 검색. 색인 미구축 시 null.
+     */
+    public List<OrderDto.PartOption> searchParts(String keyword, int limit) {
+        TrigramIndex<OrderDto.PartOption> index = partIndex;
+        return index == null ? null : index.search(keyword, limit);
+    }
+
+    /**
+     * 선박명 순위 검색 (드롭다운용). 색인 미구축 시 null.
+     */
+    public List<ProjectDto.ProjectSearchItem> searchProjects(String keyword, int limit) {
+        TrigramIndex<ProjectDto.ProjectSearchItem> index = projectIndex;
+        return index == null ? null : index.search(keyword, limit);
+    }
+
+    /**
+     * 선박명 검색, 프로젝트 ID 순 키셋 페이징. 색인 미구축 시 null.
+     */
+    public List<ProjectDto.ProjectSearchItem> searchProjectsAfterId(String keyword, int afterId, int limit) {
+        TrigramIndex<ProjectDto.ProjectSearchItem> index = projectIndex;
+        return index == null ? null : index.searchAfterId(keyword, afterId, limit);
+    }
+
+    // 전체 재구축 요청.
+    private void requestRebuild() {
+        dirty = true;
+        if (building.compareAndSet(false, true)) {
+            builder.execute(this::rebuildLoop);
+        }
+    }
+
+    private void rebuildLoop() {
+        try {
+            while (dirty) {
+                dirty = false;
+                rebuild();
+            }
+        } finally {
+            building.set(false);
+            // 종료 직전 도착한 요청 처리.
+            if (dirty && building.compareAndSet(false, true)) {
+                builder.execute(this::rebuildLoop);
+            }
+        }
+    }
+
+    // DB 전체 조회 후 새 색인 구축 및 교체. 실패 시 기존 색인 유지.
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        try (Connection conn = dataSource.getConnection()) {
+            TrigramIndex<OrderDto.PartOption> parts = new TrigramIndex<>();
+            for (var p : referenceRepository.findAllPartOptions(conn)) {
+                parts.put(p.partId(), p.name(), toPartOption(p));
+            }
+
+            TrigramIndex<ProjectDto.ProjectSearchItem> projects = new TrigramIndex<>();
+            for (var p : projectRepository.findAllProjectSearchItems(conn)) {
+                projects.put(p.projectId(), p.shipName(), toProjectItem(p));
+            }
+
+            partIndex = parts;
+            projectIndex = projects;
+            Logger.info("검색 색인 구축 완료 - 부품: " + parts.size() + ", 프로젝트: " + projects.size(),
+                    System.currentTimeMillis() - start);
+        } catch (SQLException e) {
+            Logger.warn("검색 색인 구축 실패, SQL 검색 사용: " + e.getMessage());
+        }
+    }
+
+    // 변경 알림 처리 (알림 수신 스레드). payload "테이블명:ID" 기준 갱신 대상 ID 수집 후 작업 스레드에 위임.
+    private void onChange(String payload) {
+        if (ChangeNotificationService.ALL.equals(payload)) {
+            requestRebuild();
+            return;
+        }
+
+        String[] parts = payload == null ? new String[0] : payload.split(":", 2);
+        if (parts.length != 2) {
+            return;
+        }
+
+        int id;
+        try {
+            id = Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            Logger.warn("검색 색인 갱신 알림 형식 오류: " + payload);
+            return;
+        }
+        switch (parts[0]) {
+            case "Part", "SupplierPart" -> pendingParts.add(id);
+            case "ShipProject" -> pendingProjects.add(id);
+            default -> {
+                return;
+            }
+        }
+        if (reloadScheduled.compareAndSet(false, true)) {
+            builder.execute(this::reloadPending);
+        }
+    }
+
+    // 대기 ID 일괄 갱신 (작업 스레드). 재구축과 같은 스레드라 재구축 후 변경분은 새 색인에 반영.
+    // 조회되지 않은 ID(삭제, 키 변경 전 값)는 색인에서 제거. 실패 시 전체 재구축.
+    private void reloadPending() {
+        reloadScheduled.set(false);
+        List<Integer> partIds = drain(pendingParts);
+        List<Integer> projectIds = drain(pendingProjects);
+        if (partIds.isEmpty() && projectIds.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = dataSource.getConnection()) {
+            reloadParts(conn, partIds);
+            reloadProjects(conn, projectIds);
+        } catch (SQLException e) {
+            Logger.warn("검색 색인 갱신 실패, 재구축 예약: " + e.getMessage());
+            requestRebuild();
+        }
+    }
+
+    private void reloadParts(Connection conn, List<Integer> partIds) throws SQLException {
+        TrigramIndex<OrderDto.PartOption> index = partIndex;
+        if (index == null || partIds.isEmpty()) {
+            return;
+        }
+        Set<Integer> missing = new HashSet<>(partIds);
+        for (var p : referenceRepository.findPartOptions(conn, partIds)) {
+            index.put(p.partId(), p.name(), toPartOption(p));
+            missing.remove(p.partId());
+        }
+        missing.forEach(index::remove);
+    }
+
+    private void reloadProjects(Connection conn, List<Integer> projectIds) throws SQLException {
+        TrigramIndex<ProjectDto.ProjectSearchItem> index = projectIndex;
+        if (index == null || projectIds.isEmpty()) {
+            return;
+        }
+        Set<Integer> missing = new HashSet<>(projectIds);
+        for (var p : projectRepository.findProjectSearchItems(conn, projectIds)) {
+            index.put(p.projectId(), p.shipName(), toProjectItem(p));
+            missing.remove(p.projectId());
+        }
+        missing.forEach(index::remove);
+    }
+
+    // 대기 ID 꺼내기. 꺼내는 중 추가된 ID는 다음 예약 작업에서 처리.
+    private static List<Integer> drain(Set<Integer> pending) {
+        List<Integer> ids = new ArrayList<>();
+        for (Iterator<Integer> it = pending.iterator(); it.hasNext();) {
+            ids.add(it.next());
+            it.remove();
+        }
+        return ids;
+    }
+
+    private static OrderDto.PartOption toPartOption(ReferenceRepository.PartOption p) {
+        return new OrderDto.PartOption(p.partId(), p.name(), p.unit(), p.unitPrice());
+    }
+
+    private static ProjectDto.ProjectSearchItem toProjectItem(ProjectRepository.ProjectSearchItem p) {
+        return new ProjectDto.ProjectSearchItem(p.projectId(), p.shipName(), p.shipType(), p.status());
+    }
+}
@@ -1,16 +1,18 @@
 package hw10.service;
 
-import hw10.config.DatabaseConfig;
-import hw10.db.DatabaseConnection;
+import hw10.config.DataSourceMetrics;
+import hw10.config.RequestMetrics;
+import hw10.util.LogQueryEngine;
+import hw10.util.Logger;
+import hw10.util.StructuredLogStore;
+import hw10.util.TimerRegistry;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.sql.Connection;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -22,118 +24,136 @@ import java.util.regex.Pattern;
 @Service
 public class SettingService {
 
-    private static final String LOG_FILE_PATH = "logs/app.log";
+    static final String LOG_FILE_PATH = "logs/app.log";
     private static final DateTimeFormatter LOG_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    /**
-     * 로그 파일 필터링 및 검색 조회.
-     * 대량 로그의 경우 limit 제한.
-     */
-    public Map<String, Object> getLogs(String level, int limit, String search) {
-        List<Map<String, Object>> logs = new ArrayList<>();
-
-        Path logPath = Paths.get(LOG_FILE_PATH);
-        if (!Files.exists(logPath)) {
-            return Map.of(
-                    "logs", logs,
-                    "total", 0,
-                    "filtered", 0);
-        }
-
-        try {
+    // 로그 메시지 내 클래스명 (소스 추정용).
+    private static final Pattern SOURCE_CLASS_PATTERN = Pattern
+            .compile("(\\w+Service|\\w+Controller|\\w+Repository|\\w+Dao|\\w+Config|\\w+Handler)");
 
-            List<String> lines = Files.readAllLines(logPath);
+    // 로그 조회 최대 건수. 초과 요청은 이 값으로 제한 (결과 목록 메모리 상한).
+    private static final int MAX_LOG_LIMIT = 1000;
 
-            // 로그 정규식 패턴. 날짜, 레벨, 메시지 추출.
-            Pattern logPattern = Pattern.compile(
-                    "\\[(\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2})\\]" +
-                            "\\s+" +
-                            "\\[(INFO|WARNING|SEVERE)\\]" +
-                            "\\s+" +
-                            "(.+)");
+    // 로그 조회 엔진. 역방향 블록 읽기 + 사이드카 인덱스(logs/app.log.idx).
+    private final LogQueryEngine logQueryEngine = new LogQueryEngine(Paths.get(LOG_FILE_PATH));
 
-            List<Map<String, Object>> parsedLogs = new ArrayList<>();
-            Map<String, Object> currentLog = null;
-            StringBuilder currentMessage = new StringBuilder();
+    // 구조화 로그 조회. 컬럼 인덱스(logs/structured) 기반.
+    private final StructuredLogStore structuredLogStore = new StructuredLogStore(Logger.STRUCTURED_DIR);
 
-            // 파일 라인별 로그 파싱.
-            for (String line : lines) {
-                Matcher matcher = logPattern.matcher(line);
-                if (matcher.find()) {
+    private final DatabaseHealthService databaseHealthService;
+    private final DataSourceMetrics dataSourceMetrics;
+    private final RequestMetrics requestMetrics;
 
-                    // 이전 로그 저장 후 새 로그 시작.
-                    if (currentLog != null) {
-                        finalizeLogEntry(parsedLogs, currentLog, currentMessage, level, search);
-                    }
+    // 지표 집계 시작 시각.
+    private final String metricsSince = LocalDateTime.now().format(LOG_DATE_FORMAT);
 
-                    currentLog = new HashMap<>();
-                    currentLog.put("timestamp", matcher.group(1));
-                    currentLog.put("level", matcher.group(2));
-
-                    String msgStart = matcher.group(3).trim();
-                    currentLog.put("source", extractSource(msgStart));
-
-                    currentMessage = new StringBuilder(msgStart);
-                } else {
+    public SettingService(DatabaseHealthService databaseHealthService, DataSourceMetrics dataSourceMetrics,
+            RequestMetrics requestMetrics) {
+        this.databaseHealthService = databaseHealthService;
+        this.dataSourceMetrics = dataSourceMetrics;
+        this.requestMetrics = requestMetrics;
+    }
 
-                    // 멀티라인 로그 처리 (예: 스택트레이스)
-                    if (currentLog != null) {
-                        currentMessage.append("\n").append(line);
-                    }
-                }
+    /**
+     * 로그 파일 필터링 및 검색 조회.
+     * 최신 로그부터 읽고 limit(최대 MAX_LOG_LIMIT) 도달 시 중단. since 지정 시 해당 시각 이후만.
+     * 구조화 로그 활성 시 소스(source), 트랜잭션 ID(tx) 조건 추가 지원.
+     */
+    public Map<String, Object> getLogs(String level, int limit, String search, String since, String source,
+            Long tx) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit은 0 이상이어야 합니다.");
+        }
+        limit = Math.min(limit, MAX_LOG_LIMIT);
+        boolean structured = Logger.isStructured();
+        if (!structured && ((source != null && !source.isBlank()) || tx != null)) {
+            throw new IllegalArgumentException("source, tx 조건은 구조화 로그(scm.log.structured=true) 사용 시에만 지원합니다.");
+        }
+        LocalDateTime sinceTime = null;
+        if (since != null && !since.isBlank()) {
+            try {
+                sinceTime = LocalDateTime.parse(since.trim(), LOG_DATE_FORMAT);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("since 형식은 yyyy-MM-dd HH:mm:ss 입니다.");
             }
+        }
 
-            if (currentLog != null) {
-                finalizeLogEntry(parsedLogs, currentLog, currentMessage, level, search);
+        try {
+            if (structured) {
+                StructuredLogStore.Result result = structuredLogStore.query(level, source, tx, search, sinceTime,
+                        limit);
+                List<Map<String, Object>> logs = new ArrayList<>();
+                for (StructuredLogStore.Record record : result.records()) {
+                    logs.add(toLogView(record));
+                }
+                return Map.of(
+                        "logs", logs,
+                        "total", result.total(),
+                        "filtered", logs.size());
             }
 
-            // 최신순 정렬.
-            Collections.reverse(parsedLogs);
+            LogQueryEngine.Result result = logQueryEngine.query(level, search, sinceTime, limit);
 
-            // 개수 제한.
-            if (parsedLogs.size() > limit) {
-                parsedLogs = parsedLogs.subList(0, limit);
+            List<Map<String, Object>> logs = new ArrayList<>();
+            for (LogQueryEngine.Entry entry : result.entries()) {
+                logs.add(toLogView(entry));
             }
 
             return Map.of(
-                    "logs", parsedLogs,
-                    "total", lines.size(),
-                    "filtered", parsedLogs.size());
+                    "logs", logs,
+                    "total", result.total(),
+                    "filtered", logs.size());
         } catch (IOException e) {
 
             return Map.of(
-                    "logs", logs,
+                    "logs", List.of(),
                     "total", 0,
                     "filtered", 0);
         }
     }
 
-    private void finalizeLogEntry(List<Map<String, Object>> logs, Map<String, Object> log, StringBuilder messageBuffer,
-            String levelFilter, String searchFilter) {
-        String fullMessage = messageBuffer.toString();
+    // 로그 항목 응답 형식 변환. 목록 조회와 실시간 스트림 공용.
+    static Map<String, Object> toLogView(LogQueryEngine.Entry entry) {
+        String fullMessage = entry.message();
+        Map<String, Object> log = new HashMap<>();
+        log.put("timestamp", entry.timestamp());
+        log.put("level", entry.level());
+        log.put("source", extractSource(fullMessage.lines().findFirst().orElse("")));
         log.put("fullMessage", fullMessage);
         log.put("message", fullMessage.length() > 200 ? fullMessage.substring(0, 200) + "..." : fullMessage);
+        return log;
+    }
 
-        String logLevel = (String) log.get("level");
-        if (levelFilter != null && !levelFilter.isEmpty() && !logLevel.equalsIgnoreCase(levelFilter)) {
-            return;
+    // 구조화 로그 레코드 응답 형식 변환. 소스는 기록 시점 호출 클래스.
+    private static Map<String, Object> toLogView(StructuredLogStore.Record record) {
+        StringBuilder full = new StringBuilder(record.message());
+        if (record.durationMs() != null) {
+            full.append(" (").append(record.durationMs()).append("ms)");
         }
-
-        if (searchFilter != null && !searchFilter.isEmpty()) {
-            if (!fullMessage.toLowerCase().contains(searchFilter.toLowerCase())) {
-                return;
-            }
+        if (record.exception() != null) {
+            full.append("\n  예외: ").append(record.exception());
+        }
+        if (record.at() != null) {
+            full.append("\n  위치: ").append(record.at());
         }
+        String fullMessage = full.toString();
 
-        logs.add(log);
+        Map<String, Object> log = new HashMap<>();
+        String timestamp = record.timestamp();
+        log.put("timestamp", timestamp.length() > 19 ? timestamp.substring(0, 19) : timestamp);
+        log.put("level", record.level());
+        log.put("source", record.source().isEmpty() ? "System" : record.source());
+        log.put("fullMessage", fullMessage);
+        log.put("message", fullMessage.length() > 200 ? fullMessage.substring(0, 200) + "..." : fullMessage);
+        log.put("thread", record.thread());
+        log.put("txId", record.txId());
+        log.put("durationMs", record.durationMs());
+        return log;
     }
 
     // 메시지 내용을 통한 발생 위치 추론.
-    private String extractSource(String message) {
-
-        Pattern classPattern = Pattern
-                .compile("(\\w+Service|\\w+Controller|\\w+Repository|\\w+Dao|\\w+Config|\\w+Handler)");
-        Matcher matcher = classPattern.matcher(message);
+    private static String extractSource(String message) {
+        Matcher matcher = SOURCE_CLASS_PATTERN.matcher(message);
         if (matcher.find()) {
             return matcher.group(1);
         }
@@ -152,41 +172,33 @@ public class SettingService {
     }
 
     /**
-     * DB 연결 상태 및 응답 시간 등 시스템 상태 확인.
+     * DB 연결 상태, 커넥션 풀 지표 등 시스템 상태 확인.
+     * 백그라운드 점검 결과 반환 (조회 시 DB 접근 없음).
      */
     public Map<String, Object> getSystemStatus() {
-        boolean dbConnected = false;
-        int activeConnections = 0;
-        long queryLatency = 0;
-
-        try {
-            DatabaseConfig config = DatabaseConfig.load();
-            if (config != null && config.dbUrl != null) {
-                try (DatabaseConnection dbConn = new DatabaseConnection(config);
-                        Connection conn = dbConn.openConnection()) {
-                    if (conn != null) {
-                        dbConnected = !conn.isClosed();
-                        if (dbConnected) {
-
-                            // 핑 쿼리 실행 및 응답 시간 측정.
-                            long start = System.currentTimeMillis();
-                            conn.createStatement().executeQuery("SELECT 1");
-                            queryLatency = System.currentTimeMillis() - start;
-                            activeConnections = 1;
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
+        return databaseHealthService.status();
+    }
 
+    /**
+     * 애플리케이션 시작 이후 누적 성능 지표.
+     * API 요청(메서드 + URL 패턴), SQL 실행(실행 메서드별), 커넥션 획득(호출 메서드별) 소요 시간 및 처리 행 수.
+     * 항목별 누적 시간 내림차순, limit 개까지. 발주 기록 교착상태 재시도 집계 포함.
+     */
+    public Map<String, Object> getMetrics(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit은 1 이상이어야 합니다.");
         }
-
         return Map.of(
-                "status", dbConnected ? "정상" : "오류",
-                "dbConnected", dbConnected,
-                "activeConnections", activeConnections,
-                "queryLatency", queryLatency,
-                "lastSync", LocalDateTime.now().format(LOG_DATE_FORMAT));
+                "since", metricsSince,
+                "endpoints", top(requestMetrics.endpoints(), limit),
+                "queries", top(dataSourceMetrics.queries(), limit),
+                "connectionAcquire", top(dataSourceMetrics.acquires(), limit),
+                "orderRetries", TransactionRetry.stats());
+    }
+
+    private static List<TimerRegistry.Stats> top(TimerRegistry registry, int limit) {
+        List<TimerRegistry.Stats> stats = registry.snapshot();
+        return stats.size() > limit ? stats.subList(0, limit) : stats;
     }
 
 }
@@ -1,7 +1,10 @@
 package hw10.service;
 
+import hw10.repository.SupplierKpiRepository;
 import hw10.repository.SupplierRepository;
 import hw10.dto.SupplierDto;
+import hw10.util.Logger;
+import hw10.util.PageCursor;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
@@ -16,8 +19,12 @@ import java.util.List;
 @Service
 public class SupplierService {
 
+    // 발주 내역 페이지 최대 크기.
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final DataSource dataSource;
     private final SupplierRepository supplierRepository;
+    private final SupplierKpiRepository supplierKpiRepository = new SupplierKpiRepository();
 
     public SupplierService(DataSource dataSource) {
         this.dataSource = dataSource;
@@ -54,17 +61,12 @@ public class SupplierService {
     public SupplierDto.SupplierDetail getSupplierDetail(int supplierId) throws SQLException {
         try (Connection conn = dataSource.getConnection()) {
 
-            var all = supplierRepository.listSuppliers(conn, null, null, null);
-            var supplier = all.stream()
-                    .filter(s -> s.supplierId() == supplierId)
-                    .findFirst()
-                    .orElse(null);
-
+            var supplier = supplierRepository.findSupplierStats(conn, supplierId);
             if (supplier == null) {
                 throw new IllegalArgumentException("공급업체를 찾을 수 없습니다: " + supplierId);
             }
 
-            var recentOrders = supplierRepository.recentPurchaseOrders(conn, supplierId, 5, 0);
+            var recentOrders = supplierRepository.recentPurchaseOrders(conn, supplierId, 5, null, null);
 
             SupplierDto.SupplierRow supplierDto = new SupplierDto.SupplierRow(
                     supplier.supplierId(),
@@ -89,19 +91,69 @@ public class SupplierService {
     }
 
     /**
-     * 특정 업체의 발주 내역 페이징 조회.
+     * 특정 업체의 발주 내역 키셋 페이징 조회.
+     * cursor: 이전 페이지의 nextCursor, 첫 페이지는 생략.
      */
-    public List<SupplierDto.SupplierPoRow> getSupplierOrders(int supplierId, int page, int size) throws SQLException {
+    public SupplierDto.SupplierPoPage getSupplierOrders(int supplierId, String cursor, int size) throws SQLException {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1~" + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+        PageCursor.OrderKey after = PageCursor.parseOrder(cursor);
+
         try (Connection conn = dataSource.getConnection()) {
-            int offset = page * size;
-            var orders = supplierRepository.recentPurchaseOrders(conn, supplierId, size, offset);
-            return orders.stream()
+            // 다음 페이지 존재 확인용 1건 추가 조회.
+            var orders = supplierRepository.recentPurchaseOrders(conn, supplierId, size + 1,
+                    after == null ? null : after.orderDate(),
+                    after == null ? null : after.poid());
+
+            String nextCursor = null;
+            if (orders.size() > size) {
+                orders = orders.subList(0, size);
+                var last = orders.get(size - 1);
+                nextCursor = PageCursor.ofOrder(last.orderDate(), last.poid());
+            }
+
+            List<SupplierDto.SupplierPoRow> rows = orders.stream()
                     .map(o -> new SupplierDto.SupplierPoRow(
                             o.poid(),
                             o.orderDate(),
                             o.status(),
                             o.delayed()))
                     .toList();
+            return new SupplierDto.SupplierPoPage(rows, nextCursor);
+        }
+    }
+
+    /**
+     * 공급업체 KPI 요약 테이블 전체 재계산.
+     * 원본 집계로 덮어쓴 뒤 검증, 검증 실패 시 롤백.
+     */
+    public SupplierDto.KpiRebuildResult rebuildKpi() throws SQLException {
+        long start = System.currentTimeMillis();
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                var result = supplierKpiRepository.rebuild(conn);
+                conn.commit();
+
+                long elapsed = System.currentTimeMillis() - start;
+                Logger.info("공급업체 KPI 재계산 완료 - 업체: " + result.suppliers()
+                        + ", 보정: " + result.corrected(), elapsed);
+                return new SupplierDto.KpiRebuildResult(result.suppliers(), result.corrected(), elapsed);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 공급업체 KPI 요약 테이블 검증. 원본 집계와 비교.
+     */
+    public SupplierDto.KpiVerifyResult verifyKpi() throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            List<Integer> mismatches = supplierKpiRepository.findMismatches(conn);
+            return new SupplierDto.KpiVerifyResult(mismatches.isEmpty(), mismatches);
         }
     }
 }
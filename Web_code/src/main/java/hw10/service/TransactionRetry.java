@@ -0,0 +1,122 @@
+package hw10.service;
+
+import hw10.util.Logger;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 발주 기록 교착상태(40P01) 재시도 정책 및 집계.
+ * 대기 시간: 0 ~ min(상한, 기준 x 2^(시도-1)) 임의 (지수 백오프 + 전체 지터, 동시 재시도 분산).
+ * 재시도 예산: 성공 1건당 0.1회분 적립(최대 10회분), 재시도 1회당 1회분 사용.
+ * 예산 소진 시 재시도 없이 실패 (교착상태 급증 시 재시도가 부하를 키우지 않도록).
+ * 발주 서비스가 요청마다 생성되므로 예산/집계는 프로세스 전체 공유.
+ */
+public final class TransactionRetry {
+
+    public static final int MAX_ATTEMPTS = 3;
+
+    private static final long BASE_DELAY_MS = 10;
+    private static final long MAX_DELAY_MS = 100;
+
+    // 예산 단위: 재시도 1회 = RETRY_COST, 성공 1건 = 1.
+    private static final int RETRY_COST = 10;
+    private static final int MAX_BUDGET = 10 * RETRY_COST;
+    private static final AtomicInteger BUDGET = new AtomicInteger(MAX_BUDGET);
+
+    private static final LongAdder DEADLOCKS = new LongAdder();
+    private static final LongAdder RETRIES = new LongAdder();
+    private static final LongAdder RECOVERED = new LongAdder();
+    private static final LongAdder EXHAUSTED = new LongAdder();
+    private static final LongAdder BUDGET_REJECTED = new LongAdder();
+    private static final LongAdder BACKOFF_NANOS = new LongAdder();
+
+    private TransactionRetry() {
+    }
+
+    /**
+     * 실패한 시도(attempt: 1부터) 재시도 여부. 재시도 시 백오프 대기 후 true.
+     * 교착상태 외 오류, 시도 횟수 초과, 예산 소진, 대기 중 인터럽트 시 false (호출 측에서 원래 예외 전달).
+     */
+    public static boolean retry(SQLException e, int attempt) {
+        if (!isDeadlock(e)) {
+            return false;
+        }
+        DEADLOCKS.increment();
+        if (attempt >= MAX_ATTEMPTS) {
+            EXHAUSTED.increment();
+            Logger.warn("교착상태 재시도 횟수 초과 (" + attempt + "회): " + e.getMessage());
+            return false;
+        }
+        if (!withdraw()) {
+            BUDGET_REJECTED.increment();
+            Logger.warn("교착상태 재시도 예산 소진, 재시도 생략: " + e.getMessage());
+            return false;
+        }
+        RETRIES.increment();
+
+        long capMs = Math.min(MAX_DELAY_MS, BASE_DELAY_MS << (attempt - 1));
+        long delayMs = ThreadLocalRandom.current().nextLong(capMs + 1);
+        Logger.warn("교착상태 감지(40P01) -> " + delayMs + "ms 후 재시도 (attempt=" + attempt + "): " + e.getMessage());
+        long start = System.nanoTime();
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            BACKOFF_NANOS.add(System.nanoTime() - start);
+        }
+        return true;
+    }
+
+    /**
+     * 교착상태(40P01) 오류 여부.
+     */
+    public static boolean isDeadlock(SQLException e) {
+        return "40P01".equals(e.getSQLState());
+    }
+
+    /**
+     * 시도 성공 기록. 예산 적립, 재시도 끝에 성공한 건 집계.
+     */
+    public static void succeeded(int attempt) {
+        BUDGET.accumulateAndGet(1, (b, x) -> Math.min(MAX_BUDGET, b + x));
+        if (attempt > 1) {
+            RECOVERED.increment();
+        }
+    }
+
+    /**
+     * 누적 집계. 교착상태/재시도/재시도 후 성공/횟수 초과/예산 소진 건수, 누적 대기 시간(ms), 남은 예산(재시도 횟수).
+     */
+    public static Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("deadlocks", DEADLOCKS.sum());
+        m.put("retries", RETRIES.sum());
+        m.put("recovered", RECOVERED.sum());
+        m.put("exhausted", EXHAUSTED.sum());
+        m.put("budgetRejected", BUDGET_REJECTED.sum());
+        m.put("backoffMs", TimeUnit.NANOSECONDS.toMillis(BACKOFF_NANOS.sum()));
+        m.put("budget", BUDGET.get() / (double) RETRY_COST);
+        return m;
+    }
+
+    // 재시도 1회분 차감. 부족 시 false.
+    private static boolean withdraw() {
+        while (true) {
+            int b = BUDGET.get();
+            if (b < RETRY_COST) {
+                return false;
+            }
+            if (BUDGET.compareAndSet(b, b - RETRY_COST)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package hw10.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 문자열 부분 일치 검색용 메모리 n-gram 역색인.
+ * 1~3글자 gram별 문서 ID 목록 유지, 검색어 gram 목록 교집합 후 부분 문자열 확인.
+ * NFC 정규화 및 소문자 변환으로 대소문자 무시, 한글 초성 검색 지원.
+ */
+public final class TrigramIndex<T> {
+
+    private static final int GRAM = 3;
+
+    // 한글 초성 (호환 자모). 음절 (code - 0xAC00) / 588 순서.
+    private static final char[] CHOSEONG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ' };
+
+    // 색인 문서. text: 정규화 문자열, initials: 초성 변환 문자열 (한글 미포함 시 null).
+    private record Doc<T>(int id, String text, String initials, T value) {
+    }
+
+    // 검색 결과 후보. 순위 비교용.
+    private record Match<T>(Doc<T> doc, int rank, int position) {
+    }
+
+    // 순위: 완전 일치 > 접두 일치 > 단어 시작 일치 > 기타, 이후 일치 위치, 길이, ID 순.
+    private static final Comparator<Match<?>> RANKING = Comparator
+            .<Match<?>>comparingInt(Match::rank)
+            .thenComparingInt(Match::position)
+            .thenComparingInt(m -> m.doc().text().length())
+            .thenComparingInt(m -> m.doc().id());
+
+    // 빈 검색어 순서: 문자열, ID 순.
+    private static final Comparator<Doc<?>> TEXT_ORDER = Comparator
+            .<Doc<?>, String>comparing(Doc::text)
+            .thenComparingInt(Doc::id);
+
+    private final TreeMap<Integer, Doc<T>> docs = new TreeMap<>();
+    private final TreeSet<Doc<T>> byText = new TreeSet<>(TEXT_ORDER);
+    private final Map<String, PostingList> grams = new HashMap<>();
+    private final Map<String, PostingList> initialGrams = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 문서 추가 또는 교체.
+     */
+    public void put(int id, String text, T value) {
+        String normalized = normalize(text);
+        String initials = toInitials(normalized);
+        Doc<T> doc = new Doc<>(id, normalized, initials, value);
+
+        lock.writeLock().lock();
+        try {
+            Doc<T> old = docs.put(id, doc);
+            if (old != null) {
+                unindex(old);
+            }
+            byText.add(doc);
+            addGrams(grams, normalized, id);
+            if (initials != null) {
+                addGrams(initialGrams, initials, id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 문서 제거. 미존재 시 무시.
+     */
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            Doc<T> old = docs.remove(id);
+            if (old != null) {
+                unindex(old);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 색인 문서 수.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 순위 기반 검색. 상위 limit건 반환.
+     * 빈 검색어는 문자열 순 정렬 (정렬 목록 앞에서 limit건).
+     */
+    public List<T> search(String query, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        String q = normalize(query);
+        lock.readLock().lock();
+        try {
+            if (q.isEmpty()) {
+                return byText.stream().limit(limit).map(Doc::value).toList();
+            }
+
+            // 상위 limit건만 유지 (최악 순위가 head).
+            PriorityQueue<Match<T>> top = new PriorityQueue<>(Math.max(1, limit), RANKING.reversed());
+            for (Match<T> m : matches(q)) {
+                top.offer(m);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Match<T>> sorted = new ArrayList<>(top);
+            sorted.sort(RANKING);
+            return sorted.stream().map(m -> m.doc().value()).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * ID 순 검색. afterId 초과 문서부터 limit건 반환 (키셋 페이징용).
+     * 가장 짧은 gram 목록의 afterId 초과 구간부터 ID 순 확인, limit건 채우면 중단 (전체 일치 목록 미생성).
+     * 빈 검색어는 ID 순 문서 목록 직접 조회.
+     */
+    public List<T> searchAfterId(String query, int afterId, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        String q = normalize(query);
+        lock.readLock().lock();
+        try {
+            if (q.isEmpty()) {
+                return docs.tailMap(afterId, false).values().stream()
+                        .limit(limit)
+                        .map(Doc::value)
+                        .toList();
+            }
+
+            boolean initialsQuery = isInitialsOnly(q);
+            List<PostingList> lists = postingLists(initialsQuery ? initialGrams : grams, q);
+            List<T> out = new ArrayList<>();
+            if (lists.isEmpty()) {
+                return out;
+            }
+            PostingList smallest = lists.get(0);
+            for (int i = smallest.indexAfter(afterId); i < smallest.size() && out.size() < limit; i++) {
+                int id = smallest.get(i);
+                if (!containsAll(lists, id)) {
+                    continue;
+                }
+                Doc<T> doc = docs.get(id);
+                String target = initialsQuery ? doc.initials() : doc.text();
+                if (target != null && target.contains(q)) {
+                    out.add(doc.value());
+                }
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색용 정규화. NFC 조합 후 소문자 변환.
+     */
+    public static String normalize(String s) {
+        if (s == null) {
+            return "";
+        }
+        return Normalizer.normalize(s.trim(), Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    // 검색어(비어 있지 않음) 일치 문서 목록. 호출 측에서 읽기 잠금 보유.
+    private List<Match<T>> matches(String q) {
+        List<Match<T>> out = new ArrayList<>();
+
+        // 초성만으로 구성된 검색어는 초성 색인 사용.
+        boolean initialsQuery = isInitialsOnly(q);
+        Map<String, PostingList> index = initialsQuery ? initialGrams : grams;
+
+        int[] candidates = intersect(index, q);
+        for (int id : candidates) {
+            Doc<T> doc = docs.get(id);
+            String target = initialsQuery ? doc.initials() : doc.text();
+            int pos = target == null ? -1 : target.indexOf(q);
+            if (pos >= 0) {
+                out.add(new Match<>(doc, rank(target, q, pos), pos));
+            }
+        }
+        return out;
+    }
+
+    // 검색어 gram별 문서 목록 교집합. 작은 목록부터 확인.
+    private static int[] intersect(Map<String, PostingList> index, String q) {
+        List<PostingList> lists = postingLists(index, q);
+        if (lists.isEmpty()) {
+            return new int[0];
+        }
+
+        PostingList smallest = lists.get(0);
+        int[] out = new int[smallest.size()];
+        int count = 0;
+        for (int i = 0; i < smallest.size(); i++) {
+            int id = smallest.get(i);
+            if (containsAll(lists, id)) {
+                out[count++] = id;
+            }
+        }
+        return Arrays.copyOf(out, count);
+    }
+
+    // 검색어 gram별 문서 목록, 크기 오름차순. 없는 gram이 있으면 빈 목록.
+    private static List<PostingList> postingLists(Map<String, PostingList> index, String q) {
+        Set<String> queryGrams = new LinkedHashSet<>();
+        int n = Math.min(GRAM, q.length());
+        for (int i = 0; i + n <= q.length(); i++) {
+            queryGrams.add(q.substring(i, i + n));
+        }
+
+        List<PostingList> lists = new ArrayList<>();
+        for (String g : queryGrams) {
+            PostingList list = index.get(g);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        return lists;
+    }
+
+    // 첫 목록(후보 출처) 외 모든 목록에 포함 여부.
+    private static boolean containsAll(List<PostingList> lists, int id) {
+        for (int j = 1; j < lists.size(); j++) {
+            if (!lists.get(j).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int rank(String target, String q, int pos) {
+        if (pos == 0) {
+            return target.length() == q.length() ? 0 : 1;
+        }
+        return Character.isLetterOrDigit(target.charAt(pos - 1)) ? 3 : 2;
+    }
+
+    private void unindex(Doc<T> doc) {
+        byText.remove(doc);
+        removeGrams(grams, doc.text(), doc.id());
+        if (doc.initials() != null) {
+            removeGrams(initialGrams, doc.initials(), doc.id());
+        }
+    }
+
+    // 1~3글자 gram 전체 등록.
+    private static void addGrams(Map<String, PostingList> index, String text, int id) {
+        for (String g : gramsOf(text)) {
+            index.computeIfAbsent(g, k -> new PostingList()).add(id);
+        }
+    }
+
+    private static void removeGrams(Map<String, PostingList> index, String text, int id) {
+        for (String g : gramsOf(text)) {
+            PostingList list = index.get(g);
+            if (list != null && list.remove(id) && list.size() == 0) {
+                index.remove(g);
+            }
+        }
+    }
+
+    private static Set<String> gramsOf(String text) {
+        Set<String> out = new LinkedHashSet<>();
+        for (int n = 1; n <= GRAM; n++) {
+            for (int i = 0; i + n <= text.length(); i++) {
+                out.add(text.substring(i, i + n));
+            }
+        }
+        return out;
+    }
+
+    // 한글 음절을 초성으로 변환. 한글 미포함 시 null.
+    private static String toInitials(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean hasHangul = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0xAC00 && c <= 0xD7A3) {
+                sb.append(CHOSEONG[(c - 0xAC00) / 588]);
+                hasHangul = true;
+            } else {
+                sb.append(c);
+            }
+        }
+        return hasHangul ? sb.toString() : null;
+    }
+
+    private static boolean isInitialsOnly(String q) {
+        for (int i = 0; i < q.length(); i++) {
+            char c = q.charAt(i);
+            if (c < 'ㄱ' || c > 'ㅎ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 정렬된 문서 ID 목록. 오름차순 추가 시 끝에 붙임.
+    private static final class PostingList {
+        private int[] ids = new int[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int get(int i) {
+            return ids[i];
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        // id 초과 첫 위치.
+        int indexAfter(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            return pos >= 0 ? pos + 1 : -pos - 1;
+        }
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] < id) {
+                append(id);
+                return;
+            }
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        private void append(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package hw10.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 지연 시간 히스토그램 (나노초 단위 기록).
+ * 2의 거듭제곱 구간을 8등분한 버킷 사용. 상대 오차 12.5% 이내, 기록은 잠금 없이 원자적 증가.
+ * 구간별 백분위는 두 스냅샷 차이(Snapshot.since)로 계산.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    public void record(long nanos) {
+        counts.incrementAndGet(bucket(Math.max(0, nanos)));
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy);
+    }
+
+    // 값 -> 버킷 번호. SUB_COUNT 미만은 값 그대로, 이상은 (지수, 상위 비트) 조합.
+    private static int bucket(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        int sub = (int) (value >>> exp) - SUB_COUNT;
+        return exp * SUB_COUNT + SUB_COUNT + sub;
+    }
+
+    // 버킷 상한값 (해당 버킷 최대 기록값).
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+        int exp = bucket / SUB_COUNT - 1;
+        long sub = bucket % SUB_COUNT + SUB_COUNT;
+        return ((sub + 1) << exp) - 1;
+    }
+
+    /**
+     * 히스토그램 시점 복사본.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long total;
+
+        private Snapshot(long[] counts) {
+            this.counts = counts;
+            long sum = 0;
+            for (long c : counts) {
+                sum += c;
+            }
+            this.total = sum;
+        }
+
+        public long count() {
+            return total;
+        }
+
+        /**
+         * earlier 이후 기록분만 담은 스냅샷.
+         */
+        public Snapshot since(Snapshot earlier) {
+            long[] diff = new long[counts.length];
+            for (int i = 0; i < diff.length; i++) {
+                diff[i] = counts[i] - earlier.counts[i];
+            }
+            return new Snapshot(diff);
+        }
+
+        /**
+         * 백분위 값(ms). q: 0~1. 기록 없으면 0.
+         */
+        public double percentileMillis(double q) {
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(q * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return toMillis(upperBound(i));
+                }
+            }
+            return maxMillis();
+        }
+
+        public double maxMillis() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return toMillis(upperBound(i));
+                }
+            }
+            return 0;
+        }
+
+        // 소수점 둘째 자리까지.
+        private static double toMillis(long nanos) {
+            return Math.round(nanos / 10_000.0) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,496 @@
+package hw10.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * 로그 파일 역방향 조회 엔진.
+ * 파일 전체 적재 없이 끝에서부터 블록 단위로 읽고, limit 도달 시 중단.
+ * 블록별 시각 범위, 레벨, 메시지 3-gram 블룸 필터를 사이드카 인덱스(.idx)로 유지.
+ * 레벨/검색어/시각 조건과 무관한 블록은 읽지 않음.
+ */
+public final class LogQueryEngine {
+
+    // 조회 결과 항목.
+    public record Entry(String timestamp, String level, String message) {
+    }
+
+    // 조회 결과. total: 파일 전체 로그 항목 수.
+    public record Result(List<Entry> entries, long total) {
+    }
+
+    // 파일 내 로그 블록. [start, end) 구간, 항목 시작 위치 기준 정렬.
+    private record Block(long start, long end, long firstTs, long lastTs, int levelMask, int entries, long[] bloom) {
+    }
+
+    // 파싱된 로그 항목.
+    private record Parsed(String timestamp, long epoch, String level, String message) {
+    }
+
+    // 로그 정규식 패턴. 날짜, 레벨, 메시지 추출.
+    private static final Pattern ENTRY_PATTERN = Pattern.compile(
+            "\\[(\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2})\\]" +
+                    "\\s+" +
+                    "\\[(INFO|WARNING|SEVERE)\\]" +
+                    "\\s+" +
+                    "(.+)");
+    private static final DateTimeFormatter TS_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String[] LEVELS = { "INFO", "WARNING", "SEVERE" };
+    private static final int ALL_LEVELS = 0b111;
+
+    // 블록 최소 크기. 블록 경계는 항목 시작 위치에 맞춤.
+    private static final int BLOCK_SIZE = 256 * 1024;
+    private static final int SCAN_CHUNK = 1024 * 1024;
+
+    // 구간 최대 읽기 크기. 초과 구간(초대형 항목, 손상된 인덱스)은 끝쪽(최신)만 파싱.
+    private static final int MAX_REGION_BYTES = 16 * 1024 * 1024;
+
+    // 블록별 블룸 필터 크기 (8192비트).
+    private static final int BLOOM_WORDS = 128;
+    private static final int BLOOM_MASK = BLOOM_WORDS * 64 - 1;
+
+    // 로그 파일 교체 감지용 선두 구간 크기.
+    private static final int HEAD_CHECK_BYTES = 4096;
+
+    // 인덱스 파일 형식. 헤더(magic, version, headCrc, indexedUpTo, blockCount) + 블록 목록.
+    private static final int MAGIC = 0x534c4958;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4;
+    private static final int BLOCK_BYTES = 8 * 4 + 4 + 4 + BLOOM_WORDS * 8;
+
+    private final Path logPath;
+    private final Path indexPath;
+
+    // 인덱스 완료 블록 목록, 인덱스 범위 끝. 이후 구간(tail)은 매 조회 시 직접 파싱.
+    private final List<Block> blocks = new ArrayList<>();
+    private long indexedUpTo;
+    private long headCrc;
+    private boolean loaded;
+
+    // 인덱스 상태 보호. 잠금 중 파일 I/O가 있어 synchronized 대신 사용 (가상 스레드 고정 방지).
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public LogQueryEngine(Path logPath) {
+        this.logPath = logPath;
+        this.indexPath = logPath.resolveSibling(logPath.getFileName() + ".idx");
+    }
+
+    /**
+     * 최신순 로그 조회.
+     * level: 레벨 일치 (대소문자 무시), search: 메시지 포함 (대소문자 무시), since: 이 시각 이후 항목만.
+     * 비어 있는 조건은 무시.
+     */
+    public Result query(String level, String search, LocalDateTime since, int limit) throws IOException {
+        lock.lock();
+        try {
+            return queryLocked(level, search, since, limit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Result queryLocked(String level, String search, LocalDateTime since, int limit) throws IOException {
+        if (!Files.exists(logPath)) {
+            return new Result(List.of(), 0);
+        }
+
+        try (FileChannel ch = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            long size = ch.size();
+            refreshIndex(ch, size);
+
+            int levelMask = (level == null || level.isEmpty()) ? ALL_LEVELS : levelBit(level);
+            String needle = (search == null || search.isEmpty()) ? null : search.toLowerCase();
+            int[] grams = (needle != null && needle.indexOf('\n') < 0) ? gramBits(needle) : null;
+            long sinceEpoch = since == null ? Long.MIN_VALUE : since.toEpochSecond(ZoneOffset.UTC);
+
+            List<Entry> out = new ArrayList<>();
+            long total = 0;
+            for (Block b : blocks) {
+                total += b.entries();
+            }
+
+            // 인덱스 이후 구간. 최근 로그이므로 먼저 확인.
+            List<Parsed> tail = parseRegion(ch, indexedUpTo, size);
+            total += tail.size();
+            collect(tail, levelMask, needle, sinceEpoch, limit, out);
+
+            for (int i = blocks.size() - 1; i >= 0 && out.size() < limit; i--) {
+                Block b = blocks.get(i);
+                if ((b.levelMask() & levelMask) == 0 || b.lastTs() < sinceEpoch) {
+                    continue;
+                }
+                if (grams != null && !mayContain(b.bloom(), grams)) {
+                    continue;
+                }
+                collect(parseRegion(ch, b.start(), b.end()), levelMask, needle, sinceEpoch, limit, out);
+            }
+            return new Result(out, total);
+        }
+    }
+
+    // 구간 항목을 뒤에서부터 조건 검사 후 추가.
+    private static void collect(List<Parsed> entries, int levelMask, String needle, long sinceEpoch, int limit,
+            List<Entry> out) {
+        for (int i = entries.size() - 1; i >= 0 && out.size() < limit; i--) {
+            Parsed p = entries.get(i);
+            if ((levelBit(p.level()) & levelMask) == 0 || p.epoch() < sinceEpoch) {
+                continue;
+            }
+            if (needle != null && !p.message().toLowerCase().contains(needle)) {
+                continue;
+            }
+            out.add(new Entry(p.timestamp(), p.level(), p.message()));
+        }
+    }
+
+    // [start, end) 구간 읽기 후 항목 파싱. 마지막 줄바꿈 이후 (기록 중인 줄) 제외.
+    // MAX_REGION_BYTES 초과 시 끝쪽만 읽고 첫 줄바꿈 이전(잘린 줄) 제외.
+    private static List<Parsed> parseRegion(FileChannel ch, long start, long end) throws IOException {
+        if (end <= start) {
+            return new ArrayList<>();
+        }
+        long from = Math.max(start, end - MAX_REGION_BYTES);
+
+        ByteBuffer buf = ByteBuffer.allocate((int) (end - from));
+        while (buf.hasRemaining()) {
+            if (ch.read(buf, from + buf.position()) < 0) {
+                break;
+            }
+        }
+        byte[] bytes = buf.array();
+        int len = buf.position();
+        while (len > 0 && bytes[len - 1] != '\n') {
+            len--;
+        }
+        int off = 0;
+        if (from > start) {
+            while (off < len && bytes[off++] != '\n') {
+            }
+        }
+
+        return parseText(new String(bytes, off, len - off, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 로그 텍스트 항목 단위 파싱. 첫 항목 시작 전 줄은 무시.
+     */
+    public static List<Entry> parse(String text) {
+        List<Entry> out = new ArrayList<>();
+        for (Parsed p : parseText(text)) {
+            out.add(new Entry(p.timestamp(), p.level(), p.message()));
+        }
+        return out;
+    }
+
+    /**
+     * 레벨/검색어 조건 일치 여부. query와 같은 규칙 (대소문자 무시, 빈 조건 무시).
+     */
+    public static boolean matches(Entry entry, String level, String search) {
+        if (level != null && !level.isEmpty() && !entry.level().equalsIgnoreCase(level)) {
+            return false;
+        }
+        return search == null || search.isEmpty()
+                || entry.message().toLowerCase().contains(search.toLowerCase());
+    }
+
+    /**
+     * 마지막 항목 시작 위치 (문자 인덱스). 항목 없으면 -1.
+     * 이어서 기록될 수 있는 마지막 항목 분리용.
+     */
+    public static int lastEntryStart(String text) {
+        int end = text.length();
+        while (end > 0) {
+            int start = text.lastIndexOf('\n', end - 1) + 1;
+            if (ENTRY_PATTERN.matcher(stripCr(text.substring(start, end))).find()) {
+                return start;
+            }
+            end = start - 1;
+        }
+        return -1;
+    }
+
+    private static List<Parsed> parseText(String text) {
+        List<Parsed> out = new ArrayList<>();
+        String ts = null;
+        String level = null;
+        StringBuilder message = null;
+        for (String line : text.split("\n")) {
+            line = stripCr(line);
+            Matcher m = ENTRY_PATTERN.matcher(line);
+            if (m.find()) {
+                if (ts != null) {
+                    out.add(new Parsed(ts, epochOf(ts), level, message.toString()));
+                }
+                ts = m.group(1);
+                level = m.group(2);
+                message = new StringBuilder(m.group(3).trim());
+            } else if (ts != null) {
+                // 멀티라인 로그 처리 (예: 스택트레이스)
+                message.append("\n").append(line);
+            }
+        }
+        if (ts != null) {
+            out.add(new Parsed(ts, epochOf(ts), level, message.toString()));
+        }
+        return out;
+    }
+
+    // 인덱스 최신화. 파일 교체/축소 시 재생성, 이후 추가된 구간만 블록으로 분할.
+    private void refreshIndex(FileChannel ch, long size) throws IOException {
+        if (!loaded) {
+            loaded = true;
+            loadIndex();
+        }
+
+        if (!blocks.isEmpty() && (size < indexedUpTo || headCrc(ch) != headCrc)) {
+            resetIndex();
+        }
+        if (size - indexedUpTo < BLOCK_SIZE) {
+            return;
+        }
+
+        int before = blocks.size();
+        scanBlocks(ch);
+        if (blocks.size() > before) {
+            if (before == 0) {
+                headCrc = headCrc(ch);
+            }
+            saveIndex(before);
+        }
+    }
+
+    // indexedUpTo 이후 완성된 줄 순차 스캔, BLOCK_SIZE 이상 쌓이면 다음 항목 시작 위치에서 블록 마감.
+    private void scanBlocks(FileChannel ch) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(SCAN_CHUNK);
+        ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+
+        long pos = indexedUpTo;
+        long lineStart = pos;
+        long blockStart = pos;
+        BlockBuilder current = new BlockBuilder();
+
+        int n;
+        while ((n = ch.read(chunk.clear(), pos)) > 0) {
+            byte[] a = chunk.array();
+            int from = 0;
+            for (int i = 0; i < n; i++) {
+                if (a[i] != '\n') {
+                    continue;
+                }
+                line.write(a, from, i - from);
+                from = i + 1;
+
+                String text = stripCr(line.toString(StandardCharsets.UTF_8));
+                line.reset();
+                Matcher m = ENTRY_PATTERN.matcher(text);
+                if (m.find()) {
+                    if (current.entries > 0 && lineStart - blockStart >= BLOCK_SIZE) {
+                        blocks.add(current.build(blockStart, lineStart));
+                        indexedUpTo = lineStart;
+                        blockStart = lineStart;
+                        current = new BlockBuilder();
+                    }
+                    current.addEntry(epochOf(m.group(1)), levelBit(m.group(2)), m.group(3).trim());
+                } else if (current.entries > 0) {
+                    current.addGrams(text);
+                }
+                lineStart = pos + i + 1;
+            }
+            line.write(a, from, n - from);
+            pos += n;
+        }
+    }
+
+    // 마감 전 블록 누적 상태.
+    private static final class BlockBuilder {
+        private long firstTs = Long.MAX_VALUE;
+        private long lastTs = Long.MIN_VALUE;
+        private int levelMask;
+        private int entries;
+        private final long[] bloom = new long[BLOOM_WORDS];
+
+        void addEntry(long epoch, int levelBit, String message) {
+            firstTs = Math.min(firstTs, epoch);
+            lastTs = Math.max(lastTs, epoch);
+            levelMask |= levelBit;
+            entries++;
+            addGrams(message);
+        }
+
+        void addGrams(String text) {
+            int[] bits = gramBits(text.toLowerCase());
+            if (bits == null) {
+                return;
+            }
+            for (int bit : bits) {
+                bloom[bit >>> 6] |= 1L << bit;
+            }
+        }
+
+        Block build(long start, long end) {
+            return new Block(start, end, firstTs, lastTs, levelMask, entries, bloom);
+        }
+    }
+
+    // 3-gram 블룸 필터 비트 위치. 3자 미만이면 null (필터 미적용).
+    private static int[] gramBits(String text) {
+        if (text.length() < 3) {
+            return null;
+        }
+        int[] bits = new int[text.length() - 2];
+        for (int i = 0; i < bits.length; i++) {
+            int h = (text.charAt(i) * 31 + text.charAt(i + 1)) * 31 + text.charAt(i + 2);
+            h *= 0x9E3779B9;
+            bits[i] = (h ^ (h >>> 16)) & BLOOM_MASK;
+        }
+        return bits;
+    }
+
+    private static boolean mayContain(long[] bloom, int[] bits) {
+        for (int bit : bits) {
+            if ((bloom[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void loadIndex() {
+        if (!Files.exists(indexPath)) {
+            return;
+        }
+        try (FileChannel ch = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(ch, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                resetIndex();
+                return;
+            }
+            long crc = header.getLong();
+            long upTo = header.getLong();
+            int count = header.getInt();
+            if (count < 0 || ch.size() < HEADER_BYTES + (long) count * BLOCK_BYTES) {
+                resetIndex();
+                return;
+            }
+
+            ByteBuffer buf = ByteBuffer.allocate(BLOCK_BYTES);
+            for (int i = 0; i < count; i++) {
+                buf.clear();
+                readFully(ch, buf, HEADER_BYTES + (long) i * BLOCK_BYTES);
+                buf.flip();
+                long start = buf.getLong();
+                long end = buf.getLong();
+                long firstTs = buf.getLong();
+                long lastTs = buf.getLong();
+                int mask = buf.getInt();
+                int entries = buf.getInt();
+                long[] bloom = new long[BLOOM_WORDS];
+                buf.asLongBuffer().get(bloom);
+                blocks.add(new Block(start, end, firstTs, lastTs, mask, entries, bloom));
+            }
+            headCrc = crc;
+            indexedUpTo = upTo;
+        } catch (IOException e) {
+            resetIndex();
+        }
+    }
+
+    // from 이후 블록 추가 기록, 헤더는 마지막에 갱신.
+    private void saveIndex(int from) {
+        try (FileChannel ch = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocate(BLOCK_BYTES);
+            for (int i = from; i < blocks.size(); i++) {
+                Block b = blocks.get(i);
+                buf.clear();
+                buf.putLong(b.start()).putLong(b.end()).putLong(b.firstTs()).putLong(b.lastTs())
+                        .putInt(b.levelMask()).putInt(b.entries());
+                for (long word : b.bloom()) {
+                    buf.putLong(word);
+                }
+                buf.flip();
+                writeFully(ch, buf, HEADER_BYTES + (long) i * BLOCK_BYTES);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putLong(headCrc).putLong(indexedUpTo).putInt(blocks.size());
+            header.flip();
+            writeFully(ch, header, 0);
+        } catch (IOException e) {
+            // 기록 실패 시 메모리 인덱스만 사용. 재시작 시 재생성.
+            Logger.warn("로그 인덱스 저장 실패: " + e.getMessage());
+        }
+    }
+
+    private void resetIndex() {
+        blocks.clear();
+        indexedUpTo = 0;
+        headCrc = 0;
+        try {
+            Files.deleteIfExists(indexPath);
+        } catch (IOException ignored) {
+        }
+    }
+
+    // 로그 파일 선두 구간 CRC. 블록 마감 시점엔 항상 HEAD_CHECK_BYTES 이상 존재.
+    private static long headCrc(FileChannel ch) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate((int) Math.min(HEAD_CHECK_BYTES, ch.size()));
+        readFully(ch, buf, 0);
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), 0, buf.position());
+        return crc.getValue();
+    }
+
+    private static void readFully(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+        while (buf.hasRemaining()) {
+            if (ch.read(buf, pos + buf.position()) < 0) {
+                throw new IOException("인덱스 파일 손상");
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+        while (buf.hasRemaining()) {
+            ch.write(buf, pos + buf.position());
+        }
+    }
+
+    private static int levelBit(String level) {
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (LEVELS[i].equalsIgnoreCase(level)) {
+                return 1 << i;
+            }
+        }
+        return 0;
+    }
+
+    private static long epochOf(String timestamp) {
+        try {
+            return LocalDateTime.parse(timestamp, TS_FORMAT).toEpochSecond(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private static String stripCr(String line) {
+        return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+}
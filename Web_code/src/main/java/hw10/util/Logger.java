@@ -3,91 +3,155 @@ package hw10.util;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.logging.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 
 /**
  * 로깅 유틸리티.
  * 콘솔 및 파일 로그 동시 출력 구성.
+ * 기록은 비동기 (AsyncLogWriter). 호출 스레드는 디스크 I/O 대기 없음.
+ * 버퍼 크기/초과 정책: scm.log.buffer-size, scm.log.overflow (시스템 속성 또는 SCM_LOG_* 환경변수).
+ * scm.log.structured=true 시 구조화 로그(logs/structured, 소스/스레드/트랜잭션/소요 시간 포함) 추가 기록.
  */
 public final class Logger {
 
+    // 초기화 전 호출용 기본 로거.
     private static final java.util.logging.Logger LOGGER = java.util.logging.Logger.getLogger("scm");
 
-    private static boolean initialized = false;
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    // 구조화 로그 디렉토리.
+    public static final Path STRUCTURED_DIR = Path.of("logs", "structured");
+
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    // 현재 스레드 트랜잭션 ID. ID는 시작 시각 기반 (재시작 간 중복 방지).
+    private static final ThreadLocal<Long> TX_ID = new ThreadLocal<>();
+    private static final AtomicLong TX_SEQ = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private static volatile AsyncLogWriter writer;
+    private static volatile boolean structured;
 
     private Logger() {
     }
 
     /**
      * 로거 초기화.
-     * 포맷터 설정 및 핸들러 등록.
+     * 로그 디렉토리 생성, 비동기 기록기 시작, 종료 시 잔여 로그 기록 등록.
      */
-    public static void init() {
-        if (initialized)
+    public static synchronized void init() {
+        if (writer != null)
             return;
-        initialized = true;
-
-        LOGGER.setUseParentHandlers(false);
-        LOGGER.setLevel(Level.INFO);
-
-        Formatter customFormatter = new Formatter() {
-            @Override
-            public String format(LogRecord record) {
-                StringBuilder sb = new StringBuilder();
-                sb.append(String.format("[%1$tY-%1$tm-%1$td %1$tH:%1$tM:%1$tS] ", record.getMillis()));
-                sb.append(String.format("[%s] ", record.getLevel().getName()));
-                sb.append(record.getMessage());
-                sb.append(System.lineSeparator());
-
-                if (record.getThrown() != null) {
-                    Throwable t = record.getThrown();
-                    sb.append("  예외: ").append(t.getClass().getSimpleName());
-                    if (t.getMessage() != null) {
-                        sb.append(" - ").append(t.getMessage());
-                    }
-                    sb.append(System.lineSeparator());
-
-                    StackTraceElement[] stack = t.getStackTrace();
-                    if (stack.length > 0) {
-                        sb.append("  위치: ").append(stack[0].toString());
-                        sb.append(System.lineSeparator());
-                    }
-                }
-
-                return sb.toString();
-            }
-        };
-
-        // 콘솔 핸들러 설정
-        ConsoleHandler ch = new ConsoleHandler();
-        ch.setLevel(Level.INFO);
-        ch.setFormatter(customFormatter);
-        LOGGER.addHandler(ch);
 
+        String filePath = "logs/app.log";
         try {
-
             Files.createDirectories(Path.of("logs"));
-
-            // 파일 핸들러 설정 (이어쓰기 모드)
-            FileHandler fh = new FileHandler("logs/app.log", true);
-            fh.setLevel(Level.INFO);
-            fh.setFormatter(customFormatter);
-            LOGGER.addHandler(fh);
         } catch (IOException e) {
-
             LOGGER.log(Level.WARNING, "파일 로그 초기화 실패: " + e.getMessage());
+            filePath = null;
         }
+
+        structured = filePath != null && Boolean.parseBoolean(setting("scm.log.structured", "SCM_LOG_STRUCTURED"));
+        AsyncLogWriter w = new AsyncLogWriter(filePath, bufferSize(), overflowPolicy(), false,
+                structured ? new StructuredLogWriter(STRUCTURED_DIR) : null);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> w.close(2000), "async-logger-shutdown"));
+        writer = w;
+    }
+
+    /**
+     * 구조화 로그 기록 여부.
+     */
+    public static boolean isStructured() {
+        return structured;
+    }
+
+    /**
+     * 현재 스레드 트랜잭션 시작. 이후 로그에 트랜잭션 ID 기록, endTx 호출 필수.
+     */
+    public static long beginTx() {
+        long id = TX_SEQ.incrementAndGet();
+        TX_ID.set(id);
+        return id;
+    }
+
+    /**
+     * 현재 스레드 트랜잭션 종료.
+     */
+    public static void endTx() {
+        TX_ID.remove();
     }
 
     public static void info(String msg) {
-        LOGGER.info(msg);
+        log(AsyncLogWriter.INFO, Level.INFO, msg, null, -1);
+    }
+
+    /**
+     * 소요 시간 포함 INFO 로그. 메시지 뒤 "(Nms)" 표기.
+     */
+    public static void info(String msg, long durationMs) {
+        log(AsyncLogWriter.INFO, Level.INFO, msg, null, durationMs);
     }
 
     public static void warn(String msg) {
-        LOGGER.warning(msg);
+        log(AsyncLogWriter.WARNING, Level.WARNING, msg, null, -1);
     }
 
     public static void error(String msg, Throwable t) {
-        LOGGER.log(Level.SEVERE, msg, t);
+        log(AsyncLogWriter.SEVERE, Level.SEVERE, msg, t, -1);
+    }
+
+    private static void log(int level, Level julLevel, String msg, Throwable t, long durationMs) {
+        AsyncLogWriter w = writer;
+        if (w == null) {
+            LOGGER.log(julLevel, durationMs >= 0 ? msg + " (" + durationMs + "ms)" : msg, t);
+            return;
+        }
+        if (!structured) {
+            w.log(level, msg, t, durationMs, null, null, 0);
+            return;
+        }
+        Long txId = TX_ID.get();
+        w.log(level, msg, t, durationMs, callerClass(), Thread.currentThread().getName(),
+                txId != null ? txId : 0);
+    }
+
+    // 호출 클래스 이름 (Logger 제외 첫 프레임, 중첩 클래스는 바깥 클래스).
+    private static String callerClass() {
+        return WALKER.walk(frames -> frames
+                .map(StackWalker.StackFrame::getDeclaringClass)
+                .filter(c -> c != Logger.class)
+                .findFirst()
+                .map(c -> {
+                    while (c.getEnclosingClass() != null) {
+                        c = c.getEnclosingClass();
+                    }
+                    return c.getSimpleName();
+                })
+                .orElse(""));
+    }
+
+    private static int bufferSize() {
+        String value = setting("scm.log.buffer-size", "SCM_LOG_BUFFER_SIZE");
+        try {
+            return value == null ? DEFAULT_BUFFER_SIZE : Math.max(64, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            return DEFAULT_BUFFER_SIZE;
+        }
+    }
+
+    private static AsyncLogWriter.OverflowPolicy overflowPolicy() {
+        String value = setting("scm.log.overflow", "SCM_LOG_OVERFLOW");
+        try {
+            return value == null ? AsyncLogWriter.OverflowPolicy.DROP_INFO
+                    : AsyncLogWriter.OverflowPolicy.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return AsyncLogWriter.OverflowPolicy.DROP_INFO;
+        }
+    }
+
+    // 시스템 속성 우선, 없으면 환경변수.
+    private static String setting(String property, String env) {
+        String value = System.getProperty(property);
+        return value != null ? value : System.getenv(env);
     }
 }
@@ -0,0 +1,93 @@
+package hw10.util;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.util.Base64;
+
+/**
+ * 키셋(seek) 페이징용 커서 토큰.
+ * 마지막 행의 정렬 키를 URL-safe Base64 문자열로 인코딩.
+ * 클라이언트는 토큰 내용을 해석하지 않고 그대로 전달.
+ */
+public final class PageCursor {
+
+    private static final String ORDER_PREFIX = "o:";
+    private static final String ID_PREFIX = "i:";
+
+    // 발주 내역 정렬 키 (OrderDate DESC, POID DESC).
+    public record OrderKey(Date orderDate, int poid) {
+    }
+
+    private PageCursor() {
+    }
+
+    /**
+     * 발주 내역 커서 생성.
+     */
+    public static String ofOrder(Date orderDate, int poid) {
+        return encode(ORDER_PREFIX + orderDate + ":" + poid);
+    }
+
+    /**
+     * 발주 내역 커서 해석. 빈 값은 첫 페이지 (null).
+     */
+    public static OrderKey parseOrder(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String raw = decode(cursor);
+        if (!raw.startsWith(ORDER_PREFIX)) {
+            throw invalid();
+        }
+        String[] parts = raw.substring(ORDER_PREFIX.length()).split(":");
+        if (parts.length != 2) {
+            throw invalid();
+        }
+        try {
+            return new OrderKey(Date.valueOf(parts[0]), Integer.parseInt(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+    }
+
+    /**
+     * ID 순 목록 커서 생성.
+     */
+    public static String ofId(int id) {
+        return encode(ID_PREFIX + id);
+    }
+
+    /**
+     * ID 순 목록 커서 해석. 빈 값은 첫 페이지 (0).
+     */
+    public static int parseId(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        String raw = decode(cursor);
+        if (!raw.startsWith(ID_PREFIX)) {
+            throw invalid();
+        }
+        try {
+            return Integer.parseInt(raw.substring(ID_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw invalid();
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+    }
+
+    private static IllegalArgumentException invalid() {
+        return new IllegalArgumentException("잘못된 페이지 커서입니다.");
+    }
+}
@@ -0,0 +1,258 @@
+package hw10.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 구조화 로그 조회.
+ * 일자별 디렉토리(yyyy-MM-dd) 구성:
+ * records.jsonl (원문), offset/time/level/source/tx.col (레코드 순서 고정폭 컬럼), sources.txt (소스 사전).
+ * 레벨/소스/트랜잭션/시각 조건은 컬럼만 읽어 판정, 일치 레코드만 원문 파싱 (정규식 미사용).
+ */
+public final class StructuredLogStore {
+
+    static final String RECORDS = "records.jsonl";
+    static final String OFFSET_COL = "offset.col";
+    static final String TIME_COL = "time.col";
+    static final String LEVEL_COL = "level.col";
+    static final String SOURCE_COL = "source.col";
+    static final String TX_COL = "tx.col";
+    static final String SOURCES = "sources.txt";
+
+    private static final String[] LEVELS = { "INFO", "WARNING", "SEVERE" };
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // 조회 결과 레코드. txId, durationMs는 없으면 null.
+    public record Record(
+            String timestamp,
+            String level,
+            String source,
+            String thread,
+            Long txId,
+            Long durationMs,
+            String message,
+            String exception,
+            String at) {
+    }
+
+    // 조회 결과. total: 전체 레코드 수.
+    public record Result(List<Record> records, long total) {
+    }
+
+    private final Path root;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    public StructuredLogStore(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * 최신순 조회. 비어 있는 조건은 무시.
+     * level/source: 일치 (대소문자 무시), txId: 트랜잭션 ID, search: 메시지 포함, since: 이 시각 이후.
+     */
+    public Result query(String level, String source, Long txId, String search, LocalDateTime since, int limit)
+            throws IOException {
+        if (!Files.isDirectory(root)) {
+            return new Result(List.of(), 0);
+        }
+
+        int levelCode = -1;
+        if (level != null && !level.isEmpty()) {
+            levelCode = Integer.MAX_VALUE;
+            for (int i = 0; i < LEVELS.length; i++) {
+                if (LEVELS[i].equalsIgnoreCase(level)) {
+                    levelCode = i;
+                }
+            }
+        }
+        boolean bySource = source != null && !source.isEmpty();
+        String needle = (search == null || search.isEmpty()) ? null : search.toLowerCase();
+        long sinceMillis = since == null ? Long.MIN_VALUE : since.atZone(zone).toInstant().toEpochMilli();
+        LocalDate sinceDay = since == null ? LocalDate.MIN : since.toLocalDate();
+
+        List<Record> out = new ArrayList<>();
+        long total = 0;
+        for (Path dir : days()) {
+            LocalDate day = LocalDate.parse(dir.getFileName().toString());
+            try (Day d = new Day(dir)) {
+                total += d.rows;
+                if (out.size() >= limit || d.rows == 0 || day.isBefore(sinceDay) || levelCode == Integer.MAX_VALUE) {
+                    continue;
+                }
+
+                Set<Integer> sourceIds = null;
+                if (bySource) {
+                    sourceIds = d.sourceIds(source);
+                    if (sourceIds.isEmpty()) {
+                        continue;
+                    }
+                }
+
+                MappedByteBuffer levels = levelCode >= 0 ? d.map(LEVEL_COL) : null;
+                MappedByteBuffer sources = bySource ? d.map(SOURCE_COL) : null;
+                MappedByteBuffer txs = txId != null ? d.map(TX_COL) : null;
+                MappedByteBuffer times = since != null ? d.map(TIME_COL) : null;
+                MappedByteBuffer offsets = d.map(OFFSET_COL);
+
+                for (int r = (int) d.rows - 1; r >= 0 && out.size() < limit; r--) {
+                    if (levels != null && levels.get(r) != levelCode) {
+                        continue;
+                    }
+                    if (sources != null && !sourceIds.contains(sources.getInt(r * 4))) {
+                        continue;
+                    }
+                    if (txs != null && txs.getLong(r * 8) != txId) {
+                        continue;
+                    }
+                    if (times != null && times.getLong(r * 8) < sinceMillis) {
+                        continue;
+                    }
+
+                    long start = offsets.getLong(r * 8);
+                    long end = r + 1 < d.rows ? offsets.getLong((r + 1) * 8) : recordEnd(d.records, start);
+                    Record record = read(d.records, start, end);
+                    if (record == null) {
+                        continue;
+                    }
+                    if (needle != null && !record.message().toLowerCase().contains(needle)) {
+                        continue;
+                    }
+                    out.add(record);
+                }
+            }
+        }
+        return new Result(out, total);
+    }
+
+    // 일자 디렉토리 최신순.
+    private List<Path> days() throws IOException {
+        try (Stream<Path> s = Files.list(root)) {
+            return s.filter(Files::isDirectory)
+                    .filter(p -> isDay(p.getFileName().toString()))
+                    .sorted(Comparator.comparing((Path p) -> p.getFileName().toString()).reversed())
+                    .toList();
+        }
+    }
+
+    private static boolean isDay(String name) {
+        try {
+            LocalDate.parse(name);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    // 레코드 끝 위치 (줄바꿈 다음). 기록 중인 레코드면 start 반환.
+    static long recordEnd(FileChannel ch, long start) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(4096);
+        long pos = start;
+        int n;
+        while ((n = ch.read(buf.clear(), pos)) > 0) {
+            for (int i = 0; i < n; i++) {
+                if (buf.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += n;
+        }
+        return start;
+    }
+
+    private static Record read(FileChannel ch, long start, long end) throws IOException {
+        if (end <= start) {
+            return null;
+        }
+        ByteBuffer buf = ByteBuffer.allocate((int) (end - start));
+        while (buf.hasRemaining() && ch.read(buf, start + buf.position()) > 0) {
+        }
+        JsonNode n = MAPPER.readTree(buf.array(), 0, buf.position());
+        return new Record(
+                n.path("ts").asText(),
+                n.path("level").asText(),
+                n.path("source").asText(""),
+                n.path("thread").asText(""),
+                n.hasNonNull("tx") ? n.get("tx").asLong() : null,
+                n.hasNonNull("durationMs") ? n.get("durationMs").asLong() : null,
+                n.path("message").asText(""),
+                n.hasNonNull("exception") ? n.get("exception").asText() : null,
+                n.hasNonNull("at") ? n.get("at").asText() : null);
+    }
+
+    // 일자 디렉토리 열람. rows: 모든 컬럼에 기록 완료된 레코드 수.
+    // 원문 파일 없는 디렉토리 (생성 직후, 일부 삭제)는 레코드 0건으로 취급.
+    private static final class Day implements AutoCloseable {
+        private final Path dir;
+        private final FileChannel records;
+        private final long rows;
+
+        Day(Path dir) throws IOException {
+            this.dir = dir;
+            Path recordsPath = dir.resolve(RECORDS);
+            if (!Files.exists(recordsPath)) {
+                this.records = null;
+                this.rows = 0;
+                return;
+            }
+            this.records = FileChannel.open(recordsPath, StandardOpenOption.READ);
+            this.rows = Math.min(Math.min(size(OFFSET_COL) / 8, size(TIME_COL) / 8),
+                    Math.min(size(LEVEL_COL), Math.min(size(SOURCE_COL) / 4, size(TX_COL) / 8)));
+        }
+
+        MappedByteBuffer map(String column) throws IOException {
+            try (FileChannel ch = FileChannel.open(dir.resolve(column), StandardOpenOption.READ)) {
+                return ch.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(ch.size(), rows * width(column)));
+            }
+        }
+
+        // 사전에서 이름 일치 (대소문자 무시) 소스 ID.
+        Set<Integer> sourceIds(String source) throws IOException {
+            Set<Integer> ids = new HashSet<>();
+            List<String> names = Files.readAllLines(dir.resolve(SOURCES));
+            for (int i = 0; i < names.size(); i++) {
+                if (names.get(i).equalsIgnoreCase(source)) {
+                    ids.add(i);
+                }
+            }
+            return ids;
+        }
+
+        private long size(String column) throws IOException {
+            Path p = dir.resolve(column);
+            return Files.exists(p) ? Files.size(p) : 0;
+        }
+
+        private static int width(String column) {
+            return switch (column) {
+                case LEVEL_COL -> 1;
+                case SOURCE_COL -> 4;
+                default -> 8;
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (records != null) {
+                records.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package hw10.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 구조화 로그 기록기 (AsyncLogWriter 기록 스레드 전용).
+ * 일자별 디렉토리에 JSON lines 원문과 필드별 컬럼 인덱스 기록.
+ * 파일 구성은 StructuredLogStore 참고. 원문 먼저 기록 후 컬럼 기록 (컬럼은 항상 원문 범위 내).
+ */
+final class StructuredLogWriter implements AsyncLogWriter.RecordSink {
+
+    private static final DateTimeFormatter TS_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final String[] LEVEL_NAMES = { "INFO", "WARNING", "SEVERE" };
+
+    private final Path root;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // 현재 일자 및 해당 일자 범위(ms). 범위 밖 기록 시 파일 전환.
+    private long dayStart = Long.MAX_VALUE;
+    private long dayEnd = Long.MIN_VALUE;
+
+    private FileChannel records;
+    private FileChannel offsetCol;
+    private FileChannel timeCol;
+    private FileChannel levelCol;
+    private FileChannel sourceCol;
+    private FileChannel txCol;
+    private FileChannel sources;
+    private long recordsSize;
+    private final Map<String, Integer> sourceIds = new HashMap<>();
+
+    // 배치 버퍼. flush 시 파일별 1회 기록.
+    private ByteBuffer recordBuf = ByteBuffer.allocate(256 * 1024);
+    private ByteBuffer offsetBuf = ByteBuffer.allocate(8 * 1024);
+    private ByteBuffer timeBuf = ByteBuffer.allocate(8 * 1024);
+    private ByteBuffer levelBuf = ByteBuffer.allocate(1024);
+    private ByteBuffer sourceBuf = ByteBuffer.allocate(4 * 1024);
+    private ByteBuffer txBuf = ByteBuffer.allocate(8 * 1024);
+    private final StringBuilder line = new StringBuilder(512);
+
+    StructuredLogWriter(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * 레코드 1건 배치 버퍼에 추가.
+     */
+    @Override
+    public void append(long millis, int level, String source, String thread, long txId, long durationMs,
+            String message, Throwable thrown) throws IOException {
+        if (millis < dayStart || millis >= dayEnd) {
+            flush();
+            openDay(millis);
+        }
+
+        line.setLength(0);
+        line.append("{\"ts\":\"").append(TS_FORMAT.format(Instant.ofEpochMilli(millis).atZone(zone)))
+                .append("\",\"level\":\"").append(LEVEL_NAMES[level]).append('"');
+        appendField("source", source);
+        appendField("thread", thread);
+        if (txId != 0) {
+            line.append(",\"tx\":").append(txId);
+        }
+        if (durationMs >= 0) {
+            line.append(",\"durationMs\":").append(durationMs);
+        }
+        appendField("message", message);
+        if (thrown != null) {
+            String summary = thrown.getClass().getSimpleName();
+            appendField("exception", thrown.getMessage() != null ? summary + " - " + thrown.getMessage() : summary);
+            StackTraceElement[] stack = thrown.getStackTrace();
+            if (stack.length > 0) {
+                appendField("at", stack[0].toString());
+            }
+        }
+        line.append("}\n");
+        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+
+        offsetBuf = ensure(offsetBuf, 8).putLong(recordsSize + recordBuf.position());
+        recordBuf = ensure(recordBuf, bytes.length).put(bytes);
+        timeBuf = ensure(timeBuf, 8).putLong(millis);
+        levelBuf = ensure(levelBuf, 1).put((byte) level);
+        sourceBuf = ensure(sourceBuf, 4).putInt(sourceId(source));
+        txBuf = ensure(txBuf, 8).putLong(txId);
+    }
+
+    /**
+     * 배치 버퍼 기록. 원문, 컬럼 순.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (records == null || recordBuf.position() == 0) {
+            return;
+        }
+        recordsSize += writeAll(records, recordBuf);
+        writeAll(offsetCol, offsetBuf);
+        writeAll(timeCol, timeBuf);
+        writeAll(levelCol, levelBuf);
+        writeAll(sourceCol, sourceBuf);
+        writeAll(txCol, txBuf);
+    }
+
+    @Override
+    public void close() {
+        try {
+            flush();
+        } catch (IOException ignored) {
+        }
+        closeDay();
+    }
+
+    // 일자 디렉토리 열기. 비정상 종료로 컬럼 간 길이 불일치 시 짧은 쪽에 맞춤.
+    private void openDay(long millis) throws IOException {
+        closeDay();
+
+        LocalDate day = Instant.ofEpochMilli(millis).atZone(zone).toLocalDate();
+        dayStart = day.atStartOfDay(zone).toInstant().toEpochMilli();
+        dayEnd = day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+
+        Path dir = root.resolve(day.toString());
+        Files.createDirectories(dir);
+        records = open(dir.resolve(StructuredLogStore.RECORDS));
+        offsetCol = open(dir.resolve(StructuredLogStore.OFFSET_COL));
+        timeCol = open(dir.resolve(StructuredLogStore.TIME_COL));
+        levelCol = open(dir.resolve(StructuredLogStore.LEVEL_COL));
+        sourceCol = open(dir.resolve(StructuredLogStore.SOURCE_COL));
+        txCol = open(dir.resolve(StructuredLogStore.TX_COL));
+        sources = open(dir.resolve(StructuredLogStore.SOURCES));
+
+        sourceIds.clear();
+        List<String> names = Files.readAllLines(dir.resolve(StructuredLogStore.SOURCES), StandardCharsets.UTF_8);
+        for (int i = 0; i < names.size(); i++) {
+            sourceIds.put(names.get(i), i);
+        }
+
+        long rows = Math.min(Math.min(offsetCol.size() / 8, timeCol.size() / 8),
+                Math.min(levelCol.size(), Math.min(sourceCol.size() / 4, txCol.size() / 8)));
+        offsetCol.truncate(rows * 8);
+        timeCol.truncate(rows * 8);
+        levelCol.truncate(rows);
+        sourceCol.truncate(rows * 4);
+        txCol.truncate(rows * 8);
+
+        // 원문은 마지막 인덱스 레코드 끝까지만 유지.
+        long end = 0;
+        if (rows > 0) {
+            ByteBuffer last = ByteBuffer.allocate(8);
+            offsetCol.read(last, (rows - 1) * 8);
+            end = StructuredLogStore.recordEnd(records, last.flip().getLong());
+        }
+        records.truncate(end);
+        recordsSize = end;
+    }
+
+    private void closeDay() {
+        for (FileChannel ch : new FileChannel[] { records, offsetCol, timeCol, levelCol, sourceCol, txCol,
+                sources }) {
+            if (ch != null) {
+                try {
+                    ch.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+        records = null;
+    }
+
+    // 일자별 소스 사전 ID. 신규 이름은 사전 파일에 즉시 추가 (컬럼보다 먼저 기록).
+    private int sourceId(String source) throws IOException {
+        String name = source == null ? "" : source;
+        Integer id = sourceIds.get(name);
+        if (id == null) {
+            id = sourceIds.size();
+            sourceIds.put(name, id);
+            ByteBuffer buf = ByteBuffer.wrap((name + "\n").getBytes(StandardCharsets.UTF_8));
+            long pos = sources.size();
+            while (buf.hasRemaining()) {
+                pos += sources.write(buf, pos);
+            }
+        }
+        return id;
+    }
+
+    private void appendField(String name, String value) {
+        if (value == null) {
+            return;
+        }
+        line.append(",\"").append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    // 버퍼 기록 후 비움. 기록 바이트 수 반환.
+    private static long writeAll(FileChannel ch, ByteBuffer buf) throws IOException {
+        buf.flip();
+        long pos = ch.size();
+        long written = 0;
+        while (buf.hasRemaining()) {
+            written += ch.write(buf, pos + written);
+        }
+        buf.clear();
+        return written;
+    }
+
+    private static ByteBuffer ensure(ByteBuffer buf, int extra) {
+        if (buf.remaining() >= extra) {
+            return buf;
+        }
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(buf.capacity() * 2, buf.position() + extra));
+        return grown.put(buf.flip());
+    }
+}
@@ -0,0 +1,98 @@
+package hw10.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 이름별 소요 시간 집계 (쿼리, 커넥션 획득, API 요청 등).
+ * 이름마다 지연 시간 히스토그램, 누적 시간, 처리 행 수, 오류 수 보관.
+ * 이름 수 상한 초과분은 OTHER로 합산 (동적 이름으로 인한 메모리 증가 방지).
+ */
+public final class TimerRegistry {
+
+    public static final String OTHER = "(기타)";
+
+    private static final int MAX_NAMES = 500;
+
+    // 집계 결과. 시간 단위 ms, detail: 대표 SQL 등 부가 정보.
+    public record Stats(
+            String name,
+            long count,
+            long errors,
+            long rows,
+            double totalMs,
+            double meanMs,
+            double p50,
+            double p95,
+            double p99,
+            double max,
+            String detail) {
+    }
+
+    private static final class Timer {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        volatile String detail;
+    }
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * 1건 기록. rows: 처리 행 수(없으면 0), detail: null이면 기존 값 유지.
+     */
+    public void record(String name, long nanos, long rows, boolean error, String detail) {
+        Timer t = timer(name);
+        t.histogram.record(nanos);
+        t.totalNanos.add(nanos);
+        if (rows > 0) {
+            t.rows.add(rows);
+        }
+        if (error) {
+            t.errors.increment();
+        }
+        if (detail != null) {
+            t.detail = detail;
+        }
+    }
+
+    /**
+     * 전체 집계. 누적 시간 내림차순.
+     */
+    public List<Stats> snapshot() {
+        List<Stats> out = new ArrayList<>();
+        timers.forEach((name, t) -> {
+            LatencyHistogram.Snapshot s = t.histogram.snapshot();
+            if (s.count() == 0) {
+                return;
+            }
+            double totalMs = t.totalNanos.sum() / 1_000_000.0;
+            out.add(new Stats(name, s.count(), t.errors.sum(), t.rows.sum(),
+                    round(totalMs), round(totalMs / s.count()),
+                    s.percentileMillis(0.50), s.percentileMillis(0.95), s.percentileMillis(0.99), s.maxMillis(),
+                    t.detail));
+        });
+        out.sort(Comparator.comparingDouble(Stats::totalMs).reversed());
+        return out;
+    }
+
+    private Timer timer(String name) {
+        Timer t = timers.get(name);
+        if (t != null) {
+            return t;
+        }
+        if (timers.size() >= MAX_NAMES) {
+            name = OTHER;
+        }
+        return timers.computeIfAbsent(name, k -> new Timer());
+    }
+
+    private static double round(double ms) {
+        return Math.round(ms * 100) / 100.0;
+    }
+}
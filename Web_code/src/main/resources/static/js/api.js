@@ -61,8 +61,10 @@ async function getProject(projectId) {
     return await apiCall(`/projects/${projectId}`);
 }
 
-async function searchProjects(keyword, limit = 10, page = 0) {
-    return await apiCall(`/projects/search?keyword=${encodeURIComponent(keyword)}&limit=${limit}&page=${page}`);
+// 키셋 페이징: 응답 { items, nextCursor }, 다음 페이지는 nextCursor 전달
+async function searchProjects(keyword, limit = 10, cursor = null) {
+    const cursorParam = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+    return await apiCall(`/projects/search?keyword=${encodeURIComponent(keyword)}&limit=${limit}${cursorParam}`);
 }
 
 async function getDashboardStats(projectId) {
@@ -85,8 +87,10 @@ async function getSupplierDetail(supplierId) {
     return await apiCall(`/suppliers/${supplierId}`);
 }
 
-async function getSupplierOrders(supplierId, page = 0, size = 5) {
-    return await apiCall(`/suppliers/${supplierId}/orders?page=${page}&size=${size}`);
+// 키셋 페이징: 응답 { orders, nextCursor }, 다음 페이지는 nextCursor 전달
+async function getSupplierOrders(supplierId, cursor = null, size = 5) {
+    const cursorParam = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+    return await apiCall(`/suppliers/${supplierId}/orders?size=${size}${cursorParam}`);
 }
 
 async function getProjectOptions(keyword = '') {
@@ -126,6 +130,18 @@ async function getLogs(level = null, limit = 100, search = null) {
     return await apiCall(`/settings/logs?${params.toString()}`);
 }
 
+// 신규 로그 실시간 스트림 (SSE). 호출 측에서 close 필요.
+function openLogStream(level = null, search = null) {
+    let params = new URLSearchParams();
+    if (level) params.append('level', level);
+    if (search) params.append('search', search);
+    return new EventSource(`${API_BASE}/settings/logs/stream?${params.toString()}`);
+}
+
 async function getSystemStatus() {
     return await apiCall('/settings/status');
 }
+
+async function getMetrics(limit = 30) {
+    return await apiCall(`/settings/metrics?limit=${limit}`);
+}
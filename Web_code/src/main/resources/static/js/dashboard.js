@@ -165,7 +165,8 @@ async function handleSearch() {
                 return;
             }
             
-            const results = await searchProjects(validKeyword, 10);
+            const page = await searchProjects(validKeyword, 10);
+            const results = page.items || [];
             if (results.length === 0) {
                 alert('검색 결과가 없습니다.');
                 return;
@@ -274,6 +275,29 @@ function hideError() {
     }
 }
 
+// 부분 결과(unavailable) 항목 이름 -> 표시 이름
+const UNAVAILABLE_LABELS = {
+    totalOrderAmount: '총 발주 금액',
+    emissions: '탄소 배출량',
+    topSuppliers: '공급사 발주 현황'
+};
+
+// 제한 시간 내 조회되지 않은 항목 안내. 없으면 숨김.
+function updatePartialNotice(unavailable) {
+    const noticeDiv = document.getElementById('partial-notice');
+    const noticeText = document.getElementById('partial-notice-text');
+    if (!noticeDiv || !noticeText) {
+        return;
+    }
+    if (!Array.isArray(unavailable) || unavailable.length === 0) {
+        noticeDiv.classList.add('hidden');
+        return;
+    }
+    const labels = unavailable.map((name) => UNAVAILABLE_LABELS[name] || name);
+    noticeText.textContent = `일부 항목을 제한 시간 내에 불러오지 못했습니다 (${labels.join(', ')}). 잠시 후 다시 조회해주세요.`;
+    noticeDiv.classList.remove('hidden');
+}
+
 function showLoading() {
     const loadingDiv = document.getElementById('loading-state');
     if (loadingDiv) {
@@ -307,6 +331,7 @@ function hideProjectInfo() {
     if (projectCard) {
         projectCard.classList.add('hidden');
     }
+    updatePartialNotice(null);
     if (statsCards) {
         statsCards.classList.add('hidden');
     }
@@ -314,6 +339,7 @@ function hideProjectInfo() {
 
 function updateDashboard(stats) {
     const project = stats.project;
+    updatePartialNotice(stats.unavailable);
     
     const projectTitle = document.getElementById('project-title');
     if (projectTitle) {
@@ -357,8 +383,8 @@ function updateDashboard(stats) {
     }
     
     const supplierCountEl = document.getElementById('supplier-count');
-    if (supplierCountEl && stats.topSuppliers) {
-        supplierCountEl.textContent = `${stats.topSuppliers.length} 개사`;
+    if (supplierCountEl) {
+        supplierCountEl.textContent = stats.topSuppliers ? `${stats.topSuppliers.length} 개사` : '—';
     }
     
     const projectStatusTextEl = document.getElementById('project-status-text');
@@ -366,14 +392,17 @@ function updateDashboard(stats) {
         projectStatusTextEl.textContent = project.status || 'N/A';
     }
     
-    const totalAmount = stats.totalOrderAmount || 0;
+    // 조회되지 않은 항목(null)은 0 대신 '—' 표시
+    const totalAmount = stats.totalOrderAmount;
     const totalAmountEl = document.getElementById('total-amount');
     if (totalAmountEl) {
-        totalAmountEl.textContent = formatCompact(totalAmount, '₩');
+        totalAmountEl.textContent = totalAmount != null ? formatCompact(totalAmount, '₩') : '—';
     }
     
     const supplierList = document.getElementById('supplier-list');
-    if (supplierList && stats.topSuppliers && stats.topSuppliers.length > 0) {
+    if (supplierList && !stats.topSuppliers) {
+        supplierList.innerHTML = '<p class="text-text-sub dark:text-text-secondary text-sm text-center py-4">—</p>';
+    } else if (supplierList && stats.topSuppliers.length > 0) {
         supplierList.innerHTML = '';
         stats.topSuppliers.forEach((supplier) => {
             // 공급업체 ID 유효성 검증
@@ -411,6 +440,7 @@ function updateDashboard(stats) {
         });
     }
     
+    const emissionAvailable = stats.totalEmission != null;
     const totalEmissionKg = stats.totalEmission || 0;
     const transportEmission = stats.transportEmission || 0;
     const storageEmission = stats.storageEmission || 0;
@@ -418,24 +448,27 @@ function updateDashboard(stats) {
     
     const totalEmissionEl = document.getElementById('total-emission');
     if (totalEmissionEl) {
-        totalEmissionEl.textContent = totalEmissionKg.toLocaleString('ko-KR', { 
-            minimumFractionDigits: 1, 
-            maximumFractionDigits: 1 
-        });
+        totalEmissionEl.textContent = emissionAvailable
+            ? totalEmissionKg.toLocaleString('ko-KR', { 
+                minimumFractionDigits: 1, 
+                maximumFractionDigits: 1 
+            })
+            : '—';
     }
     
-    const transportPercent = totalEmissionKg > 0 ? (transportEmission / totalEmissionKg * 100).toFixed(0) : 0;
-    const storagePercent = totalEmissionKg > 0 ? (storageEmission / totalEmissionKg * 100).toFixed(0) : 0;
-    const processingPercent = totalEmissionKg > 0 ? (processingEmission / totalEmissionKg * 100).toFixed(0) : 0;
+    const emissionPercent = (value) => {
+        if (!emissionAvailable) return '—';
+        return (totalEmissionKg > 0 ? (value / totalEmissionKg * 100).toFixed(0) : 0) + '%';
+    };
     
     const transportPercentEl = document.getElementById('transport-percent');
-    if (transportPercentEl) transportPercentEl.textContent = transportPercent + '%';
+    if (transportPercentEl) transportPercentEl.textContent = emissionPercent(transportEmission);
     
     const storagePercentEl = document.getElementById('storage-percent');
-    if (storagePercentEl) storagePercentEl.textContent = storagePercent + '%';
+    if (storagePercentEl) storagePercentEl.textContent = emissionPercent(storageEmission);
     
     const processingPercentEl = document.getElementById('processing-percent');
-    if (processingPercentEl) processingPercentEl.textContent = processingPercent + '%';
+    if (processingPercentEl) processingPercentEl.textContent = emissionPercent(processingEmission);
     
     if (stats.carbonIntensity !== null && stats.carbonIntensity !== undefined) {
         const intensity = stats.carbonIntensity;
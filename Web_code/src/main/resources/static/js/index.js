@@ -10,6 +10,7 @@ var updateMainPage = function(summary) {
 };
 
 let currentPage = 0;
+let pageCursors = [null]; // 페이지별 시작 커서 (0페이지 = null)
 const PAGE_SIZE = 10;
 
 async function fetchAndRenderProjects() {
@@ -22,7 +23,9 @@ async function fetchAndRenderProjects() {
 
     try {
         // 페이지네이션을 적용한 프로젝트 목록 조회
-        const projects = await searchProjects('', PAGE_SIZE, currentPage);
+        const result = await searchProjects('', PAGE_SIZE, pageCursors[currentPage]);
+        const projects = result.items || [];
+        const nextCursor = result.nextCursor || null;
         
         if (!projects || projects.length === 0) {
             if (currentPage > 0) {
@@ -84,12 +87,11 @@ async function fetchAndRenderProjects() {
         }
         
         if (nextBtn) {
-            // Simple logic: if we got less items than limit, it's the last page.
-            // But if we got exactly 10, there might be more... or not. 
-            // Better logic usually requires total count, but "Next" enabled generally works until empty.
-            // If projects.length < PAGE_SIZE, definitely last page.
-            // 다음 페이지 존재 여부 확인
+            // 다음 페이지 존재 여부 확인 (nextCursor 없으면 마지막 페이지)
+            nextBtn.disabled = !nextCursor;
             nextBtn.onclick = () => {
+                if (!nextCursor) return;
+                pageCursors[currentPage + 1] = nextCursor;
                 currentPage++;
                 fetchAndRenderProjects();
             };
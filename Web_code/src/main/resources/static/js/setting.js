@@ -4,6 +4,15 @@ let currentLogLevel = '';
 let currentSearch = '';
 let refreshInterval = null;
 
+// 실시간 로그 스트림 및 화면 표시 중인 로그 (최신순)
+const MAX_LOG_ENTRIES = 100;
+let logStream = null;
+let currentLogs = null;
+
+// 성능 지표 (표시 항목: queries / endpoints / connectionAcquire)
+let currentMetricsType = 'queries';
+let currentMetrics = null;
+
 document.addEventListener('DOMContentLoaded', async () => {
     // 이벤트 리스너 등록
     setupEventListeners();
@@ -12,31 +21,78 @@ document.addEventListener('DOMContentLoaded', async () => {
         // 초기 데이터 병렬 로드
         await Promise.allSettled([
             loadSystemStatus(),
-            loadLogs()
+            loadLogs(),
+            loadMetrics()
         ]);
     } catch (error) {
         console.error('초기 로드 실패:', error);
     }
 
-    // 30초 주기 자동 새로고침
+    // 신규 로그는 스트림으로 수신
+    connectLogStream();
+
+    // 30초 주기 시스템 상태 새로고침
     refreshInterval = setInterval(async () => {
         try {
-            await Promise.allSettled([
-                loadSystemStatus(),
-                loadLogs()
-            ]);
+            await loadSystemStatus();
+            await loadMetrics();
         } catch (error) {
             console.error('자동 새로고침 실패:', error);
         }
     }, 30000);
 });
 
+window.addEventListener('beforeunload', () => {
+    if (logStream) {
+        logStream.close();
+    }
+});
+
+// 현재 필터 기준 로그 스트림 연결 (필터 변경 시 재연결)
+function connectLogStream() {
+    if (logStream) {
+        logStream.close();
+    }
+
+    let reconnecting = false;
+    logStream = openLogStream(currentLogLevel || null, currentSearch || null);
+
+    logStream.addEventListener('log', (e) => {
+        if (!currentLogs) {
+            return;
+        }
+        try {
+            const log = JSON.parse(e.data);
+            currentLogs.logs = [log, ...currentLogs.logs].slice(0, MAX_LOG_ENTRIES);
+            currentLogs.total = (currentLogs.total || 0) + 1;
+            updateLogs(currentLogs);
+        } catch (error) {
+            console.error('스트림 로그 처리 실패:', error);
+        }
+    });
+
+    // 끊긴 동안 누락분 보정 (재연결 시 전체 재조회)
+    logStream.addEventListener('open', () => {
+        if (reconnecting) {
+            reconnecting = false;
+            loadLogs();
+        }
+    });
+    logStream.addEventListener('dropped', () => {
+        loadLogs();
+    });
+    logStream.onerror = () => {
+        reconnecting = true;
+    };
+}
+
 function setupEventListeners() {
     // 로그 레벨 필터링
     const levelFilter = document.getElementById('log-level-filter');
     if (levelFilter) {
         levelFilter.addEventListener('change', async (e) => {
             currentLogLevel = e.target.value;
+            connectLogStream();
             await loadLogs();
         });
     }
@@ -49,11 +105,25 @@ function setupEventListeners() {
             clearTimeout(searchTimeout);
             searchTimeout = setTimeout(async () => {
                 currentSearch = e.target.value.trim();
+                connectLogStream();
                 await loadLogs();
             }, 500); // 500ms 디바운스
         });
     }
 
+    // 성능 지표 항목 전환 및 새로고침
+    const metricsFilter = document.getElementById('metrics-type-filter');
+    if (metricsFilter) {
+        metricsFilter.addEventListener('change', (e) => {
+            currentMetricsType = e.target.value;
+            updateMetrics(currentMetrics);
+        });
+    }
+    const refreshMetricsBtn = document.getElementById('refresh-metrics-btn');
+    if (refreshMetricsBtn) {
+        refreshMetricsBtn.addEventListener('click', loadMetrics);
+    }
+
     // 수동 새로고침
     const refreshBtn = document.getElementById('refresh-logs-btn');
     if (refreshBtn) {
@@ -215,6 +285,7 @@ async function loadLogs() {
             throw new Error(result.error);
         }
         
+        currentLogs = result;
         updateLogs(result);
     } catch (error) {
         console.error('로그 조회 실패:', error);
@@ -378,6 +449,68 @@ function getLogLevelColors(level) {
     }
 }
 
+// 성능 지표 조회
+async function loadMetrics() {
+    try {
+        const metrics = await getMetrics();
+        if (metrics && metrics.error) {
+            throw new Error(metrics.error);
+        }
+        currentMetrics = metrics;
+        updateMetrics(metrics);
+    } catch (error) {
+        console.error('성능 지표 조회 실패:', error);
+        const entries = document.getElementById('metrics-entries');
+        if (entries) {
+            entries.innerHTML = `
+                <div class="px-5 py-8 text-center text-red-500 dark:text-red-400">
+                    성능 지표를 불러올 수 없습니다.
+                </div>
+            `;
+        }
+    }
+}
+
+// 성능 지표 표 렌더링 (누적 시간 순)
+function updateMetrics(metrics) {
+    const entries = document.getElementById('metrics-entries');
+    if (!entries || !metrics) {
+        return;
+    }
+
+    const sinceEl = document.getElementById('metrics-since');
+    if (sinceEl) {
+        sinceEl.textContent = `${metrics.since} 이후 누적, 시간 단위 ms`;
+    }
+
+    const rows = metrics[currentMetricsType] || [];
+    if (rows.length === 0) {
+        entries.innerHTML = `
+            <div class="px-5 py-8 text-center text-text-sub dark:text-text-secondary">
+                수집된 지표가 없습니다.
+            </div>
+        `;
+        return;
+    }
+
+    const num = (v) => Number(v || 0).toLocaleString(undefined, { maximumFractionDigits: 2 });
+    entries.innerHTML = rows.map(m => `
+        <div class="grid grid-cols-12 px-5 dark:px-4 py-3 dark:py-2.5 hover:bg-slate-50 dark:hover:bg-white/5 transition-colors text-xs ${m.errors > 0 ? 'bg-red-50/30 dark:bg-red-900/10' : ''}">
+            <div class="col-span-4 text-text-main dark:text-white font-semibold dark:font-normal truncate pr-2" title="${escapeHtml(m.detail || m.name)}">
+                ${escapeHtml(m.name)}${m.errors > 0 ? ` <span class="text-red-500 dark:text-red-400">(오류 ${m.errors})</span>` : ''}
+            </div>
+            <div class="col-span-1 text-right text-text-sub dark:text-text-secondary">${num(m.count)}</div>
+            <div class="col-span-1 text-right text-text-sub dark:text-text-secondary">${num(m.totalMs)}</div>
+            <div class="col-span-1 text-right text-text-sub dark:text-text-secondary">${num(m.meanMs)}</div>
+            <div class="col-span-1 text-right text-text-sub dark:text-text-secondary">${num(m.p50)}</div>
+            <div class="col-span-1 text-right text-text-main dark:text-white">${num(m.p95)}</div>
+            <div class="col-span-1 text-right text-text-main dark:text-white">${num(m.p99)}</div>
+            <div class="col-span-1 text-right text-text-sub dark:text-text-secondary">${num(m.max)}</div>
+            <div class="col-span-1 text-right text-text-sub dark:text-text-secondary">${num(m.rows)}</div>
+        </div>
+    `).join('');
+}
+
 // 종료 시 타이머 정리
 window.addEventListener('beforeunload', () => {
     if (refreshInterval) {
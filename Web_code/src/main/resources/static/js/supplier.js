@@ -6,6 +6,7 @@ let pageSize = 5;
 let totalSuppliers = 0;
 let detailPage = 0;
 let detailPageSize = 3;
+let detailCursors = [null]; // 페이지별 시작 커서 (0페이지 = null)
 let totalOrdersCount = 0;
 
 // 정렬 상태 관리
@@ -309,6 +310,7 @@ function updateSupplierTable(suppliers) {
             if (supplier && supplier.supplierId) {
                 selectedSupplierId = supplier.supplierId;
                 detailPage = 0; // 상세 화면 페이지 초기화
+                detailCursors = [null];
                 loadSupplierDetail(selectedSupplierId);
                 loadSuppliers(); // 테이블 재로드하여 선택 상태 업데이트
             }
@@ -422,16 +424,16 @@ async function loadSupplierOrders(supplierId) {
         }
         
         // 페이지 번호 유효성 검증
-        const validPage = Math.max(0, Math.floor(detailPage || 0));
+        const validPage = Math.max(0, Math.min(detailCursors.length - 1, Math.floor(detailPage || 0)));
         const validPageSize = Math.max(1, Math.min(100, Math.floor(detailPageSize || 3)));
         
-        const orders = await getSupplierOrders(numericId, validPage, validPageSize);
+        const result = await getSupplierOrders(numericId, detailCursors[validPage], validPageSize);
+        const orders = result.orders || [];
         updateRecentOrders(orders);
-        // 다음 페이지 데이터 존재 확인
-        const nextPageOrders = await getSupplierOrders(numericId, validPage + 1, 1);
-        const hasMore = nextPageOrders.length > 0;
-        // 다음 버튼 활성화 여부 확인
-        const showNext = orders.length === detailPageSize && hasMore;
+        // 다음 페이지 시작 커서 저장 (없으면 마지막 페이지)
+        detailCursors[validPage + 1] = result.nextCursor || null;
+        detailCursors.length = validPage + 2;
+        const showNext = !!result.nextCursor;
         updateDetailPagination(orders.length, showNext);
     } catch (error) {
         // 에러 로깅은 서버 측에서 처리